@@ -0,0 +1,137 @@
+package com.franquicias.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema {@code carga.*} para poder
+ * cambiarlos desde Maven ({@code mvn -Pcarga test -Dcarga.rps=500}).
+ */
+public class ConfiguracionCarga {
+
+    private final int franquicias;
+    private final int sucursalesPorFranquicia;
+    private final int productosPorSucursal;
+    private final int rps;
+    private final Duration calentamiento;
+    private final Duration duracion;
+    private final int concurrencia;
+    private final Map<Operacion, Integer> mezcla;
+    private final Path salida;
+    private final double maximoErrores;
+
+    private ConfiguracionCarga(int franquicias, int sucursalesPorFranquicia, int productosPorSucursal, int rps,
+                               Duration calentamiento, Duration duracion, int concurrencia,
+                               Map<Operacion, Integer> mezcla, Path salida, double maximoErrores) {
+        this.franquicias = franquicias;
+        this.sucursalesPorFranquicia = sucursalesPorFranquicia;
+        this.productosPorSucursal = productosPorSucursal;
+        this.rps = rps;
+        this.calentamiento = calentamiento;
+        this.duracion = duracion;
+        this.concurrencia = concurrencia;
+        this.mezcla = mezcla;
+        this.salida = salida;
+        this.maximoErrores = maximoErrores;
+    }
+
+    public static ConfiguracionCarga desdePropiedadesDelSistema() {
+        return new ConfiguracionCarga(
+                Integer.getInteger("carga.franquicias", 10),
+                Integer.getInteger("carga.sucursales-por-franquicia", 20),
+                Integer.getInteger("carga.productos-por-sucursal", 50),
+                Integer.getInteger("carga.rps", 200),
+                DurationStyle.detectAndParse(System.getProperty("carga.calentamiento", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("carga.duracion", "30s")),
+                Integer.getInteger("carga.concurrencia", 256),
+                parsearMezcla(System.getProperty("carga.mezcla", "")),
+                Path.of(System.getProperty("carga.salida", "target/carga"), System.getProperty("carga.etiqueta", "local")),
+                Double.parseDouble(System.getProperty("carga.maximo-errores", "0.01")));
+    }
+
+    /**
+     * Formato {@code OPERACION:peso,...}; las operaciones no indicadas conservan su peso por defecto
+     * y un peso 0 las excluye.
+     */
+    static Map<Operacion, Integer> parsearMezcla(String valor) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            mezcla.put(operacion, operacion.getPesoPorDefecto());
+        }
+        if (valor.isBlank()) {
+            return mezcla;
+        }
+        for (String entrada : valor.split(",")) {
+            String[] partes = entrada.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Entrada de mezcla inválida: " + entrada);
+            }
+            mezcla.put(Operacion.valueOf(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+        }
+        return mezcla;
+    }
+
+    public int getFranquicias() {
+        return franquicias;
+    }
+
+    public int getSucursalesPorFranquicia() {
+        return sucursalesPorFranquicia;
+    }
+
+    public int getProductosPorSucursal() {
+        return productosPorSucursal;
+    }
+
+    public int getSucursales() {
+        return franquicias * sucursalesPorFranquicia;
+    }
+
+    public int getProductos() {
+        return getSucursales() * productosPorSucursal;
+    }
+
+    public int getRps() {
+        return rps;
+    }
+
+    public Duration getCalentamiento() {
+        return calentamiento;
+    }
+
+    public Duration getDuracion() {
+        return duracion;
+    }
+
+    public int getConcurrencia() {
+        return concurrencia;
+    }
+
+    public Map<Operacion, Integer> getMezcla() {
+        return mezcla;
+    }
+
+    public Path getSalida() {
+        return salida;
+    }
+
+    public double getMaximoErrores() {
+        return maximoErrores;
+    }
+
+    @Override
+    public String toString() {
+        return "franquicias=" + franquicias
+                + ", sucursalesPorFranquicia=" + sucursalesPorFranquicia
+                + ", productosPorSucursal=" + productosPorSucursal
+                + ", rps=" + rps
+                + ", calentamiento=" + calentamiento
+                + ", duracion=" + duracion
+                + ", concurrencia=" + concurrencia
+                + ", mezcla=" + mezcla;
+    }
+}
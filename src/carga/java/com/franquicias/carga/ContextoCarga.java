@@ -0,0 +1,56 @@
+package com.franquicias.carga;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids de los datos sembrados y estado compartido entre peticiones. Los ids son secuenciales: la
+ * sucursal {@code s} pertenece a la franquicia {@code (s - 1) / sucursalesPorFranquicia + 1} y el
+ * producto {@code p} a la sucursal {@code (p - 1) / productosPorSucursal + 1}.
+ */
+class ContextoCarga {
+
+    private final ConfiguracionCarga configuracion;
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Queue<long[]> productosCreados = new ConcurrentLinkedQueue<>();
+
+    ContextoCarga(ConfiguracionCarga configuracion) {
+        this.configuracion = configuracion;
+    }
+
+    long franquiciaAleatoria() {
+        return 1 + ThreadLocalRandom.current().nextInt(configuracion.getFranquicias());
+    }
+
+    long sucursalAleatoria() {
+        return 1 + ThreadLocalRandom.current().nextInt(configuracion.getSucursales());
+    }
+
+    long productoAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(configuracion.getProductos());
+    }
+
+    long franquiciaDeSucursal(long sucursalId) {
+        return (sucursalId - 1) / configuracion.getSucursalesPorFranquicia() + 1;
+    }
+
+    long sucursalDeProducto(long productoId) {
+        return (productoId - 1) / configuracion.getProductosPorSucursal() + 1;
+    }
+
+    /** Sufijo único para los nombres creados durante la prueba. */
+    long siguiente() {
+        return secuencia.incrementAndGet();
+    }
+
+    void registrarProductoCreado(long sucursalId, long productoId) {
+        productosCreados.add(new long[]{sucursalId, productoId});
+    }
+
+    /** Producto creado por la propia prueba, para eliminarlo sin tocar los datos sembrados. */
+    long[] tomarProductoCreado() {
+        return productosCreados.poll();
+    }
+}
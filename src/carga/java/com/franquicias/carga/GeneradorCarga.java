@@ -0,0 +1,94 @@
+package com.franquicias.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Genera carga en modelo abierto: las peticiones se programan a intervalos fijos según el RPS
+ * objetivo, con independencia de lo que tarden las anteriores. La latencia se mide desde el instante
+ * programado, no desde el envío real, para que las esperas por saturación del cliente o del servicio
+ * aparezcan en el histograma en lugar de ocultarse (omisión coordinada).
+ */
+class GeneradorCarga {
+
+    private final WebClient cliente;
+    private final ContextoCarga contexto;
+    private final ConfiguracionCarga configuracion;
+    private final Operacion[] operaciones;
+    private final int[] pesosAcumulados;
+
+    GeneradorCarga(WebClient cliente, ContextoCarga contexto, ConfiguracionCarga configuracion) {
+        this.cliente = cliente;
+        this.contexto = contexto;
+        this.configuracion = configuracion;
+        this.operaciones = configuracion.getMezcla().entrySet().stream()
+                .filter(entrada -> entrada.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(Operacion[]::new);
+        this.pesosAcumulados = new int[operaciones.length];
+        int acumulado = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            acumulado += configuracion.getMezcla().get(operaciones[i]);
+            pesosAcumulados[i] = acumulado;
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("La mezcla no incluye ninguna operación");
+        }
+    }
+
+    ResultadoCarga ejecutar(Duration duracion) {
+        Map<Operacion, Recorder> latencias = new EnumMap<>(Operacion.class);
+        Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : operaciones) {
+            latencias.put(operacion, new Recorder(3));
+            errores.put(operacion, new LongAdder());
+        }
+
+        long periodo = 1_000_000_000L / configuracion.getRps();
+        long peticiones = duracion.toNanos() / periodo;
+        long inicio = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(periodo))
+                .take(peticiones)
+                .onBackpressureBuffer()
+                .flatMap(tick -> {
+                    long programado = inicio + (tick + 1) * periodo;
+                    Operacion operacion = elegir();
+                    return operacion.ejecutar(cliente, contexto)
+                            .onErrorReturn(0)
+                            .doOnNext(estado -> {
+                                latencias.get(operacion).recordValue(System.nanoTime() - programado);
+                                if (estado < 200 || estado >= 300) {
+                                    errores.get(operacion).increment();
+                                }
+                            });
+                }, configuracion.getConcurrencia())
+                .then()
+                .block(duracion.multipliedBy(3).plusMinutes(1));
+
+        long transcurrido = System.nanoTime() - inicio;
+        Map<Operacion, Histogram> histogramas = new EnumMap<>(Operacion.class);
+        Map<Operacion, Long> conteoErrores = new EnumMap<>(Operacion.class);
+        latencias.forEach((operacion, recorder) -> histogramas.put(operacion, recorder.getIntervalHistogram()));
+        errores.forEach((operacion, contador) -> conteoErrores.put(operacion, contador.sum()));
+        return new ResultadoCarga(histogramas, conteoErrores, transcurrido);
+    }
+
+    private Operacion elegir() {
+        int valor = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+}
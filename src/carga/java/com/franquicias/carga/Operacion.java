@@ -0,0 +1,146 @@
+package com.franquicias.carga;
+
+import com.franquicias.adapters.presentation.dto.ProductoResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Endpoints que componen la mezcla de carga, con su peso por defecto. Cada operación devuelve el
+ * código HTTP de la respuesta.
+ */
+public enum Operacion {
+
+    MAXIMO_STOCK(40) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            return enviar(cliente.get()
+                    .uri("/api/franquicias/{franquiciaId}/productos-maximo-stock", contexto.franquiciaAleatoria()));
+        }
+    },
+
+    AJUSTAR_STOCK(20) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long productoId = contexto.productoAleatorio();
+            int delta = ThreadLocalRandom.current().nextBoolean() ? 1 : -1;
+            return enviar(cliente.patch()
+                    .uri("/api/sucursales/{sucursalId}/productos/{productoId}/stock",
+                            contexto.sucursalDeProducto(productoId), productoId),
+                    "{\"delta\":" + delta + "}");
+        }
+    },
+
+    MODIFICAR_STOCK(10) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long productoId = contexto.productoAleatorio();
+            return enviar(cliente.put()
+                    .uri("/api/sucursales/{sucursalId}/productos/{productoId}/stock",
+                            contexto.sucursalDeProducto(productoId), productoId),
+                    "{\"stock\":" + (100 + ThreadLocalRandom.current().nextInt(900)) + "}");
+        }
+    },
+
+    AGREGAR_PRODUCTO(10) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long sucursalId = contexto.sucursalAleatoria();
+            return cliente.post()
+                    .uri("/api/sucursales/{sucursalId}/productos", sucursalId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"nombre\":\"Carga " + contexto.siguiente() + "\",\"stock\":100}")
+                    .exchangeToMono(respuesta -> {
+                        int estado = respuesta.statusCode().value();
+                        if (!respuesta.statusCode().is2xxSuccessful()) {
+                            return respuesta.releaseBody().thenReturn(estado);
+                        }
+                        return respuesta.bodyToMono(ProductoResponse.class)
+                                .doOnNext(producto -> contexto.registrarProductoCreado(sucursalId, producto.getId()))
+                                .thenReturn(estado);
+                    });
+        }
+    },
+
+    ELIMINAR_PRODUCTO(3) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long[] creado = contexto.tomarProductoCreado();
+            if (creado == null) {
+                // Aún no hay productos propios que eliminar; se mide una alta en su lugar
+                return AGREGAR_PRODUCTO.ejecutar(cliente, contexto);
+            }
+            return enviar(cliente.delete()
+                    .uri("/api/sucursales/{sucursalId}/productos/{productoId}", creado[0], creado[1]));
+        }
+    },
+
+    ACTUALIZAR_NOMBRE_PRODUCTO(4) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long productoId = contexto.productoAleatorio();
+            return enviar(cliente.put()
+                    .uri("/api/sucursales/{sucursalId}/productos/{productoId}/nombre",
+                            contexto.sucursalDeProducto(productoId), productoId),
+                    "{\"nombre\":\"Producto " + productoId + " v" + contexto.siguiente() + "\"}");
+        }
+    },
+
+    AGREGAR_SUCURSAL(4) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            return enviar(cliente.post()
+                            .uri("/api/franquicias/{franquiciaId}/sucursales", contexto.franquiciaAleatoria()),
+                    "{\"nombre\":\"Carga " + contexto.siguiente() + "\"}");
+        }
+    },
+
+    ACTUALIZAR_NOMBRE_SUCURSAL(3) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            long sucursalId = contexto.sucursalAleatoria();
+            return enviar(cliente.put()
+                            .uri("/api/franquicias/{franquiciaId}/sucursales/{sucursalId}/nombre",
+                                    contexto.franquiciaDeSucursal(sucursalId), sucursalId),
+                    "{\"nombre\":\"Sucursal v" + contexto.siguiente() + "\"}");
+        }
+    },
+
+    CREAR_FRANQUICIA(1) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            return enviar(cliente.post().uri("/api/franquicias"),
+                    "{\"nombre\":\"Carga " + contexto.siguiente() + "\"}");
+        }
+    },
+
+    ACTUALIZAR_NOMBRE_FRANQUICIA(1) {
+        @Override
+        Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto) {
+            return enviar(cliente.put().uri("/api/franquicias/{id}/nombre", contexto.franquiciaAleatoria()),
+                    "{\"nombre\":\"Franquicia v" + contexto.siguiente() + "\"}");
+        }
+    };
+
+    private final int pesoPorDefecto;
+
+    Operacion(int pesoPorDefecto) {
+        this.pesoPorDefecto = pesoPorDefecto;
+    }
+
+    public int getPesoPorDefecto() {
+        return pesoPorDefecto;
+    }
+
+    abstract Mono<Integer> ejecutar(WebClient cliente, ContextoCarga contexto);
+
+    private static Mono<Integer> enviar(WebClient.RequestHeadersSpec<?> peticion) {
+        return peticion.exchangeToMono(respuesta -> respuesta.releaseBody().thenReturn(respuesta.statusCode().value()));
+    }
+
+    private static Mono<Integer> enviar(WebClient.RequestBodySpec peticion, String json) {
+        return enviar(peticion.contentType(MediaType.APPLICATION_JSON).bodyValue(json));
+    }
+}
@@ -0,0 +1,100 @@
+package com.franquicias.carga;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Levanta la aplicación completa contra un MySQL en Testcontainers, siembra los datos configurados y
+ * aplica una mezcla ponderada de endpoints al RPS objetivo. Tras un calentamiento que se descarta,
+ * mide durante {@code carga.duracion} y deja el reporte en {@code carga.salida/carga.etiqueta}.
+ * Se ejecuta solo con el perfil {@code carga} y se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.root=WARN",
+        "logging.level.com.franquicias=WARN",
+        "logging.level.com.franquicias.carga=INFO"
+})
+class PruebaCargaTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PruebaCargaTest.class);
+
+    private static final ConfiguracionCarga CONFIGURACION = ConfiguracionCarga.desdePropiedadesDelSistema();
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @LocalServerPort
+    private int puerto;
+
+    @DynamicPropertySource
+    static void r2dbc(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url",
+                () -> "r2dbc:mysql://" + mysql.getHost() + ":" + mysql.getFirstMappedPort() + "/" + mysql.getDatabaseName());
+        registry.add("spring.r2dbc.username", mysql::getUsername);
+        registry.add("spring.r2dbc.password", mysql::getPassword);
+    }
+
+    @BeforeAll
+    static void prepararBaseDeDatos() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        long inicio = System.nanoTime();
+        SembradorDatos.sembrar(DatabaseClient.create(connectionFactory), CONFIGURACION);
+        log.info("Datos sembrados en {} ms: {} franquicias, {} sucursales, {} productos",
+                (System.nanoTime() - inicio) / 1_000_000, CONFIGURACION.getFranquicias(),
+                CONFIGURACION.getSucursales(), CONFIGURACION.getProductos());
+    }
+
+    @Test
+    void mezclaDeEndpoints_ShouldReportarThroughputYLatencias() {
+        // Given
+        ConnectionProvider conexiones = ConnectionProvider.builder("carga")
+                .maxConnections(CONFIGURACION.getConcurrencia())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient cliente = WebClient.builder()
+                .baseUrl("http://localhost:" + puerto)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(conexiones)))
+                .build();
+        GeneradorCarga generador = new GeneradorCarga(cliente, new ContextoCarga(CONFIGURACION), CONFIGURACION);
+
+        // When
+        log.info("Calentamiento de {} a {} req/s", CONFIGURACION.getCalentamiento(), CONFIGURACION.getRps());
+        generador.ejecutar(CONFIGURACION.getCalentamiento());
+        log.info("Midiendo durante {}", CONFIGURACION.getDuracion());
+        ResultadoCarga resultado = generador.ejecutar(CONFIGURACION.getDuracion());
+        conexiones.disposeLater().block();
+
+        // Then
+        String resumen = ReporteCarga.escribir(resultado, CONFIGURACION);
+        log.info("Reporte en {}\n{}", CONFIGURACION.getSalida().toAbsolutePath(), resumen);
+        Histogram total = resultado.total();
+        assertThat(total.getTotalCount()).isPositive();
+        assertThat((double) resultado.totalErrores() / total.getTotalCount())
+                .as("proporción de respuestas no 2xx")
+                .isLessThanOrEqualTo(CONFIGURACION.getMaximoErrores());
+    }
+}
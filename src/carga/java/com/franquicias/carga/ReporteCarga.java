@@ -0,0 +1,94 @@
+package com.franquicias.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Escribe el resultado en el directorio de salida:
+ * <ul>
+ *     <li>{@code resumen.txt}: configuración, throughput, errores y p50/p99/p999/max por operación</li>
+ *     <li>{@code total.hgrm} y {@code <OPERACION>.hgrm}: distribución de percentiles en milisegundos,
+ *     comparable entre versiones con un diff o con el HdrHistogram plotter</li>
+ *     <li>{@code latencias.hlog}: histogramas completos codificados (uno por operación, etiquetados),
+ *     reprocesables con {@code HistogramLogProcessor}</li>
+ * </ul>
+ */
+class ReporteCarga {
+
+    private static final double NANOS_POR_MILISEGUNDO = 1_000_000.0;
+
+    private ReporteCarga() {
+    }
+
+    static String escribir(ResultadoCarga resultado, ConfiguracionCarga configuracion) {
+        Path directorio = configuracion.getSalida();
+        try {
+            Files.createDirectories(directorio);
+            Histogram total = resultado.total();
+            escribirHgrm(directorio.resolve("total.hgrm"), total);
+            for (Map.Entry<Operacion, Histogram> entrada : resultado.getLatencias().entrySet()) {
+                escribirHgrm(directorio.resolve(entrada.getKey().name() + ".hgrm"), entrada.getValue());
+            }
+            escribirHlog(directorio.resolve("latencias.hlog"), resultado);
+            String resumen = resumen(resultado, total, configuracion);
+            Files.writeString(directorio.resolve("resumen.txt"), resumen, StandardCharsets.UTF_8);
+            return resumen;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el reporte en " + directorio, e);
+        }
+    }
+
+    private static void escribirHgrm(Path archivo, Histogram histograma) throws IOException {
+        try (PrintStream salida = new PrintStream(Files.newOutputStream(archivo), false, StandardCharsets.UTF_8)) {
+            histograma.outputPercentileDistribution(salida, 5, NANOS_POR_MILISEGUNDO);
+        }
+    }
+
+    private static void escribirHlog(Path archivo, ResultadoCarga resultado) throws IOException {
+        try (PrintStream salida = new PrintStream(Files.newOutputStream(archivo), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(salida);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<Operacion, Histogram> entrada : resultado.getLatencias().entrySet()) {
+                Histogram histograma = entrada.getValue().copy();
+                histograma.setTag(entrada.getKey().name());
+                histograma.setStartTimeStamp(0);
+                histograma.setEndTimeStamp(resultado.getDuracionNanos() / 1_000_000);
+                writer.outputIntervalHistogram(histograma);
+            }
+        }
+    }
+
+    private static String resumen(ResultadoCarga resultado, Histogram total, ConfiguracionCarga configuracion) {
+        StringBuilder texto = new StringBuilder();
+        texto.append("Configuración: ").append(configuracion).append('\n');
+        texto.append(String.format(Locale.ROOT, "Peticiones: %d en %.1f s, throughput %.1f req/s (objetivo %d), errores %d%n",
+                resultado.peticiones(), resultado.getDuracionNanos() / 1_000_000_000.0, resultado.throughput(),
+                configuracion.getRps(), resultado.totalErrores()));
+        texto.append(String.format(Locale.ROOT, "%-30s %9s %8s %10s %10s %10s %10s%n",
+                "operacion", "peticiones", "errores", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<Operacion, Histogram> entrada : resultado.getLatencias().entrySet()) {
+            linea(texto, entrada.getKey().name(), entrada.getValue(), resultado.getErrores().get(entrada.getKey()));
+        }
+        linea(texto, "TOTAL", total, resultado.totalErrores());
+        return texto.toString();
+    }
+
+    private static void linea(StringBuilder texto, String nombre, Histogram histograma, long errores) {
+        texto.append(String.format(Locale.ROOT, "%-30s %9d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                nombre, histograma.getTotalCount(), errores,
+                histograma.getValueAtPercentile(50) / NANOS_POR_MILISEGUNDO,
+                histograma.getValueAtPercentile(99) / NANOS_POR_MILISEGUNDO,
+                histograma.getValueAtPercentile(99.9) / NANOS_POR_MILISEGUNDO,
+                histograma.getMaxValue() / NANOS_POR_MILISEGUNDO));
+    }
+}
@@ -0,0 +1,51 @@
+package com.franquicias.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Histogramas de latencia (en nanosegundos) y errores por operación de una ejecución.
+ */
+class ResultadoCarga {
+
+    private final Map<Operacion, Histogram> latencias;
+    private final Map<Operacion, Long> errores;
+    private final long duracionNanos;
+
+    ResultadoCarga(Map<Operacion, Histogram> latencias, Map<Operacion, Long> errores, long duracionNanos) {
+        this.latencias = latencias;
+        this.errores = errores;
+        this.duracionNanos = duracionNanos;
+    }
+
+    Map<Operacion, Histogram> getLatencias() {
+        return latencias;
+    }
+
+    Map<Operacion, Long> getErrores() {
+        return errores;
+    }
+
+    long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        latencias.values().forEach(total::add);
+        return total;
+    }
+
+    long peticiones() {
+        return latencias.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrores() {
+        return errores.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double throughput() {
+        return peticiones() * 1_000_000_000.0 / duracionNanos;
+    }
+}
@@ -0,0 +1,85 @@
+package com.franquicias.carga;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Inserta los datos iniciales con ids explícitos y sentencias multi-fila, y rellena la proyección
+ * sucursal_maximo_stock y el resumen sucursal_inventario igual que lo haría la aplicación.
+ */
+class SembradorDatos {
+
+    private static final int FILAS_POR_SENTENCIA = 1_000;
+
+    private SembradorDatos() {
+    }
+
+    static void sembrar(DatabaseClient databaseClient, ConfiguracionCarga configuracion) {
+        StringJoiner franquicias = new StringJoiner(", ");
+        for (int f = 1; f <= configuracion.getFranquicias(); f++) {
+            franquicias.add("(" + f + ", 'Franquicia " + f + "')");
+        }
+        ejecutar(databaseClient, "INSERT INTO franquicia (id, nombre) VALUES " + franquicias);
+
+        Lote sucursales = new Lote(databaseClient, "INSERT INTO sucursal (id, nombre, franquicia_id) VALUES ");
+        for (long s = 1; s <= configuracion.getSucursales(); s++) {
+            long franquiciaId = (s - 1) / configuracion.getSucursalesPorFranquicia() + 1;
+            sucursales.agregar("(" + s + ", 'Sucursal " + s + "', " + franquiciaId + ")");
+        }
+        sucursales.cerrar();
+
+        // Stock inicial alto para que los ajustes de ±1 nunca se rechacen por quedar negativos
+        Lote productos = new Lote(databaseClient, "INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES ");
+        for (long p = 1; p <= configuracion.getProductos(); p++) {
+            long sucursalId = (p - 1) / configuracion.getProductosPorSucursal() + 1;
+            int stock = 100 + ThreadLocalRandom.current().nextInt(900);
+            productos.agregar("(" + p + ", 'Producto " + p + "', " + stock + ", " + sucursalId + ")");
+        }
+        productos.cerrar();
+
+        ejecutar(databaseClient, """
+                INSERT INTO sucursal_maximo_stock (sucursal_id, max_stock)
+                SELECT sucursal_id, MAX(stock) FROM producto GROUP BY sucursal_id
+                """);
+        ejecutar(databaseClient, """
+                INSERT INTO sucursal_inventario (sucursal_id, productos, stock_total, productos_sin_stock)
+                SELECT sucursal_id, COUNT(*), SUM(stock), SUM(stock = 0) FROM producto GROUP BY sucursal_id
+                """);
+        ejecutar(databaseClient,
+                "ANALYZE TABLE franquicia, sucursal, producto, sucursal_maximo_stock, sucursal_inventario");
+    }
+
+    private static void ejecutar(DatabaseClient databaseClient, String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+
+    private static final class Lote {
+
+        private final DatabaseClient databaseClient;
+        private final String prefijo;
+        private StringJoiner valores = new StringJoiner(", ");
+        private int filas;
+
+        private Lote(DatabaseClient databaseClient, String prefijo) {
+            this.databaseClient = databaseClient;
+            this.prefijo = prefijo;
+        }
+
+        private void agregar(String fila) {
+            valores.add(fila);
+            if (++filas == FILAS_POR_SENTENCIA) {
+                cerrar();
+            }
+        }
+
+        private void cerrar() {
+            if (filas > 0) {
+                ejecutar(databaseClient, prefijo + valores);
+                valores = new StringJoiner(", ");
+                filas = 0;
+            }
+        }
+    }
+}
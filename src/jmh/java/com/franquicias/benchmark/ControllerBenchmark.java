@@ -0,0 +1,83 @@
+package com.franquicias.benchmark;
+
+import com.franquicias.benchmark.support.BenchmarkFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recorrido completo de WebFlux (enrutado, deserialización, validación, caso de uso y serialización)
+ * con {@link WebTestClient} enlazado a los controladores, sin red ni base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private WebTestClient webTestClient;
+    private long contador;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        webTestClient = new BenchmarkFixture().webTestClient();
+    }
+
+    @Benchmark
+    public byte[] crearFranquicia() {
+        return webTestClient.post()
+                .uri("/api/franquicias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\":\"Franquicia " + contador++ + "\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] agregarProducto() {
+        return webTestClient.post()
+                .uri("/api/sucursales/{sucursalId}/productos", BenchmarkFixture.SUCURSAL_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\":\"Producto nuevo " + contador++ + "\",\"stock\":10}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] ajustarStock() {
+        return webTestClient.patch()
+                .uri("/api/sucursales/{sucursalId}/productos/{productoId}/stock",
+                        BenchmarkFixture.SUCURSAL_ID, BenchmarkFixture.PRODUCTO_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue((contador++ & 1) == 0 ? "{\"delta\":1}" : "{\"delta\":-1}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] obtenerProductosMaximoStock() {
+        return webTestClient.get()
+                .uri("/api/franquicias/{franquiciaId}/productos-maximo-stock", BenchmarkFixture.FRANQUICIA_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,83 @@
+package com.franquicias.benchmark;
+
+import com.franquicias.adapters.presentation.dto.FranquiciaResponse;
+import com.franquicias.adapters.presentation.dto.ProductoMaximoStockResponse;
+import com.franquicias.adapters.presentation.mapper.ProductoMaximoStockMapper;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.infrastructure.persistence.r2dbc.entity.FranquiciaEntity;
+import com.franquicias.infrastructure.persistence.r2dbc.entity.ProductoEntity;
+import com.franquicias.infrastructure.persistence.r2dbc.mapper.FranquiciaMapper;
+import com.franquicias.infrastructure.persistence.r2dbc.mapper.ProductoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones entidad ↔ dominio ↔ DTO que se ejecutan una vez por fila en cada petición.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ProductoEntity productoEntity;
+    private Producto producto;
+    private FranquiciaEntity franquiciaEntity;
+    private Franquicia franquicia;
+    private ProductoMaximoStock productoMaximoStock;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime ahora = LocalDateTime.now();
+        productoEntity = new ProductoEntity(1L, "Producto", 100, 1L, ahora, ahora);
+        producto = new Producto(1L, "Producto", 100, 1L, ahora, ahora);
+        franquiciaEntity = new FranquiciaEntity(1L, "Franquicia", ahora, ahora);
+        franquicia = new Franquicia(1L, "Franquicia", ahora, ahora);
+        productoMaximoStock = new ProductoMaximoStock(1L, "Producto", 100, 1L, "Sucursal");
+    }
+
+    @Benchmark
+    public Producto productoToDomain() {
+        return ProductoMapper.toDomain(productoEntity);
+    }
+
+    @Benchmark
+    public ProductoEntity productoToEntity() {
+        return ProductoMapper.toEntity(producto);
+    }
+
+    @Benchmark
+    public Franquicia franquiciaToDomain() {
+        return FranquiciaMapper.toDomain(franquiciaEntity);
+    }
+
+    @Benchmark
+    public FranquiciaEntity franquiciaToEntity() {
+        return FranquiciaMapper.toEntity(franquicia);
+    }
+
+    @Benchmark
+    public FranquiciaResponse franquiciaToResponse() {
+        return com.franquicias.adapters.presentation.mapper.FranquiciaMapper.toResponse(franquicia);
+    }
+
+    @Benchmark
+    public ProductoMaximoStockResponse productoMaximoStockToResponse() {
+        return ProductoMaximoStockMapper.toResponse(productoMaximoStock);
+    }
+}
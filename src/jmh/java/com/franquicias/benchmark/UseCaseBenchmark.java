@@ -0,0 +1,120 @@
+package com.franquicias.benchmark;
+
+import com.franquicias.benchmark.support.BenchmarkFixture;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.franquicias.benchmark.support.BenchmarkFixture.FRANQUICIA_ID;
+import static com.franquicias.benchmark.support.BenchmarkFixture.PRODUCTOS_POR_SUCURSAL;
+import static com.franquicias.benchmark.support.BenchmarkFixture.PRODUCTO_ID;
+import static com.franquicias.benchmark.support.BenchmarkFixture.SUCURSAL_ID;
+
+/**
+ * Mide cada caso de uso sobre repositorios en memoria: lo que queda es el coste propio de la
+ * orquestación reactiva, las validaciones y las asignaciones de objetos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UseCaseBenchmark {
+
+    private BenchmarkFixture fixture;
+    private List<ActualizacionStock> actualizaciones;
+    private List<Producto> importacion;
+    private long contador;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Se reconstruye en cada iteración para que las altas no hagan crecer el estado sin límite
+        fixture = new BenchmarkFixture();
+        actualizaciones = new ArrayList<>();
+        for (long id = PRODUCTO_ID; id < PRODUCTO_ID + PRODUCTOS_POR_SUCURSAL; id++) {
+            actualizaciones.add(new ActualizacionStock(id, (int) id));
+        }
+        importacion = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            importacion.add(new Producto(null, "Importado " + i, i, null));
+        }
+    }
+
+    @Benchmark
+    public Object crearFranquicia() {
+        return fixture.crearFranquicia.execute("Franquicia " + contador++).block();
+    }
+
+    @Benchmark
+    public Object agregarSucursal() {
+        return fixture.agregarSucursal.execute(FRANQUICIA_ID, "Sucursal nueva " + contador++).block();
+    }
+
+    @Benchmark
+    public Object agregarProducto() {
+        return fixture.agregarProducto.execute(SUCURSAL_ID, "Producto nuevo " + contador++, 10).block();
+    }
+
+    @Benchmark
+    public Object agregarYEliminarProducto() {
+        // Se agrega antes de eliminar para que cada invocación elimine un producto existente
+        Producto producto = fixture.agregarProducto.execute(SUCURSAL_ID, "Temporal " + contador++, 1).block();
+        return fixture.eliminarProducto.execute(SUCURSAL_ID, producto.getId()).block();
+    }
+
+    @Benchmark
+    public Object modificarStock() {
+        return fixture.modificarStock.execute(SUCURSAL_ID, PRODUCTO_ID, (int) (contador++ & 1023)).block();
+    }
+
+    @Benchmark
+    public Object ajustarStock() {
+        return fixture.ajustarStock.execute(SUCURSAL_ID, PRODUCTO_ID, (contador++ & 1) == 0 ? 1 : -1).block();
+    }
+
+    @Benchmark
+    public Object actualizarStockMasivo() {
+        return fixture.actualizarStockMasivo.execute(SUCURSAL_ID, actualizaciones).collectList().block();
+    }
+
+    @Benchmark
+    public Object importarProductos() {
+        return fixture.importarProductos.execute(SUCURSAL_ID, Flux.fromIterable(importacion)).block();
+    }
+
+    @Benchmark
+    public Object obtenerProductosMaximoStock() {
+        return fixture.obtenerProductosMaximoStock.execute(FRANQUICIA_ID).collectList().block();
+    }
+
+    @Benchmark
+    public Object actualizarNombreFranquicia() {
+        return fixture.actualizarNombreFranquicia.execute(FRANQUICIA_ID, "Franquicia " + (contador++ & 1)).block();
+    }
+
+    @Benchmark
+    public Object actualizarNombreSucursal() {
+        return fixture.actualizarNombreSucursal.execute(FRANQUICIA_ID, SUCURSAL_ID, "Sucursal " + (contador++ & 1)).block();
+    }
+
+    @Benchmark
+    public Object actualizarNombreProducto() {
+        return fixture.actualizarNombreProducto.execute(SUCURSAL_ID, PRODUCTO_ID, "Producto " + (contador++ & 1)).block();
+    }
+}
@@ -0,0 +1,131 @@
+package com.franquicias.benchmark.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franquicias.adapters.presentation.controller.FranquiciaController;
+import com.franquicias.adapters.presentation.controller.ProductoController;
+import com.franquicias.adapters.presentation.controller.ProductoMaximoStockController;
+import com.franquicias.adapters.presentation.controller.SucursalController;
+import com.franquicias.application.usecase.*;
+import com.franquicias.common.exception.GlobalExceptionHandler;
+import com.franquicias.domain.cache.ProductosMaximoStockCache;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.ContadorCambiosFranquiciaMemoriaRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.FranquiciaMemoriaRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.ProductoMemoriaRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.ProyeccionMaximoStockMemoriaRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.ResumenInventarioMemoriaRepository;
+import com.franquicias.infrastructure.persistence.memoria.repository.SucursalMemoriaRepository;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Arma los casos de uso y controladores reales sobre los repositorios del perfil {@code memoria},
+ * con una franquicia de {@link #SUCURSALES} sucursales y {@link #PRODUCTOS_POR_SUCURSAL} productos
+ * por sucursal.
+ */
+public class BenchmarkFixture {
+
+    public static final long FRANQUICIA_ID = 1L;
+    public static final long SUCURSAL_ID = 1L;
+    public static final long PRODUCTO_ID = 1L;
+    public static final int SUCURSALES = 20;
+    public static final int PRODUCTOS_POR_SUCURSAL = 50;
+
+    private static final ProyeccionMaximoStockRepository PROYECCION_SIN_EFECTO =
+            new ProyeccionMaximoStockMemoriaRepository();
+
+    private static final ProductosMaximoStockCache SIN_CACHE = new ProductosMaximoStockCache() {
+        @Override
+        public Flux<ProductoMaximoStock> obtener(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta) {
+            return consulta.get();
+        }
+
+        @Override
+        public Flux<ProductoMaximoStock> compartir(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta) {
+            return consulta.get();
+        }
+
+        @Override
+        public void invalidar(Long franquiciaId) {
+        }
+    };
+
+    private static final CambioInventarioPublisher SIN_EVENTOS = cambio -> Mono.empty();
+
+    public final FranquiciaMemoriaRepository franquiciaRepository = new FranquiciaMemoriaRepository();
+    public final SucursalMemoriaRepository sucursalRepository = new SucursalMemoriaRepository();
+    public final ProductoMemoriaRepository productoRepository = new ProductoMemoriaRepository(sucursalRepository);
+    public final ResumenInventarioMemoriaRepository resumenInventarioRepository =
+            new ResumenInventarioMemoriaRepository(sucursalRepository, productoRepository);
+
+    public final CrearFranquiciaUseCase crearFranquicia = new CrearFranquiciaUseCase(franquiciaRepository);
+    public final AgregarSucursalUseCase agregarSucursal =
+            new AgregarSucursalUseCase(sucursalRepository, franquiciaRepository, SIN_EVENTOS);
+    public final AgregarProductoUseCase agregarProducto = new AgregarProductoUseCase(productoRepository,
+            sucursalRepository, PROYECCION_SIN_EFECTO, resumenInventarioRepository, SIN_EVENTOS);
+    public final ImportarProductosUseCase importarProductos = new ImportarProductosUseCase(productoRepository,
+            sucursalRepository, PROYECCION_SIN_EFECTO, resumenInventarioRepository, SIN_EVENTOS);
+    public final EliminarProductoUseCase eliminarProducto =
+            new EliminarProductoUseCase(productoRepository, PROYECCION_SIN_EFECTO,
+                    resumenInventarioRepository, SIN_EVENTOS);
+    public final ModificarStockProductoUseCase modificarStock =
+            new ModificarStockProductoUseCase(productoRepository, PROYECCION_SIN_EFECTO,
+                    resumenInventarioRepository, SIN_EVENTOS);
+    public final AjustarStockProductoUseCase ajustarStock =
+            new AjustarStockProductoUseCase(productoRepository, PROYECCION_SIN_EFECTO,
+                    resumenInventarioRepository, SIN_EVENTOS);
+    public final ActualizarStockMasivoUseCase actualizarStockMasivo =
+            new ActualizarStockMasivoUseCase(productoRepository, PROYECCION_SIN_EFECTO,
+                    resumenInventarioRepository, SIN_EVENTOS);
+    public final ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStock =
+            new ObtenerProductosMaximoStockPorFranquiciaUseCase(productoRepository, franquiciaRepository, SIN_CACHE);
+    public final ListarSucursalesUseCase listarSucursales =
+            new ListarSucursalesUseCase(sucursalRepository, franquiciaRepository);
+    public final ListarProductosUseCase listarProductos =
+            new ListarProductosUseCase(productoRepository, sucursalRepository);
+    public final ObtenerVersionInventarioFranquiciaUseCase obtenerVersionInventario =
+            new ObtenerVersionInventarioFranquiciaUseCase(
+                    new ContadorCambiosFranquiciaMemoriaRepository(franquiciaRepository, sucursalRepository));
+    public final ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventario =
+            new ObtenerResumenInventarioFranquiciaUseCase(resumenInventarioRepository, franquiciaRepository);
+    public final ActualizarNombreFranquiciaUseCase actualizarNombreFranquicia =
+            new ActualizarNombreFranquiciaUseCase(franquiciaRepository, SIN_EVENTOS);
+    public final ActualizarNombreSucursalUseCase actualizarNombreSucursal =
+            new ActualizarNombreSucursalUseCase(sucursalRepository, SIN_EVENTOS);
+    public final ActualizarNombreProductoUseCase actualizarNombreProducto =
+            new ActualizarNombreProductoUseCase(productoRepository, SIN_EVENTOS);
+
+    public BenchmarkFixture() {
+        // Los repositorios asignan ids secuenciales desde 1, que coinciden con las constantes
+        franquiciaRepository.save(new Franquicia(null, "Franquicia Benchmark")).block();
+        long productoId = PRODUCTO_ID;
+        for (long sucursalId = SUCURSAL_ID; sucursalId < SUCURSAL_ID + SUCURSALES; sucursalId++) {
+            sucursalRepository.save(new Sucursal(null, "Sucursal " + sucursalId, FRANQUICIA_ID)).block();
+            for (int i = 0; i < PRODUCTOS_POR_SUCURSAL; i++, productoId++) {
+                productoRepository.save(new Producto(null, "Producto " + productoId,
+                        (int) (productoId * 7919 % 1000), sucursalId)).block();
+            }
+        }
+    }
+
+    public WebTestClient webTestClient() {
+        return WebTestClient.bindToController(
+                        new FranquiciaController(crearFranquicia, actualizarNombreFranquicia,
+                                obtenerResumenInventario),
+                        new SucursalController(agregarSucursal, actualizarNombreSucursal, listarSucursales),
+                        new ProductoController(agregarProducto, eliminarProducto, modificarStock,
+                                actualizarNombreProducto, ajustarStock, actualizarStockMasivo, importarProductos,
+                                listarProductos, new ObjectMapper()),
+                        new ProductoMaximoStockController(obtenerProductosMaximoStock, obtenerVersionInventario))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+}
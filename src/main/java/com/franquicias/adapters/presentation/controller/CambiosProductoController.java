@@ -0,0 +1,35 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.CambioProductoResponse;
+import com.franquicias.adapters.presentation.mapper.CambioProductoMapper;
+import com.franquicias.application.usecase.SuscribirCambiosProductoUseCase;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/sucursales/{sucursalId}/productos")
+public class CambiosProductoController {
+
+    private final SuscribirCambiosProductoUseCase suscribirCambiosProductoUseCase;
+
+    public CambiosProductoController(SuscribirCambiosProductoUseCase suscribirCambiosProductoUseCase) {
+        this.suscribirCambiosProductoUseCase = suscribirCambiosProductoUseCase;
+    }
+
+    /**
+     * El id de cada evento es la secuencia del cambio; al reconectarse, el navegador la devuelve en
+     * {@code Last-Event-ID} y solo se reenvían los cambios retenidos posteriores a ella.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CambioProductoResponse>> suscribirCambios(
+            @PathVariable Long sucursalId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento) {
+        return EventosServidor.conLatido(suscribirCambiosProductoUseCase.execute(sucursalId, ultimoEvento)
+                .map(cambio -> ServerSentEvent.builder(CambioProductoMapper.toResponse(cambio))
+                        .id(String.valueOf(cambio.getSecuencia()))
+                        .event(cambio.getTipo().name())
+                        .build()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Traduce entre la columna {@code version} y las cabeceras {@code ETag}/{@code If-Match}. La ETag es
+ * la versión entre comillas, por ejemplo {@code "3"}. Las lecturas de una franquicia usan su contador
+ * de cambios como ETag débil ({@code W/"12"}), porque JSON, NDJSON y SSE no son idénticos byte a byte.
+ */
+final class ControlVersion {
+
+    private ControlVersion() {
+    }
+
+    static Long versionEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.valueOf(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Se trata igual que cualquier otra ETag que no es nuestra
+            }
+        }
+        // Una ETag débil o ajena nunca coincide en la comparación fuerte que exige If-Match
+        throw new VersionNoCoincideException("La ETag " + etag + " no corresponde a ninguna versión del recurso");
+    }
+
+    static <T> ResponseEntity<T> conEtag(ResponseEntity.BodyBuilder respuesta, Long version, T body) {
+        if (version != null) {
+            respuesta.eTag("\"" + version + "\"");
+        }
+        return respuesta.body(body);
+    }
+
+    static String etagDebil(Long cambios) {
+        return "W/\"" + cambios + "\"";
+    }
+
+    /**
+     * Comparación débil de {@code If-None-Match}: coincide {@code *} o cualquier ETag de la lista con
+     * el mismo valor, lleve o no el prefijo {@code W/}.
+     */
+    static boolean noModificado(String ifNoneMatch, Long cambios) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String esperada = "\"" + cambios + "\"";
+        for (String etag : ifNoneMatch.split(",")) {
+            String valor = etag.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(esperada)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.franquicias.adapters.presentation.controller;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Utilidades comunes de las suscripciones Server-Sent Events.
+ */
+final class EventosServidor {
+
+    // Mantiene viva la conexión a través de proxies que cierran las que llevan un rato sin tráfico
+    private static final Duration LATIDO = Duration.ofSeconds(15);
+
+    private EventosServidor() {
+    }
+
+    static <T> Flux<ServerSentEvent<T>> conLatido(Flux<ServerSentEvent<T>> eventos) {
+        return Flux.merge(eventos, Flux.interval(LATIDO)
+                .map(tick -> ServerSentEvent.<T>builder().comment("latido").build()));
+    }
+}
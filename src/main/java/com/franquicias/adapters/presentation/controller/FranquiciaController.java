@@ -3,10 +3,14 @@ package com.franquicias.adapters.presentation.controller;
 import com.franquicias.adapters.presentation.dto.ActualizarNombreRequest;
 import com.franquicias.adapters.presentation.dto.FranquiciaRequest;
 import com.franquicias.adapters.presentation.dto.FranquiciaResponse;
+import com.franquicias.adapters.presentation.dto.ResumenInventarioResponse;
 import com.franquicias.adapters.presentation.mapper.FranquiciaMapper;
+import com.franquicias.adapters.presentation.mapper.ResumenInventarioMapper;
 import com.franquicias.application.usecase.ActualizarNombreFranquiciaUseCase;
 import com.franquicias.application.usecase.CrearFranquiciaUseCase;
+import com.franquicias.application.usecase.ObtenerResumenInventarioFranquiciaUseCase;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,27 +22,37 @@ public class FranquiciaController {
     
     private final CrearFranquiciaUseCase crearFranquiciaUseCase;
     private final ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase;
+    private final ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase;
 
     public FranquiciaController(CrearFranquiciaUseCase crearFranquiciaUseCase,
-                                ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase) {
+                                ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase,
+                                ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase) {
         this.crearFranquiciaUseCase = crearFranquiciaUseCase;
         this.actualizarNombreFranquiciaUseCase = actualizarNombreFranquiciaUseCase;
+        this.obtenerResumenInventarioFranquiciaUseCase = obtenerResumenInventarioFranquiciaUseCase;
     }
 
     @PostMapping
     public Mono<ResponseEntity<FranquiciaResponse>> crearFranquicia(@Valid @RequestBody FranquiciaRequest request) {
         return crearFranquiciaUseCase.execute(request.getNombre())
-                .map(FranquiciaMapper::toResponse)
-                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+                .map(franquicia -> ControlVersion.conEtag(ResponseEntity.status(HttpStatus.CREATED),
+                        franquicia.getVersion(), FranquiciaMapper.toResponse(franquicia)));
     }
 
     @PutMapping("/{id}/nombre")
     public Mono<ResponseEntity<FranquiciaResponse>> actualizarNombreFranquicia(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarNombreRequest request) {
-        return actualizarNombreFranquiciaUseCase.execute(id, request.getNombre())
-                .map(FranquiciaMapper::toResponse)
+        return actualizarNombreFranquiciaUseCase.execute(id, request.getNombre(), ControlVersion.versionEsperada(ifMatch))
+                .map(franquicia -> ControlVersion.conEtag(ResponseEntity.ok(),
+                        franquicia.getVersion(), FranquiciaMapper.toResponse(franquicia)));
+    }
+
+    @GetMapping("/{id}/inventario/resumen")
+    public Mono<ResponseEntity<ResumenInventarioResponse>> obtenerResumenInventario(@PathVariable Long id) {
+        return obtenerResumenInventarioFranquiciaUseCase.execute(id)
+                .map(ResumenInventarioMapper::toResponse)
                 .map(ResponseEntity::ok);
     }
 }
-
@@ -1,14 +1,28 @@
 package com.franquicias.adapters.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franquicias.adapters.presentation.dto.ActualizacionMasivaStockRequest;
+import com.franquicias.adapters.presentation.dto.ActualizacionMasivaStockResponse;
 import com.franquicias.adapters.presentation.dto.ActualizarNombreRequest;
+import com.franquicias.adapters.presentation.dto.AjustarStockRequest;
+import com.franquicias.adapters.presentation.dto.ImportacionProductosResponse;
 import com.franquicias.adapters.presentation.dto.ModificarStockRequest;
+import com.franquicias.adapters.presentation.dto.PaginaResponse;
 import com.franquicias.adapters.presentation.dto.ProductoRequest;
 import com.franquicias.adapters.presentation.dto.ProductoResponse;
+import com.franquicias.adapters.presentation.dto.StockResponse;
+import com.franquicias.adapters.presentation.mapper.ActualizacionStockMapper;
+import com.franquicias.adapters.presentation.mapper.ImportacionProductosMapper;
 import com.franquicias.application.usecase.*;
+import com.franquicias.domain.model.Producto;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -19,15 +33,44 @@ public class ProductoController {
     private final EliminarProductoUseCase eliminarProductoUseCase;
     private final ModificarStockProductoUseCase modificarStockProductoUseCase;
     private final ActualizarNombreProductoUseCase actualizarNombreProductoUseCase;
+    private final AjustarStockProductoUseCase ajustarStockProductoUseCase;
+    private final ActualizarStockMasivoUseCase actualizarStockMasivoUseCase;
+    private final ImportarProductosUseCase importarProductosUseCase;
+    private final ListarProductosUseCase listarProductosUseCase;
+    private final ObjectMapper objectMapper;
 
     public ProductoController(AgregarProductoUseCase agregarProductoUseCase,
                              EliminarProductoUseCase eliminarProductoUseCase,
                              ModificarStockProductoUseCase modificarStockProductoUseCase,
-                             ActualizarNombreProductoUseCase actualizarNombreProductoUseCase) {
+                             ActualizarNombreProductoUseCase actualizarNombreProductoUseCase,
+                             AjustarStockProductoUseCase ajustarStockProductoUseCase,
+                             ActualizarStockMasivoUseCase actualizarStockMasivoUseCase,
+                             ImportarProductosUseCase importarProductosUseCase,
+                             ListarProductosUseCase listarProductosUseCase,
+                             ObjectMapper objectMapper) {
         this.agregarProductoUseCase = agregarProductoUseCase;
         this.eliminarProductoUseCase = eliminarProductoUseCase;
         this.modificarStockProductoUseCase = modificarStockProductoUseCase;
         this.actualizarNombreProductoUseCase = actualizarNombreProductoUseCase;
+        this.ajustarStockProductoUseCase = ajustarStockProductoUseCase;
+        this.actualizarStockMasivoUseCase = actualizarStockMasivoUseCase;
+        this.importarProductosUseCase = importarProductosUseCase;
+        this.listarProductosUseCase = listarProductosUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PaginaResponse<ProductoResponse>>> listarProductos(
+            @PathVariable Long sucursalId,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return Mono.fromCallable(() -> ListarProductosUseCase.Orden.desde(orden))
+                .flatMap(ordenListado -> listarProductosUseCase.execute(sucursalId, ordenListado, cursor, limite))
+                .map(pagina -> new PaginaResponse<>(pagina.getElementos().stream()
+                        .map(ProductoController::toResponse)
+                        .toList(), pagina.getSiguienteCursor()))
+                .map(ResponseEntity::ok);
     }
 
     @PostMapping
@@ -35,53 +78,84 @@ public class ProductoController {
             @PathVariable Long sucursalId,
             @Valid @RequestBody ProductoRequest request) {
         return agregarProductoUseCase.execute(sucursalId, request.getNombre(), request.getStock())
-                .map(producto -> new ProductoResponse(
-                    producto.getId(),
-                    producto.getNombre(),
-                    producto.getStock(),
-                    producto.getSucursalId(),
-                    producto.getCreatedAt(),
-                    producto.getUpdatedAt()
-                ))
-                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+                .map(producto -> ControlVersion.conEtag(ResponseEntity.status(HttpStatus.CREATED),
+                        producto.getVersion(), toResponse(producto)));
+    }
+
+    @PostMapping(value = "/importacion", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ImportacionProductosResponse>> importarProductos(
+            @PathVariable Long sucursalId,
+            @RequestBody Flux<String> lineas) {
+        Flux<Producto> productos = lineas
+                .filter(linea -> !linea.isBlank())
+                .map(linea -> ImportacionProductosMapper.toDomain(linea, objectMapper));
+        return importarProductosUseCase.execute(sucursalId, productos)
+                .map(ImportacionProductosMapper::toResponse)
+                .map(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{productoId}")
-    public Mono<ResponseEntity<Void>> eliminarProducto(@PathVariable Long productoId) {
-        return eliminarProductoUseCase.execute(productoId)
+    public Mono<ResponseEntity<Void>> eliminarProducto(
+            @PathVariable Long sucursalId,
+            @PathVariable Long productoId) {
+        return eliminarProductoUseCase.execute(sucursalId, productoId)
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
 
     @PutMapping("/{productoId}/stock")
     public Mono<ResponseEntity<ProductoResponse>> modificarStockProducto(
+            @PathVariable Long sucursalId,
             @PathVariable Long productoId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ModificarStockRequest request) {
-        return modificarStockProductoUseCase.execute(productoId, request.getStock())
-                .map(producto -> new ProductoResponse(
-                    producto.getId(),
-                    producto.getNombre(),
-                    producto.getStock(),
-                    producto.getSucursalId(),
-                    producto.getCreatedAt(),
-                    producto.getUpdatedAt()
-                ))
+        return modificarStockProductoUseCase.execute(sucursalId, productoId, request.getStock(),
+                        ControlVersion.versionEsperada(ifMatch))
+                .map(producto -> ControlVersion.conEtag(ResponseEntity.ok(),
+                        producto.getVersion(), toResponse(producto)));
+    }
+
+    @PatchMapping("/{productoId}/stock")
+    public Mono<ResponseEntity<StockResponse>> ajustarStockProducto(
+            @PathVariable Long sucursalId,
+            @PathVariable Long productoId,
+            @Valid @RequestBody AjustarStockRequest request) {
+        return ajustarStockProductoUseCase.execute(sucursalId, productoId, request.getDelta())
+                .map(stock -> new StockResponse(productoId, sucursalId, stock))
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/stock")
+    public Mono<ResponseEntity<ActualizacionMasivaStockResponse>> actualizarStockMasivo(
+            @PathVariable Long sucursalId,
+            @Valid @RequestBody ActualizacionMasivaStockRequest request) {
+        return actualizarStockMasivoUseCase.execute(sucursalId, request.getProductos().stream()
+                        .map(ActualizacionStockMapper::toDomain)
+                        .toList())
+                .collectList()
+                .map(ActualizacionStockMapper::toResponse)
                 .map(ResponseEntity::ok);
     }
 
     @PutMapping("/{productoId}/nombre")
     public Mono<ResponseEntity<ProductoResponse>> actualizarNombreProducto(
+            @PathVariable Long sucursalId,
             @PathVariable Long productoId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarNombreRequest request) {
-        return actualizarNombreProductoUseCase.execute(productoId, request.getNombre())
-                .map(producto -> new ProductoResponse(
-                    producto.getId(),
-                    producto.getNombre(),
-                    producto.getStock(),
-                    producto.getSucursalId(),
-                    producto.getCreatedAt(),
-                    producto.getUpdatedAt()
-                ))
-                .map(ResponseEntity::ok);
+        return actualizarNombreProductoUseCase.execute(sucursalId, productoId, request.getNombre(),
+                        ControlVersion.versionEsperada(ifMatch))
+                .map(producto -> ControlVersion.conEtag(ResponseEntity.ok(),
+                        producto.getVersion(), toResponse(producto)));
     }
-}
 
+    private static ProductoResponse toResponse(Producto producto) {
+        return new ProductoResponse(
+            producto.getId(),
+            producto.getNombre(),
+            producto.getStock(),
+            producto.getSucursalId(),
+            producto.getCreatedAt(),
+            producto.getUpdatedAt()
+        );
+    }
+}
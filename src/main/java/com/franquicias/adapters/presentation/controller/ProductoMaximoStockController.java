@@ -3,24 +3,64 @@ package com.franquicias.adapters.presentation.controller;
 import com.franquicias.adapters.presentation.dto.ProductoMaximoStockResponse;
 import com.franquicias.adapters.presentation.mapper.ProductoMaximoStockMapper;
 import com.franquicias.application.usecase.ObtenerProductosMaximoStockPorFranquiciaUseCase;
+import com.franquicias.application.usecase.ObtenerVersionInventarioFranquiciaUseCase;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/franquicias/{franquiciaId}/productos-maximo-stock")
 public class ProductoMaximoStockController {
     
     private final ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStockPorFranquiciaUseCase;
+    private final ObtenerVersionInventarioFranquiciaUseCase obtenerVersionInventarioFranquiciaUseCase;
 
-    public ProductoMaximoStockController(ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStockPorFranquiciaUseCase) {
+    public ProductoMaximoStockController(ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStockPorFranquiciaUseCase,
+                                         ObtenerVersionInventarioFranquiciaUseCase obtenerVersionInventarioFranquiciaUseCase) {
         this.obtenerProductosMaximoStockPorFranquiciaUseCase = obtenerProductosMaximoStockPorFranquiciaUseCase;
+        this.obtenerVersionInventarioFranquiciaUseCase = obtenerVersionInventarioFranquiciaUseCase;
     }
 
     @GetMapping
-    public Flux<ProductoMaximoStockResponse> obtenerProductosMaximoStock(
-            @PathVariable Long franquiciaId) {
-        return obtenerProductosMaximoStockPorFranquiciaUseCase.execute(franquiciaId)
-                .map(ProductoMaximoStockMapper::toResponse);
+    public Mono<ResponseEntity<Flux<ProductoMaximoStockResponse>>> obtenerProductosMaximoStock(
+            @PathVariable Long franquiciaId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return condicional(franquiciaId, ifNoneMatch,
+                () -> obtenerProductosMaximoStockPorFranquiciaUseCase.execute(franquiciaId));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Mono<ResponseEntity<Flux<ProductoMaximoStockResponse>>> obtenerProductosMaximoStockEnStreaming(
+            @PathVariable Long franquiciaId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return condicional(franquiciaId, ifNoneMatch,
+                () -> obtenerProductosMaximoStockPorFranquiciaUseCase.executeEnStreaming(franquiciaId));
     }
-}
 
+    /**
+     * El contador se lee antes que el inventario: si cambia entre ambas lecturas, la respuesta lleva
+     * la ETag anterior y el cliente la vuelve a pedir completa en la siguiente consulta.
+     */
+    private Mono<ResponseEntity<Flux<ProductoMaximoStockResponse>>> condicional(
+            Long franquiciaId, String ifNoneMatch, Supplier<Flux<ProductoMaximoStock>> consulta) {
+        return obtenerVersionInventarioFranquiciaUseCase.execute(franquiciaId)
+                .map(cambios -> {
+                    String etag = ControlVersion.etagDebil(cambios);
+                    if (ControlVersion.noModificado(ifNoneMatch, cambios)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .<Flux<ProductoMaximoStockResponse>>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(etag)
+                            .body(consulta.get().map(ProductoMaximoStockMapper::toResponse));
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.RankingStockResponse;
+import com.franquicias.adapters.presentation.mapper.RankingStockMapper;
+import com.franquicias.application.usecase.ObtenerRankingStockPorFranquiciaUseCase;
+import com.franquicias.domain.model.ExtremoStock;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/franquicias/{franquiciaId}/ranking-stock")
+public class RankingStockController {
+
+    private final ObtenerRankingStockPorFranquiciaUseCase obtenerRankingStockPorFranquiciaUseCase;
+
+    public RankingStockController(ObtenerRankingStockPorFranquiciaUseCase obtenerRankingStockPorFranquiciaUseCase) {
+        this.obtenerRankingStockPorFranquiciaUseCase = obtenerRankingStockPorFranquiciaUseCase;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<RankingStockResponse>> obtenerRankingStock(
+            @PathVariable Long franquiciaId,
+            @RequestParam(required = false) String extremo,
+            @RequestParam(required = false) Integer k) {
+        return Mono.fromCallable(() -> ExtremoStock.desde(extremo))
+                .flatMap(extremoRanking -> obtenerRankingStockPorFranquiciaUseCase.execute(franquiciaId, extremoRanking, k))
+                .map(RankingStockMapper::toResponse)
+                .map(ResponseEntity::ok);
+    }
+}
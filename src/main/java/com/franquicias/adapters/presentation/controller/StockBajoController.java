@@ -0,0 +1,43 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.AlertaStockResponse;
+import com.franquicias.adapters.presentation.dto.ProductoMaximoStockResponse;
+import com.franquicias.adapters.presentation.mapper.AlertaStockMapper;
+import com.franquicias.adapters.presentation.mapper.ProductoMaximoStockMapper;
+import com.franquicias.application.usecase.ListarProductosStockBajoUseCase;
+import com.franquicias.application.usecase.SuscribirAlertasStockUseCase;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/franquicias/{franquiciaId}")
+public class StockBajoController {
+
+    private final ListarProductosStockBajoUseCase listarProductosStockBajoUseCase;
+    private final SuscribirAlertasStockUseCase suscribirAlertasStockUseCase;
+
+    public StockBajoController(ListarProductosStockBajoUseCase listarProductosStockBajoUseCase,
+                               SuscribirAlertasStockUseCase suscribirAlertasStockUseCase) {
+        this.listarProductosStockBajoUseCase = listarProductosStockBajoUseCase;
+        this.suscribirAlertasStockUseCase = suscribirAlertasStockUseCase;
+    }
+
+    @GetMapping("/productos")
+    public Flux<ProductoMaximoStockResponse> listarProductosStockBajo(
+            @PathVariable Long franquiciaId,
+            @RequestParam(required = false) Integer stockMenorQue) {
+        return listarProductosStockBajoUseCase.execute(franquiciaId, stockMenorQue)
+                .map(ProductoMaximoStockMapper::toResponse);
+    }
+
+    @GetMapping(value = "/alertas-stock", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AlertaStockResponse>> suscribirAlertasStock(@PathVariable Long franquiciaId) {
+        return EventosServidor.conLatido(suscribirAlertasStockUseCase.execute(franquiciaId)
+                .map(AlertaStockMapper::toResponse)
+                .map(alerta -> ServerSentEvent.builder(alerta)
+                        .event(alerta.getTipo())
+                        .build()));
+    }
+}
@@ -1,11 +1,15 @@
 package com.franquicias.adapters.presentation.controller;
 
 import com.franquicias.adapters.presentation.dto.ActualizarNombreRequest;
+import com.franquicias.adapters.presentation.dto.PaginaResponse;
 import com.franquicias.adapters.presentation.dto.SucursalRequest;
 import com.franquicias.adapters.presentation.dto.SucursalResponse;
 import com.franquicias.application.usecase.ActualizarNombreSucursalUseCase;
 import com.franquicias.application.usecase.AgregarSucursalUseCase;
+import com.franquicias.application.usecase.ListarSucursalesUseCase;
+import com.franquicias.domain.model.Sucursal;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,11 +21,26 @@ public class SucursalController {
     
     private final AgregarSucursalUseCase agregarSucursalUseCase;
     private final ActualizarNombreSucursalUseCase actualizarNombreSucursalUseCase;
+    private final ListarSucursalesUseCase listarSucursalesUseCase;
 
     public SucursalController(AgregarSucursalUseCase agregarSucursalUseCase,
-                              ActualizarNombreSucursalUseCase actualizarNombreSucursalUseCase) {
+                              ActualizarNombreSucursalUseCase actualizarNombreSucursalUseCase,
+                              ListarSucursalesUseCase listarSucursalesUseCase) {
         this.agregarSucursalUseCase = agregarSucursalUseCase;
         this.actualizarNombreSucursalUseCase = actualizarNombreSucursalUseCase;
+        this.listarSucursalesUseCase = listarSucursalesUseCase;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PaginaResponse<SucursalResponse>>> listarSucursales(
+            @PathVariable Long franquiciaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return listarSucursalesUseCase.execute(franquiciaId, cursor, limite)
+                .map(pagina -> new PaginaResponse<>(pagina.getElementos().stream()
+                        .map(SucursalController::toResponse)
+                        .toList(), pagina.getSiguienteCursor()))
+                .map(ResponseEntity::ok);
     }
 
     @PostMapping
@@ -29,29 +48,29 @@ public class SucursalController {
             @PathVariable Long franquiciaId,
             @Valid @RequestBody SucursalRequest request) {
         return agregarSucursalUseCase.execute(franquiciaId, request.getNombre())
-                .map(sucursal -> new SucursalResponse(
-                    sucursal.getId(),
-                    sucursal.getNombre(),
-                    sucursal.getFranquiciaId(),
-                    sucursal.getCreatedAt(),
-                    sucursal.getUpdatedAt()
-                ))
-                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+                .map(sucursal -> ControlVersion.conEtag(ResponseEntity.status(HttpStatus.CREATED),
+                        sucursal.getVersion(), toResponse(sucursal)));
     }
 
     @PutMapping("/{sucursalId}/nombre")
     public Mono<ResponseEntity<SucursalResponse>> actualizarNombreSucursal(
+            @PathVariable Long franquiciaId,
             @PathVariable Long sucursalId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarNombreRequest request) {
-        return actualizarNombreSucursalUseCase.execute(sucursalId, request.getNombre())
-                .map(sucursal -> new SucursalResponse(
-                    sucursal.getId(),
-                    sucursal.getNombre(),
-                    sucursal.getFranquiciaId(),
-                    sucursal.getCreatedAt(),
-                    sucursal.getUpdatedAt()
-                ))
-                .map(ResponseEntity::ok);
+        return actualizarNombreSucursalUseCase.execute(franquiciaId, sucursalId, request.getNombre(),
+                        ControlVersion.versionEsperada(ifMatch))
+                .map(sucursal -> ControlVersion.conEtag(ResponseEntity.ok(),
+                        sucursal.getVersion(), toResponse(sucursal)));
     }
-}
 
+    private static SucursalResponse toResponse(Sucursal sucursal) {
+        return new SucursalResponse(
+            sucursal.getId(),
+            sucursal.getNombre(),
+            sucursal.getFranquiciaId(),
+            sucursal.getCreatedAt(),
+            sucursal.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.franquicias.adapters.presentation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ActualizacionMasivaStockRequest {
+
+    @NotEmpty(message = "La lista de productos es obligatoria")
+    @Size(max = 10000, message = "No se pueden actualizar más de 10000 productos por petición")
+    private List<ActualizacionStockItemRequest> productos;
+
+    public ActualizacionMasivaStockRequest() {
+    }
+
+    public ActualizacionMasivaStockRequest(List<ActualizacionStockItemRequest> productos) {
+        this.productos = productos;
+    }
+
+    public List<ActualizacionStockItemRequest> getProductos() {
+        return productos;
+    }
+
+    public void setProductos(List<ActualizacionStockItemRequest> productos) {
+        this.productos = productos;
+    }
+}
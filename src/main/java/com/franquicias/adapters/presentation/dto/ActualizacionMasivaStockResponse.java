@@ -0,0 +1,53 @@
+package com.franquicias.adapters.presentation.dto;
+
+import java.util.List;
+
+public class ActualizacionMasivaStockResponse {
+    private long actualizados;
+    private long noEncontrados;
+    private long rechazados;
+    private List<ResultadoActualizacionStockResponse> resultados;
+
+    public ActualizacionMasivaStockResponse() {
+    }
+
+    public ActualizacionMasivaStockResponse(long actualizados, long noEncontrados, long rechazados,
+                                            List<ResultadoActualizacionStockResponse> resultados) {
+        this.actualizados = actualizados;
+        this.noEncontrados = noEncontrados;
+        this.rechazados = rechazados;
+        this.resultados = resultados;
+    }
+
+    public long getActualizados() {
+        return actualizados;
+    }
+
+    public void setActualizados(long actualizados) {
+        this.actualizados = actualizados;
+    }
+
+    public long getNoEncontrados() {
+        return noEncontrados;
+    }
+
+    public void setNoEncontrados(long noEncontrados) {
+        this.noEncontrados = noEncontrados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(long rechazados) {
+        this.rechazados = rechazados;
+    }
+
+    public List<ResultadoActualizacionStockResponse> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoActualizacionStockResponse> resultados) {
+        this.resultados = resultados;
+    }
+}
@@ -0,0 +1,31 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class ActualizacionStockItemRequest {
+
+    private Long productoId;
+    private Integer stock;
+
+    public ActualizacionStockItemRequest() {
+    }
+
+    public ActualizacionStockItemRequest(Long productoId, Integer stock) {
+        this.productoId = productoId;
+        this.stock = stock;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
@@ -0,0 +1,24 @@
+package com.franquicias.adapters.presentation.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class AjustarStockRequest {
+
+    @NotNull(message = "El ajuste de stock es obligatorio")
+    private Integer delta;
+
+    public AjustarStockRequest() {
+    }
+
+    public AjustarStockRequest(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
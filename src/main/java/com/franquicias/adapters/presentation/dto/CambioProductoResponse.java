@@ -0,0 +1,60 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class CambioProductoResponse {
+    private String tipo;
+    private Long sucursalId;
+    private Long productoId;
+    private String nombre;
+    private Integer stock;
+
+    public CambioProductoResponse() {
+    }
+
+    public CambioProductoResponse(String tipo, Long sucursalId, Long productoId, String nombre, Integer stock) {
+        this.tipo = tipo;
+        this.sucursalId = sucursalId;
+        this.productoId = productoId;
+        this.nombre = nombre;
+        this.stock = stock;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
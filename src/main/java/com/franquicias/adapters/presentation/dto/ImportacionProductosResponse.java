@@ -0,0 +1,40 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class ImportacionProductosResponse {
+    private long insertados;
+    private long duplicados;
+    private long rechazados;
+
+    public ImportacionProductosResponse() {
+    }
+
+    public ImportacionProductosResponse(long insertados, long duplicados, long rechazados) {
+        this.insertados = insertados;
+        this.duplicados = duplicados;
+        this.rechazados = rechazados;
+    }
+
+    public long getInsertados() {
+        return insertados;
+    }
+
+    public void setInsertados(long insertados) {
+        this.insertados = insertados;
+    }
+
+    public long getDuplicados() {
+        return duplicados;
+    }
+
+    public void setDuplicados(long duplicados) {
+        this.duplicados = duplicados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(long rechazados) {
+        this.rechazados = rechazados;
+    }
+}
@@ -0,0 +1,32 @@
+package com.franquicias.adapters.presentation.dto;
+
+import java.util.List;
+
+public class PaginaResponse<T> {
+    private List<T> elementos;
+    private String siguienteCursor;
+
+    public PaginaResponse() {
+    }
+
+    public PaginaResponse(List<T> elementos, String siguienteCursor) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+}
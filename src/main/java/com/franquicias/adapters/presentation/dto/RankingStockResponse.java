@@ -0,0 +1,64 @@
+package com.franquicias.adapters.presentation.dto;
+
+import java.util.List;
+
+public class RankingStockResponse {
+    private Long franquiciaId;
+    private String extremo;
+    private int k;
+    private List<ProductoMaximoStockResponse> franquicia;
+    private List<RankingStockSucursalResponse> sucursales;
+
+    public RankingStockResponse() {
+    }
+
+    public RankingStockResponse(Long franquiciaId, String extremo, int k,
+                                List<ProductoMaximoStockResponse> franquicia,
+                                List<RankingStockSucursalResponse> sucursales) {
+        this.franquiciaId = franquiciaId;
+        this.extremo = extremo;
+        this.k = k;
+        this.franquicia = franquicia;
+        this.sucursales = sucursales;
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public void setFranquiciaId(Long franquiciaId) {
+        this.franquiciaId = franquiciaId;
+    }
+
+    public String getExtremo() {
+        return extremo;
+    }
+
+    public void setExtremo(String extremo) {
+        this.extremo = extremo;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public void setK(int k) {
+        this.k = k;
+    }
+
+    public List<ProductoMaximoStockResponse> getFranquicia() {
+        return franquicia;
+    }
+
+    public void setFranquicia(List<ProductoMaximoStockResponse> franquicia) {
+        this.franquicia = franquicia;
+    }
+
+    public List<RankingStockSucursalResponse> getSucursales() {
+        return sucursales;
+    }
+
+    public void setSucursales(List<RankingStockSucursalResponse> sucursales) {
+        this.sucursales = sucursales;
+    }
+}
@@ -0,0 +1,43 @@
+package com.franquicias.adapters.presentation.dto;
+
+import java.util.List;
+
+public class RankingStockSucursalResponse {
+    private Long sucursalId;
+    private String sucursalNombre;
+    private List<ProductoMaximoStockResponse> productos;
+
+    public RankingStockSucursalResponse() {
+    }
+
+    public RankingStockSucursalResponse(Long sucursalId, String sucursalNombre,
+                                        List<ProductoMaximoStockResponse> productos) {
+        this.sucursalId = sucursalId;
+        this.sucursalNombre = sucursalNombre;
+        this.productos = productos;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public String getSucursalNombre() {
+        return sucursalNombre;
+    }
+
+    public void setSucursalNombre(String sucursalNombre) {
+        this.sucursalNombre = sucursalNombre;
+    }
+
+    public List<ProductoMaximoStockResponse> getProductos() {
+        return productos;
+    }
+
+    public void setProductos(List<ProductoMaximoStockResponse> productos) {
+        this.productos = productos;
+    }
+}
@@ -0,0 +1,50 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class ResultadoActualizacionStockResponse {
+    private Long productoId;
+    private Integer stock;
+    private String estado;
+    private String mensaje;
+
+    public ResultadoActualizacionStockResponse() {
+    }
+
+    public ResultadoActualizacionStockResponse(Long productoId, Integer stock, String estado, String mensaje) {
+        this.productoId = productoId;
+        this.stock = stock;
+        this.estado = estado;
+        this.mensaje = mensaje;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+}
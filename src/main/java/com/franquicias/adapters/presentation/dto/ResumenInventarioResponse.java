@@ -0,0 +1,63 @@
+package com.franquicias.adapters.presentation.dto;
+
+import java.util.List;
+
+public class ResumenInventarioResponse {
+    private Long franquiciaId;
+    private long productos;
+    private long stockTotal;
+    private long productosSinStock;
+    private List<ResumenInventarioSucursalResponse> sucursales;
+
+    public ResumenInventarioResponse() {
+    }
+
+    public ResumenInventarioResponse(Long franquiciaId, long productos, long stockTotal, long productosSinStock,
+                                     List<ResumenInventarioSucursalResponse> sucursales) {
+        this.franquiciaId = franquiciaId;
+        this.productos = productos;
+        this.stockTotal = stockTotal;
+        this.productosSinStock = productosSinStock;
+        this.sucursales = sucursales;
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public void setFranquiciaId(Long franquiciaId) {
+        this.franquiciaId = franquiciaId;
+    }
+
+    public long getProductos() {
+        return productos;
+    }
+
+    public void setProductos(long productos) {
+        this.productos = productos;
+    }
+
+    public long getStockTotal() {
+        return stockTotal;
+    }
+
+    public void setStockTotal(long stockTotal) {
+        this.stockTotal = stockTotal;
+    }
+
+    public long getProductosSinStock() {
+        return productosSinStock;
+    }
+
+    public void setProductosSinStock(long productosSinStock) {
+        this.productosSinStock = productosSinStock;
+    }
+
+    public List<ResumenInventarioSucursalResponse> getSucursales() {
+        return sucursales;
+    }
+
+    public void setSucursales(List<ResumenInventarioSucursalResponse> sucursales) {
+        this.sucursales = sucursales;
+    }
+}
@@ -0,0 +1,61 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class ResumenInventarioSucursalResponse {
+    private Long sucursalId;
+    private String sucursalNombre;
+    private long productos;
+    private long stockTotal;
+    private long productosSinStock;
+
+    public ResumenInventarioSucursalResponse() {
+    }
+
+    public ResumenInventarioSucursalResponse(Long sucursalId, String sucursalNombre, long productos, long stockTotal,
+                                             long productosSinStock) {
+        this.sucursalId = sucursalId;
+        this.sucursalNombre = sucursalNombre;
+        this.productos = productos;
+        this.stockTotal = stockTotal;
+        this.productosSinStock = productosSinStock;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public String getSucursalNombre() {
+        return sucursalNombre;
+    }
+
+    public void setSucursalNombre(String sucursalNombre) {
+        this.sucursalNombre = sucursalNombre;
+    }
+
+    public long getProductos() {
+        return productos;
+    }
+
+    public void setProductos(long productos) {
+        this.productos = productos;
+    }
+
+    public long getStockTotal() {
+        return stockTotal;
+    }
+
+    public void setStockTotal(long stockTotal) {
+        this.stockTotal = stockTotal;
+    }
+
+    public long getProductosSinStock() {
+        return productosSinStock;
+    }
+
+    public void setProductosSinStock(long productosSinStock) {
+        this.productosSinStock = productosSinStock;
+    }
+}
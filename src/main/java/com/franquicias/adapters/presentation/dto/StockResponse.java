@@ -0,0 +1,40 @@
+package com.franquicias.adapters.presentation.dto;
+
+public class StockResponse {
+    private Long productoId;
+    private Long sucursalId;
+    private Integer stock;
+
+    public StockResponse() {
+    }
+
+    public StockResponse(Long productoId, Long sucursalId, Integer stock) {
+        this.productoId = productoId;
+        this.sucursalId = sucursalId;
+        this.stock = stock;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
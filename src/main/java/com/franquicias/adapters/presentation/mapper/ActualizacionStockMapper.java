@@ -0,0 +1,41 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.franquicias.adapters.presentation.dto.ActualizacionMasivaStockResponse;
+import com.franquicias.adapters.presentation.dto.ActualizacionStockItemRequest;
+import com.franquicias.adapters.presentation.dto.ResultadoActualizacionStockResponse;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+
+import java.util.List;
+
+public class ActualizacionStockMapper {
+
+    public static ActualizacionStock toDomain(ActualizacionStockItemRequest request) {
+        if (request == null) {
+            return new ActualizacionStock();
+        }
+        return new ActualizacionStock(request.getProductoId(), request.getStock());
+    }
+
+    public static ActualizacionMasivaStockResponse toResponse(List<ResultadoActualizacionStock> resultados) {
+        long actualizados = 0;
+        long noEncontrados = 0;
+        long rechazados = 0;
+        for (ResultadoActualizacionStock resultado : resultados) {
+            switch (resultado.getEstado()) {
+                case ACTUALIZADO -> actualizados++;
+                case NO_ENCONTRADO -> noEncontrados++;
+                case RECHAZADO -> rechazados++;
+            }
+        }
+        List<ResultadoActualizacionStockResponse> items = resultados.stream()
+                .map(resultado -> new ResultadoActualizacionStockResponse(
+                    resultado.getProductoId(),
+                    resultado.getStock(),
+                    resultado.getEstado().name(),
+                    resultado.getMensaje()
+                ))
+                .toList();
+        return new ActualizacionMasivaStockResponse(actualizados, noEncontrados, rechazados, items);
+    }
+}
@@ -0,0 +1,23 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.franquicias.adapters.presentation.dto.AlertaStockResponse;
+import com.franquicias.domain.model.AlertaStock;
+
+public class AlertaStockMapper {
+
+    public static AlertaStockResponse toResponse(AlertaStock alerta) {
+        if (alerta == null) {
+            return null;
+        }
+        return new AlertaStockResponse(
+            alerta.getTipo().name(),
+            alerta.getFranquiciaId(),
+            alerta.getSucursalId(),
+            alerta.getProductoId(),
+            alerta.getProductoNombre(),
+            alerta.getStockAnterior(),
+            alerta.getStock(),
+            alerta.getUmbral()
+        );
+    }
+}
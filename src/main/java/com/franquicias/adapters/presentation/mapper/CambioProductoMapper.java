@@ -0,0 +1,20 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.franquicias.adapters.presentation.dto.CambioProductoResponse;
+import com.franquicias.domain.event.CambioProducto;
+
+public class CambioProductoMapper {
+
+    public static CambioProductoResponse toResponse(CambioProducto cambio) {
+        if (cambio == null) {
+            return null;
+        }
+        return new CambioProductoResponse(
+            cambio.getTipo().name(),
+            cambio.getSucursalId(),
+            cambio.getProductoId(),
+            cambio.getNombre(),
+            cambio.getStock()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franquicias.adapters.presentation.dto.ImportacionProductosResponse;
+import com.franquicias.adapters.presentation.dto.ProductoRequest;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoImportacion;
+
+public class ImportacionProductosMapper {
+
+    // Una línea que no es un objeto JSON (texto inválido, un literal null, un número...) se convierte en un
+    // producto vacío para que el caso de uso la cuente como rechazada
+    public static Producto toDomain(String linea, ObjectMapper objectMapper) {
+        try {
+            ProductoRequest request = objectMapper.readValue(linea, ProductoRequest.class);
+            if (request == null) {
+                return new Producto();
+            }
+            return new Producto(null, request.getNombre(), request.getStock(), null);
+        } catch (JsonProcessingException e) {
+            return new Producto();
+        }
+    }
+
+    public static ImportacionProductosResponse toResponse(ResultadoImportacion resultado) {
+        if (resultado == null) {
+            return null;
+        }
+        return new ImportacionProductosResponse(
+            resultado.getInsertados(),
+            resultado.getDuplicados(),
+            resultado.getRechazados()
+        );
+    }
+}
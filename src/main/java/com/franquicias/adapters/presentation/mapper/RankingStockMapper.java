@@ -0,0 +1,36 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.franquicias.adapters.presentation.dto.RankingStockResponse;
+import com.franquicias.adapters.presentation.dto.RankingStockSucursalResponse;
+import com.franquicias.domain.model.RankingStockFranquicia;
+import com.franquicias.domain.model.RankingStockSucursal;
+
+public class RankingStockMapper {
+
+    public static RankingStockResponse toResponse(RankingStockFranquicia ranking) {
+        if (ranking == null) {
+            return null;
+        }
+        return new RankingStockResponse(
+            ranking.getFranquiciaId(),
+            ranking.getExtremo().getValor(),
+            ranking.getK(),
+            ranking.getFranquicia().stream()
+                .map(ProductoMaximoStockMapper::toResponse)
+                .toList(),
+            ranking.getSucursales().stream()
+                .map(RankingStockMapper::toResponse)
+                .toList()
+        );
+    }
+
+    private static RankingStockSucursalResponse toResponse(RankingStockSucursal sucursal) {
+        return new RankingStockSucursalResponse(
+            sucursal.getSucursalId(),
+            sucursal.getSucursalNombre(),
+            sucursal.getProductos().stream()
+                .map(ProductoMaximoStockMapper::toResponse)
+                .toList()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package com.franquicias.adapters.presentation.mapper;
+
+import com.franquicias.adapters.presentation.dto.ResumenInventarioResponse;
+import com.franquicias.adapters.presentation.dto.ResumenInventarioSucursalResponse;
+import com.franquicias.domain.model.ResumenInventarioFranquicia;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+
+public class ResumenInventarioMapper {
+
+    public static ResumenInventarioResponse toResponse(ResumenInventarioFranquicia resumen) {
+        if (resumen == null) {
+            return null;
+        }
+        return new ResumenInventarioResponse(
+            resumen.getFranquiciaId(),
+            resumen.getProductos(),
+            resumen.getStockTotal(),
+            resumen.getProductosSinStock(),
+            resumen.getSucursales().stream()
+                .map(ResumenInventarioMapper::toResponse)
+                .toList()
+        );
+    }
+
+    private static ResumenInventarioSucursalResponse toResponse(ResumenInventarioSucursal sucursal) {
+        return new ResumenInventarioSucursalResponse(
+            sucursal.getSucursalId(),
+            sucursal.getSucursalNombre(),
+            sucursal.getProductos(),
+            sucursal.getStockTotal(),
+            sucursal.getProductosSinStock()
+        );
+    }
+}
@@ -1,5 +1,8 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Franquicia;
 import com.franquicias.domain.repository.FranquiciaRepository;
 import reactor.core.publisher.Mono;
@@ -7,12 +10,23 @@ import reactor.core.publisher.Mono;
 public class ActualizarNombreFranquiciaUseCase {
     
     private final FranquiciaRepository franquiciaRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
 
-    public ActualizarNombreFranquiciaUseCase(FranquiciaRepository franquiciaRepository) {
+    public ActualizarNombreFranquiciaUseCase(FranquiciaRepository franquiciaRepository,
+            CambioInventarioPublisher cambioInventarioPublisher) {
         this.franquiciaRepository = franquiciaRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
     }
 
     public Mono<Franquicia> execute(Long franquiciaId, String nuevoNombre) {
+        return execute(franquiciaId, nuevoNombre, null);
+    }
+
+    /**
+     * Un solo UPDATE renombra y devuelve la versión nueva. Con {@code versionEsperada} (la ETag de
+     * {@code If-Match}) el cambio solo se aplica si la franquicia sigue en esa versión.
+     */
+    public Mono<Franquicia> execute(Long franquiciaId, String nuevoNombre, Long versionEsperada) {
         if (franquiciaId == null) {
             return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
         }
@@ -20,12 +34,11 @@ public class ActualizarNombreFranquiciaUseCase {
             return Mono.error(new IllegalArgumentException("El nombre de la franquicia no puede estar vacío"));
         }
 
-        return franquiciaRepository.findById(franquiciaId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("La franquicia con id " + franquiciaId + " no existe")))
-                .flatMap(franquicia -> {
-                    franquicia.setNombre(nuevoNombre.trim());
-                    return franquiciaRepository.update(franquicia);
-                });
+        return franquiciaRepository.renombrar(franquiciaId, nuevoNombre.trim(), versionEsperada)
+                .switchIfEmpty(Mono.error(() ->
+                        new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe")))
+                .flatMap(actualizado -> cambioInventarioPublisher.publicar(CambioInventario.deFranquicia(
+                                    CambioInventario.Tipo.FRANQUICIA_RENOMBRADA, actualizado.getId()))
+                        .thenReturn(actualizado));
     }
 }
-
@@ -1,18 +1,47 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Producto;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 public class ActualizarNombreProductoUseCase {
     
     private final ProductoRepository productoRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final BufferEscrituraStock bufferEscrituraStock;
+
+    public ActualizarNombreProductoUseCase(ProductoRepository productoRepository,
+            CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, cambioInventarioPublisher, BufferEscrituraStock.ninguno());
+    }
 
-    public ActualizarNombreProductoUseCase(ProductoRepository productoRepository) {
+    public ActualizarNombreProductoUseCase(ProductoRepository productoRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            BufferEscrituraStock bufferEscrituraStock) {
         this.productoRepository = productoRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
     }
 
-    public Mono<Producto> execute(Long productoId, String nuevoNombre) {
+    public Mono<Producto> execute(Long sucursalId, Long productoId, String nuevoNombre) {
+        return execute(sucursalId, productoId, nuevoNombre, null);
+    }
+
+    /**
+     * Un solo UPDATE, limitado a los productos de la sucursal, renombra y devuelve la versión nueva y el
+     * stock. Con {@code versionEsperada} (la ETag de {@code If-Match}) el cambio solo se aplica si el
+     * producto sigue en esa versión.
+     */
+    public Mono<Producto> execute(Long sucursalId, Long productoId, String nuevoNombre, Long versionEsperada) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
         if (productoId == null) {
             return Mono.error(new IllegalArgumentException("El id del producto no puede ser nulo"));
         }
@@ -20,12 +49,16 @@ public class ActualizarNombreProductoUseCase {
             return Mono.error(new IllegalArgumentException("El nombre del producto no puede estar vacío"));
         }
 
-        return productoRepository.findById(productoId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("El producto con id " + productoId + " no existe")))
-                .flatMap(producto -> {
-                    producto.setNombre(nuevoNombre.trim());
-                    return productoRepository.update(producto);
-                });
+        // Un stock pendiente se vuelca antes para que la versión devuelta ya lo incluya; sin pendientes
+        // no consulta la base de datos
+        return bufferEscrituraStock.vaciar(productoId)
+                .then(Mono.defer(() -> productoRepository.renombrar(sucursalId, productoId, nuevoNombre.trim(),
+                        versionEsperada)))
+                .switchIfEmpty(Mono.error(() -> new RecursoNoEncontradoException("El producto con id " + productoId
+                        + " no existe en la sucursal " + sucursalId)))
+                .flatMap(actualizado -> cambioInventarioPublisher.publicar(CambioInventario.deProducto(
+                                    CambioInventario.Tipo.PRODUCTO_RENOMBRADO, actualizado.getSucursalId(),
+                                    actualizado.getId(), actualizado.getNombre(), actualizado.getStock()))
+                        .thenReturn(actualizado));
     }
 }
-
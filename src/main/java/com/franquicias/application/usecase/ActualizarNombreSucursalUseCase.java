@@ -1,5 +1,8 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Sucursal;
 import com.franquicias.domain.repository.SucursalRepository;
 import reactor.core.publisher.Mono;
@@ -7,12 +10,27 @@ import reactor.core.publisher.Mono;
 public class ActualizarNombreSucursalUseCase {
     
     private final SucursalRepository sucursalRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
 
-    public ActualizarNombreSucursalUseCase(SucursalRepository sucursalRepository) {
+    public ActualizarNombreSucursalUseCase(SucursalRepository sucursalRepository,
+            CambioInventarioPublisher cambioInventarioPublisher) {
         this.sucursalRepository = sucursalRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
     }
 
-    public Mono<Sucursal> execute(Long sucursalId, String nuevoNombre) {
+    public Mono<Sucursal> execute(Long franquiciaId, Long sucursalId, String nuevoNombre) {
+        return execute(franquiciaId, sucursalId, nuevoNombre, null);
+    }
+
+    /**
+     * Un solo UPDATE, limitado a las sucursales de la franquicia, renombra y devuelve la versión nueva.
+     * Con {@code versionEsperada} (la ETag de {@code If-Match}) el cambio solo se aplica si la sucursal
+     * sigue en esa versión.
+     */
+    public Mono<Sucursal> execute(Long franquiciaId, Long sucursalId, String nuevoNombre, Long versionEsperada) {
+        if (franquiciaId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
         if (sucursalId == null) {
             return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
         }
@@ -20,12 +38,11 @@ public class ActualizarNombreSucursalUseCase {
             return Mono.error(new IllegalArgumentException("El nombre de la sucursal no puede estar vacío"));
         }
 
-        return sucursalRepository.findById(sucursalId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("La sucursal con id " + sucursalId + " no existe")))
-                .flatMap(sucursal -> {
-                    sucursal.setNombre(nuevoNombre.trim());
-                    return sucursalRepository.update(sucursal);
-                });
+        return sucursalRepository.renombrar(franquiciaId, sucursalId, nuevoNombre.trim(), versionEsperada)
+                .switchIfEmpty(Mono.error(() -> new RecursoNoEncontradoException("La sucursal con id " + sucursalId
+                        + " no existe en la franquicia " + franquiciaId)))
+                .flatMap(actualizado -> cambioInventarioPublisher.publicar(CambioInventario.deSucursal(
+                                    CambioInventario.Tipo.SUCURSAL_RENOMBRADA, franquiciaId, actualizado.getId()))
+                        .thenReturn(actualizado));
     }
 }
-
@@ -0,0 +1,107 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class ActualizarStockMasivoUseCase {
+
+    private final ProductoRepository productoRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final BufferEscrituraStock bufferEscrituraStock;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public ActualizarStockMasivoUseCase(ProductoRepository productoRepository,
+                                        ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                        ResumenInventarioRepository resumenInventarioRepository,
+                                        CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, proyeccionMaximoStockRepository, resumenInventarioRepository,
+                cambioInventarioPublisher, BufferEscrituraStock.ninguno(), EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
+
+    public ActualizarStockMasivoUseCase(ProductoRepository productoRepository,
+                                        ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                        ResumenInventarioRepository resumenInventarioRepository,
+                                        CambioInventarioPublisher cambioInventarioPublisher,
+                                        BufferEscrituraStock bufferEscrituraStock,
+                                        EjecutorTransaccional ejecutorTransaccional,
+                                        ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
+        this.productoRepository = productoRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
+        this.ejecutorTransaccional = Objects.requireNonNullElse(ejecutorTransaccional, EjecutorTransaccional.ninguno());
+        this.contadorCambiosFranquiciaRepository = Objects.requireNonNullElse(contadorCambiosFranquiciaRepository,
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
+
+    public Flux<ResultadoActualizacionStock> execute(Long sucursalId, List<ActualizacionStock> actualizaciones) {
+        if (sucursalId == null) {
+            return Flux.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
+        if (actualizaciones == null || actualizaciones.isEmpty()) {
+            return Flux.error(new IllegalArgumentException("La lista de actualizaciones no puede estar vacía"));
+        }
+
+        List<ResultadoActualizacionStock> rechazados = new ArrayList<>();
+        // Si un producto aparece varias veces prevalece el último valor recibido
+        Map<Long, ActualizacionStock> validas = new LinkedHashMap<>();
+        for (ActualizacionStock actualizacion : actualizaciones) {
+            if (actualizacion.getProductoId() == null) {
+                rechazados.add(ResultadoActualizacionStock.rechazado(null, actualizacion.getStock(),
+                        "El id del producto no puede ser nulo"));
+            } else if (actualizacion.getStock() == null || actualizacion.getStock() < 0) {
+                rechazados.add(ResultadoActualizacionStock.rechazado(actualizacion.getProductoId(),
+                        actualizacion.getStock(), "El stock debe ser un número positivo o cero"));
+            } else {
+                validas.remove(actualizacion.getProductoId());
+                validas.put(actualizacion.getProductoId(), actualizacion);
+            }
+        }
+
+        Flux<ResultadoActualizacionStock> aplicados = validas.isEmpty()
+                ? Flux.empty()
+                // Los valores pendientes de escritura diferida son más antiguos que los de esta petición
+                : bufferEscrituraStock.vaciar()
+                        .then(Mono.defer(() -> aplicar(sucursalId, new ArrayList<>(validas.values()))))
+                        .flatMapMany(resultados -> cambioInventarioPublisher.publicar(CambioInventario.deSucursal(
+                                        CambioInventario.Tipo.STOCK_MASIVO_MODIFICADO, null, sucursalId))
+                                .thenMany(Flux.fromIterable(resultados)));
+        return aplicados.concatWith(Flux.fromIterable(rechazados));
+    }
+
+    /**
+     * El resumen de inventario y la proyección del máximo se recalculan en la misma transacción que los
+     * lotes de stock, así que un fallo entre ambos no los deja desfasados. Se bloquean en el mismo orden
+     * que en la modificación de un solo producto (resumen, proyección y por último el contador de cambios
+     * de la franquicia) para no cruzarse con ella en un interbloqueo. El evento se publica tras confirmar.
+     */
+    private Mono<List<ResultadoActualizacionStock>> aplicar(Long sucursalId, List<ActualizacionStock> validas) {
+        return ejecutorTransaccional.ejecutar(productoRepository.actualizarStockMasivo(sucursalId, validas)
+                .collectList()
+                .flatMap(resultados -> resumenInventarioRepository.recalcular(sucursalId)
+                        .then(proyeccionMaximoStockRepository.recalcular(sucursalId))
+                        .then(contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId))
+                        .thenReturn(resultados)));
+    }
+}
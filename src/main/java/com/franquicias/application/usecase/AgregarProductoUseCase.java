@@ -1,19 +1,54 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
 import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 public class AgregarProductoUseCase {
     
     private final ProductoRepository productoRepository;
     private final SucursalRepository sucursalRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
 
     public AgregarProductoUseCase(ProductoRepository productoRepository, 
-                                  SucursalRepository sucursalRepository) {
+                                  SucursalRepository sucursalRepository,
+                                  ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                  ResumenInventarioRepository resumenInventarioRepository,
+                                  CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, sucursalRepository, proyeccionMaximoStockRepository, resumenInventarioRepository,
+                cambioInventarioPublisher, EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
+
+    public AgregarProductoUseCase(ProductoRepository productoRepository,
+                                  SucursalRepository sucursalRepository,
+                                  ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                  ResumenInventarioRepository resumenInventarioRepository,
+                                  CambioInventarioPublisher cambioInventarioPublisher,
+                                  EjecutorTransaccional ejecutorTransaccional,
+                                  ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
         this.productoRepository = productoRepository;
         this.sucursalRepository = sucursalRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.ejecutorTransaccional = Objects.requireNonNullElse(ejecutorTransaccional, EjecutorTransaccional.ninguno());
+        this.contadorCambiosFranquiciaRepository = Objects.requireNonNullElse(contadorCambiosFranquiciaRepository,
+                ContadorCambiosFranquiciaRepository.ninguno());
     }
 
     public Mono<Producto> execute(Long sucursalId, String nombre, Integer stock) {
@@ -27,11 +62,20 @@ public class AgregarProductoUseCase {
         return sucursalRepository.existsById(sucursalId)
                 .flatMap(exists -> {
                     if (!exists) {
-                        return Mono.error(new IllegalArgumentException("La sucursal con id " + sucursalId + " no existe"));
+                        return Mono.error(new RecursoNoEncontradoException("La sucursal con id " + sucursalId + " no existe"));
                     }
                     Producto producto = new Producto(null, nombre.trim(), stock, sucursalId);
-                    return productoRepository.save(producto);
-                });
+                    // El alta cuenta en el resumen de inventario y en el máximo solo si el producto llega a guardarse
+                    return ejecutorTransaccional.ejecutar(productoRepository.save(producto)
+                            .flatMap(guardado -> resumenInventarioRepository.registrarAlta(sucursalId, guardado.getStock())
+                                    .then(proyeccionMaximoStockRepository.registrarStock(sucursalId, guardado.getStock()))
+                                    .then(contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId))
+                                    .thenReturn(guardado)));
+                })
+                .flatMap(producto -> cambioInventarioPublisher.publicar(CambioInventario.deProducto(
+                                CambioInventario.Tipo.PRODUCTO_CREADO, sucursalId, producto.getId(),
+                                producto.getNombre(), producto.getStock()))
+                        .thenReturn(producto));
     }
 }
 
@@ -1,5 +1,8 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Sucursal;
 import com.franquicias.domain.repository.FranquiciaRepository;
 import com.franquicias.domain.repository.SucursalRepository;
@@ -9,11 +12,14 @@ public class AgregarSucursalUseCase {
     
     private final SucursalRepository sucursalRepository;
     private final FranquiciaRepository franquiciaRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
 
     public AgregarSucursalUseCase(SucursalRepository sucursalRepository, 
-                                  FranquiciaRepository franquiciaRepository) {
+                                  FranquiciaRepository franquiciaRepository,
+                                  CambioInventarioPublisher cambioInventarioPublisher) {
         this.sucursalRepository = sucursalRepository;
         this.franquiciaRepository = franquiciaRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
     }
 
     public Mono<Sucursal> execute(Long franquiciaId, String nombre) {
@@ -24,10 +30,13 @@ public class AgregarSucursalUseCase {
         return franquiciaRepository.existsById(franquiciaId)
                 .flatMap(exists -> {
                     if (!exists) {
-                        return Mono.error(new IllegalArgumentException("La franquicia con id " + franquiciaId + " no existe"));
+                        return Mono.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
                     }
                     Sucursal sucursal = new Sucursal(null, nombre.trim(), franquiciaId);
-                    return sucursalRepository.save(sucursal);
+                    return sucursalRepository.save(sucursal)
+                            .flatMap(guardada -> cambioInventarioPublisher.publicar(CambioInventario.deSucursal(
+                                            CambioInventario.Tipo.SUCURSAL_CREADA, franquiciaId, guardada.getId()))
+                                    .thenReturn(guardada));
                 });
     }
 }
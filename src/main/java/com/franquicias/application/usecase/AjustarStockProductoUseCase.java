@@ -0,0 +1,87 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.StockInsuficienteException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+public class AjustarStockProductoUseCase {
+
+    private final ProductoRepository productoRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final BufferEscrituraStock bufferEscrituraStock;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public AjustarStockProductoUseCase(ProductoRepository productoRepository,
+                                       ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                       ResumenInventarioRepository resumenInventarioRepository,
+                                       CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, proyeccionMaximoStockRepository, resumenInventarioRepository,
+                cambioInventarioPublisher, BufferEscrituraStock.ninguno(), EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
+
+    public AjustarStockProductoUseCase(ProductoRepository productoRepository,
+                                       ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                       ResumenInventarioRepository resumenInventarioRepository,
+                                       CambioInventarioPublisher cambioInventarioPublisher,
+                                       BufferEscrituraStock bufferEscrituraStock,
+                                       EjecutorTransaccional ejecutorTransaccional,
+                                       ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
+        this.productoRepository = productoRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
+        this.ejecutorTransaccional = Objects.requireNonNullElse(ejecutorTransaccional, EjecutorTransaccional.ninguno());
+        this.contadorCambiosFranquiciaRepository = Objects.requireNonNullElse(contadorCambiosFranquiciaRepository,
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
+
+    public Mono<Integer> execute(Long sucursalId, Long productoId, Integer delta) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
+        if (productoId == null) {
+            return Mono.error(new IllegalArgumentException("El id del producto no puede ser nulo"));
+        }
+        if (delta == null) {
+            return Mono.error(new IllegalArgumentException("El ajuste de stock no puede ser nulo"));
+        }
+
+        // El ajuste es relativo al valor guardado, así que un stock pendiente de escritura se vuelca antes.
+        // Solo cuando el UPDATE condicional no afecta filas se consulta el producto para distinguir el motivo
+        return bufferEscrituraStock.vaciar(productoId)
+                .then(Mono.defer(() -> ejecutorTransaccional.ejecutar(
+                        productoRepository.ajustarStock(sucursalId, productoId, delta)
+                                .flatMap(nuevoStock -> resumenInventarioRepository.registrarCambioStock(sucursalId,
+                                                nuevoStock - delta, nuevoStock)
+                                        .then(delta < 0
+                                                ? proyeccionMaximoStockRepository.recalcular(sucursalId)
+                                                : proyeccionMaximoStockRepository.registrarStock(sucursalId, nuevoStock))
+                                        .then(contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId))
+                                        .thenReturn(nuevoStock)))))
+                .flatMap(nuevoStock -> cambioInventarioPublisher.publicar(CambioInventario.deStock(
+                                sucursalId, productoId, null, nuevoStock - delta, nuevoStock))
+                        .thenReturn(nuevoStock))
+                .switchIfEmpty(Mono.defer(() -> productoRepository.findById(productoId)
+                        .filter(producto -> sucursalId.equals(producto.getSucursalId()))
+                        .switchIfEmpty(Mono.error(new RecursoNoEncontradoException(
+                                "El producto con id " + productoId + " no existe en la sucursal " + sucursalId)))
+                        .flatMap(producto -> Mono.error(new StockInsuficienteException(
+                                "El stock del producto " + productoId + " no puede quedar negativo (actual: "
+                                        + producto.getStock() + ", ajuste: " + delta + ")")))));
+    }
+}
@@ -0,0 +1,60 @@
+package com.franquicias.application.usecase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursores opacos de los listados paginados por clave: la clave de la última fila entregada,
+ * precedida del orden al que pertenece y codificada en Base64 URL. El cliente solo debe devolverlo
+ * tal cual; un cursor de otro orden o alterado se rechaza.
+ */
+final class CursorPaginacion {
+
+    static final int LIMITE_POR_DEFECTO = 50;
+    static final int LIMITE_MAXIMO = 500;
+
+    private CursorPaginacion() {
+    }
+
+    static int limite(Integer solicitado) {
+        if (solicitado == null) {
+            return LIMITE_POR_DEFECTO;
+        }
+        if (solicitado < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        return Math.min(solicitado, LIMITE_MAXIMO);
+    }
+
+    static String codificar(String orden, long... clave) {
+        StringBuilder texto = new StringBuilder(orden);
+        for (long valor : clave) {
+            texto.append(':').append(valor);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve la clave del cursor, o null si no hay cursor (primera página).
+     */
+    static long[] decodificar(String cursor, String orden, int columnas) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] partes;
+        long[] clave = new long[columnas];
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (partes.length != columnas + 1 || !partes[0].equals(orden)) {
+                throw new IllegalArgumentException("El cursor no corresponde a este listado");
+            }
+            for (int i = 0; i < columnas; i++) {
+                clave[i] = Long.parseLong(partes[i + 1]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Incluye Base64 y números mal formados (NumberFormatException)
+            throw new IllegalArgumentException("El cursor no es válido para este listado", e);
+        }
+        return clave;
+    }
+}
@@ -1,28 +1,78 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 public class EliminarProductoUseCase {
     
     private final ProductoRepository productoRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final BufferEscrituraStock bufferEscrituraStock;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public EliminarProductoUseCase(ProductoRepository productoRepository,
+                                   ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                   ResumenInventarioRepository resumenInventarioRepository,
+                                   CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, proyeccionMaximoStockRepository, resumenInventarioRepository,
+                cambioInventarioPublisher, BufferEscrituraStock.ninguno(), EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
 
-    public EliminarProductoUseCase(ProductoRepository productoRepository) {
+    public EliminarProductoUseCase(ProductoRepository productoRepository,
+                                   ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                   ResumenInventarioRepository resumenInventarioRepository,
+                                   CambioInventarioPublisher cambioInventarioPublisher,
+                                   BufferEscrituraStock bufferEscrituraStock,
+                                   EjecutorTransaccional ejecutorTransaccional,
+                                   ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
         this.productoRepository = productoRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
+        this.ejecutorTransaccional = Objects.requireNonNullElse(ejecutorTransaccional, EjecutorTransaccional.ninguno());
+        this.contadorCambiosFranquiciaRepository = Objects.requireNonNullElse(contadorCambiosFranquiciaRepository,
+                ContadorCambiosFranquiciaRepository.ninguno());
     }
 
-    public Mono<Void> execute(Long productoId) {
+    /**
+     * Un solo DELETE limitado a los productos de la sucursal; sin filas borradas el producto no existe
+     * en ella. El producto se descuenta del resumen de inventario antes de borrarlo, en la misma
+     * transacción, porque es entonces cuando aún se conoce su stock. El máximo de la sucursal se
+     * recalcula también dentro de ella, ya sin el producto.
+     */
+    public Mono<Void> execute(Long sucursalId, Long productoId) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
         if (productoId == null) {
             return Mono.error(new IllegalArgumentException("El id del producto no puede ser nulo"));
         }
 
-        return productoRepository.existsById(productoId)
-                .flatMap(exists -> {
-                    if (!exists) {
-                        return Mono.error(new IllegalArgumentException("El producto con id " + productoId + " no existe"));
-                    }
-                    return productoRepository.deleteById(productoId);
-                });
+        return bufferEscrituraStock.vaciar(productoId)
+                .then(Mono.defer(() -> ejecutorTransaccional.ejecutar(
+                        resumenInventarioRepository.registrarBaja(sucursalId, productoId)
+                                .then(Mono.defer(() -> productoRepository.eliminar(sucursalId, productoId)))
+                                .filter(Boolean::booleanValue)
+                                .switchIfEmpty(Mono.error(() -> new RecursoNoEncontradoException("El producto con id "
+                                        + productoId + " no existe en la sucursal " + sucursalId)))
+                                .then(Mono.defer(() -> proyeccionMaximoStockRepository.recalcular(sucursalId)))
+                                .then(contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId)))))
+                .then(Mono.defer(() -> cambioInventarioPublisher.publicar(CambioInventario.deProducto(
+                        CambioInventario.Tipo.PRODUCTO_ELIMINADO, sucursalId, productoId, null, null))));
     }
 }
-
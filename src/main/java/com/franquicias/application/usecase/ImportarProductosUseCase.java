@@ -0,0 +1,112 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoImportacion;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportarProductosUseCase {
+
+    private static final int TAMANO_LOTE = 500;
+    private static final int LONGITUD_MAXIMA_NOMBRE = 255;
+
+    private final ProductoRepository productoRepository;
+    private final SucursalRepository sucursalRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+
+    public ImportarProductosUseCase(ProductoRepository productoRepository,
+                                    SucursalRepository sucursalRepository,
+                                    ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                    ResumenInventarioRepository resumenInventarioRepository,
+                                    CambioInventarioPublisher cambioInventarioPublisher) {
+        this.productoRepository = productoRepository;
+        this.sucursalRepository = sucursalRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+    }
+
+    public Mono<ResultadoImportacion> execute(Long sucursalId, Flux<Producto> productos) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
+
+        return sucursalRepository.existsById(sucursalId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new RecursoNoEncontradoException("La sucursal con id " + sucursalId + " no existe"));
+                    }
+                    AtomicLong rechazados = new AtomicLong();
+                    AtomicBoolean loteEnviado = new AtomicBoolean();
+                    // Prefetch de un único lote: solo se leen más filas del cliente cuando el lote anterior ya se escribió
+                    return productos
+                            .filter(producto -> {
+                                if (esValido(producto)) {
+                                    return true;
+                                }
+                                rechazados.incrementAndGet();
+                                return false;
+                            })
+                            .map(producto -> new Producto(null, producto.getNombre().trim(), producto.getStock(), sucursalId))
+                            .buffer(TAMANO_LOTE)
+                            .concatMap(lote -> {
+                                loteEnviado.set(true);
+                                return insertarLote(lote);
+                            }, 1)
+                            .reduce(new ResultadoImportacion(), ResultadoImportacion::sumar)
+                            .map(resultado -> resultado.sumar(new ResultadoImportacion(0, 0, rechazados.get())))
+                            // Cada lote se confirma por separado: si la importación se corta después de alguno,
+                            // sus filas ya están escritas y la sucursal se recuenta igual
+                            .onErrorResume(error -> loteEnviado.get()
+                                    ? actualizarDerivados(sucursalId)
+                                            .onErrorMap(fallo -> {
+                                                error.addSuppressed(fallo);
+                                                return error;
+                                            })
+                                            .then(Mono.error(error))
+                                    : Mono.error(error))
+                            .doOnCancel(() -> {
+                                if (loteEnviado.get()) {
+                                    actualizarDerivados(sucursalId).subscribe();
+                                }
+                            });
+                })
+                .flatMap(resultado -> resultado.getInsertados() > 0
+                        ? actualizarDerivados(sucursalId).thenReturn(resultado)
+                        : Mono.just(resultado));
+    }
+
+    // Los lotes no informan el stock de cada fila insertada: la sucursal se recuenta
+    private Mono<Void> actualizarDerivados(Long sucursalId) {
+        return proyeccionMaximoStockRepository.recalcular(sucursalId)
+                .then(resumenInventarioRepository.recalcular(sucursalId))
+                .then(cambioInventarioPublisher.publicar(CambioInventario.deSucursal(
+                        CambioInventario.Tipo.PRODUCTOS_IMPORTADOS, null, sucursalId)));
+    }
+
+    private Mono<ResultadoImportacion> insertarLote(List<Producto> lote) {
+        return productoRepository.insertarIgnorandoDuplicados(lote)
+                .map(insertados -> new ResultadoImportacion(insertados, lote.size() - insertados, 0));
+    }
+
+    private boolean esValido(Producto producto) {
+        return producto.getNombre() != null
+                && !producto.getNombre().trim().isEmpty()
+                && producto.getNombre().trim().length() <= LONGITUD_MAXIMA_NOMBRE
+                && producto.getStock() != null
+                && producto.getStock() >= 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Productos de una franquicia con stock por debajo de un umbral, para reponerlos. La consulta recorre
+ * solo el tramo bajo el umbral de cada sucursal y los resultados se envían a medida que llegan.
+ */
+public class ListarProductosStockBajoUseCase {
+
+    private final ProductoRepository productoRepository;
+    private final FranquiciaRepository franquiciaRepository;
+
+    public ListarProductosStockBajoUseCase(ProductoRepository productoRepository,
+                                           FranquiciaRepository franquiciaRepository) {
+        this.productoRepository = productoRepository;
+        this.franquiciaRepository = franquiciaRepository;
+    }
+
+    public Flux<ProductoMaximoStock> execute(Long franquiciaId, Integer stockMenorQue) {
+        if (franquiciaId == null) {
+            return Flux.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+        if (stockMenorQue == null || stockMenorQue < 1) {
+            return Flux.error(new IllegalArgumentException("El umbral de stock debe ser mayor que cero"));
+        }
+
+        return franquiciaRepository.existsById(franquiciaId)
+                .flatMapMany(exists -> {
+                    if (!exists) {
+                        return Flux.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
+                    }
+                    return productoRepository.findStockBajoByFranquiciaId(franquiciaId, stockMenorQue);
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.Pagina;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Lista los productos de una sucursal por páginas ordenadas por id o por (stock, id), buscando cada
+ * página a partir de la clave de la última fila entregada en lugar de saltar filas con OFFSET.
+ * Con escritura diferida, el stock de cada producto con un valor pendiente se sustituye por ese valor;
+ * el orden y el cursor siguen el stock guardado para que las páginas no se solapen ni salten filas.
+ */
+public class ListarProductosUseCase {
+
+    public enum Orden {
+        ID("id"),
+        STOCK("stock");
+
+        private final String valor;
+
+        Orden(String valor) {
+            this.valor = valor;
+        }
+
+        public static Orden desde(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return ID;
+            }
+            for (Orden orden : values()) {
+                if (orden.valor.equals(valor.trim().toLowerCase(Locale.ROOT))) {
+                    return orden;
+                }
+            }
+            throw new IllegalArgumentException("El orden debe ser 'id' o 'stock'");
+        }
+    }
+
+    private final ProductoRepository productoRepository;
+    private final SucursalRepository sucursalRepository;
+    private final BufferEscrituraStock bufferEscrituraStock;
+
+    public ListarProductosUseCase(ProductoRepository productoRepository,
+                                  SucursalRepository sucursalRepository) {
+        this(productoRepository, sucursalRepository, BufferEscrituraStock.ninguno());
+    }
+
+    public ListarProductosUseCase(ProductoRepository productoRepository,
+                                  SucursalRepository sucursalRepository,
+                                  BufferEscrituraStock bufferEscrituraStock) {
+        this.productoRepository = productoRepository;
+        this.sucursalRepository = sucursalRepository;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
+    }
+
+    public Mono<Pagina<Producto>> execute(Long sucursalId, Orden orden, String cursor, Integer limite) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
+        Orden ordenEfectivo = orden == null ? Orden.ID : orden;
+        long[] clave;
+        int tamano;
+        try {
+            clave = CursorPaginacion.decodificar(cursor, ordenEfectivo.valor, ordenEfectivo == Orden.STOCK ? 2 : 1);
+            tamano = CursorPaginacion.limite(limite);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        return sucursalRepository.existsById(sucursalId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new RecursoNoEncontradoException("La sucursal con id " + sucursalId + " no existe"));
+                    }
+                    // Una fila de más indica si hay página siguiente sin otra consulta
+                    return consultar(sucursalId, ordenEfectivo, clave, tamano + 1)
+                            .collectList()
+                            .map(productos -> pagina(productos, ordenEfectivo, tamano))
+                            .flatMap(this::conStockPendiente);
+                });
+    }
+
+    private Mono<Pagina<Producto>> conStockPendiente(Pagina<Producto> pagina) {
+        if (!bufferEscrituraStock.habilitado()) {
+            return Mono.just(pagina);
+        }
+        return Flux.fromIterable(pagina.getElementos())
+                .concatMap(producto -> bufferEscrituraStock.pendiente(producto.getId())
+                        .map(pendiente -> {
+                            producto.setStock(pendiente.getStock());
+                            return producto;
+                        })
+                        .defaultIfEmpty(producto))
+                .then(Mono.just(pagina));
+    }
+
+    private Flux<Producto> consultar(Long sucursalId, Orden orden, long[] clave, int limite) {
+        if (orden == Orden.STOCK) {
+            return productoRepository.findPaginaBySucursalIdOrdenadaPorStock(sucursalId,
+                    clave == null ? null : (int) clave[0], clave == null ? null : clave[1], limite);
+        }
+        return productoRepository.findPaginaBySucursalId(sucursalId, clave == null ? null : clave[0], limite);
+    }
+
+    private static Pagina<Producto> pagina(List<Producto> productos, Orden orden, int tamano) {
+        if (productos.size() <= tamano) {
+            return new Pagina<>(productos, null);
+        }
+        List<Producto> elementos = productos.subList(0, tamano);
+        Producto ultimo = elementos.get(tamano - 1);
+        String cursor = orden == Orden.STOCK
+                ? CursorPaginacion.codificar(orden.valor, ultimo.getStock(), ultimo.getId())
+                : CursorPaginacion.codificar(orden.valor, ultimo.getId());
+        return new Pagina<>(elementos, cursor);
+    }
+}
@@ -0,0 +1,62 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.Pagina;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Lista las sucursales de una franquicia por páginas ordenadas por id. Cada página se busca a partir
+ * del último id entregado, sin OFFSET, por lo que su coste no depende de la posición en el listado.
+ */
+public class ListarSucursalesUseCase {
+
+    private static final String ORDEN = "id";
+
+    private final SucursalRepository sucursalRepository;
+    private final FranquiciaRepository franquiciaRepository;
+
+    public ListarSucursalesUseCase(SucursalRepository sucursalRepository,
+                                   FranquiciaRepository franquiciaRepository) {
+        this.sucursalRepository = sucursalRepository;
+        this.franquiciaRepository = franquiciaRepository;
+    }
+
+    public Mono<Pagina<Sucursal>> execute(Long franquiciaId, String cursor, Integer limite) {
+        if (franquiciaId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+        long[] clave;
+        int tamano;
+        try {
+            clave = CursorPaginacion.decodificar(cursor, ORDEN, 1);
+            tamano = CursorPaginacion.limite(limite);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        return franquiciaRepository.existsById(franquiciaId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
+                    }
+                    // Una fila de más indica si hay página siguiente sin otra consulta
+                    return sucursalRepository.findPaginaByFranquiciaId(franquiciaId,
+                                    clave == null ? null : clave[0], tamano + 1)
+                            .collectList()
+                            .map(sucursales -> pagina(sucursales, tamano));
+                });
+    }
+
+    private static Pagina<Sucursal> pagina(List<Sucursal> sucursales, int tamano) {
+        if (sucursales.size() <= tamano) {
+            return new Pagina<>(sucursales, null);
+        }
+        List<Sucursal> elementos = sucursales.subList(0, tamano);
+        return new Pagina<>(elementos, CursorPaginacion.codificar(ORDEN, elementos.get(tamano - 1).getId()));
+    }
+}
@@ -1,31 +1,129 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 public class ModificarStockProductoUseCase {
     
     private final ProductoRepository productoRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final BufferEscrituraStock bufferEscrituraStock;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public ModificarStockProductoUseCase(ProductoRepository productoRepository,
+                                         ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                         ResumenInventarioRepository resumenInventarioRepository,
+                                         CambioInventarioPublisher cambioInventarioPublisher) {
+        this(productoRepository, proyeccionMaximoStockRepository, resumenInventarioRepository,
+                cambioInventarioPublisher, BufferEscrituraStock.ninguno(), EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno());
+    }
 
-    public ModificarStockProductoUseCase(ProductoRepository productoRepository) {
+    public ModificarStockProductoUseCase(ProductoRepository productoRepository,
+                                         ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                         ResumenInventarioRepository resumenInventarioRepository,
+                                         CambioInventarioPublisher cambioInventarioPublisher,
+                                         BufferEscrituraStock bufferEscrituraStock,
+                                         EjecutorTransaccional ejecutorTransaccional,
+                                         ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
         this.productoRepository = productoRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.bufferEscrituraStock = Objects.requireNonNullElse(bufferEscrituraStock, BufferEscrituraStock.ninguno());
+        this.ejecutorTransaccional = Objects.requireNonNullElse(ejecutorTransaccional, EjecutorTransaccional.ninguno());
+        this.contadorCambiosFranquiciaRepository = Objects.requireNonNullElse(contadorCambiosFranquiciaRepository,
+                ContadorCambiosFranquiciaRepository.ninguno());
     }
 
-    public Mono<Producto> execute(Long productoId, Integer nuevoStock) {
+    public Mono<Producto> execute(Long sucursalId, Long productoId, Integer nuevoStock) {
+        return execute(sucursalId, productoId, nuevoStock, null);
+    }
+
+    /**
+     * Un solo UPDATE, limitado a los productos de la sucursal, fija el stock y devuelve la versión nueva
+     * y si el stock disminuyó. Con {@code versionEsperada} (la ETag de {@code If-Match}) el stock solo se
+     * modifica si el producto sigue en esa versión; si no, el mismo UPDATE lo indica con
+     * {@code VersionNoCoincideException}.
+     */
+    public Mono<Producto> execute(Long sucursalId, Long productoId, Integer nuevoStock, Long versionEsperada) {
+        if (sucursalId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
         if (productoId == null) {
             return Mono.error(new IllegalArgumentException("El id del producto no puede ser nulo"));
         }
         if (nuevoStock == null || nuevoStock < 0) {
             return Mono.error(new IllegalArgumentException("El stock debe ser un número positivo o cero"));
         }
+        if (bufferEscrituraStock.habilitado()) {
+            if (versionEsperada == null) {
+                return encolar(sucursalId, productoId, nuevoStock);
+            }
+            // Una escritura condicional no se puede diferir: se vuelca lo pendiente y se escribe ya
+            return bufferEscrituraStock.vaciar(productoId)
+                    .then(Mono.defer(() -> escribir(sucursalId, productoId, nuevoStock, versionEsperada)));
+        }
+        return escribir(sucursalId, productoId, nuevoStock, versionEsperada);
+    }
+
+    private Mono<Producto> escribir(Long sucursalId, Long productoId, Integer nuevoStock, Long versionEsperada) {
+        // El resumen de inventario y la proyección del máximo se actualizan en la misma transacción que el stock
+        return ejecutorTransaccional.ejecutar(
+                        productoRepository.modificarStock(sucursalId, productoId, nuevoStock, versionEsperada)
+                                .flatMap(modificacion -> resumenInventarioRepository.registrarCambioStock(sucursalId,
+                                                modificacion.getStockAnterior(), nuevoStock)
+                                        .then(modificacion.isDisminuye()
+                                                ? proyeccionMaximoStockRepository.recalcular(sucursalId)
+                                                : proyeccionMaximoStockRepository.registrarStock(sucursalId, nuevoStock))
+                                        .then(contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId))
+                                        .thenReturn(modificacion)))
+                .switchIfEmpty(Mono.error(() -> noEncontrado(sucursalId, productoId)))
+                .flatMap(modificacion -> {
+                    Producto actualizado = modificacion.getProducto();
+                    return cambioInventarioPublisher.publicar(CambioInventario.deStock(sucursalId,
+                                    actualizado.getId(), actualizado.getNombre(), modificacion.getStockAnterior(),
+                                    actualizado.getStock()))
+                            .thenReturn(actualizado);
+                });
+    }
 
-        return productoRepository.findById(productoId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("El producto con id " + productoId + " no existe")))
+    /**
+     * Con escritura diferida solo se consulta la base de datos la primera vez que se modifica un
+     * producto dentro de la ventana; la proyección y el evento se actualizan al vaciar el buffer.
+     */
+    private Mono<Producto> encolar(Long sucursalId, Long productoId, Integer nuevoStock) {
+        return bufferEscrituraStock.pendiente(productoId)
+                .switchIfEmpty(Mono.defer(() -> productoRepository.findById(productoId)))
+                .filter(producto -> sucursalId.equals(producto.getSucursalId()))
+                .switchIfEmpty(Mono.error(() -> noEncontrado(sucursalId, productoId)))
                 .flatMap(producto -> {
                     producto.setStock(nuevoStock);
-                    return productoRepository.update(producto);
+                    return bufferEscrituraStock.encolar(producto)
+                            .then(Mono.fromSupplier(() -> {
+                                // La versión definitiva solo se conoce al escribir el lote
+                                producto.setVersion(null);
+                                return producto;
+                            }));
                 });
     }
-}
 
+    private static RecursoNoEncontradoException noEncontrado(Long sucursalId, Long productoId) {
+        return new RecursoNoEncontradoException("El producto con id " + productoId
+                + " no existe en la sucursal " + sucursalId);
+    }
+}
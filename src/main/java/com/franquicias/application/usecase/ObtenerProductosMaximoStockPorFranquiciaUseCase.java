@@ -1,5 +1,7 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.cache.ProductosMaximoStockCache;
 import com.franquicias.domain.model.ProductoMaximoStock;
 import com.franquicias.domain.repository.FranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
@@ -9,11 +11,14 @@ public class ObtenerProductosMaximoStockPorFranquiciaUseCase {
     
     private final ProductoRepository productoRepository;
     private final FranquiciaRepository franquiciaRepository;
+    private final ProductosMaximoStockCache productosMaximoStockCache;
 
     public ObtenerProductosMaximoStockPorFranquiciaUseCase(ProductoRepository productoRepository,
-                                                           FranquiciaRepository franquiciaRepository) {
+                                                           FranquiciaRepository franquiciaRepository,
+                                                           ProductosMaximoStockCache productosMaximoStockCache) {
         this.productoRepository = productoRepository;
         this.franquiciaRepository = franquiciaRepository;
+        this.productosMaximoStockCache = productosMaximoStockCache;
     }
 
     public Flux<ProductoMaximoStock> execute(Long franquiciaId) {
@@ -21,13 +26,31 @@ public class ObtenerProductosMaximoStockPorFranquiciaUseCase {
             return Flux.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
         }
 
-        return franquiciaRepository.existsById(franquiciaId)
+        return productosMaximoStockCache.obtener(franquiciaId, () -> franquiciaRepository.existsById(franquiciaId)
                 .flatMapMany(exists -> {
                     if (!exists) {
-                        return Flux.error(new IllegalArgumentException("La franquicia con id " + franquiciaId + " no existe"));
+                        return Flux.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
                     }
                     return productoRepository.findProductosMaximoStockByFranquiciaId(franquiciaId);
-                });
+                }));
     }
-}
 
+    /**
+     * Variante para franquicias grandes: emite cada fila según llega del cursor, sin pasar por la
+     * caché, que necesitaría acumular el resultado completo en memoria. Las peticiones simultáneas
+     * para la misma franquicia comparten la consulta en curso.
+     */
+    public Flux<ProductoMaximoStock> executeEnStreaming(Long franquiciaId) {
+        if (franquiciaId == null) {
+            return Flux.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+
+        return productosMaximoStockCache.compartir(franquiciaId, () -> franquiciaRepository.existsById(franquiciaId)
+                .flatMapMany(exists -> {
+                    if (!exists) {
+                        return Flux.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
+                    }
+                    return productoRepository.streamProductosMaximoStockByFranquiciaId(franquiciaId);
+                }));
+    }
+}
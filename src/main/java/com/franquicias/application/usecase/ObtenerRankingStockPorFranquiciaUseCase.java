@@ -0,0 +1,62 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.RankingStockFranquicia;
+import com.franquicias.domain.model.RankingStockSucursal;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Los {@code k} productos con más (o menos) stock de cada sucursal y de toda la franquicia. La base de
+ * datos calcula el ranking de cada sucursal; el de la franquicia se obtiene combinando esos rankings
+ * según llegan, así que nunca se cargan todos los productos de la franquicia.
+ */
+public class ObtenerRankingStockPorFranquiciaUseCase {
+
+    static final int K_POR_DEFECTO = 10;
+    static final int K_MAXIMO = 100;
+
+    private final ProductoRepository productoRepository;
+    private final FranquiciaRepository franquiciaRepository;
+
+    public ObtenerRankingStockPorFranquiciaUseCase(ProductoRepository productoRepository,
+                                                   FranquiciaRepository franquiciaRepository) {
+        this.productoRepository = productoRepository;
+        this.franquiciaRepository = franquiciaRepository;
+    }
+
+    public Mono<RankingStockFranquicia> execute(Long franquiciaId, ExtremoStock extremo, Integer k) {
+        if (franquiciaId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+        if (k != null && k < 1) {
+            return Mono.error(new IllegalArgumentException("k debe ser mayor que cero"));
+        }
+        ExtremoStock extremoEfectivo = extremo == null ? ExtremoStock.MAYOR : extremo;
+        int kEfectivo = k == null ? K_POR_DEFECTO : Math.min(k, K_MAXIMO);
+
+        return franquiciaRepository.existsById(franquiciaId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
+                    }
+                    return Mono.defer(() -> {
+                        RankingAcotado franquicia = new RankingAcotado(kEfectivo, extremoEfectivo.orden());
+                        return productoRepository.findRankingStockBySucursal(franquiciaId, extremoEfectivo, kEfectivo)
+                                .bufferUntilChanged(ProductoMaximoStock::getSucursalId)
+                                .map(productos -> {
+                                    franquicia.mezclar(productos);
+                                    ProductoMaximoStock primero = productos.get(0);
+                                    return new RankingStockSucursal(primero.getSucursalId(),
+                                            primero.getSucursalNombre(), productos);
+                                })
+                                .collectList()
+                                .map(sucursales -> new RankingStockFranquicia(franquiciaId, extremoEfectivo,
+                                        kEfectivo, franquicia.ordenados(), sucursales));
+                    });
+                });
+    }
+}
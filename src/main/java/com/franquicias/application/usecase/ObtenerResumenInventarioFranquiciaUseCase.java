@@ -0,0 +1,43 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ResumenInventarioFranquicia;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resume el inventario de una franquicia a partir de los contadores de sus sucursales, sin leer
+ * productos. La existencia de la franquicia solo se consulta si no tiene sucursales.
+ */
+public class ObtenerResumenInventarioFranquiciaUseCase {
+
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final FranquiciaRepository franquiciaRepository;
+
+    public ObtenerResumenInventarioFranquiciaUseCase(ResumenInventarioRepository resumenInventarioRepository,
+                                                     FranquiciaRepository franquiciaRepository) {
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.franquiciaRepository = franquiciaRepository;
+    }
+
+    public Mono<ResumenInventarioFranquicia> execute(Long franquiciaId) {
+        if (franquiciaId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+
+        return resumenInventarioRepository.findByFranquiciaId(franquiciaId)
+                .collectList()
+                .flatMap(sucursales -> {
+                    ResumenInventarioFranquicia resumen = new ResumenInventarioFranquicia(franquiciaId, sucursales);
+                    if (!sucursales.isEmpty()) {
+                        return Mono.just(resumen);
+                    }
+                    return franquiciaRepository.existsById(franquiciaId)
+                            .flatMap(existe -> existe
+                                    ? Mono.just(resumen)
+                                    : Mono.error(new RecursoNoEncontradoException(
+                                            "La franquicia con id " + franquiciaId + " no existe")));
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Devuelve el contador de cambios de una franquicia, con el que las lecturas responden 304 sin
+ * consultar el inventario cuando el cliente ya tiene la última versión.
+ */
+public class ObtenerVersionInventarioFranquiciaUseCase {
+
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public ObtenerVersionInventarioFranquiciaUseCase(ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
+        this.contadorCambiosFranquiciaRepository = contadorCambiosFranquiciaRepository;
+    }
+
+    public Mono<Long> execute(Long franquiciaId) {
+        if (franquiciaId == null) {
+            return Mono.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+
+        return contadorCambiosFranquiciaRepository.obtener(franquiciaId)
+                .switchIfEmpty(Mono.error(() ->
+                        new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe")));
+    }
+}
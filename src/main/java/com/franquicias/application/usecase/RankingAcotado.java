@@ -0,0 +1,45 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.domain.model.ProductoMaximoStock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Mezcla en k vías de listas ya ordenadas conservando solo los {@code k} mejores en un montículo cuya
+ * cima es el peor de ellos. Cada lista se recorre hasta su primer elemento que no supera a esa cima:
+ * los siguientes, peores o iguales, tampoco entrarían. La memoria no depende del número de listas.
+ */
+final class RankingAcotado {
+
+    private final int k;
+    private final Comparator<ProductoMaximoStock> orden;
+    private final PriorityQueue<ProductoMaximoStock> mejores;
+
+    RankingAcotado(int k, Comparator<ProductoMaximoStock> orden) {
+        this.k = k;
+        this.orden = orden;
+        this.mejores = new PriorityQueue<>(k, orden.reversed());
+    }
+
+    void mezclar(List<ProductoMaximoStock> ordenados) {
+        for (ProductoMaximoStock producto : ordenados) {
+            if (mejores.size() < k) {
+                mejores.add(producto);
+            } else if (orden.compare(producto, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(producto);
+            } else {
+                return;
+            }
+        }
+    }
+
+    List<ProductoMaximoStock> ordenados() {
+        List<ProductoMaximoStock> resultado = new ArrayList<>(mejores);
+        resultado.sort(orden);
+        return resultado;
+    }
+}
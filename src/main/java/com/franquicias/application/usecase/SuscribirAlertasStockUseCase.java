@@ -0,0 +1,33 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.AlertaStock;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.stock.FuenteAlertasStock;
+import reactor.core.publisher.Flux;
+
+public class SuscribirAlertasStockUseCase {
+
+    private final FuenteAlertasStock fuenteAlertasStock;
+    private final FranquiciaRepository franquiciaRepository;
+
+    public SuscribirAlertasStockUseCase(FuenteAlertasStock fuenteAlertasStock,
+                                        FranquiciaRepository franquiciaRepository) {
+        this.fuenteAlertasStock = fuenteAlertasStock;
+        this.franquiciaRepository = franquiciaRepository;
+    }
+
+    public Flux<AlertaStock> execute(Long franquiciaId) {
+        if (franquiciaId == null) {
+            return Flux.error(new IllegalArgumentException("El id de la franquicia no puede ser nulo"));
+        }
+
+        return franquiciaRepository.existsById(franquiciaId)
+                .flatMapMany(exists -> {
+                    if (!exists) {
+                        return Flux.error(new RecursoNoEncontradoException("La franquicia con id " + franquiciaId + " no existe"));
+                    }
+                    return fuenteAlertasStock.suscribir(franquiciaId);
+                });
+    }
+}
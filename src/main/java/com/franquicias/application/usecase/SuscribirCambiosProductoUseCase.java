@@ -0,0 +1,33 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioProducto;
+import com.franquicias.domain.event.FuenteCambiosProducto;
+import com.franquicias.domain.repository.SucursalRepository;
+import reactor.core.publisher.Flux;
+
+public class SuscribirCambiosProductoUseCase {
+
+    private final FuenteCambiosProducto fuenteCambiosProducto;
+    private final SucursalRepository sucursalRepository;
+
+    public SuscribirCambiosProductoUseCase(FuenteCambiosProducto fuenteCambiosProducto,
+                                           SucursalRepository sucursalRepository) {
+        this.fuenteCambiosProducto = fuenteCambiosProducto;
+        this.sucursalRepository = sucursalRepository;
+    }
+
+    public Flux<CambioProducto> execute(Long sucursalId, Long despuesDeSecuencia) {
+        if (sucursalId == null) {
+            return Flux.error(new IllegalArgumentException("El id de la sucursal no puede ser nulo"));
+        }
+
+        return sucursalRepository.existsById(sucursalId)
+                .flatMapMany(exists -> {
+                    if (!exists) {
+                        return Flux.error(new RecursoNoEncontradoException("La sucursal con id " + sucursalId + " no existe"));
+                    }
+                    return fuenteCambiosProducto.suscribir(sucursalId, despuesDeSecuencia);
+                });
+    }
+}
@@ -1,5 +1,6 @@
 package com.franquicias.common.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,6 +24,42 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
     }
 
+    @ExceptionHandler(StockInsuficienteException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleStockInsuficienteException(
+            StockInsuficienteException ex, ServerWebExchange exchange) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ex.getMessage(),
+            exchange.getRequest().getPath().value()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(error));
+    }
+
+    @ExceptionHandler(VersionNoCoincideException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleVersionNoCoincideException(
+            VersionNoCoincideException ex, ServerWebExchange exchange) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            ex.getMessage(),
+            exchange.getRequest().getPath().value()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, ServerWebExchange exchange) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            mensajeConflicto(ex),
+            exchange.getRequest().getPath().value()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(error));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleValidationException(
             WebExchangeBindException ex, ServerWebExchange exchange) {
@@ -53,5 +90,19 @@ public class GlobalExceptionHandler {
         );
         return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error));
     }
-}
 
+    private static String mensajeConflicto(DataIntegrityViolationException ex) {
+        String detalle = String.valueOf(ex.getMessage());
+        if (detalle.contains("uk_franquicia_nombre")) {
+            return "Ya existe una franquicia con ese nombre";
+        }
+        if (detalle.contains("uk_sucursal_franquicia_nombre")) {
+            return "Ya existe una sucursal con ese nombre en la franquicia";
+        }
+        if (detalle.contains("uk_producto_sucursal_nombre")) {
+            return "Ya existe un producto con ese nombre en la sucursal";
+        }
+        // Los repositorios en memoria lanzan su propio mensaje; el del driver incluye la sentencia SQL
+        return ex.getCause() == null ? ex.getMessage() : "La operación entra en conflicto con los datos existentes";
+    }
+}
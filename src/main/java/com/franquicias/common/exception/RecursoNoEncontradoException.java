@@ -0,0 +1,12 @@
+package com.franquicias.common.exception;
+
+/**
+ * Indica que la franquicia, sucursal o producto referenciado no existe. Extiende
+ * {@link IllegalArgumentException} para conservar la respuesta 400 de la API.
+ */
+public class RecursoNoEncontradoException extends IllegalArgumentException {
+
+    public RecursoNoEncontradoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.franquicias.common.exception;
+
+public class StockInsuficienteException extends RuntimeException {
+
+    public StockInsuficienteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.franquicias.common.exception;
+
+/**
+ * Indica que el recurso cambió desde la versión que el cliente envió en {@code If-Match}, o que otra
+ * escritura concurrente lo modificó entre la lectura y el UPDATE condicional.
+ */
+public class VersionNoCoincideException extends RuntimeException {
+
+    public VersionNoCoincideException(String message) {
+        super(message);
+    }
+
+    public static VersionNoCoincideException de(String recurso, Long id) {
+        return new VersionNoCoincideException(recurso + " con id " + id + " cambió por otra operación");
+    }
+}
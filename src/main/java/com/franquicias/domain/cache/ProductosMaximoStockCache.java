@@ -0,0 +1,17 @@
+package com.franquicias.domain.cache;
+
+import com.franquicias.domain.model.ProductoMaximoStock;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Supplier;
+
+public interface ProductosMaximoStockCache {
+    Flux<ProductoMaximoStock> obtener(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta);
+
+    /**
+     * Sin guardar el resultado: las llamadas concurrentes para la misma franquicia comparten la consulta
+     * en curso. Al invalidar la franquicia, las llamadas siguientes ya no se unen a ella.
+     */
+    Flux<ProductoMaximoStock> compartir(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta);
+    void invalidar(Long franquiciaId);
+}
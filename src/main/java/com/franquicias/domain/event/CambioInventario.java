@@ -0,0 +1,90 @@
+package com.franquicias.domain.event;
+
+public class CambioInventario {
+
+    public enum Tipo {
+        PRODUCTO_CREADO,
+        PRODUCTO_ELIMINADO,
+        PRODUCTO_RENOMBRADO,
+        STOCK_MODIFICADO,
+        STOCK_MASIVO_MODIFICADO,
+        PRODUCTOS_IMPORTADOS,
+        SUCURSAL_CREADA,
+        SUCURSAL_RENOMBRADA,
+        FRANQUICIA_RENOMBRADA,
+        INVENTARIO_RECONCILIADO
+    }
+
+    private final Tipo tipo;
+    private final Long franquiciaId;
+    private final Long sucursalId;
+    private final Long productoId;
+    private final String nombre;
+    private final Integer stock;
+    private final Integer stockAnterior;
+
+    public CambioInventario(Tipo tipo, Long franquiciaId, Long sucursalId, Long productoId,
+                            String nombre, Integer stock) {
+        this(tipo, franquiciaId, sucursalId, productoId, nombre, stock, null);
+    }
+
+    public CambioInventario(Tipo tipo, Long franquiciaId, Long sucursalId, Long productoId,
+                            String nombre, Integer stock, Integer stockAnterior) {
+        this.tipo = tipo;
+        this.franquiciaId = franquiciaId;
+        this.sucursalId = sucursalId;
+        this.productoId = productoId;
+        this.nombre = nombre;
+        this.stock = stock;
+        this.stockAnterior = stockAnterior;
+    }
+
+    public static CambioInventario deProducto(Tipo tipo, Long sucursalId, Long productoId, String nombre, Integer stock) {
+        return new CambioInventario(tipo, null, sucursalId, productoId, nombre, stock);
+    }
+
+    /**
+     * Modificación de stock de un producto en la que se conoce el valor previo, lo que permite a los
+     * listeners detectar cruces de umbral sin volver a consultar el producto.
+     */
+    public static CambioInventario deStock(Long sucursalId, Long productoId, String nombre,
+                                           Integer stockAnterior, Integer stock) {
+        return new CambioInventario(Tipo.STOCK_MODIFICADO, null, sucursalId, productoId, nombre, stock, stockAnterior);
+    }
+
+    public static CambioInventario deSucursal(Tipo tipo, Long franquiciaId, Long sucursalId) {
+        return new CambioInventario(tipo, franquiciaId, sucursalId, null, null, null);
+    }
+
+    public static CambioInventario deFranquicia(Tipo tipo, Long franquiciaId) {
+        return new CambioInventario(tipo, franquiciaId, null, null, null, null);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public Integer getStockAnterior() {
+        return stockAnterior;
+    }
+}
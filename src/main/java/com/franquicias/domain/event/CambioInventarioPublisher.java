@@ -0,0 +1,7 @@
+package com.franquicias.domain.event;
+
+import reactor.core.publisher.Mono;
+
+public interface CambioInventarioPublisher {
+    Mono<Void> publicar(CambioInventario cambio);
+}
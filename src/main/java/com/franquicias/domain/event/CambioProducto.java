@@ -0,0 +1,50 @@
+package com.franquicias.domain.event;
+
+/**
+ * Cambio de un producto tal como lo reciben los suscriptores de una sucursal. La secuencia crece con
+ * cada cambio y permite a un cliente reconectado pedir solo lo que no vio. Los cambios por lotes
+ * (actualización masiva e importación) no traen producto: indican que la sucursal debe releerse.
+ */
+public class CambioProducto {
+
+    private final long secuencia;
+    private final CambioInventario.Tipo tipo;
+    private final Long sucursalId;
+    private final Long productoId;
+    private final String nombre;
+    private final Integer stock;
+
+    public CambioProducto(long secuencia, CambioInventario.Tipo tipo, Long sucursalId, Long productoId,
+                          String nombre, Integer stock) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.sucursalId = sucursalId;
+        this.productoId = productoId;
+        this.nombre = nombre;
+        this.stock = stock;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public CambioInventario.Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+}
@@ -0,0 +1,13 @@
+package com.franquicias.domain.event;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Cambios de los productos de una sucursal en tiempo real. Una suscripción recibe primero los cambios
+ * recientes que aún se retienen, solo los posteriores a {@code despuesDeSecuencia} si se indica, y
+ * después los nuevos hasta que el suscriptor cancele.
+ */
+public interface FuenteCambiosProducto {
+
+    Flux<CambioProducto> suscribir(Long sucursalId, Long despuesDeSecuencia);
+}
@@ -0,0 +1,30 @@
+package com.franquicias.domain.model;
+
+public class ActualizacionStock {
+    private Long productoId;
+    private Integer stock;
+
+    public ActualizacionStock() {
+    }
+
+    public ActualizacionStock(Long productoId, Integer stock) {
+        this.productoId = productoId;
+        this.stock = stock;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
@@ -0,0 +1,100 @@
+package com.franquicias.domain.model;
+
+/**
+ * Aviso de que el stock de un producto cruzó el umbral configurado, en cualquiera de los dos sentidos.
+ */
+public class AlertaStock {
+
+    public enum Tipo {
+        BAJO_UMBRAL,
+        REPUESTO
+    }
+
+    private Tipo tipo;
+    private Long franquiciaId;
+    private Long sucursalId;
+    private Long productoId;
+    private String productoNombre;
+    private Integer stockAnterior;
+    private Integer stock;
+    private Integer umbral;
+
+    public AlertaStock() {
+    }
+
+    public AlertaStock(Tipo tipo, Long franquiciaId, Long sucursalId, Long productoId, String productoNombre,
+                       Integer stockAnterior, Integer stock, Integer umbral) {
+        this.tipo = tipo;
+        this.franquiciaId = franquiciaId;
+        this.sucursalId = sucursalId;
+        this.productoId = productoId;
+        this.productoNombre = productoNombre;
+        this.stockAnterior = stockAnterior;
+        this.stock = stock;
+        this.umbral = umbral;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public void setFranquiciaId(Long franquiciaId) {
+        this.franquiciaId = franquiciaId;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public String getProductoNombre() {
+        return productoNombre;
+    }
+
+    public void setProductoNombre(String productoNombre) {
+        this.productoNombre = productoNombre;
+    }
+
+    public Integer getStockAnterior() {
+        return stockAnterior;
+    }
+
+    public void setStockAnterior(Integer stockAnterior) {
+        this.stockAnterior = stockAnterior;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getUmbral() {
+        return umbral;
+    }
+
+    public void setUmbral(Integer umbral) {
+        this.umbral = umbral;
+    }
+}
@@ -0,0 +1,29 @@
+package com.franquicias.domain.model;
+
+/**
+ * Sucursal cuyo máximo proyectado no coincidía con el máximo real de sus productos al reconciliar.
+ * Un valor nulo indica que la sucursal no tiene productos, o que no tenía fila de proyección.
+ */
+public class DesviacionMaximoStock {
+    private final Long sucursalId;
+    private final Integer registrado;
+    private final Integer real;
+
+    public DesviacionMaximoStock(Long sucursalId, Integer registrado, Integer real) {
+        this.sucursalId = sucursalId;
+        this.registrado = registrado;
+        this.real = real;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public Integer getRegistrado() {
+        return registrado;
+    }
+
+    public Integer getReal() {
+        return real;
+    }
+}
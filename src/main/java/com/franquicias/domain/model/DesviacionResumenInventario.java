@@ -0,0 +1,27 @@
+package com.franquicias.domain.model;
+
+/**
+ * Diferencia encontrada al reconciliar el resumen de inventario de una sucursal: lo que tenían los
+ * contadores y lo que dio el recuento de sus productos.
+ */
+public class DesviacionResumenInventario {
+    private final ResumenInventarioSucursal registrado;
+    private final ResumenInventarioSucursal real;
+
+    public DesviacionResumenInventario(ResumenInventarioSucursal registrado, ResumenInventarioSucursal real) {
+        this.registrado = registrado;
+        this.real = real;
+    }
+
+    public Long getSucursalId() {
+        return real.getSucursalId();
+    }
+
+    public ResumenInventarioSucursal getRegistrado() {
+        return registrado;
+    }
+
+    public ResumenInventarioSucursal getReal() {
+        return real;
+    }
+}
@@ -0,0 +1,47 @@
+package com.franquicias.domain.model;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Extremo del ranking de stock: los productos con más stock o los que tienen menos. Los empates se
+ * resuelven por id en el mismo sentido, que es el orden del índice (sucursal_id, stock, id).
+ */
+public enum ExtremoStock {
+    MAYOR("mayor", Comparator.comparing(ProductoMaximoStock::getStock)
+            .thenComparing(ProductoMaximoStock::getProductoId)
+            .reversed()),
+    MENOR("menor", Comparator.comparing(ProductoMaximoStock::getStock)
+            .thenComparing(ProductoMaximoStock::getProductoId));
+
+    private final String valor;
+    private final Comparator<ProductoMaximoStock> orden;
+
+    ExtremoStock(String valor, Comparator<ProductoMaximoStock> orden) {
+        this.valor = valor;
+        this.orden = orden;
+    }
+
+    public static ExtremoStock desde(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return MAYOR;
+        }
+        for (ExtremoStock extremo : values()) {
+            if (extremo.valor.equals(valor.trim().toLowerCase(Locale.ROOT))) {
+                return extremo;
+            }
+        }
+        throw new IllegalArgumentException("El extremo debe ser 'mayor' o 'menor'");
+    }
+
+    /**
+     * Orden del ranking: el primer elemento es el mejor situado.
+     */
+    public Comparator<ProductoMaximoStock> orden() {
+        return orden;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+}
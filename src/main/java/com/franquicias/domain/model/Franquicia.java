@@ -7,6 +7,7 @@ public class Franquicia {
     private String nombre;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     public Franquicia() {
     }
@@ -23,6 +24,11 @@ public class Franquicia {
         this.updatedAt = updatedAt;
     }
 
+    public Franquicia(Long id, String nombre, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, nombre, createdAt, updatedAt);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -54,5 +60,12 @@ public class Franquicia {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,29 @@
+package com.franquicias.domain.model;
+
+/**
+ * Resultado de fijar el stock de un producto con una sola sentencia: el producto combinado con lo que
+ * informó la escritura y el stock que tenía antes, que decide cómo se actualizan la proyección de
+ * máximo stock y el resumen de inventario.
+ */
+public class ModificacionStock {
+
+    private final Producto producto;
+    private final int stockAnterior;
+
+    public ModificacionStock(Producto producto, int stockAnterior) {
+        this.producto = producto;
+        this.stockAnterior = stockAnterior;
+    }
+
+    public Producto getProducto() {
+        return producto;
+    }
+
+    public int getStockAnterior() {
+        return stockAnterior;
+    }
+
+    public boolean isDisminuye() {
+        return producto.getStock() < stockAnterior;
+    }
+}
@@ -0,0 +1,24 @@
+package com.franquicias.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por clave. {@code siguienteCursor} es nulo en la última página.
+ */
+public class Pagina<T> {
+    private final List<T> elementos;
+    private final String siguienteCursor;
+
+    public Pagina(List<T> elementos, String siguienteCursor) {
+        this.elementos = List.copyOf(elementos);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+}
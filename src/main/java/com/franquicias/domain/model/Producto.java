@@ -9,6 +9,7 @@ public class Producto {
     private Long sucursalId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     public Producto() {
     }
@@ -30,6 +31,12 @@ public class Producto {
         this.updatedAt = updatedAt;
     }
 
+    public Producto(Long id, String nombre, Integer stock, Long sucursalId,
+                    LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, nombre, stock, sucursalId, createdAt, updatedAt);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -77,5 +84,12 @@ public class Producto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,63 @@
+package com.franquicias.domain.model;
+
+import java.util.List;
+
+public class RankingStockFranquicia {
+    private Long franquiciaId;
+    private ExtremoStock extremo;
+    private int k;
+    private List<ProductoMaximoStock> franquicia;
+    private List<RankingStockSucursal> sucursales;
+
+    public RankingStockFranquicia() {
+    }
+
+    public RankingStockFranquicia(Long franquiciaId, ExtremoStock extremo, int k,
+                                  List<ProductoMaximoStock> franquicia, List<RankingStockSucursal> sucursales) {
+        this.franquiciaId = franquiciaId;
+        this.extremo = extremo;
+        this.k = k;
+        this.franquicia = franquicia;
+        this.sucursales = sucursales;
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public void setFranquiciaId(Long franquiciaId) {
+        this.franquiciaId = franquiciaId;
+    }
+
+    public ExtremoStock getExtremo() {
+        return extremo;
+    }
+
+    public void setExtremo(ExtremoStock extremo) {
+        this.extremo = extremo;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public void setK(int k) {
+        this.k = k;
+    }
+
+    public List<ProductoMaximoStock> getFranquicia() {
+        return franquicia;
+    }
+
+    public void setFranquicia(List<ProductoMaximoStock> franquicia) {
+        this.franquicia = franquicia;
+    }
+
+    public List<RankingStockSucursal> getSucursales() {
+        return sucursales;
+    }
+
+    public void setSucursales(List<RankingStockSucursal> sucursales) {
+        this.sucursales = sucursales;
+    }
+}
@@ -0,0 +1,42 @@
+package com.franquicias.domain.model;
+
+import java.util.List;
+
+public class RankingStockSucursal {
+    private Long sucursalId;
+    private String sucursalNombre;
+    private List<ProductoMaximoStock> productos;
+
+    public RankingStockSucursal() {
+    }
+
+    public RankingStockSucursal(Long sucursalId, String sucursalNombre, List<ProductoMaximoStock> productos) {
+        this.sucursalId = sucursalId;
+        this.sucursalNombre = sucursalNombre;
+        this.productos = productos;
+    }
+
+    public Long getSucursalId() {
+        return sucursalId;
+    }
+
+    public void setSucursalId(Long sucursalId) {
+        this.sucursalId = sucursalId;
+    }
+
+    public String getSucursalNombre() {
+        return sucursalNombre;
+    }
+
+    public void setSucursalNombre(String sucursalNombre) {
+        this.sucursalNombre = sucursalNombre;
+    }
+
+    public List<ProductoMaximoStock> getProductos() {
+        return productos;
+    }
+
+    public void setProductos(List<ProductoMaximoStock> productos) {
+        this.productos = productos;
+    }
+}
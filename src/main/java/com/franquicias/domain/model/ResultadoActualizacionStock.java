@@ -0,0 +1,85 @@
+package com.franquicias.domain.model;
+
+public class ResultadoActualizacionStock {
+
+    public enum Estado {
+        ACTUALIZADO,
+        NO_ENCONTRADO,
+        RECHAZADO
+    }
+
+    private Long productoId;
+    private Integer stockAnterior;
+    private Integer stock;
+    private Estado estado;
+    private String mensaje;
+
+    public ResultadoActualizacionStock() {
+    }
+
+    public ResultadoActualizacionStock(Long productoId, Integer stock, Estado estado, String mensaje) {
+        this.productoId = productoId;
+        this.stock = stock;
+        this.estado = estado;
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * @param stockAnterior stock que tenía el producto antes de la actualización, para que quien
+     *                      mantiene contadores pueda aplicar la diferencia sin recontar la sucursal
+     */
+    public static ResultadoActualizacionStock actualizado(Long productoId, Integer stockAnterior, Integer stock) {
+        ResultadoActualizacionStock resultado = new ResultadoActualizacionStock(productoId, stock, Estado.ACTUALIZADO, null);
+        resultado.setStockAnterior(stockAnterior);
+        return resultado;
+    }
+
+    public static ResultadoActualizacionStock noEncontrado(Long productoId, Integer stock) {
+        return new ResultadoActualizacionStock(productoId, stock, Estado.NO_ENCONTRADO,
+                "El producto con id " + productoId + " no existe en la sucursal");
+    }
+
+    public static ResultadoActualizacionStock rechazado(Long productoId, Integer stock, String mensaje) {
+        return new ResultadoActualizacionStock(productoId, stock, Estado.RECHAZADO, mensaje);
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Integer getStockAnterior() {
+        return stockAnterior;
+    }
+
+    public void setStockAnterior(Integer stockAnterior) {
+        this.stockAnterior = stockAnterior;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+}
@@ -0,0 +1,48 @@
+package com.franquicias.domain.model;
+
+public class ResultadoImportacion {
+    private long insertados;
+    private long duplicados;
+    private long rechazados;
+
+    public ResultadoImportacion() {
+    }
+
+    public ResultadoImportacion(long insertados, long duplicados, long rechazados) {
+        this.insertados = insertados;
+        this.duplicados = duplicados;
+        this.rechazados = rechazados;
+    }
+
+    public ResultadoImportacion sumar(ResultadoImportacion otro) {
+        return new ResultadoImportacion(
+            insertados + otro.insertados,
+            duplicados + otro.duplicados,
+            rechazados + otro.rechazados
+        );
+    }
+
+    public long getInsertados() {
+        return insertados;
+    }
+
+    public void setInsertados(long insertados) {
+        this.insertados = insertados;
+    }
+
+    public long getDuplicados() {
+        return duplicados;
+    }
+
+    public void setDuplicados(long duplicados) {
+        this.duplicados = duplicados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(long rechazados) {
+        this.rechazados = rechazados;
+    }
+}
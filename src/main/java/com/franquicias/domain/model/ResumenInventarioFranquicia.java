@@ -0,0 +1,67 @@
+package com.franquicias.domain.model;
+
+import java.util.List;
+
+/**
+ * Totales de inventario de una franquicia, sumados a partir de los contadores de cada sucursal.
+ */
+public class ResumenInventarioFranquicia {
+    private Long franquiciaId;
+    private long productos;
+    private long stockTotal;
+    private long productosSinStock;
+    private List<ResumenInventarioSucursal> sucursales;
+
+    public ResumenInventarioFranquicia() {
+    }
+
+    public ResumenInventarioFranquicia(Long franquiciaId, List<ResumenInventarioSucursal> sucursales) {
+        this.franquiciaId = franquiciaId;
+        this.sucursales = sucursales;
+        for (ResumenInventarioSucursal sucursal : sucursales) {
+            productos += sucursal.getProductos();
+            stockTotal += sucursal.getStockTotal();
+            productosSinStock += sucursal.getProductosSinStock();
+        }
+    }
+
+    public Long getFranquiciaId() {
+        return franquiciaId;
+    }
+
+    public void setFranquiciaId(Long franquiciaId) {
+        this.franquiciaId = franquiciaId;
+    }
+
+    public long getProductos() {
+        return productos;
+    }
+
+    public void setProductos(long productos) {
+        this.productos = productos;
+    }
+
+    public long getStockTotal() {
+        return stockTotal;
+    }
+
+    public void setStockTotal(long stockTotal) {
+        this.stockTotal = stockTotal;
+    }
+
+    public long getProductosSinStock() {
+        return productosSinStock;
+    }
+
+    public void setProductosSinStock(long productosSinStock) {
+        this.productosSinStock = productosSinStock;
+    }
+
+    public List<ResumenInventarioSucursal> getSucursales() {
+        return sucursales;
+    }
+
+    public void setSucursales(List<ResumenInventarioSucursal> sucursales) {
+        this.sucursales = sucursales;
+    }
+}
@@ -8,6 +8,7 @@ public class Sucursal {
     private Long franquiciaId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     public Sucursal() {
     }
@@ -26,6 +27,12 @@ public class Sucursal {
         this.updatedAt = updatedAt;
     }
 
+    public Sucursal(Long id, String nombre, Long franquiciaId, LocalDateTime createdAt, LocalDateTime updatedAt,
+                    Long version) {
+        this(id, nombre, franquiciaId, createdAt, updatedAt);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -65,5 +72,12 @@ public class Sucursal {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,43 @@
+package com.franquicias.domain.repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Contador de cambios por franquicia: aumenta con cada escritura sobre la franquicia, sus sucursales
+ * o sus productos, y sirve de ETag para las lecturas de la franquicia.
+ */
+public interface ContadorCambiosFranquiciaRepository {
+    Mono<Long> obtener(Long franquiciaId);
+    Mono<Void> incrementar(Long franquiciaId);
+    Mono<Void> incrementarPorSucursal(Long sucursalId);
+
+    /**
+     * Contador que no registra nada, para los casos de uso construidos sin ETag.
+     */
+    static ContadorCambiosFranquiciaRepository ninguno() {
+        return SinContador.INSTANCIA;
+    }
+
+    final class SinContador implements ContadorCambiosFranquiciaRepository {
+
+        private static final SinContador INSTANCIA = new SinContador();
+
+        private SinContador() {
+        }
+
+        @Override
+        public Mono<Long> obtener(Long franquiciaId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> incrementar(Long franquiciaId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> incrementarPorSucursal(Long sucursalId) {
+            return Mono.empty();
+        }
+    }
+}
@@ -8,5 +8,10 @@ public interface FranquiciaRepository {
     Mono<Franquicia> findById(Long id);
     Mono<Boolean> existsById(Long id);
     Mono<Franquicia> update(Franquicia franquicia);
+    /**
+     * Vacío si la franquicia no existe; con {@code versionEsperada} distinta de la actual,
+     * {@code VersionNoCoincideException}.
+     */
+    Mono<Franquicia> renombrar(Long id, String nombre, Long versionEsperada);
 }
 
@@ -1,17 +1,48 @@
 package com.franquicias.domain.repository;
 
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ModificacionStock;
 import com.franquicias.domain.model.Producto;
 import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface ProductoRepository {
     Mono<Producto> save(Producto producto);
     Mono<Producto> findById(Long id);
     Mono<Boolean> existsById(Long id);
     Flux<Producto> findBySucursalId(Long sucursalId);
+    Flux<Producto> findPaginaBySucursalId(Long sucursalId, Long despuesDeId, int limite);
+    Flux<Producto> findPaginaBySucursalIdOrdenadaPorStock(Long sucursalId, Integer despuesDeStock, Long despuesDeId, int limite);
     Mono<Void> deleteById(Long id);
     Mono<Producto> update(Producto producto);
+    /**
+     * Vacío si el producto no existe en la sucursal; con {@code versionEsperada} distinta de la actual,
+     * {@code VersionNoCoincideException}. {@link #modificarStock} sigue la misma regla.
+     */
+    Mono<Producto> renombrar(Long sucursalId, Long productoId, String nombre, Long versionEsperada);
+    Mono<ModificacionStock> modificarStock(Long sucursalId, Long productoId, int stock, Long versionEsperada);
+    Mono<Boolean> eliminar(Long sucursalId, Long productoId);
+    Mono<Integer> ajustarStock(Long sucursalId, Long productoId, int delta);
+    Mono<Long> insertarIgnorandoDuplicados(List<Producto> productos);
+    Flux<ResultadoActualizacionStock> actualizarStockMasivo(Long sucursalId, List<ActualizacionStock> actualizaciones);
     Flux<ProductoMaximoStock> findProductosMaximoStockByFranquiciaId(Long franquiciaId);
+    Flux<ProductoMaximoStock> streamProductosMaximoStockByFranquiciaId(Long franquiciaId);
+
+    /**
+     * Hasta {@code k} productos de cada sucursal de la franquicia en el orden de {@code extremo}. Las
+     * filas llegan agrupadas por sucursal (por id ascendente) y, dentro de cada una, en orden de ranking.
+     */
+    Flux<ProductoMaximoStock> findRankingStockBySucursal(Long franquiciaId, ExtremoStock extremo, int k);
+
+    /**
+     * Productos de la franquicia con stock menor que {@code umbral}, agrupados por sucursal (por id
+     * ascendente) y, dentro de cada una, por stock y id ascendentes.
+     */
+    Flux<ProductoMaximoStock> findStockBajoByFranquiciaId(Long franquiciaId, int umbral);
 }
 
@@ -0,0 +1,19 @@
+package com.franquicias.domain.repository;
+
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stock máximo vigente por sucursal. Los casos de uso lo actualizan en la misma transacción que la
+ * escritura del producto.
+ */
+public interface ProyeccionMaximoStockRepository {
+    Mono<Void> registrarStock(Long sucursalId, Integer stock);
+    Mono<Void> recalcular(Long sucursalId);
+    /**
+     * Compara el máximo proyectado de cada sucursal con el de sus productos, recalcula las que no
+     * coinciden y las devuelve.
+     */
+    Flux<DesviacionMaximoStock> reconciliar();
+}
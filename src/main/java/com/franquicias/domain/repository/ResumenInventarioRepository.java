@@ -0,0 +1,30 @@
+package com.franquicias.domain.repository;
+
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contadores de inventario por sucursal: productos, stock total y productos sin stock. Los casos de
+ * uso los actualizan en la misma transacción que la escritura del producto.
+ */
+public interface ResumenInventarioRepository {
+    Mono<Void> registrarAlta(Long sucursalId, int stock);
+    Mono<Void> registrarCambioStock(Long sucursalId, int stockAnterior, int stockNuevo);
+    /**
+     * Aplica de una vez la suma de varios cambios de stock de la sucursal, sin alterar el número de
+     * productos.
+     */
+    Mono<Void> registrarDiferencias(Long sucursalId, long diferenciaStock, int diferenciaSinStock);
+    /**
+     * Descuenta el producto de los contadores de su sucursal; debe ejecutarse antes de borrarlo.
+     */
+    Mono<Void> registrarBaja(Long sucursalId, Long productoId);
+    Mono<Void> recalcular(Long sucursalId);
+    Flux<ResumenInventarioSucursal> findByFranquiciaId(Long franquiciaId);
+    /**
+     * Recuenta todos los productos, corrige las sucursales cuyos contadores no coinciden y las devuelve.
+     */
+    Flux<DesviacionResumenInventario> reconciliar();
+}
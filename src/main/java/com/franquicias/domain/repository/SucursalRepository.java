@@ -9,6 +9,12 @@ public interface SucursalRepository {
     Mono<Sucursal> findById(Long id);
     Mono<Boolean> existsById(Long id);
     Flux<Sucursal> findByFranquiciaId(Long franquiciaId);
+    Flux<Sucursal> findPaginaByFranquiciaId(Long franquiciaId, Long despuesDeId, int limite);
     Mono<Sucursal> update(Sucursal sucursal);
+    /**
+     * Vacío si la sucursal no existe en la franquicia; con {@code versionEsperada} distinta de la actual,
+     * {@code VersionNoCoincideException}.
+     */
+    Mono<Sucursal> renombrar(Long franquiciaId, Long sucursalId, String nombre, Long versionEsperada);
 }
 
@@ -0,0 +1,67 @@
+package com.franquicias.domain.stock;
+
+import com.franquicias.domain.model.Producto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Retiene las modificaciones de stock para escribirlas de forma diferida y agrupada. Mientras un
+ * producto tiene un valor pendiente, el resto de escrituras sobre él deben vaciarlo antes para no
+ * quedar sobrescritas por un valor más antiguo.
+ * <p>
+ * Las lecturas de productos sustituyen el stock guardado por el valor pendiente. Las consultas agregadas
+ * (máximo stock, ranking, stock bajo y resumen de inventario) leen la base de datos y muestran el stock
+ * anterior hasta que se escribe el lote.
+ */
+public interface BufferEscrituraStock {
+
+    boolean habilitado();
+
+    /**
+     * Valor pendiente de escribir del producto, si lo hay. Lo usan las escrituras de stock para partir
+     * del último valor recibido y el listado de productos para mostrarlo.
+     */
+    Mono<Producto> pendiente(Long productoId);
+
+    Mono<Void> encolar(Producto producto);
+
+    Mono<Void> vaciar(Long productoId);
+
+    Mono<Void> vaciar();
+
+    static BufferEscrituraStock ninguno() {
+        return SinBuffer.INSTANCIA;
+    }
+
+    final class SinBuffer implements BufferEscrituraStock {
+
+        private static final SinBuffer INSTANCIA = new SinBuffer();
+
+        private SinBuffer() {
+        }
+
+        @Override
+        public boolean habilitado() {
+            return false;
+        }
+
+        @Override
+        public Mono<Producto> pendiente(Long productoId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> encolar(Producto producto) {
+            return Mono.error(new IllegalStateException("La escritura diferida de stock no está habilitada"));
+        }
+
+        @Override
+        public Mono<Void> vaciar(Long productoId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> vaciar() {
+            return Mono.empty();
+        }
+    }
+}
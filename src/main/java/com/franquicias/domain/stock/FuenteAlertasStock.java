@@ -0,0 +1,13 @@
+package com.franquicias.domain.stock;
+
+import com.franquicias.domain.model.AlertaStock;
+import reactor.core.publisher.Flux;
+
+/**
+ * Alertas de stock en tiempo real. Cada suscripción recibe solo las alertas posteriores a ella y no
+ * termina mientras el suscriptor no cancele.
+ */
+public interface FuenteAlertasStock {
+
+    Flux<AlertaStock> suscribir(Long franquiciaId);
+}
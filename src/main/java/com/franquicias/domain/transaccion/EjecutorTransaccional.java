@@ -0,0 +1,28 @@
+package com.franquicias.domain.transaccion;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Ejecuta una operación en una transacción: todas sus escrituras se confirman juntas o ninguna.
+ */
+public interface EjecutorTransaccional {
+
+    <T> Mono<T> ejecutar(Mono<T> operacion);
+
+    static EjecutorTransaccional ninguno() {
+        return SinTransaccion.INSTANCIA;
+    }
+
+    final class SinTransaccion implements EjecutorTransaccional {
+
+        private static final SinTransaccion INSTANCIA = new SinTransaccion();
+
+        private SinTransaccion() {
+        }
+
+        @Override
+        public <T> Mono<T> ejecutar(Mono<T> operacion) {
+            return operacion;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.franquicias.infrastructure.cache;
+
+import com.franquicias.domain.cache.ProductosMaximoStockCache;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.event.CambioInventarioListener;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Subscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada (tamaño y TTL) del resultado de productos con máximo stock por franquicia.
+ * Cada cambio de inventario invalida solo la franquicia afectada; la franquicia de una sucursal
+ * se resuelve con un segundo mapa que se alimenta de los propios resultados cacheados.
+ * <p>
+ * Las peticiones idénticas que llegan a la vez ejecutan una sola consulta: en la caché, porque esperan
+ * el mismo futuro, y en la variante en streaming, porque se suscriben a la misma ejecución en curso
+ * mientras aún no ha salido ninguna fila. El streaming no guarda historial: cada fila se entrega a los
+ * suscriptores presentes y se suelta, así que la memoria queda acotada por el prefetch y no por el
+ * tamaño de la franquicia. El contador {@code franquicias.maximo.stock.consultas} distingue las
+ * ejecuciones reales de las peticiones que se unieron a una en curso.
+ */
+public class CaffeineProductosMaximoStockCache implements ProductosMaximoStockCache, CambioInventarioListener {
+
+    private final AsyncCache<Long, List<ProductoMaximoStock>> resultados;
+    private final Cache<Long, Long> franquiciaPorSucursal;
+    private final Map<Long, EjecucionEnCurso> enCurso = new ConcurrentHashMap<>();
+    private final SucursalRepository sucursalRepository;
+    private final Counter cacheEjecutadas;
+    private final Counter cacheCompartidas;
+    private final Counter streamingEjecutadas;
+    private final Counter streamingCompartidas;
+
+    public CaffeineProductosMaximoStockCache(SucursalRepository sucursalRepository, MeterRegistry meterRegistry,
+                                             long maximumSize, Duration ttl) {
+        this.sucursalRepository = sucursalRepository;
+        this.resultados = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync(), "productosMaximoStock");
+        // La franquicia de una sucursal no cambia nunca, por lo que este mapa solo se acota por tamaño
+        this.franquiciaPorSucursal = Caffeine.newBuilder()
+                .maximumSize(maximumSize * 50)
+                .build();
+        this.cacheEjecutadas = contadorConsultas(meterRegistry, "cache", "ejecutada");
+        this.cacheCompartidas = contadorConsultas(meterRegistry, "cache", "compartida");
+        this.streamingEjecutadas = contadorConsultas(meterRegistry, "streaming", "ejecutada");
+        this.streamingCompartidas = contadorConsultas(meterRegistry, "streaming", "compartida");
+    }
+
+    private static Counter contadorConsultas(MeterRegistry meterRegistry, String ruta, String resultado) {
+        return Counter.builder("franquicias.maximo.stock.consultas")
+                .description("Peticiones de productos con máximo stock que ejecutaron la consulta o se unieron a una en curso")
+                .tag("ruta", ruta)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> obtener(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta) {
+        return Flux.defer(() -> {
+            boolean[] ejecutada = {false};
+            CompletableFuture<List<ProductoMaximoStock>> resultado = resultados.get(franquiciaId, (id, executor) -> {
+                ejecutada[0] = true;
+                return consulta.get()
+                        .collectList()
+                        .doOnNext(lista -> lista.forEach(fila ->
+                                franquiciaPorSucursal.put(fila.getSucursalId(), franquiciaId)))
+                        .toFuture();
+            });
+            // Un futuro ya completado es un acierto normal de la caché, no una consulta compartida
+            if (ejecutada[0]) {
+                cacheEjecutadas.increment();
+            } else if (!resultado.isDone()) {
+                cacheCompartidas.increment();
+            }
+            return Mono.fromFuture(resultado, true).flatMapMany(Flux::fromIterable);
+        });
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> compartir(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta) {
+        return Flux.from(suscriptor -> {
+            boolean[] ejecutada = {false};
+            EjecucionEnCurso ejecucion = enCurso.computeIfAbsent(franquiciaId, id -> {
+                ejecutada[0] = true;
+                return new EjecucionEnCurso(id, consulta);
+            });
+            if (ejecucion.suscribir(suscriptor)) {
+                (ejecutada[0] ? streamingEjecutadas : streamingCompartidas).increment();
+            } else {
+                // Llegó cuando ya salían filas y no hay historial que repetirle: se une a la siguiente
+                compartir(franquiciaId, consulta).subscribe(suscriptor);
+            }
+        });
+    }
+
+    /**
+     * Consulta en streaming compartida sin historial. Solo admite suscriptores hasta que sale la primera
+     * fila; en ese momento deja de estar disponible para nuevas peticiones. Si todos los suscriptores
+     * cancelan, se cancela la consulta. El suscriptor más lento marca el ritmo de los demás.
+     */
+    private final class EjecucionEnCurso {
+
+        private final Long franquiciaId;
+        private final Flux<ProductoMaximoStock> filas;
+        private volatile boolean emitiendo;
+
+        EjecucionEnCurso(Long franquiciaId, Supplier<Flux<ProductoMaximoStock>> consulta) {
+            this.franquiciaId = franquiciaId;
+            this.filas = Flux.defer(consulta)
+                    .doOnNext(this::registrar)
+                    .doFinally(senal -> enCurso.remove(franquiciaId, this))
+                    .publish()
+                    .refCount();
+        }
+
+        /**
+         * Se suscribe con el cerrojo tomado, de modo que la primera fila no puede salir entre la
+         * comprobación y el alta del suscriptor.
+         */
+        synchronized boolean suscribir(Subscriber<? super ProductoMaximoStock> suscriptor) {
+            if (emitiendo) {
+                return false;
+            }
+            filas.subscribe(suscriptor);
+            return true;
+        }
+
+        private void registrar(ProductoMaximoStock fila) {
+            if (!emitiendo) {
+                synchronized (this) {
+                    emitiendo = true;
+                    enCurso.remove(franquiciaId, this);
+                }
+            }
+            franquiciaPorSucursal.put(fila.getSucursalId(), franquiciaId);
+        }
+    }
+
+    @Override
+    public void invalidar(Long franquiciaId) {
+        resultados.synchronous().invalidate(franquiciaId);
+        // Quien ya estaba suscrito termina de recibir su resultado; las peticiones siguientes, que pueden
+        // venir de quien hizo el cambio, ejecutan una consulta nueva
+        enCurso.remove(franquiciaId);
+    }
+
+    @Override
+    public Mono<Void> onCambio(CambioInventario cambio) {
+        if (cambio.getFranquiciaId() != null) {
+            invalidar(cambio.getFranquiciaId());
+            return Mono.empty();
+        }
+        if (cambio.getSucursalId() == null || (resultados.asMap().isEmpty() && enCurso.isEmpty())) {
+            return Mono.empty();
+        }
+        Long franquiciaId = franquiciaPorSucursal.getIfPresent(cambio.getSucursalId());
+        if (franquiciaId != null) {
+            invalidar(franquiciaId);
+            return Mono.empty();
+        }
+        return sucursalRepository.findById(cambio.getSucursalId())
+                .doOnNext(sucursal -> {
+                    franquiciaPorSucursal.put(sucursal.getId(), sucursal.getFranquiciaId());
+                    invalidar(sucursal.getFranquiciaId());
+                })
+                .then();
+    }
+}
@@ -0,0 +1,139 @@
+package com.franquicias.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Verifica la existencia de ids agrupando las consultas concurrentes que llegan dentro de una ventana
+ * corta en un único {@code WHERE id IN (...)}. Los ids confirmados se recuerdan en una caché acotada
+ * por tamaño y TTL; solo se cachean respuestas positivas, así un id recién creado nunca se da por ausente.
+ * Un lote que falla solo afecta a las peticiones que agrupaba; si la solicitud no puede encolarse o su
+ * lote no responde a tiempo, el id se consulta directamente.
+ */
+public class VerificadorExistenciaPorLotes {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorExistenciaPorLotes.class);
+
+    private static final Duration ESPERA_EMISION = Duration.ofMillis(100);
+    private static final int LOTES_CONCURRENTES = 4;
+
+    private final Function<Set<Long>, Flux<Long>> consultaIds;
+    private final Duration esperaMaxima;
+    private final Cache<Long, Boolean> existentes;
+    private final Sinks.Many<Solicitud> solicitudes;
+    private final Disposable procesamiento;
+
+    public VerificadorExistenciaPorLotes(String nombre, Function<Set<Long>, Flux<Long>> consultaIds,
+                                         Duration ventana, int tamanoMaximoLote, Duration esperaMaxima,
+                                         long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.consultaIds = consultaIds;
+        this.esperaMaxima = esperaMaxima;
+        this.existentes = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), nombre);
+        this.solicitudes = Sinks.many().unicast().onBackpressureBuffer();
+        this.procesamiento = solicitudes.asFlux()
+                // Backpressure justa: sin ella, un lote lleno que llega mientras flatMap está saturado
+                // desborda el buffer y el error termina el flujo compartido
+                .bufferTimeout(tamanoMaximoLote, ventana, true)
+                .flatMap(this::resolverLote, LOTES_CONCURRENTES)
+                .subscribe(null, error -> log.error("Se detuvo el agrupamiento de {}; las verificaciones "
+                        + "se consultarán una a una", nombre, error));
+    }
+
+    public Mono<Boolean> existe(Long id) {
+        if (id == null) {
+            return Mono.just(false);
+        }
+        // La caché se consulta al suscribirse: un Mono guardado o reintentado no reutiliza un acierto
+        // que se invalidó después de armarlo
+        return Mono.defer(() -> {
+            if (existentes.getIfPresent(id) != null) {
+                return Mono.just(true);
+            }
+            Sinks.One<Boolean> respuesta = Sinks.one();
+            try {
+                solicitudes.emitNext(new Solicitud(id, respuesta),
+                        Sinks.EmitFailureHandler.busyLooping(ESPERA_EMISION));
+            } catch (Sinks.EmissionException e) {
+                return consultar(id);
+            }
+            return respuesta.asMono().timeout(esperaMaxima, consultar(id));
+        });
+    }
+
+    public void invalidar(Long id) {
+        existentes.invalidate(id);
+    }
+
+    public void dispose() {
+        procesamiento.dispose();
+    }
+
+    private Mono<Void> resolverLote(List<Solicitud> lote) {
+        Map<Long, List<Sinks.One<Boolean>>> pendientes = new LinkedHashMap<>();
+        for (Solicitud solicitud : lote) {
+            pendientes.computeIfAbsent(solicitud.id, id -> new ArrayList<>()).add(solicitud.respuesta);
+        }
+        return consultarIds(pendientes.keySet())
+                .collect(HashSet<Long>::new, Set::add)
+                .doOnNext(encontrados -> pendientes.forEach((id, respuestas) -> {
+                    boolean existe = encontrados.contains(id);
+                    if (existe) {
+                        existentes.put(id, Boolean.TRUE);
+                    }
+                    respuestas.forEach(respuesta -> respuesta.tryEmitValue(existe));
+                }))
+                .onErrorResume(error -> {
+                    pendientes.values().forEach(respuestas ->
+                            respuestas.forEach(respuesta -> respuesta.tryEmitError(error)));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Boolean> consultar(Long id) {
+        return consultarIds(Set.of(id))
+                .hasElements()
+                .doOnNext(existe -> {
+                    if (existe) {
+                        existentes.put(id, Boolean.TRUE);
+                    }
+                });
+    }
+
+    // Diferida para que una excepción lanzada al armar la consulta llegue como error del lote
+    private Flux<Long> consultarIds(Set<Long> ids) {
+        return Flux.defer(() -> consultaIds.apply(ids));
+    }
+
+    private static final class Solicitud {
+
+        private final Long id;
+        private final Sinks.One<Boolean> respuesta;
+
+        private Solicitud(Long id, Sinks.One<Boolean> respuesta) {
+            this.id = id;
+            this.respuesta = respuesta;
+        }
+    }
+}
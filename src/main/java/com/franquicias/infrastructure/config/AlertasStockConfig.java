@@ -0,0 +1,21 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.stock.EmisorAlertasStock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AlertasStockConfig {
+
+    @Bean
+    public EmisorAlertasStock emisorAlertasStock(
+            SucursalRepository sucursalRepository,
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.stock.alertas.umbral:10}") int umbral,
+            @Value("${franquicias.stock.alertas.buffer-por-suscriptor:256}") int bufferPorSuscriptor) {
+        return new EmisorAlertasStock(sucursalRepository, umbral, bufferPorSuscriptor, meterRegistry);
+    }
+}
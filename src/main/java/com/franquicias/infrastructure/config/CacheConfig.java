@@ -0,0 +1,74 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.cache.CaffeineProductosMaximoStockCache;
+import com.franquicias.infrastructure.cache.VerificadorExistenciaPorLotes;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${franquicias.existencia.ventana:2ms}")
+    private Duration ventanaExistencia;
+
+    @Value("${franquicias.existencia.tamano-maximo-lote:100}")
+    private int tamanoMaximoLoteExistencia;
+
+    @Value("${franquicias.existencia.espera-maxima:500ms}")
+    private Duration esperaMaximaExistencia;
+
+    @Value("${franquicias.existencia.cache.maximum-size:10000}")
+    private long maximumSizeExistencia;
+
+    @Value("${franquicias.existencia.cache.ttl:10m}")
+    private Duration ttlExistencia;
+
+    // Invalida antes de que ContadorCambiosFranquiciaListener publique la nueva versión
+    @Bean
+    @Order(0)
+    public CaffeineProductosMaximoStockCache productosMaximoStockCache(
+            SucursalRepository sucursalRepository,
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.cache.productos-maximo-stock.maximum-size:1000}") long maximumSize,
+            @Value("${franquicias.cache.productos-maximo-stock.ttl:30s}") Duration ttl) {
+        return new CaffeineProductosMaximoStockCache(sucursalRepository, meterRegistry, maximumSize, ttl);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @Profile("!memoria")
+    public VerificadorExistenciaPorLotes verificadorExistenciaFranquicia(DatabaseClient databaseClient,
+                                                                         MeterRegistry meterRegistry) {
+        return verificadorExistencia("existenciaFranquicia", "franquicia", databaseClient, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @Profile("!memoria")
+    public VerificadorExistenciaPorLotes verificadorExistenciaSucursal(DatabaseClient databaseClient,
+                                                                       MeterRegistry meterRegistry) {
+        return verificadorExistencia("existenciaSucursal", "sucursal", databaseClient, meterRegistry);
+    }
+
+    private VerificadorExistenciaPorLotes verificadorExistencia(String nombre, String tabla,
+                                                                DatabaseClient databaseClient,
+                                                                MeterRegistry meterRegistry) {
+        // Sin marca de lectura: el lote mezcla peticiones distintas, casi todas escrituras que no pueden
+        // dar por inexistente una franquicia o sucursal recién creada que la réplica aún no tiene
+        String sql = "SELECT id FROM " + tabla + " WHERE id IN (:ids)";
+        return new VerificadorExistenciaPorLotes(nombre,
+                (Set<Long> ids) -> databaseClient.sql(sql)
+                        .bind("ids", ids)
+                        .map(row -> row.get("id", Long.class))
+                        .all(),
+                ventanaExistencia, tamanoMaximoLoteExistencia, esperaMaximaExistencia, maximumSizeExistencia,
+                ttlExistencia, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.infrastructure.event.CanalCambiosProducto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CambiosProductoConfig {
+
+    @Bean(destroyMethod = "cerrar")
+    public CanalCambiosProducto canalCambiosProducto(
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.productos.cambios.retencion-maxima:100}") int retencionMaxima,
+            @Value("${franquicias.productos.cambios.ventana-retencion:30s}") Duration ventanaRetencion,
+            @Value("${franquicias.productos.cambios.buffer-por-suscriptor:256}") int bufferPorSuscriptor) {
+        return new CanalCambiosProducto(retencionMaxima, ventanaRetencion, bufferPorSuscriptor, meterRegistry);
+    }
+}
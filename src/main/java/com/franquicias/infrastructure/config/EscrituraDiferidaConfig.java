@@ -0,0 +1,45 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import com.franquicias.infrastructure.stock.BufferEscrituraStockCoalescente;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Activa la escritura diferida de stock; sin esta configuración los casos de uso escriben cada
+ * modificación en el momento. Con ella las consultas agregadas son eventualmente consistentes: durante
+ * {@code franquicias.stock.escritura-diferida.ventana} (o hasta alcanzar {@code maximo-pendientes})
+ * siguen mostrando el stock ya escrito, mientras que el listado de productos muestra el pendiente.
+ */
+@Configuration
+@ConditionalOnProperty(name = "franquicias.stock.escritura-diferida.habilitada", havingValue = "true")
+public class EscrituraDiferidaConfig {
+
+    @Bean(destroyMethod = "cerrar")
+    public BufferEscrituraStockCoalescente bufferEscrituraStock(
+            ProductoRepository productoRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.stock.escritura-diferida.ventana:100ms}") Duration ventana,
+            @Value("${franquicias.stock.escritura-diferida.maximo-pendientes:1000}") int maximoPendientes,
+            @Value("${franquicias.stock.escritura-diferida.espera-cierre:10s}") Duration esperaCierre) {
+        return new BufferEscrituraStockCoalescente(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository, cambioInventarioPublisher, ventana, maximoPendientes, esperaCierre, meterRegistry);
+    }
+}
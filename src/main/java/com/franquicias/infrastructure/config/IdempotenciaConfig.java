@@ -0,0 +1,29 @@
+package com.franquicias.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franquicias.infrastructure.idempotencia.IdempotenciaWebFilter;
+import com.franquicias.infrastructure.idempotencia.RegistroIdempotencia;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotenciaConfig {
+
+    @Bean
+    public RegistroIdempotencia registroIdempotencia(
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.idempotencia.maximum-size:10000}") long maximumSize,
+            @Value("${franquicias.idempotencia.ttl:24h}") Duration ttl) {
+        return new RegistroIdempotencia(meterRegistry, maximumSize, ttl);
+    }
+
+    @Bean
+    public IdempotenciaWebFilter idempotenciaWebFilter(RegistroIdempotencia registroIdempotencia,
+                                                       ObjectMapper objectMapper) {
+        return new IdempotenciaWebFilter(registroIdempotencia, objectMapper);
+    }
+}
@@ -0,0 +1,27 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.infrastructure.inventario.ReconciliadorResumenInventario;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class InventarioConfig {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "detener")
+    public ReconciliadorResumenInventario reconciliadorResumenInventario(
+            ResumenInventarioRepository resumenInventarioRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${franquicias.inventario.reconciliacion.intervalo:1h}") Duration intervalo) {
+        return new ReconciliadorResumenInventario(resumenInventarioRepository, proyeccionMaximoStockRepository,
+                cambioInventarioPublisher, intervalo, meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.franquicias.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envuelve el {@link ConnectionPool} para medir cuánto tarda cada adquisición de conexión.
+ * Los gauges de ocupación (acquired, idle, pending) los publica Actuator al desenvolver el pool.
+ */
+public class MeteredConnectionPool implements ConnectionFactory, Wrapped<ConnectionPool>, Disposable {
+
+    private final ConnectionPool delegate;
+    private final Timer acquireTimer;
+
+    public MeteredConnectionPool(ConnectionPool delegate, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.acquireTimer = Timer.builder("r2dbc.pool.acquire")
+                .description("Tiempo de espera para obtener una conexión del pool")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.create()
+                    .doOnSuccess(connection -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionPool unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+}
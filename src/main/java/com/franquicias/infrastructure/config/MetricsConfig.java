@@ -0,0 +1,54 @@
+package com.franquicias.infrastructure.config;
+
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.metrics.MeteredFranquiciaRepository;
+import com.franquicias.infrastructure.metrics.MeteredProductoRepository;
+import com.franquicias.infrastructure.metrics.MeteredSucursalRepository;
+import com.franquicias.infrastructure.metrics.MetricasOperaciones;
+import com.franquicias.infrastructure.persistence.r2dbc.repository.FranquiciaR2dbcRepository;
+import com.franquicias.infrastructure.persistence.r2dbc.repository.ProductoR2dbcRepository;
+import com.franquicias.infrastructure.persistence.r2dbc.repository.SucursalR2dbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Publica los repositorios R2DBC envueltos con timers como implementación primaria de los puertos
+ * del dominio; los casos de uso se miden en {@link UseCaseConfig}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MetricasOperaciones metricasOperaciones(MeterRegistry meterRegistry) {
+        return new MetricasOperaciones(meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @Profile("!memoria")
+    public FranquiciaRepository meteredFranquiciaRepository(FranquiciaR2dbcRepository delegate,
+                                                            MetricasOperaciones metricas) {
+        return new MeteredFranquiciaRepository(delegate, metricas);
+    }
+
+    @Bean
+    @Primary
+    @Profile("!memoria")
+    public SucursalRepository meteredSucursalRepository(SucursalR2dbcRepository delegate,
+                                                        MetricasOperaciones metricas) {
+        return new MeteredSucursalRepository(delegate, metricas);
+    }
+
+    @Bean
+    @Primary
+    @Profile("!memoria")
+    public ProductoRepository meteredProductoRepository(ProductoR2dbcRepository delegate,
+                                                        MetricasOperaciones metricas) {
+        return new MeteredProductoRepository(delegate, metricas);
+    }
+}
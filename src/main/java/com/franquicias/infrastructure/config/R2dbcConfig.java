@@ -1,16 +1,40 @@
 package com.franquicias.infrastructure.config;
 
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.EnrutadorConexiones;
 import io.asyncer.r2dbc.mysql.MySqlConnectionConfiguration;
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.EnrutadorConexiones;
 import io.asyncer.r2dbc.mysql.MySqlConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
+@Profile("!memoria")
 public class R2dbcConfig extends AbstractR2dbcConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(R2dbcConfig.class);
+
     @Value("${spring.r2dbc.url}")
     private String r2dbcUrl;
 
@@ -20,15 +44,93 @@ public class R2dbcConfig extends AbstractR2dbcConfiguration {
     @Value("${spring.r2dbc.password}")
     private String password;
 
+    @Value("${spring.r2dbc.pool.initial-size:5}")
+    private int poolInitialSize;
+
+    @Value("${spring.r2dbc.pool.max-size:10}")
+    private int poolMaxSize;
+
+    @Value("${spring.r2dbc.pool.max-idle-time:30m}")
+    private Duration poolMaxIdleTime;
+
+    @Value("${spring.r2dbc.pool.max-acquire-time:5s}")
+    private Duration poolMaxAcquireTime;
+
+    @Value("${spring.r2dbc.pool.max-create-connection-time:10s}")
+    private Duration poolMaxCreateConnectionTime;
+
+    @Value("${spring.r2dbc.pool.max-life-time:1h}")
+    private Duration poolMaxLifeTime;
+
+    @Value("${spring.r2dbc.pool.max-validation-time:2s}")
+    private Duration poolMaxValidationTime;
+
+    @Value("${spring.r2dbc.pool.validation-query:}")
+    private String poolValidationQuery;
+
+    @Value("${franquicias.r2dbc.replicas.urls:}")
+    private String replicasUrls;
+
+    @Value("${franquicias.r2dbc.replicas.verificacion:5s}")
+    private Duration replicasVerificacion;
+
+    @Value("${franquicias.r2dbc.replicas.maximo-retraso:0s}")
+    private Duration replicasMaximoRetraso;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private ConnectionPool connectionPool;
+
+    private final Map<String, ConnectionPool> replicasPools = new LinkedHashMap<>();
+
+    public R2dbcConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
-    @Bean
+    @Bean(destroyMethod = "dispose")
     public ConnectionFactory connectionFactory() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        connectionPool = crearPool(r2dbcUrl, "franquicias");
+        ConnectionFactory primaria = registry != null
+                ? new MeteredConnectionPool(connectionPool, registry, "connectionFactory") : connectionPool;
+
+        List<String> urlsReplicas = Arrays.stream(replicasUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        if (urlsReplicas.isEmpty()) {
+            return primaria;
+        }
+
+        MeterRegistry registroEnrutamiento = registry != null ? registry : new SimpleMeterRegistry();
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urlsReplicas.size(); i++) {
+            String nombre = "replica-" + (i + 1);
+            ConnectionPool pool = crearPool(urlsReplicas.get(i), "franquicias-" + nombre);
+            replicasPools.put(nombre, pool);
+            if (registry != null) {
+                // Actuator solo desenvuelve el bean; las réplicas registran sus gauges aquí
+                new ConnectionPoolMetrics(pool, nombre, Tags.empty()).bindTo(registry);
+                replicas.put(nombre, new MeteredConnectionPool(pool, registry, nombre));
+            } else {
+                replicas.put(nombre, pool);
+            }
+        }
+        EnrutadorConexiones enrutador = new EnrutadorConexiones(primaria, replicas,
+                replicasVerificacion, replicasMaximoRetraso, registroEnrutamiento);
+        enrutador.iniciarVerificacion();
+        log.info("Lecturas repartidas entre {} réplicas", replicas.size());
+        return enrutador;
+    }
+
+    private ConnectionPool crearPool(String url, String nombre) {
         // Parsear la URL r2dbc:mysql://host:port/database
-        String urlWithoutPrefix = r2dbcUrl.replace("r2dbc:mysql://", "");
+        String urlWithoutPrefix = url.replace("r2dbc:mysql://", "");
         String[] parts = urlWithoutPrefix.split("/");
         String hostPort = parts[0];
         String database = parts[1].split("\\?")[0];
-        
+
         String[] hostPortParts = hostPort.split(":");
         String host = hostPortParts[0];
         int port = hostPortParts.length > 1 ? Integer.parseInt(hostPortParts[1]) : 3306;
@@ -41,7 +143,41 @@ public class R2dbcConfig extends AbstractR2dbcConfiguration {
                 .password(password)
                 .build();
 
-        return MySqlConnectionFactory.from(configuration);
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration
+                .builder(MySqlConnectionFactory.from(configuration))
+                .name(nombre)
+                .initialSize(poolInitialSize)
+                .maxSize(poolMaxSize)
+                .maxIdleTime(poolMaxIdleTime)
+                .maxAcquireTime(poolMaxAcquireTime)
+                .maxCreateConnectionTime(poolMaxCreateConnectionTime)
+                .maxLifeTime(poolMaxLifeTime)
+                .maxValidationTime(poolMaxValidationTime);
+
+        // Sin query explícita se valida con el ping nativo del protocolo MySQL
+        if (poolValidationQuery.isBlank()) {
+            poolConfiguration.validationDepth(ValidationDepth.REMOTE);
+        } else {
+            poolConfiguration.validationQuery(poolValidationQuery);
+        }
+
+        return new ConnectionPool(poolConfiguration.build());
     }
-}
 
+    @EventListener(ApplicationStartedEvent.class)
+    public void precalentarPool() {
+        if (connectionPool == null) {
+            return;
+        }
+        precalentar(connectionPool, "R2DBC");
+        replicasPools.forEach((nombre, pool) -> precalentar(pool, nombre));
+    }
+
+    private static void precalentar(ConnectionPool pool, String nombre) {
+        pool.warmup()
+                .subscribe(
+                    created -> log.info("Pool {} precalentado con {} conexiones", nombre, created),
+                    error -> log.warn("No fue posible precalentar el pool {}: {}", nombre, error.getMessage())
+                );
+    }
+}
@@ -1,65 +1,372 @@
 package com.franquicias.infrastructure.config;
 
 import com.franquicias.application.usecase.*;
+import com.franquicias.domain.cache.ProductosMaximoStockCache;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.event.FuenteCambiosProducto;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.model.Pagina;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.RankingStockFranquicia;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.model.ResultadoImportacion;
+import com.franquicias.domain.model.ResumenInventarioFranquicia;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
 import com.franquicias.domain.repository.FranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
 import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.stock.FuenteAlertasStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import com.franquicias.infrastructure.metrics.MedidorOperacion;
+import com.franquicias.infrastructure.metrics.MetricasOperaciones;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+/**
+ * Cada caso de uso se publica como una subclase que envuelve {@code execute} con su
+ * {@link MedidorOperacion}, resuelto una sola vez al crear el bean.
+ */
 @Configuration
 public class UseCaseConfig {
 
     @Bean
-    public CrearFranquiciaUseCase crearFranquiciaUseCase(FranquiciaRepository franquiciaRepository) {
-        return new CrearFranquiciaUseCase(franquiciaRepository);
+    public CrearFranquiciaUseCase crearFranquiciaUseCase(FranquiciaRepository franquiciaRepository,
+                                                         MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("crearFranquicia", "execute");
+        return new CrearFranquiciaUseCase(franquiciaRepository) {
+            @Override
+            public Mono<Franquicia> execute(String nombre) {
+                return medidor.medir(super.execute(nombre));
+            }
+        };
     }
 
     @Bean
     public AgregarSucursalUseCase agregarSucursalUseCase(SucursalRepository sucursalRepository,
-                                                         FranquiciaRepository franquiciaRepository) {
-        return new AgregarSucursalUseCase(sucursalRepository, franquiciaRepository);
+                                                         FranquiciaRepository franquiciaRepository,
+                                                         CambioInventarioPublisher cambioInventarioPublisher,
+                                                         MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("agregarSucursal", "execute");
+        return new AgregarSucursalUseCase(sucursalRepository, franquiciaRepository, cambioInventarioPublisher) {
+            @Override
+            public Mono<Sucursal> execute(Long franquiciaId, String nombre) {
+                return medidor.medir(super.execute(franquiciaId, nombre));
+            }
+        };
+    }
+
+    @Bean
+    public AgregarProductoUseCase agregarProductoUseCase(
+            ProductoRepository productoRepository,
+            SucursalRepository sucursalRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("agregarProducto", "execute");
+        return new AgregarProductoUseCase(productoRepository, sucursalRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher,
+                ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository) {
+            @Override
+            public Mono<Producto> execute(Long sucursalId, String nombre, Integer stock) {
+                return medidor.medir(super.execute(sucursalId, nombre, stock));
+            }
+        };
+    }
+
+    @Bean
+    public ImportarProductosUseCase importarProductosUseCase(
+            ProductoRepository productoRepository,
+            SucursalRepository sucursalRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("importarProductos", "execute");
+        return new ImportarProductosUseCase(productoRepository, sucursalRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher) {
+            @Override
+            public Mono<ResultadoImportacion> execute(Long sucursalId, Flux<Producto> productos) {
+                return medidor.medir(super.execute(sucursalId, productos));
+            }
+        };
     }
 
     @Bean
-    public AgregarProductoUseCase agregarProductoUseCase(ProductoRepository productoRepository,
-                                                         SucursalRepository sucursalRepository) {
-        return new AgregarProductoUseCase(productoRepository, sucursalRepository);
+    public EliminarProductoUseCase eliminarProductoUseCase(
+            ProductoRepository productoRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("eliminarProducto", "execute");
+        return new EliminarProductoUseCase(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno),
+                ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository) {
+            @Override
+            public Mono<Void> execute(Long sucursalId, Long productoId) {
+                return medidor.medir(super.execute(sucursalId, productoId));
+            }
+        };
     }
 
     @Bean
-    public EliminarProductoUseCase eliminarProductoUseCase(ProductoRepository productoRepository) {
-        return new EliminarProductoUseCase(productoRepository);
+    public ModificarStockProductoUseCase modificarStockProductoUseCase(
+            ProductoRepository productoRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("modificarStockProducto", "execute");
+        return new ModificarStockProductoUseCase(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno),
+                ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository) {
+            @Override
+            public Mono<Producto> execute(Long sucursalId, Long productoId, Integer nuevoStock,
+                                          Long versionEsperada) {
+                return medidor.medir(super.execute(sucursalId, productoId, nuevoStock, versionEsperada));
+            }
+        };
     }
 
     @Bean
-    public ModificarStockProductoUseCase modificarStockProductoUseCase(ProductoRepository productoRepository) {
-        return new ModificarStockProductoUseCase(productoRepository);
+    public AjustarStockProductoUseCase ajustarStockProductoUseCase(
+            ProductoRepository productoRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("ajustarStockProducto", "execute");
+        return new AjustarStockProductoUseCase(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno),
+                ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository) {
+            @Override
+            public Mono<Integer> execute(Long sucursalId, Long productoId, Integer delta) {
+                return medidor.medir(super.execute(sucursalId, productoId, delta));
+            }
+        };
+    }
+
+    @Bean
+    public ActualizarStockMasivoUseCase actualizarStockMasivoUseCase(
+            ProductoRepository productoRepository,
+            ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+            ResumenInventarioRepository resumenInventarioRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+            ObjectProvider<EjecutorTransaccional> ejecutorTransaccional,
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("actualizarStockMasivo", "execute");
+        return new ActualizarStockMasivoUseCase(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, cambioInventarioPublisher,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno),
+                ejecutorTransaccional.getIfAvailable(EjecutorTransaccional::ninguno),
+                contadorCambiosFranquiciaRepository) {
+            @Override
+            public Flux<ResultadoActualizacionStock> execute(Long sucursalId, List<ActualizacionStock> actualizaciones) {
+                return medidor.medir(super.execute(sucursalId, actualizaciones));
+            }
+        };
     }
 
     @Bean
     public ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStockPorFranquiciaUseCase(
             ProductoRepository productoRepository,
-            FranquiciaRepository franquiciaRepository) {
-        return new ObtenerProductosMaximoStockPorFranquiciaUseCase(productoRepository, franquiciaRepository);
+            FranquiciaRepository franquiciaRepository,
+            ProductosMaximoStockCache productosMaximoStockCache,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUsoMaximoStock("obtenerProductosMaximoStock", "execute");
+        MedidorOperacion medidorStreaming =
+                metricas.casoDeUsoMaximoStock("obtenerProductosMaximoStock", "executeEnStreaming");
+        return new ObtenerProductosMaximoStockPorFranquiciaUseCase(productoRepository, franquiciaRepository,
+                productosMaximoStockCache) {
+            @Override
+            public Flux<ProductoMaximoStock> execute(Long franquiciaId) {
+                return medidor.medir(super.execute(franquiciaId));
+            }
+
+            @Override
+            public Flux<ProductoMaximoStock> executeEnStreaming(Long franquiciaId) {
+                return medidorStreaming.medir(super.executeEnStreaming(franquiciaId));
+            }
+        };
+    }
+
+    @Bean
+    public ListarSucursalesUseCase listarSucursalesUseCase(SucursalRepository sucursalRepository,
+                                                           FranquiciaRepository franquiciaRepository,
+                                                           MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("listarSucursales", "execute");
+        return new ListarSucursalesUseCase(sucursalRepository, franquiciaRepository) {
+            @Override
+            public Mono<Pagina<Sucursal>> execute(Long franquiciaId, String cursor, Integer limite) {
+                return medidor.medir(super.execute(franquiciaId, cursor, limite));
+            }
+        };
+    }
+
+    @Bean
+    public ListarProductosUseCase listarProductosUseCase(ProductoRepository productoRepository,
+                                                         SucursalRepository sucursalRepository,
+                                                         ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+                                                         MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("listarProductos", "execute");
+        return new ListarProductosUseCase(productoRepository, sucursalRepository,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno)) {
+            @Override
+            public Mono<Pagina<Producto>> execute(Long sucursalId, Orden orden, String cursor, Integer limite) {
+                return medidor.medir(super.execute(sucursalId, orden, cursor, limite));
+            }
+        };
+    }
+
+    @Bean
+    public ObtenerVersionInventarioFranquiciaUseCase obtenerVersionInventarioFranquiciaUseCase(
+            ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("obtenerVersionInventario", "execute");
+        return new ObtenerVersionInventarioFranquiciaUseCase(contadorCambiosFranquiciaRepository) {
+            @Override
+            public Mono<Long> execute(Long franquiciaId) {
+                return medidor.medir(super.execute(franquiciaId));
+            }
+        };
+    }
+
+    @Bean
+    public ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase(
+            ResumenInventarioRepository resumenInventarioRepository,
+            FranquiciaRepository franquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("obtenerResumenInventario", "execute");
+        return new ObtenerResumenInventarioFranquiciaUseCase(resumenInventarioRepository, franquiciaRepository) {
+            @Override
+            public Mono<ResumenInventarioFranquicia> execute(Long franquiciaId) {
+                return medidor.medir(super.execute(franquiciaId));
+            }
+        };
+    }
+
+    @Bean
+    public ObtenerRankingStockPorFranquiciaUseCase obtenerRankingStockPorFranquiciaUseCase(
+            ProductoRepository productoRepository,
+            FranquiciaRepository franquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("obtenerRankingStock", "execute");
+        return new ObtenerRankingStockPorFranquiciaUseCase(productoRepository, franquiciaRepository) {
+            @Override
+            public Mono<RankingStockFranquicia> execute(Long franquiciaId, ExtremoStock extremo, Integer k) {
+                return medidor.medir(super.execute(franquiciaId, extremo, k));
+            }
+        };
+    }
+
+    @Bean
+    public ListarProductosStockBajoUseCase listarProductosStockBajoUseCase(
+            ProductoRepository productoRepository,
+            FranquiciaRepository franquiciaRepository,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("listarProductosStockBajo", "execute");
+        return new ListarProductosStockBajoUseCase(productoRepository, franquiciaRepository) {
+            @Override
+            public Flux<ProductoMaximoStock> execute(Long franquiciaId, Integer stockMenorQue) {
+                return medidor.medir(super.execute(franquiciaId, stockMenorQue));
+            }
+        };
+    }
+
+    /**
+     * No se mide: la suscripción dura lo que la conexión del cliente y su duración no es una latencia.
+     */
+    @Bean
+    public SuscribirAlertasStockUseCase suscribirAlertasStockUseCase(FuenteAlertasStock fuenteAlertasStock,
+                                                                     FranquiciaRepository franquiciaRepository) {
+        return new SuscribirAlertasStockUseCase(fuenteAlertasStock, franquiciaRepository);
+    }
+
+    /**
+     * Tampoco se mide, por el mismo motivo que las alertas de stock.
+     */
+    @Bean
+    public SuscribirCambiosProductoUseCase suscribirCambiosProductoUseCase(FuenteCambiosProducto fuenteCambiosProducto,
+                                                                           SucursalRepository sucursalRepository) {
+        return new SuscribirCambiosProductoUseCase(fuenteCambiosProducto, sucursalRepository);
     }
 
     @Bean
     public ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase(
-            FranquiciaRepository franquiciaRepository) {
-        return new ActualizarNombreFranquiciaUseCase(franquiciaRepository);
+            FranquiciaRepository franquiciaRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("actualizarNombreFranquicia", "execute");
+        return new ActualizarNombreFranquiciaUseCase(franquiciaRepository, cambioInventarioPublisher) {
+            @Override
+            public Mono<Franquicia> execute(Long franquiciaId, String nuevoNombre, Long versionEsperada) {
+                return medidor.medir(super.execute(franquiciaId, nuevoNombre, versionEsperada));
+            }
+        };
     }
 
     @Bean
     public ActualizarNombreSucursalUseCase actualizarNombreSucursalUseCase(
-            SucursalRepository sucursalRepository) {
-        return new ActualizarNombreSucursalUseCase(sucursalRepository);
+            SucursalRepository sucursalRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("actualizarNombreSucursal", "execute");
+        return new ActualizarNombreSucursalUseCase(sucursalRepository, cambioInventarioPublisher) {
+            @Override
+            public Mono<Sucursal> execute(Long franquiciaId, Long sucursalId, String nuevoNombre,
+                                          Long versionEsperada) {
+                return medidor.medir(super.execute(franquiciaId, sucursalId, nuevoNombre, versionEsperada));
+            }
+        };
     }
 
     @Bean
     public ActualizarNombreProductoUseCase actualizarNombreProductoUseCase(
-            ProductoRepository productoRepository) {
-        return new ActualizarNombreProductoUseCase(productoRepository);
+            ProductoRepository productoRepository,
+            CambioInventarioPublisher cambioInventarioPublisher,
+            ObjectProvider<BufferEscrituraStock> bufferEscrituraStock,
+            MetricasOperaciones metricas) {
+        MedidorOperacion medidor = metricas.casoDeUso("actualizarNombreProducto", "execute");
+        return new ActualizarNombreProductoUseCase(productoRepository, cambioInventarioPublisher,
+                bufferEscrituraStock.getIfAvailable(BufferEscrituraStock::ninguno)) {
+            @Override
+            public Mono<Producto> execute(Long sucursalId, Long productoId, String nuevoNombre,
+                                          Long versionEsperada) {
+                return medidor.medir(super.execute(sucursalId, productoId, nuevoNombre, versionEsperada));
+            }
+        };
     }
 }
-
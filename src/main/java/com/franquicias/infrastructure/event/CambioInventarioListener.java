@@ -0,0 +1,8 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import reactor.core.publisher.Mono;
+
+public interface CambioInventarioListener {
+    Mono<Void> onCambio(CambioInventario cambio);
+}
@@ -0,0 +1,143 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioProducto;
+import com.franquicias.domain.event.FuenteCambiosProducto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reparte los cambios de productos por sucursal. Cada sucursal con suscriptores tiene su propio sink
+ * multicast que retiene los últimos cambios (acotados por número y antigüedad) para que un cliente que
+ * se reconecta recupere lo que perdió. Los cambios de sucursales sin canal se descartan sin coste; un
+ * canal sin suscriptores se cierra cuando pasa la ventana de retención sin actividad.
+ * <p>
+ * Cada suscriptor tiene un buffer propio: si lo desborda se corta solo su conexión, que el cliente
+ * reabre indicando el último cambio recibido.
+ */
+public class CanalCambiosProducto implements CambioInventarioListener, FuenteCambiosProducto {
+
+    private static final Duration ESPERA_EMISION = Duration.ofMillis(100);
+    private static final Set<CambioInventario.Tipo> TIPOS = EnumSet.of(
+            CambioInventario.Tipo.PRODUCTO_CREADO,
+            CambioInventario.Tipo.PRODUCTO_ELIMINADO,
+            CambioInventario.Tipo.PRODUCTO_RENOMBRADO,
+            CambioInventario.Tipo.STOCK_MODIFICADO,
+            CambioInventario.Tipo.STOCK_MASIVO_MODIFICADO,
+            CambioInventario.Tipo.PRODUCTOS_IMPORTADOS);
+
+    private final Map<Long, Canal> canales = new ConcurrentHashMap<>();
+    // Se parte del reloj para que las secuencias sigan creciendo tras un reinicio y un cliente que
+    // se reconecta con una secuencia anterior al reinicio no descarte los cambios nuevos
+    private final AtomicLong secuencia = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final int retencionMaxima;
+    private final Duration ventanaRetencion;
+    private final int bufferPorSuscriptor;
+    private final Counter desbordes;
+    private final Disposable limpieza;
+
+    public CanalCambiosProducto(int retencionMaxima, Duration ventanaRetencion, int bufferPorSuscriptor,
+                                MeterRegistry meterRegistry) {
+        if (ventanaRetencion.isZero() || ventanaRetencion.isNegative()) {
+            throw new IllegalArgumentException("La ventana de retención de cambios debe ser positiva");
+        }
+        this.retencionMaxima = retencionMaxima;
+        this.ventanaRetencion = ventanaRetencion;
+        this.bufferPorSuscriptor = bufferPorSuscriptor;
+        this.desbordes = Counter.builder("franquicias.productos.cambios.desbordes")
+                .description("Suscripciones cortadas porque el cliente no consumía los cambios a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("franquicias.productos.cambios.canales", canales, Map::size)
+                .description("Sucursales con un canal de cambios abierto")
+                .register(meterRegistry);
+        this.limpieza = Flux.interval(ventanaRetencion)
+                .onBackpressureDrop()
+                .subscribe(tick -> cerrarInactivos(System.nanoTime()));
+    }
+
+    @Override
+    public Flux<CambioProducto> suscribir(Long sucursalId, Long despuesDeSecuencia) {
+        return Flux.defer(() -> {
+            // compute serializa el alta del suscriptor con el cierre del canal inactivo
+            Canal canal = canales.compute(sucursalId, (id, actual) -> {
+                Canal abierto = actual == null ? new Canal() : actual;
+                abierto.suscriptores.incrementAndGet();
+                return abierto;
+            });
+            Flux<CambioProducto> cambios = canal.cambios.asFlux();
+            if (despuesDeSecuencia != null) {
+                cambios = cambios.filter(cambio -> cambio.getSecuencia() > despuesDeSecuencia);
+            }
+            return cambios
+                    .onBackpressureBuffer(bufferPorSuscriptor, descartado -> desbordes.increment(),
+                            BufferOverflowStrategy.ERROR)
+                    .doFinally(senal -> canal.liberar());
+        });
+    }
+
+    @Override
+    public Mono<Void> onCambio(CambioInventario cambio) {
+        if (!TIPOS.contains(cambio.getTipo()) || cambio.getSucursalId() == null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+            Canal canal = canales.get(cambio.getSucursalId());
+            if (canal != null) {
+                canal.emitir(new CambioProducto(secuencia.incrementAndGet(), cambio.getTipo(),
+                        cambio.getSucursalId(), cambio.getProductoId(), cambio.getNombre(), cambio.getStock()));
+            }
+        });
+    }
+
+    void cerrarInactivos(long ahora) {
+        canales.forEach((sucursalId, canal) -> canales.computeIfPresent(sucursalId, (id, actual) -> {
+            if (!actual.inactivo(ahora)) {
+                return actual;
+            }
+            actual.cambios.tryEmitComplete();
+            return null;
+        }));
+    }
+
+    public void cerrar() {
+        limpieza.dispose();
+        canales.values().forEach(canal -> canal.cambios.tryEmitComplete());
+        canales.clear();
+    }
+
+    private final class Canal {
+
+        private final Sinks.Many<CambioProducto> cambios = Sinks.many().replay()
+                .limit(retencionMaxima, ventanaRetencion);
+        private final AtomicInteger suscriptores = new AtomicInteger();
+        private volatile long ultimaActividad = System.nanoTime();
+
+        private void emitir(CambioProducto cambio) {
+            ultimaActividad = System.nanoTime();
+            cambios.emitNext(cambio, Sinks.EmitFailureHandler.busyLooping(ESPERA_EMISION));
+        }
+
+        private void liberar() {
+            ultimaActividad = System.nanoTime();
+            suscriptores.decrementAndGet();
+        }
+
+        private boolean inactivo(long ahora) {
+            return suscriptores.get() == 0 && ahora - ultimaActividad >= ventanaRetencion.toNanos();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reparte cada cambio entre todos los {@link CambioInventarioListener} registrados. La respuesta de
+ * la escritura espera a que terminen, así una lectura posterior del mismo cliente ya ve el efecto.
+ */
+@Component
+public class CompositeCambioInventarioPublisher implements CambioInventarioPublisher {
+
+    private final List<CambioInventarioListener> listeners;
+
+    public CompositeCambioInventarioPublisher(List<CambioInventarioListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Mono<Void> publicar(CambioInventario cambio) {
+        if (listeners.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(listeners)
+                .concatMap(listener -> listener.onCambio(cambio))
+                .then();
+    }
+}
@@ -0,0 +1,59 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Aumenta el contador de cambios de la franquicia afectada por cada cambio de inventario. Se ejecuta
+ * después del resto de listeners: si lo hiciera antes que la invalidación de la caché, una lectura
+ * intermedia podría etiquetar con el contador nuevo un resultado cacheado anterior al cambio.
+ * <p>
+ * Las escrituras transaccionales (alta, modificación, ajuste y baja de productos, actualización masiva
+ * y escritura diferida) ya avanzan el contador dentro de su transacción, así que para ellas este segundo
+ * incremento solo cierra esa ventana con la caché. Los renombrados, las altas de sucursal y la importación
+ * dependen solo de este incremento. En ambos casos se reintenta unas pocas veces y, si sigue fallando, se
+ * registra sin hacer fallar una escritura ya confirmada.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ContadorCambiosFranquiciaListener implements CambioInventarioListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadorCambiosFranquiciaListener.class);
+
+    private static final int REINTENTOS = 3;
+    private static final Duration ESPERA_REINTENTO = Duration.ofMillis(50);
+
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    public ContadorCambiosFranquiciaListener(ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository) {
+        this.contadorCambiosFranquiciaRepository = contadorCambiosFranquiciaRepository;
+    }
+
+    @Override
+    public Mono<Void> onCambio(CambioInventario cambio) {
+        Mono<Void> incremento;
+        if (cambio.getFranquiciaId() != null) {
+            incremento = contadorCambiosFranquiciaRepository.incrementar(cambio.getFranquiciaId());
+        } else if (cambio.getSucursalId() != null) {
+            incremento = contadorCambiosFranquiciaRepository.incrementarPorSucursal(cambio.getSucursalId());
+        } else {
+            return Mono.empty();
+        }
+        return incremento
+                .retryWhen(Retry.backoff(REINTENTOS, ESPERA_REINTENTO))
+                .onErrorResume(error -> {
+                    log.error("No se pudo aumentar el contador de cambios por {} (franquicia {}, sucursal {})",
+                            cambio.getTipo(), cambio.getFranquiciaId(), cambio.getSucursalId(), error);
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,8 @@
+package com.franquicias.infrastructure.idempotencia;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    public ClaveIdempotenciaReutilizadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,173 @@
+package com.franquicias.infrastructure.idempotencia;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franquicias.common.exception.ErrorResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Atiende la cabecera {@code Idempotency-Key} en los POST que crean franquicias, sucursales y productos.
+ * La clave se acota a la ruta de la petición, y el cuerpo se resume en una huella SHA-256: repetir la
+ * clave con el mismo cuerpo devuelve la respuesta guardada con {@code Idempotent-Replayed: true}, y
+ * repetirla con otro cuerpo responde 422. Las respuestas que no son 2xx no se guardan, de modo que un
+ * reintento tras un error vuelve a ejecutarse.
+ */
+public class IdempotenciaWebFilter implements WebFilter {
+
+    public static final String CABECERA = "Idempotency-Key";
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+    private static final int TAMANO_MAXIMO_CUERPO = 256 * 1024;
+    private static final List<PathPattern> RUTAS = List.of(
+            PathPatternParser.defaultInstance.parse("/api/franquicias"),
+            PathPatternParser.defaultInstance.parse("/api/franquicias/{franquiciaId}/sucursales"),
+            PathPatternParser.defaultInstance.parse("/api/sucursales/{sucursalId}/productos"));
+
+    private final RegistroIdempotencia registro;
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaWebFilter(RegistroIdempotencia registro, ObjectMapper objectMapper) {
+        this.registro = registro;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String clave = request.getHeaders().getFirst(CABECERA);
+        PathContainer ruta = request.getPath().pathWithinApplication();
+        if (clave == null || !HttpMethod.POST.equals(request.getMethod())
+                || RUTAS.stream().noneMatch(patron -> patron.matches(ruta))) {
+            return chain.filter(exchange);
+        }
+        String claveRecortada = clave.trim();
+        if (claveRecortada.isEmpty() || claveRecortada.length() > LONGITUD_MAXIMA_CLAVE) {
+            return responderError(exchange, HttpStatus.BAD_REQUEST, "Bad Request",
+                    "La cabecera " + CABECERA + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+        String claveRegistro = ruta.value() + " " + claveRecortada;
+
+        return DataBufferUtils.join(request.getBody(), TAMANO_MAXIMO_CUERPO)
+                .map(IdempotenciaWebFilter::leer)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(cuerpo -> {
+                    String huella = huella(cuerpo);
+                    ServerWebExchange conCuerpo = exchange.mutate().request(conCuerpo(request, cuerpo)).build();
+                    return registro.resolver(claveRegistro, huella, ejecutar(conCuerpo, chain, huella));
+                })
+                .flatMap(respuesta -> repetir(exchange, respuesta))
+                .onErrorResume(ClaveIdempotenciaReutilizadaException.class, e -> responderError(exchange,
+                        HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", e.getMessage()))
+                .onErrorResume(DataBufferLimitException.class, e -> responderError(exchange,
+                        HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large",
+                        "El cuerpo de una petición con " + CABECERA + " no puede superar " + TAMANO_MAXIMO_CUERPO + " bytes"));
+    }
+
+    /**
+     * Ejecuta la petición copiando lo que se escribe en la respuesta. Emite la copia solo si la
+     * respuesta fue 2xx con cuerpo; en otro caso termina vacío y el registro no guarda nada.
+     */
+    private static Mono<RespuestaIdempotente> ejecutar(ServerWebExchange exchange, WebFilterChain chain, String huella) {
+        AtomicReference<RespuestaIdempotente> capturada = new AtomicReference<>();
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(body).flatMap(buffer -> {
+                    byte[] cuerpo = leer(buffer);
+                    HttpStatusCode estado = getStatusCode();
+                    if (estado != null && estado.is2xxSuccessful()) {
+                        MediaType tipoContenido = getHeaders().getContentType();
+                        capturada.set(new RespuestaIdempotente(huella, estado.value(),
+                                tipoContenido != null ? tipoContenido.toString() : null, getHeaders().getETag(), cuerpo));
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(cuerpo)));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build())
+                .then(Mono.fromSupplier(capturada::get));
+    }
+
+    private static Mono<Void> repetir(ServerWebExchange exchange, RespuestaIdempotente respuesta) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(respuesta.getEstado()));
+        HttpHeaders headers = response.getHeaders();
+        if (respuesta.getTipoContenido() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, respuesta.getTipoContenido());
+        }
+        if (respuesta.getEtag() != null) {
+            headers.setETag(respuesta.getEtag());
+        }
+        headers.set(CABECERA_REPETIDA, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(respuesta.getCuerpo())));
+    }
+
+    private Mono<Void> responderError(ServerWebExchange exchange, HttpStatus estado, String error, String mensaje) {
+        ServerHttpResponse response = exchange.getResponse();
+        byte[] cuerpo;
+        try {
+            cuerpo = objectMapper.writeValueAsBytes(new ErrorResponse(estado.value(), error, mensaje,
+                    exchange.getRequest().getPath().value()));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(estado);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cuerpo)));
+    }
+
+    private static ServerHttpRequest conCuerpo(ServerHttpRequest request, byte[] cuerpo) {
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(cuerpo)));
+            }
+        };
+    }
+
+    private static byte[] leer(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static String huella(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+}
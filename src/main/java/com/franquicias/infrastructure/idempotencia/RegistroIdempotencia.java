@@ -0,0 +1,85 @@
+package com.franquicias.infrastructure.idempotencia;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Respuestas completadas por clave de idempotencia, en una caché acotada por tamaño y TTL. Mientras la
+ * primera petición de una clave está en curso, las que llegan con la misma clave esperan su futuro en
+ * lugar de ejecutarse. Solo se guardan las respuestas que la ejecución entrega; si termina vacía, con
+ * error o cancelada, la clave se libera y quien esperaba vuelve a intentarlo como primera petición.
+ * <p>
+ * El registro vive en memoria de cada instancia: con varias instancias, dos reintentos que caen en
+ * instancias distintas se ejecutan los dos y el segundo choca con la clave única de la tabla.
+ */
+public class RegistroIdempotencia {
+
+    private final AsyncCache<String, RespuestaIdempotente> respuestas;
+    private final Counter ejecutadas;
+    private final Counter repetidas;
+    private final Counter rechazadas;
+
+    public RegistroIdempotencia(MeterRegistry meterRegistry, long maximumSize, Duration ttl) {
+        this.respuestas = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync(), "idempotencia");
+        this.ejecutadas = contadorPeticiones(meterRegistry, "ejecutada");
+        this.repetidas = contadorPeticiones(meterRegistry, "repetida");
+        this.rechazadas = contadorPeticiones(meterRegistry, "rechazada");
+    }
+
+    private static Counter contadorPeticiones(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("franquicias.idempotencia.peticiones")
+                .description("Peticiones con Idempotency-Key según se ejecutaron, repitieron una respuesta guardada o se rechazaron")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta {@code ejecucion} si la clave no tiene una respuesta guardada ni en curso. Termina vacío
+     * cuando la ejecución fue la propia, ya escrita; emite la respuesta guardada cuando hay que
+     * repetirla; y falla con {@link ClaveIdempotenciaReutilizadaException} si esa respuesta corresponde
+     * a otro cuerpo de petición.
+     */
+    public Mono<RespuestaIdempotente> resolver(String clave, String huella, Mono<RespuestaIdempotente> ejecucion) {
+        return Mono.defer(() -> {
+            CompletableFuture<RespuestaIdempotente> propia = new CompletableFuture<>();
+            CompletableFuture<RespuestaIdempotente> existente = respuestas.asMap().putIfAbsent(clave, propia);
+            if (existente == null) {
+                ejecutadas.increment();
+                return ejecucion
+                        .doOnNext(propia::complete)
+                        .doFinally(senal -> {
+                            if (!propia.isDone()) {
+                                respuestas.asMap().remove(clave, propia);
+                                propia.complete(null);
+                            }
+                        })
+                        .then(Mono.empty());
+            }
+            // Cancelar la espera no puede cancelar el futuro que comparten la ejecución y el resto de esperas
+            return Mono.fromFuture(existente, true)
+                    .flatMap(respuesta -> comparar(respuesta, huella))
+                    .switchIfEmpty(Mono.defer(() -> resolver(clave, huella, ejecucion)));
+        });
+    }
+
+    private Mono<RespuestaIdempotente> comparar(RespuestaIdempotente respuesta, String huella) {
+        if (!respuesta.getHuella().equals(huella)) {
+            rechazadas.increment();
+            return Mono.error(new ClaveIdempotenciaReutilizadaException(
+                    "La clave de idempotencia ya se usó con otro cuerpo de petición"));
+        }
+        repetidas.increment();
+        return Mono.just(respuesta);
+    }
+}
@@ -0,0 +1,42 @@
+package com.franquicias.infrastructure.idempotencia;
+
+/**
+ * Respuesta completada de una petición con {@code Idempotency-Key}, guardada tal como se escribió para
+ * repetirla byte a byte. La huella identifica el cuerpo de la petición que la produjo.
+ */
+public class RespuestaIdempotente {
+
+    private final String huella;
+    private final int estado;
+    private final String tipoContenido;
+    private final String etag;
+    private final byte[] cuerpo;
+
+    public RespuestaIdempotente(String huella, int estado, String tipoContenido, String etag, byte[] cuerpo) {
+        this.huella = huella;
+        this.estado = estado;
+        this.tipoContenido = tipoContenido;
+        this.etag = etag;
+        this.cuerpo = cuerpo;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public int getEstado() {
+        return estado;
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public byte[] getCuerpo() {
+        return cuerpo;
+    }
+}
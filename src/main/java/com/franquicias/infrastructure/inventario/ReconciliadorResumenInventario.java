@@ -0,0 +1,131 @@
+package com.franquicias.infrastructure.inventario;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compara periódicamente los contadores de inventario y el máximo proyectado de cada sucursal con sus
+ * productos, y corrige las sucursales desviadas. Cada desviación se registra en el log y en las
+ * métricas {@code franquicias.inventario.desviaciones} y {@code franquicias.maximo.stock.desviaciones}:
+ * con los valores al día deberían quedarse en cero.
+ * <p>
+ * Por cada sucursal corregida se publica un cambio {@code INVENTARIO_RECONCILIADO}, para que la caché
+ * de máximo stock y el contador de cambios de la franquicia (la ETag) dejen de servir el valor desviado.
+ */
+public class ReconciliadorResumenInventario {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorResumenInventario.class);
+
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final Duration intervalo;
+    private final Counter desviaciones;
+    private final Counter desviacionesMaximo;
+
+    private Disposable programacion;
+
+    public ReconciliadorResumenInventario(ResumenInventarioRepository resumenInventarioRepository,
+                                          ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                          CambioInventarioPublisher cambioInventarioPublisher,
+                                          Duration intervalo, MeterRegistry meterRegistry) {
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.intervalo = intervalo;
+        this.desviaciones = Counter.builder("franquicias.inventario.desviaciones")
+                .description("Sucursales cuyo resumen de inventario no coincidía con sus productos")
+                .register(meterRegistry);
+        this.desviacionesMaximo = Counter.builder("franquicias.maximo.stock.desviaciones")
+                .description("Sucursales cuyo máximo proyectado no coincidía con sus productos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Programa la reconciliación cada {@code intervalo}; un intervalo de cero la deja desactivada.
+     */
+    public void iniciar() {
+        if (intervalo.isZero()) {
+            log.info("Reconciliación del resumen de inventario desactivada");
+            return;
+        }
+        programacion = Flux.interval(intervalo, intervalo)
+                .onBackpressureDrop()
+                .concatMap(tick -> reconciliar()
+                        .onErrorResume(error -> {
+                            log.error("Falló la reconciliación del resumen de inventario", error);
+                            return Mono.just(0L);
+                        }), 1)
+                .subscribe();
+    }
+
+    public void detener() {
+        if (programacion != null) {
+            programacion.dispose();
+        }
+    }
+
+    /**
+     * Ejecuta una reconciliación y devuelve cuántas desviaciones se corrigieron, sumando las del
+     * resumen y las del máximo. Cada sucursal corregida se publica una sola vez, aunque se desviaran
+     * las dos cosas.
+     */
+    public Mono<Long> reconciliar() {
+        Set<Long> corregidas = ConcurrentHashMap.newKeySet();
+        return resumenInventarioRepository.reconciliar()
+                .doOnNext(this::registrar)
+                .doOnNext(desviacion -> corregidas.add(desviacion.getSucursalId()))
+                .count()
+                .zipWith(proyeccionMaximoStockRepository.reconciliar()
+                        .doOnNext(this::registrar)
+                        .doOnNext(desviacion -> corregidas.add(desviacion.getSucursalId()))
+                        .count(), Long::sum)
+                .flatMap(total -> Flux.fromIterable(corregidas)
+                        .concatMap(this::publicar)
+                        .then(Mono.just(total)));
+    }
+
+    private Mono<Void> publicar(Long sucursalId) {
+        // La corrección ya está confirmada: un fallo al publicar no impide avisar de las demás sucursales
+        return cambioInventarioPublisher.publicar(CambioInventario.deSucursal(
+                        CambioInventario.Tipo.INVENTARIO_RECONCILIADO, null, sucursalId))
+                .onErrorResume(error -> {
+                    log.error("No se pudo publicar la reconciliación de la sucursal {}", sucursalId, error);
+                    return Mono.empty();
+                });
+    }
+
+    private void registrar(DesviacionResumenInventario desviacion) {
+        desviaciones.increment();
+        log.warn("Resumen de inventario desviado en la sucursal {}: registrado {}/{}/{}, real {}/{}/{} "
+                        + "(productos/stock/sin stock); se recalcula",
+                desviacion.getSucursalId(),
+                desviacion.getRegistrado().getProductos(),
+                desviacion.getRegistrado().getStockTotal(),
+                desviacion.getRegistrado().getProductosSinStock(),
+                desviacion.getReal().getProductos(),
+                desviacion.getReal().getStockTotal(),
+                desviacion.getReal().getProductosSinStock());
+    }
+
+    private void registrar(DesviacionMaximoStock desviacion) {
+        desviacionesMaximo.increment();
+        log.warn("Máximo de stock desviado en la sucursal {}: registrado {}, real {}; se recalcula",
+                desviacion.getSucursalId(), desviacion.getRegistrado(), desviacion.getReal());
+    }
+}
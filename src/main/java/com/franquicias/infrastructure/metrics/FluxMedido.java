@@ -0,0 +1,20 @@
+package com.franquicias.infrastructure.metrics;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+
+final class FluxMedido<T> extends FluxOperator<T, T> {
+
+    private final MedidorOperacion medidor;
+
+    FluxMedido(Flux<? extends T> fuente, MedidorOperacion medidor) {
+        super(fuente);
+        this.medidor = medidor;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        source.subscribe(new SuscriptorMedido<>(actual, medidor));
+    }
+}
@@ -0,0 +1,104 @@
+package com.franquicias.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la duración de una operación reactiva desde la suscripción hasta su señal terminal. Todos los
+ * timers (uno por resultado y, opcionalmente, por tamaño de franquicia) se registran al construir el
+ * medidor, así que medir una llamada no busca meters ni crea tags: solo suma el operador que envuelve
+ * la secuencia.
+ */
+public final class MedidorOperacion {
+
+    /** Límite superior (inclusive) de cada bucket de {@code sucursales}; el último bucket es abierto. */
+    private static final long[] LIMITES_SUCURSALES = {0, 10, 50, 200};
+    private static final String[] BUCKETS_SUCURSALES = {"0", "1-10", "11-50", "51-200", "201+"};
+
+    // Por encima de 10 s la petición ya habría expirado; acota los buckets del histograma
+    private static final Duration MAXIMO_ESPERADO = Duration.ofSeconds(10);
+
+    private static final ResultadoOperacion[] RESULTADOS = ResultadoOperacion.values();
+
+    private final Timer[] timers;
+    private final Timer[][] timersPorTamano;
+    private final boolean vacioEsNoEncontrado;
+
+    private MedidorOperacion(Timer[] timers, Timer[][] timersPorTamano, boolean vacioEsNoEncontrado) {
+        this.timers = timers;
+        this.timersPorTamano = timersPorTamano;
+        this.vacioEsNoEncontrado = vacioEsNoEncontrado;
+    }
+
+    /**
+     * @param vacioEsNoEncontrado si un Mono que completa sin valor cuenta como {@code NOT_FOUND}
+     *                            (búsquedas por id) en lugar de {@code SUCCESS}
+     */
+    static MedidorOperacion crear(MeterRegistry registry, String nombre, String descripcion, Tags tags,
+                                  boolean vacioEsNoEncontrado) {
+        return new MedidorOperacion(registrar(registry, nombre, descripcion, tags), null, vacioEsNoEncontrado);
+    }
+
+    /**
+     * Además de los timers de {@code nombre}, registra {@code nombrePorTamano} con el tag
+     * {@code sucursales}, calculado a partir de las filas emitidas (una por sucursal, más empates).
+     */
+    static MedidorOperacion crearConTamanoFranquicia(MeterRegistry registry, String nombre, String descripcion,
+                                                    Tags tags, String nombrePorTamano, Tags tagsPorTamano) {
+        Timer[][] porTamano = new Timer[BUCKETS_SUCURSALES.length][];
+        for (int i = 0; i < BUCKETS_SUCURSALES.length; i++) {
+            porTamano[i] = registrar(registry, nombrePorTamano, "Duración de la consulta de máximo stock",
+                    tagsPorTamano.and("sucursales", BUCKETS_SUCURSALES[i]));
+        }
+        return new MedidorOperacion(registrar(registry, nombre, descripcion, tags), porTamano, false);
+    }
+
+    private static Timer[] registrar(MeterRegistry registry, String nombre, String descripcion, Tags tags) {
+        Timer[] porResultado = new Timer[RESULTADOS.length];
+        for (ResultadoOperacion resultado : RESULTADOS) {
+            porResultado[resultado.ordinal()] = Timer.builder(nombre)
+                    .description(descripcion)
+                    .tags(tags)
+                    .tag("outcome", resultado.name())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(MAXIMO_ESPERADO)
+                    .register(registry);
+        }
+        return porResultado;
+    }
+
+    public <T> Mono<T> medir(Mono<T> fuente) {
+        return new MonoMedido<>(fuente, this);
+    }
+
+    public <T> Flux<T> medir(Flux<T> fuente) {
+        return new FluxMedido<>(fuente, this);
+    }
+
+    void registrarExito(long nanos, long elementos) {
+        registrar(elementos == 0 && vacioEsNoEncontrado ? ResultadoOperacion.NOT_FOUND : ResultadoOperacion.SUCCESS,
+                nanos, elementos);
+    }
+
+    void registrar(ResultadoOperacion resultado, long nanos, long elementos) {
+        timers[resultado.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        if (timersPorTamano != null) {
+            timersPorTamano[bucket(elementos)][resultado.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int bucket(long elementos) {
+        for (int i = 0; i < LIMITES_SUCURSALES.length; i++) {
+            if (elementos <= LIMITES_SUCURSALES[i]) {
+                return i;
+            }
+        }
+        return LIMITES_SUCURSALES.length;
+    }
+}
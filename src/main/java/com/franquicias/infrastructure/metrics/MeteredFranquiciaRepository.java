@@ -0,0 +1,51 @@
+package com.franquicias.infrastructure.metrics;
+
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import reactor.core.publisher.Mono;
+
+public class MeteredFranquiciaRepository implements FranquiciaRepository {
+
+    private static final String REPOSITORIO = "franquicia";
+
+    private final FranquiciaRepository delegate;
+    private final MedidorOperacion save;
+    private final MedidorOperacion findById;
+    private final MedidorOperacion existsById;
+    private final MedidorOperacion update;
+    private final MedidorOperacion renombrar;
+
+    public MeteredFranquiciaRepository(FranquiciaRepository delegate, MetricasOperaciones metricas) {
+        this.delegate = delegate;
+        this.save = metricas.repositorioBusqueda(REPOSITORIO, "save");
+        this.findById = metricas.repositorioBusqueda(REPOSITORIO, "findById");
+        this.existsById = metricas.repositorio(REPOSITORIO, "existsById");
+        this.update = metricas.repositorioBusqueda(REPOSITORIO, "update");
+        this.renombrar = metricas.repositorioBusqueda(REPOSITORIO, "renombrar");
+    }
+
+    @Override
+    public Mono<Franquicia> save(Franquicia franquicia) {
+        return save.medir(delegate.save(franquicia));
+    }
+
+    @Override
+    public Mono<Franquicia> findById(Long id) {
+        return findById.medir(delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return existsById.medir(delegate.existsById(id));
+    }
+
+    @Override
+    public Mono<Franquicia> update(Franquicia franquicia) {
+        return update.medir(delegate.update(franquicia));
+    }
+
+    @Override
+    public Mono<Franquicia> renombrar(Long id, String nombre, Long versionEsperada) {
+        return renombrar.medir(delegate.renombrar(id, nombre, versionEsperada));
+    }
+}
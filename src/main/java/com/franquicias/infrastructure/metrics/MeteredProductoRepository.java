@@ -0,0 +1,158 @@
+package com.franquicias.infrastructure.metrics;
+
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ModificacionStock;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.repository.ProductoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class MeteredProductoRepository implements ProductoRepository {
+
+    private static final String REPOSITORIO = "producto";
+
+    private final ProductoRepository delegate;
+    private final MedidorOperacion save;
+    private final MedidorOperacion findById;
+    private final MedidorOperacion existsById;
+    private final MedidorOperacion findBySucursalId;
+    private final MedidorOperacion findPaginaBySucursalId;
+    private final MedidorOperacion findPaginaBySucursalIdOrdenadaPorStock;
+    private final MedidorOperacion deleteById;
+    private final MedidorOperacion update;
+    private final MedidorOperacion ajustarStock;
+    private final MedidorOperacion renombrar;
+    private final MedidorOperacion modificarStock;
+    private final MedidorOperacion eliminar;
+    private final MedidorOperacion insertarIgnorandoDuplicados;
+    private final MedidorOperacion actualizarStockMasivo;
+    private final MedidorOperacion findProductosMaximoStock;
+    private final MedidorOperacion streamProductosMaximoStock;
+    private final MedidorOperacion findRankingStockBySucursal;
+    private final MedidorOperacion findStockBajoByFranquiciaId;
+
+    public MeteredProductoRepository(ProductoRepository delegate, MetricasOperaciones metricas) {
+        this.delegate = delegate;
+        this.save = metricas.repositorioBusqueda(REPOSITORIO, "save");
+        this.findById = metricas.repositorioBusqueda(REPOSITORIO, "findById");
+        this.existsById = metricas.repositorio(REPOSITORIO, "existsById");
+        this.findBySucursalId = metricas.repositorio(REPOSITORIO, "findBySucursalId");
+        this.findPaginaBySucursalId = metricas.repositorio(REPOSITORIO, "findPaginaBySucursalId");
+        this.findPaginaBySucursalIdOrdenadaPorStock =
+                metricas.repositorio(REPOSITORIO, "findPaginaBySucursalIdOrdenadaPorStock");
+        this.deleteById = metricas.repositorio(REPOSITORIO, "deleteById");
+        this.update = metricas.repositorioBusqueda(REPOSITORIO, "update");
+        // Vacío significa que el producto no existe en la sucursal o que el ajuste se rechazó
+        this.ajustarStock = metricas.repositorioBusqueda(REPOSITORIO, "ajustarStock");
+        // Vacío significa que el producto no existe en la sucursal o que la versión no coincide
+        this.renombrar = metricas.repositorioBusqueda(REPOSITORIO, "renombrar");
+        this.modificarStock = metricas.repositorioBusqueda(REPOSITORIO, "modificarStock");
+        this.eliminar = metricas.repositorio(REPOSITORIO, "eliminar");
+        this.insertarIgnorandoDuplicados = metricas.repositorio(REPOSITORIO, "insertarIgnorandoDuplicados");
+        this.actualizarStockMasivo = metricas.repositorio(REPOSITORIO, "actualizarStockMasivo");
+        this.findProductosMaximoStock = metricas.repositorioMaximoStock(REPOSITORIO,
+                "findProductosMaximoStockByFranquiciaId");
+        this.streamProductosMaximoStock = metricas.repositorioMaximoStock(REPOSITORIO,
+                "streamProductosMaximoStockByFranquiciaId");
+        this.findRankingStockBySucursal = metricas.repositorio(REPOSITORIO, "findRankingStockBySucursal");
+        this.findStockBajoByFranquiciaId = metricas.repositorio(REPOSITORIO, "findStockBajoByFranquiciaId");
+    }
+
+    @Override
+    public Mono<Producto> save(Producto producto) {
+        return save.medir(delegate.save(producto));
+    }
+
+    @Override
+    public Mono<Producto> findById(Long id) {
+        return findById.medir(delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return existsById.medir(delegate.existsById(id));
+    }
+
+    @Override
+    public Flux<Producto> findBySucursalId(Long sucursalId) {
+        return findBySucursalId.medir(delegate.findBySucursalId(sucursalId));
+    }
+
+    @Override
+    public Flux<Producto> findPaginaBySucursalId(Long sucursalId, Long despuesDeId, int limite) {
+        return findPaginaBySucursalId.medir(delegate.findPaginaBySucursalId(sucursalId, despuesDeId, limite));
+    }
+
+    @Override
+    public Flux<Producto> findPaginaBySucursalIdOrdenadaPorStock(Long sucursalId, Integer despuesDeStock,
+                                                                 Long despuesDeId, int limite) {
+        return findPaginaBySucursalIdOrdenadaPorStock.medir(delegate.findPaginaBySucursalIdOrdenadaPorStock(
+                sucursalId, despuesDeStock, despuesDeId, limite));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return deleteById.medir(delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Producto> update(Producto producto) {
+        return update.medir(delegate.update(producto));
+    }
+
+    @Override
+    public Mono<Integer> ajustarStock(Long sucursalId, Long productoId, int delta) {
+        return ajustarStock.medir(delegate.ajustarStock(sucursalId, productoId, delta));
+    }
+
+    @Override
+    public Mono<Producto> renombrar(Long sucursalId, Long productoId, String nombre, Long versionEsperada) {
+        return renombrar.medir(delegate.renombrar(sucursalId, productoId, nombre, versionEsperada));
+    }
+
+    @Override
+    public Mono<ModificacionStock> modificarStock(Long sucursalId, Long productoId, int stock, Long versionEsperada) {
+        return modificarStock.medir(delegate.modificarStock(sucursalId, productoId, stock, versionEsperada));
+    }
+
+    @Override
+    public Mono<Boolean> eliminar(Long sucursalId, Long productoId) {
+        return eliminar.medir(delegate.eliminar(sucursalId, productoId));
+    }
+
+    @Override
+    public Mono<Long> insertarIgnorandoDuplicados(List<Producto> productos) {
+        return insertarIgnorandoDuplicados.medir(delegate.insertarIgnorandoDuplicados(productos));
+    }
+
+    @Override
+    public Flux<ResultadoActualizacionStock> actualizarStockMasivo(Long sucursalId,
+                                                                   List<ActualizacionStock> actualizaciones) {
+        return actualizarStockMasivo.medir(delegate.actualizarStockMasivo(sucursalId, actualizaciones));
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        return findProductosMaximoStock.medir(delegate.findProductosMaximoStockByFranquiciaId(franquiciaId));
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> streamProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        return streamProductosMaximoStock.medir(delegate.streamProductosMaximoStockByFranquiciaId(franquiciaId));
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findRankingStockBySucursal(Long franquiciaId, ExtremoStock extremo, int k) {
+        return findRankingStockBySucursal.medir(delegate.findRankingStockBySucursal(franquiciaId, extremo, k));
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findStockBajoByFranquiciaId(Long franquiciaId, int umbral) {
+        return findStockBajoByFranquiciaId.medir(delegate.findStockBajoByFranquiciaId(franquiciaId, umbral));
+    }
+}
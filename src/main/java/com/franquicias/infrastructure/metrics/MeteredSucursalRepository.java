@@ -0,0 +1,66 @@
+package com.franquicias.infrastructure.metrics;
+
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.SucursalRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class MeteredSucursalRepository implements SucursalRepository {
+
+    private static final String REPOSITORIO = "sucursal";
+
+    private final SucursalRepository delegate;
+    private final MedidorOperacion save;
+    private final MedidorOperacion findById;
+    private final MedidorOperacion existsById;
+    private final MedidorOperacion findByFranquiciaId;
+    private final MedidorOperacion findPaginaByFranquiciaId;
+    private final MedidorOperacion update;
+    private final MedidorOperacion renombrar;
+
+    public MeteredSucursalRepository(SucursalRepository delegate, MetricasOperaciones metricas) {
+        this.delegate = delegate;
+        this.save = metricas.repositorioBusqueda(REPOSITORIO, "save");
+        this.findById = metricas.repositorioBusqueda(REPOSITORIO, "findById");
+        this.existsById = metricas.repositorio(REPOSITORIO, "existsById");
+        this.findByFranquiciaId = metricas.repositorio(REPOSITORIO, "findByFranquiciaId");
+        this.findPaginaByFranquiciaId = metricas.repositorio(REPOSITORIO, "findPaginaByFranquiciaId");
+        this.update = metricas.repositorioBusqueda(REPOSITORIO, "update");
+        this.renombrar = metricas.repositorioBusqueda(REPOSITORIO, "renombrar");
+    }
+
+    @Override
+    public Mono<Sucursal> save(Sucursal sucursal) {
+        return save.medir(delegate.save(sucursal));
+    }
+
+    @Override
+    public Mono<Sucursal> findById(Long id) {
+        return findById.medir(delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return existsById.medir(delegate.existsById(id));
+    }
+
+    @Override
+    public Flux<Sucursal> findByFranquiciaId(Long franquiciaId) {
+        return findByFranquiciaId.medir(delegate.findByFranquiciaId(franquiciaId));
+    }
+
+    @Override
+    public Flux<Sucursal> findPaginaByFranquiciaId(Long franquiciaId, Long despuesDeId, int limite) {
+        return findPaginaByFranquiciaId.medir(delegate.findPaginaByFranquiciaId(franquiciaId, despuesDeId, limite));
+    }
+
+    @Override
+    public Mono<Sucursal> update(Sucursal sucursal) {
+        return update.medir(delegate.update(sucursal));
+    }
+
+    @Override
+    public Mono<Sucursal> renombrar(Long franquiciaId, Long sucursalId, String nombre, Long versionEsperada) {
+        return renombrar.medir(delegate.renombrar(franquiciaId, sucursalId, nombre, versionEsperada));
+    }
+}
@@ -0,0 +1,55 @@
+package com.franquicias.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Crea los {@link MedidorOperacion} de casos de uso y repositorios con nombres y tags uniformes:
+ * {@code franquicias.usecase} ({@code usecase}, {@code method}, {@code outcome}),
+ * {@code franquicias.repository} ({@code repository}, {@code method}, {@code outcome}) y, para la
+ * consulta de máximo stock, {@code franquicias.maximo.stock} ({@code layer}, {@code method},
+ * {@code sucursales}, {@code outcome}). Los tags de cada nombre son siempre los mismos, como exige
+ * Prometheus.
+ */
+public class MetricasOperaciones {
+
+    static final String CASO_DE_USO = "franquicias.usecase";
+    static final String REPOSITORIO = "franquicias.repository";
+    static final String MAXIMO_STOCK = "franquicias.maximo.stock";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasOperaciones(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public MedidorOperacion casoDeUso(String casoDeUso, String metodo) {
+        return MedidorOperacion.crear(meterRegistry, CASO_DE_USO, "Duración de los casos de uso",
+                Tags.of("usecase", casoDeUso, "method", metodo), false);
+    }
+
+    public MedidorOperacion casoDeUsoMaximoStock(String casoDeUso, String metodo) {
+        return MedidorOperacion.crearConTamanoFranquicia(meterRegistry, CASO_DE_USO, "Duración de los casos de uso",
+                Tags.of("usecase", casoDeUso, "method", metodo),
+                MAXIMO_STOCK, Tags.of("layer", "usecase", "method", metodo));
+    }
+
+    public MedidorOperacion repositorio(String repositorio, String metodo) {
+        return MedidorOperacion.crear(meterRegistry, REPOSITORIO, "Duración de los métodos de repositorio",
+                Tags.of("repository", repositorio, "method", metodo), false);
+    }
+
+    /**
+     * Para búsquedas por id, donde un resultado vacío se registra como {@code NOT_FOUND}.
+     */
+    public MedidorOperacion repositorioBusqueda(String repositorio, String metodo) {
+        return MedidorOperacion.crear(meterRegistry, REPOSITORIO, "Duración de los métodos de repositorio",
+                Tags.of("repository", repositorio, "method", metodo), true);
+    }
+
+    public MedidorOperacion repositorioMaximoStock(String repositorio, String metodo) {
+        return MedidorOperacion.crearConTamanoFranquicia(meterRegistry, REPOSITORIO,
+                "Duración de los métodos de repositorio", Tags.of("repository", repositorio, "method", metodo),
+                MAXIMO_STOCK, Tags.of("layer", "repository", "method", metodo));
+    }
+}
@@ -0,0 +1,20 @@
+package com.franquicias.infrastructure.metrics;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+
+final class MonoMedido<T> extends MonoOperator<T, T> {
+
+    private final MedidorOperacion medidor;
+
+    MonoMedido(Mono<? extends T> fuente, MedidorOperacion medidor) {
+        super(fuente);
+        this.medidor = medidor;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        source.subscribe(new SuscriptorMedido<>(actual, medidor));
+    }
+}
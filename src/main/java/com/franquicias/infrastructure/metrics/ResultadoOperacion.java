@@ -0,0 +1,33 @@
+package com.franquicias.infrastructure.metrics;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.StockInsuficienteException;
+import com.franquicias.common.exception.VersionNoCoincideException;
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Valor del tag {@code outcome} de los timers de casos de uso y repositorios.
+ */
+public enum ResultadoOperacion {
+    SUCCESS,
+    VALIDATION_ERROR,
+    NOT_FOUND,
+    DB_ERROR,
+    ERROR,
+    CANCELLED;
+
+    static ResultadoOperacion clasificar(Throwable error) {
+        if (error instanceof RecursoNoEncontradoException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof StockInsuficienteException
+                || error instanceof VersionNoCoincideException) {
+            return VALIDATION_ERROR;
+        }
+        if (error instanceof DataAccessException || error instanceof R2dbcException) {
+            return DB_ERROR;
+        }
+        return ERROR;
+    }
+}
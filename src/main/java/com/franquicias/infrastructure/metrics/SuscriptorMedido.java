@@ -0,0 +1,76 @@
+package com.franquicias.infrastructure.metrics;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Suscriptor intermedio que cuenta los elementos y registra la duración al recibir la señal terminal
+ * o la cancelación, lo que ocurra primero.
+ */
+final class SuscriptorMedido<T> implements CoreSubscriber<T>, Subscription {
+
+    private static final AtomicIntegerFieldUpdater<SuscriptorMedido> TERMINADO =
+            AtomicIntegerFieldUpdater.newUpdater(SuscriptorMedido.class, "terminado");
+
+    private final CoreSubscriber<? super T> actual;
+    private final MedidorOperacion medidor;
+    private Subscription subscription;
+    private long inicio;
+    private long elementos;
+    private volatile int terminado;
+
+    SuscriptorMedido(CoreSubscriber<? super T> actual, MedidorOperacion medidor) {
+        this.actual = actual;
+        this.medidor = medidor;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        this.inicio = System.nanoTime();
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T valor) {
+        elementos++;
+        actual.onNext(valor);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        if (TERMINADO.compareAndSet(this, 0, 1)) {
+            medidor.registrar(ResultadoOperacion.clasificar(error), System.nanoTime() - inicio, elementos);
+        }
+        actual.onError(error);
+    }
+
+    @Override
+    public void onComplete() {
+        if (TERMINADO.compareAndSet(this, 0, 1)) {
+            medidor.registrarExito(System.nanoTime() - inicio, elementos);
+        }
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        subscription.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        if (TERMINADO.compareAndSet(this, 0, 1)) {
+            medidor.registrar(ResultadoOperacion.CANCELLED, System.nanoTime() - inicio, elementos);
+        }
+        subscription.cancel();
+    }
+
+    @Override
+    public Context currentContext() {
+        return actual.currentContext();
+    }
+}
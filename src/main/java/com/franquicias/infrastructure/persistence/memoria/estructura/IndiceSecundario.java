@@ -0,0 +1,40 @@
+package com.franquicias.infrastructure.persistence.memoria.estructura;
+
+/**
+ * Índice padre → hijos (franquicia → sucursales, sucursal → productos) sobre mapas de claves
+ * {@code long}. Cada conjunto de hijos se sincroniza por separado, así que las altas en padres
+ * distintos no compiten entre sí.
+ */
+public class IndiceSecundario {
+
+    private static final long[] VACIO = new long[0];
+
+    private final MapaLongConcurrente<MapaLong<Boolean>> hijosPorPadre = new MapaLongConcurrente<>();
+
+    public void agregar(long padre, long hijo) {
+        MapaLong<Boolean> hijos = hijosPorPadre.computeIfAbsent(padre, clave -> new MapaLong<>());
+        synchronized (hijos) {
+            hijos.put(hijo, Boolean.TRUE);
+        }
+    }
+
+    public void quitar(long padre, long hijo) {
+        MapaLong<Boolean> hijos = hijosPorPadre.get(padre);
+        if (hijos == null) {
+            return;
+        }
+        synchronized (hijos) {
+            hijos.remove(hijo);
+        }
+    }
+
+    public long[] hijosOrdenados(long padre) {
+        MapaLong<Boolean> hijos = hijosPorPadre.get(padre);
+        if (hijos == null) {
+            return VACIO;
+        }
+        synchronized (hijos) {
+            return hijos.clavesOrdenadas();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.franquicias.infrastructure.persistence.memoria.estructura;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de claves {@code long} con direccionamiento abierto y sondeo lineal, sin boxing de las claves
+ * ni nodos por entrada. No es seguro para hilos: el llamador debe sincronizar el acceso.
+ * La clave 0 se reserva como hueco libre, algo seguro con ids autoincrementales que empiezan en 1.
+ */
+public class MapaLong<V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] claves;
+    private Object[] valores;
+    private int tamano;
+    private int umbral;
+
+    public MapaLong() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    public MapaLong(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_INICIAL, capacidadEsperada * 2 - 1)) << 1;
+        inicializar(capacidad);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long clave) {
+        int i = buscar(clave);
+        return i >= 0 ? (V) valores[i] : null;
+    }
+
+    public boolean containsKey(long clave) {
+        return buscar(clave) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long clave, V valor) {
+        validarClave(clave);
+        int mascara = claves.length - 1;
+        int i = indice(clave, mascara);
+        while (claves[i] != 0) {
+            if (claves[i] == clave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano > umbral) {
+            redimensionar();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long clave) {
+        int i = buscar(clave);
+        if (i < 0) {
+            return null;
+        }
+        V anterior = (V) valores[i];
+        eliminarEn(i);
+        tamano--;
+        return anterior;
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> accion) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) {
+                accion.accept((V) valores[i]);
+            }
+        }
+    }
+
+    public long[] clavesOrdenadas() {
+        long[] resultado = new long[tamano];
+        int n = 0;
+        for (long clave : claves) {
+            if (clave != 0) {
+                resultado[n++] = clave;
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    private int buscar(long clave) {
+        if (clave == 0) {
+            return -1;
+        }
+        int mascara = claves.length - 1;
+        int i = indice(clave, mascara);
+        while (claves[i] != 0) {
+            if (claves[i] == clave) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    // Borrado con desplazamiento hacia atrás: evita lápidas y mantiene las cadenas de sondeo compactas
+    private void eliminarEn(int hueco) {
+        int mascara = claves.length - 1;
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (claves[i] == 0) {
+                break;
+            }
+            int ideal = indice(claves[i], mascara);
+            boolean desplazable = hueco <= i ? (ideal <= hueco || ideal > i) : (ideal <= hueco && ideal > i);
+            if (desplazable) {
+                claves[hueco] = claves[i];
+                valores[hueco] = valores[i];
+                hueco = i;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redimensionar() {
+        long[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        inicializar(claves.length << 1);
+        tamano = 0;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != 0) {
+                put(clavesAnteriores[i], (V) valoresAnteriores[i]);
+            }
+        }
+    }
+
+    private void inicializar(int capacidad) {
+        claves = new long[capacidad];
+        valores = new Object[capacidad];
+        umbral = capacidad / 2;
+    }
+
+    private static int indice(long clave, int mascara) {
+        // Mezcla de bits (fmix64 de MurmurHash3) para que ids consecutivos no formen racimos
+        long h = clave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mascara;
+    }
+
+    private static void validarClave(long clave) {
+        if (clave == 0) {
+            throw new IllegalArgumentException("La clave 0 está reservada");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.franquicias.infrastructure.persistence.memoria.estructura;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mapa concurrente de claves {@code long} repartido en segmentos, cada uno con su {@link MapaLong}
+ * y su {@link StampedLock}. Las escrituras sobre claves de segmentos distintos no compiten entre sí.
+ */
+public class MapaLongConcurrente<V> {
+
+    private static final int SEGMENTOS = 64;
+
+    private final Segmento<V>[] segmentos;
+
+    @SuppressWarnings("unchecked")
+    public MapaLongConcurrente() {
+        segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento<>();
+        }
+    }
+
+    public V get(long clave) {
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.readLock();
+        try {
+            return segmento.mapa.get(clave);
+        } finally {
+            segmento.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(long clave) {
+        return get(clave) != null;
+    }
+
+    public V put(long clave, V valor) {
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.writeLock();
+        try {
+            return segmento.mapa.put(clave, valor);
+        } finally {
+            segmento.lock.unlockWrite(stamp);
+        }
+    }
+
+    public V remove(long clave) {
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.writeLock();
+        try {
+            return segmento.mapa.remove(clave);
+        } finally {
+            segmento.lock.unlockWrite(stamp);
+        }
+    }
+
+    public V computeIfAbsent(long clave, LongFunction<? extends V> crear) {
+        V existente = get(clave);
+        if (existente != null) {
+            return existente;
+        }
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.writeLock();
+        try {
+            V actual = segmento.mapa.get(clave);
+            if (actual == null) {
+                actual = crear.apply(clave);
+                segmento.mapa.put(clave, actual);
+            }
+            return actual;
+        } finally {
+            segmento.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Elimina la clave solo si su valor cumple la condición, evaluada bajo el bloqueo del segmento.
+     * Devuelve el valor eliminado, o null si la clave no existe o no cumple la condición.
+     */
+    public V removeIf(long clave, Predicate<? super V> condicion) {
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.writeLock();
+        try {
+            V actual = segmento.mapa.get(clave);
+            if (actual == null || !condicion.test(actual)) {
+                return null;
+            }
+            return segmento.mapa.remove(clave);
+        } finally {
+            segmento.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Reemplaza atómicamente el valor de una clave existente con el resultado de la función, que se
+     * ejecuta bajo el bloqueo del segmento. Devuelve el nuevo valor, o null si la clave no existe o
+     * la función devuelve null, en cuyo caso el valor actual se conserva.
+     */
+    public V actualizar(long clave, UnaryOperator<V> funcion) {
+        Segmento<V> segmento = segmento(clave);
+        long stamp = segmento.lock.writeLock();
+        try {
+            V actual = segmento.mapa.get(clave);
+            if (actual == null) {
+                return null;
+            }
+            V nuevo = funcion.apply(actual);
+            if (nuevo != null) {
+                segmento.mapa.put(clave, nuevo);
+            }
+            return nuevo;
+        } finally {
+            segmento.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copia de los valores de todos los segmentos. Cada segmento se lee de forma consistente, pero
+     * no se bloquea el mapa completo, igual que una lectura sin aislamiento serializable.
+     */
+    public List<V> valores() {
+        List<V> resultado = new ArrayList<>();
+        for (Segmento<V> segmento : segmentos) {
+            long stamp = segmento.lock.readLock();
+            try {
+                segmento.mapa.forEachValue(resultado::add);
+            } finally {
+                segmento.lock.unlockRead(stamp);
+            }
+        }
+        return resultado;
+    }
+
+    private Segmento<V> segmento(long clave) {
+        int h = Long.hashCode(clave);
+        return segmentos[(h ^ (h >>> 16)) & (SEGMENTOS - 1)];
+    }
+
+    private static final class Segmento<V> {
+        private final StampedLock lock = new StampedLock();
+        private final MapaLong<V> mapa = new MapaLong<>();
+    }
+}
@@ -0,0 +1,49 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.infrastructure.persistence.memoria.estructura.MapaLongConcurrente;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contador de cambios en memoria; una franquicia sin cambios registrados vale cero mientras exista.
+ */
+@Repository
+@Profile("memoria")
+public class ContadorCambiosFranquiciaMemoriaRepository implements ContadorCambiosFranquiciaRepository {
+
+    private final MapaLongConcurrente<Long> cambios = new MapaLongConcurrente<>();
+    private final FranquiciaMemoriaRepository franquiciaRepository;
+    private final SucursalMemoriaRepository sucursalRepository;
+
+    public ContadorCambiosFranquiciaMemoriaRepository(FranquiciaMemoriaRepository franquiciaRepository,
+                                                      SucursalMemoriaRepository sucursalRepository) {
+        this.franquiciaRepository = franquiciaRepository;
+        this.sucursalRepository = sucursalRepository;
+    }
+
+    @Override
+    public Mono<Long> obtener(Long franquiciaId) {
+        return franquiciaRepository.existsById(franquiciaId)
+                .filter(Boolean::booleanValue)
+                .map(existe -> {
+                    Long valor = cambios.get(franquiciaId);
+                    return valor == null ? 0L : valor;
+                });
+    }
+
+    @Override
+    public Mono<Void> incrementar(Long franquiciaId) {
+        return Mono.fromRunnable(() -> {
+            cambios.computeIfAbsent(franquiciaId, id -> 0L);
+            cambios.actualizar(franquiciaId, valor -> valor + 1);
+        });
+    }
+
+    @Override
+    public Mono<Void> incrementarPorSucursal(Long sucursalId) {
+        return sucursalRepository.findById(sucursalId)
+                .flatMap(sucursal -> incrementar(sucursal.getFranquiciaId()));
+    }
+}
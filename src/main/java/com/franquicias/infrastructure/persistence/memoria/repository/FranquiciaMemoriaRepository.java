@@ -0,0 +1,102 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.infrastructure.persistence.memoria.estructura.MapaLongConcurrente;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositorio de franquicias en memoria para pruebas de carga con el perfil {@code memoria}.
+ * Replica la restricción uk_franquicia_nombre sin distinguir mayúsculas.
+ */
+@Repository
+@Profile("memoria")
+public class FranquiciaMemoriaRepository implements FranquiciaRepository {
+
+    private final MapaLongConcurrente<Franquicia> franquicias = new MapaLongConcurrente<>();
+    private final Map<String, Long> idsPorNombre = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    @Override
+    public Mono<Franquicia> save(Franquicia franquicia) {
+        return Mono.fromCallable(() -> franquicia.getId() == null ? insertar(franquicia) : actualizar(franquicia));
+    }
+
+    @Override
+    public Mono<Franquicia> findById(Long id) {
+        return Mono.fromCallable(() -> copia(franquicias.get(id)));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromCallable(() -> franquicias.containsKey(id));
+    }
+
+    @Override
+    public Mono<Franquicia> update(Franquicia franquicia) {
+        return save(franquicia);
+    }
+
+    @Override
+    public Mono<Franquicia> renombrar(Long id, String nombre, Long versionEsperada) {
+        return Mono.fromCallable(() -> actualizar(new Franquicia(id, nombre, null, null, versionEsperada)));
+    }
+
+    private Franquicia insertar(Franquicia franquicia) {
+        long id = secuencia.incrementAndGet();
+        reservarNombre(franquicia.getNombre(), id);
+        LocalDateTime now = LocalDateTime.now();
+        Franquicia guardada = new Franquicia(id, franquicia.getNombre(), now, now, 0L);
+        franquicias.put(id, guardada);
+        return copia(guardada);
+    }
+
+    private Franquicia actualizar(Franquicia franquicia) {
+        return copia(franquicias.actualizar(franquicia.getId(), actual -> {
+            // Sin versión la escritura es incondicional; con una versión distinta no se modifica nada
+            if (franquicia.getVersion() != null && !franquicia.getVersion().equals(actual.getVersion())) {
+                throw VersionNoCoincideException.de("La franquicia", actual.getId());
+            }
+            renombrar(actual.getNombre(), franquicia.getNombre(), actual.getId());
+            return new Franquicia(actual.getId(), franquicia.getNombre(), actual.getCreatedAt(), LocalDateTime.now(),
+                    actual.getVersion() + 1);
+        }));
+    }
+
+    private void renombrar(String anterior, String nuevo, long id) {
+        if (clave(anterior).equals(clave(nuevo))) {
+            return;
+        }
+        reservarNombre(nuevo, id);
+        idsPorNombre.remove(clave(anterior), id);
+    }
+
+    private void reservarNombre(String nombre, long id) {
+        Long existente = idsPorNombre.putIfAbsent(clave(nombre), id);
+        if (existente != null && existente != id) {
+            throw new DuplicateKeyException("Ya existe una franquicia con nombre " + nombre);
+        }
+    }
+
+    private static String clave(String nombre) {
+        return nombre.toLowerCase(Locale.ROOT);
+    }
+
+    private static Franquicia copia(Franquicia franquicia) {
+        if (franquicia == null) {
+            return null;
+        }
+        return new Franquicia(franquicia.getId(), franquicia.getNombre(),
+                franquicia.getCreatedAt(), franquicia.getUpdatedAt(), franquicia.getVersion());
+    }
+}
@@ -0,0 +1,378 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ModificacionStock;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.infrastructure.persistence.memoria.estructura.IndiceSecundario;
+import com.franquicias.infrastructure.persistence.memoria.estructura.MapaLongConcurrente;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositorio de productos en memoria para el perfil {@code memoria}, con índice por sucursal.
+ * Los productos guardados no se modifican nunca: cada escritura reemplaza la instancia bajo el
+ * bloqueo de su segmento, de modo que las lecturas ven siempre un producto completo.
+ */
+@Repository
+@Profile("memoria")
+public class ProductoMemoriaRepository implements ProductoRepository {
+
+    private final MapaLongConcurrente<Producto> productos = new MapaLongConcurrente<>();
+    private final IndiceSecundario porSucursal = new IndiceSecundario();
+    private final Map<String, Long> idsPorNombre = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final SucursalMemoriaRepository sucursalRepository;
+
+    public ProductoMemoriaRepository(SucursalMemoriaRepository sucursalRepository) {
+        this.sucursalRepository = sucursalRepository;
+    }
+
+    @Override
+    public Mono<Producto> save(Producto producto) {
+        return Mono.fromCallable(() -> producto.getId() == null ? insertar(producto) : actualizar(producto));
+    }
+
+    @Override
+    public Mono<Producto> findById(Long id) {
+        return Mono.fromCallable(() -> copia(productos.get(id)));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromCallable(() -> productos.containsKey(id));
+    }
+
+    @Override
+    public Flux<Producto> findBySucursalId(Long sucursalId) {
+        return Flux.defer(() -> {
+            long[] ids = porSucursal.hijosOrdenados(sucursalId);
+            return Flux.range(0, ids.length)
+                    .mapNotNull(i -> copia(productos.get(ids[i])));
+        });
+    }
+
+    @Override
+    public Flux<Producto> findPaginaBySucursalId(Long sucursalId, Long despuesDeId, int limite) {
+        return Flux.defer(() -> {
+            long[] ids = porSucursal.hijosOrdenados(sucursalId);
+            int desde = primeroMayorQue(ids, despuesDeId == null ? 0L : despuesDeId);
+            return Flux.range(desde, ids.length - desde)
+                    .mapNotNull(i -> copia(productos.get(ids[i])))
+                    .take(limite);
+        });
+    }
+
+    /**
+     * Sin un índice por stock, cada página ordena los productos de la sucursal; en memoria el coste
+     * es aceptable para el tamaño de las sucursales de las pruebas de carga.
+     */
+    @Override
+    public Flux<Producto> findPaginaBySucursalIdOrdenadaPorStock(Long sucursalId, Integer despuesDeStock,
+                                                                 Long despuesDeId, int limite) {
+        Comparator<Producto> orden = Comparator.comparing(Producto::getStock).thenComparing(Producto::getId);
+        return findBySucursalId(sucursalId)
+                .filter(producto -> despuesDeStock == null
+                        || producto.getStock() > despuesDeStock
+                        || (producto.getStock().equals(despuesDeStock) && producto.getId() > despuesDeId))
+                .sort(orden)
+                .take(limite);
+    }
+
+    static int primeroMayorQue(long[] idsOrdenados, long id) {
+        int posicion = Arrays.binarySearch(idsOrdenados, id);
+        return posicion >= 0 ? posicion + 1 : -posicion - 1;
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.fromRunnable(() -> quitarDeIndices(productos.remove(id)));
+    }
+
+    @Override
+    public Mono<Boolean> eliminar(Long sucursalId, Long productoId) {
+        return Mono.fromCallable(() -> {
+            Producto eliminado = productos.removeIf(productoId, actual -> sucursalId.equals(actual.getSucursalId()));
+            quitarDeIndices(eliminado);
+            return eliminado != null;
+        });
+    }
+
+    private void quitarDeIndices(Producto eliminado) {
+        if (eliminado != null) {
+            porSucursal.quitar(eliminado.getSucursalId(), eliminado.getId());
+            idsPorNombre.remove(clave(eliminado.getSucursalId(), eliminado.getNombre()), eliminado.getId());
+        }
+    }
+
+    @Override
+    public Mono<Producto> update(Producto producto) {
+        return save(producto);
+    }
+
+    @Override
+    public Mono<Integer> ajustarStock(Long sucursalId, Long productoId, int delta) {
+        return Mono.fromCallable(() -> {
+            Producto ajustado = productos.actualizar(productoId, actual -> {
+                if (!sucursalId.equals(actual.getSucursalId()) || actual.getStock() + delta < 0) {
+                    return null;
+                }
+                return conStock(actual, actual.getStock() + delta);
+            });
+            return ajustado != null ? ajustado.getStock() : null;
+        });
+    }
+
+    @Override
+    public Mono<Producto> renombrar(Long sucursalId, Long productoId, String nombre, Long versionEsperada) {
+        return Mono.fromCallable(() -> copia(productos.actualizar(productoId, actual -> {
+            if (!coincide(actual, sucursalId, versionEsperada)) {
+                return null;
+            }
+            reasignarNombre(actual, nombre);
+            return new Producto(actual.getId(), nombre, actual.getStock(), actual.getSucursalId(),
+                    actual.getCreatedAt(), LocalDateTime.now(), actual.getVersion() + 1);
+        })));
+    }
+
+    @Override
+    public Mono<ModificacionStock> modificarStock(Long sucursalId, Long productoId, int stock, Long versionEsperada) {
+        return Mono.fromCallable(() -> {
+            int[] stockAnterior = new int[1];
+            Producto modificado = productos.actualizar(productoId, actual -> {
+                if (!coincide(actual, sucursalId, versionEsperada)) {
+                    return null;
+                }
+                stockAnterior[0] = actual.getStock();
+                return conStock(actual, stock);
+            });
+            return modificado != null ? new ModificacionStock(copia(modificado), stockAnterior[0]) : null;
+        });
+    }
+
+    /**
+     * Un producto de otra sucursal se trata como inexistente; uno de la sucursal en otra versión es un
+     * conflicto, igual que en la sentencia condicional de MySQL.
+     */
+    private static boolean coincide(Producto actual, Long sucursalId, Long versionEsperada) {
+        if (!sucursalId.equals(actual.getSucursalId())) {
+            return false;
+        }
+        if (versionEsperada != null && !versionEsperada.equals(actual.getVersion())) {
+            throw VersionNoCoincideException.de("El producto", actual.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public Mono<Long> insertarIgnorandoDuplicados(List<Producto> lote) {
+        return Mono.fromCallable(() -> {
+            long insertados = 0;
+            for (Producto producto : lote) {
+                if (intentarInsertar(producto) != null) {
+                    insertados++;
+                }
+            }
+            return insertados;
+        });
+    }
+
+    @Override
+    public Flux<ResultadoActualizacionStock> actualizarStockMasivo(Long sucursalId,
+                                                                   List<ActualizacionStock> actualizaciones) {
+        // Cada producto se actualiza de forma atómica, pero el lote no es una transacción:
+        // una lectura concurrente puede ver parte del lote aplicado
+        return Flux.fromIterable(actualizaciones)
+                .map(actualizacion -> {
+                    Integer[] stockAnterior = new Integer[1];
+                    Producto actualizado = productos.actualizar(actualizacion.getProductoId(), actual -> {
+                        if (!sucursalId.equals(actual.getSucursalId())) {
+                            return null;
+                        }
+                        stockAnterior[0] = actual.getStock();
+                        return conStock(actual, actualizacion.getStock());
+                    });
+                    return actualizado != null
+                            ? ResultadoActualizacionStock.actualizado(actualizacion.getProductoId(), stockAnterior[0],
+                                    actualizacion.getStock())
+                            : ResultadoActualizacionStock.noEncontrado(actualizacion.getProductoId(), actualizacion.getStock());
+                });
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        return Flux.defer(() -> {
+            long[] sucursalIds = sucursalRepository.idsPorFranquicia(franquiciaId);
+            return Flux.range(0, sucursalIds.length)
+                    .concatMapIterable(i -> maximosDeSucursal(sucursalIds[i]));
+        });
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> streamProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        return findProductosMaximoStockByFranquiciaId(franquiciaId);
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findRankingStockBySucursal(Long franquiciaId, ExtremoStock extremo, int k) {
+        return Flux.defer(() -> {
+            long[] sucursalIds = sucursalRepository.idsPorFranquicia(franquiciaId);
+            return Flux.range(0, sucursalIds.length)
+                    .concatMapIterable(i -> rankingDeSucursal(sucursalIds[i], extremo, k));
+        });
+    }
+
+    @Override
+    public Flux<ProductoMaximoStock> findStockBajoByFranquiciaId(Long franquiciaId, int umbral) {
+        return Flux.defer(() -> {
+            long[] sucursalIds = sucursalRepository.idsPorFranquicia(franquiciaId);
+            return Flux.range(0, sucursalIds.length)
+                    .concatMapIterable(i -> stockBajoDeSucursal(sucursalIds[i], umbral));
+        });
+    }
+
+    private List<ProductoMaximoStock> stockBajoDeSucursal(long sucursalId, int umbral) {
+        Sucursal sucursal = sucursalRepository.obtener(sucursalId);
+        if (sucursal == null) {
+            return List.of();
+        }
+        List<ProductoMaximoStock> productosSucursal = new ArrayList<>();
+        for (long productoId : porSucursal.hijosOrdenados(sucursalId)) {
+            Producto producto = productos.get(productoId);
+            if (producto != null && producto.getStock() < umbral) {
+                productosSucursal.add(new ProductoMaximoStock(producto.getId(), producto.getNombre(),
+                        producto.getStock(), sucursal.getId(), sucursal.getNombre()));
+            }
+        }
+        productosSucursal.sort(ExtremoStock.MENOR.orden());
+        return productosSucursal;
+    }
+
+    private List<ProductoMaximoStock> rankingDeSucursal(long sucursalId, ExtremoStock extremo, int k) {
+        Sucursal sucursal = sucursalRepository.obtener(sucursalId);
+        if (sucursal == null) {
+            return List.of();
+        }
+        List<ProductoMaximoStock> productosSucursal = new ArrayList<>();
+        for (long productoId : porSucursal.hijosOrdenados(sucursalId)) {
+            Producto producto = productos.get(productoId);
+            if (producto != null) {
+                productosSucursal.add(new ProductoMaximoStock(producto.getId(), producto.getNombre(),
+                        producto.getStock(), sucursal.getId(), sucursal.getNombre()));
+            }
+        }
+        productosSucursal.sort(extremo.orden());
+        return productosSucursal.subList(0, Math.min(k, productosSucursal.size()));
+    }
+
+    /**
+     * Equivalente en memoria de la consulta de máximo stock: recorre el índice de la sucursal una
+     * vez y conserva los empates, ordenados por id de producto.
+     */
+    private List<ProductoMaximoStock> maximosDeSucursal(long sucursalId) {
+        Sucursal sucursal = sucursalRepository.obtener(sucursalId);
+        if (sucursal == null) {
+            return List.of();
+        }
+        List<Producto> maximos = new ArrayList<>();
+        int maximo = Integer.MIN_VALUE;
+        for (long productoId : porSucursal.hijosOrdenados(sucursalId)) {
+            Producto producto = productos.get(productoId);
+            if (producto == null || producto.getStock() < maximo) {
+                continue;
+            }
+            if (producto.getStock() > maximo) {
+                maximo = producto.getStock();
+                maximos.clear();
+            }
+            maximos.add(producto);
+        }
+        List<ProductoMaximoStock> resultado = new ArrayList<>(maximos.size());
+        for (Producto producto : maximos) {
+            resultado.add(new ProductoMaximoStock(producto.getId(), producto.getNombre(), producto.getStock(),
+                    sucursal.getId(), sucursal.getNombre()));
+        }
+        return resultado;
+    }
+
+    private Producto insertar(Producto producto) {
+        Producto guardado = intentarInsertar(producto);
+        if (guardado == null) {
+            throw new DuplicateKeyException("Ya existe un producto con nombre " + producto.getNombre()
+                    + " en la sucursal " + producto.getSucursalId());
+        }
+        return copia(guardado);
+    }
+
+    private Producto intentarInsertar(Producto producto) {
+        long id = secuencia.incrementAndGet();
+        if (idsPorNombre.putIfAbsent(clave(producto.getSucursalId(), producto.getNombre()), id) != null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Producto guardado = new Producto(id, producto.getNombre(), producto.getStock(), producto.getSucursalId(),
+                now, now, 0L);
+        productos.put(id, guardado);
+        porSucursal.agregar(producto.getSucursalId(), id);
+        return guardado;
+    }
+
+    private Producto actualizar(Producto producto) {
+        return copia(productos.actualizar(producto.getId(), actual -> {
+            // Sin versión la escritura es incondicional; con una versión distinta no se modifica nada
+            if (producto.getVersion() != null && !producto.getVersion().equals(actual.getVersion())) {
+                throw VersionNoCoincideException.de("El producto", actual.getId());
+            }
+            reasignarNombre(actual, producto.getNombre());
+            return new Producto(actual.getId(), producto.getNombre(), producto.getStock(), actual.getSucursalId(),
+                    actual.getCreatedAt(), LocalDateTime.now(), actual.getVersion() + 1);
+        }));
+    }
+
+    private void reasignarNombre(Producto actual, String nombre) {
+        String claveActual = clave(actual.getSucursalId(), actual.getNombre());
+        String claveNueva = clave(actual.getSucursalId(), nombre);
+        if (!claveActual.equals(claveNueva)) {
+            if (idsPorNombre.putIfAbsent(claveNueva, actual.getId()) != null) {
+                throw new DuplicateKeyException("Ya existe un producto con nombre " + nombre
+                        + " en la sucursal " + actual.getSucursalId());
+            }
+            idsPorNombre.remove(claveActual, actual.getId());
+        }
+    }
+
+    private static Producto conStock(Producto actual, int stock) {
+        return new Producto(actual.getId(), actual.getNombre(), stock, actual.getSucursalId(),
+                actual.getCreatedAt(), LocalDateTime.now(), actual.getVersion() + 1);
+    }
+
+    private static String clave(Long sucursalId, String nombre) {
+        return sucursalId + ":" + nombre.toLowerCase(Locale.ROOT);
+    }
+
+    private static Producto copia(Producto producto) {
+        if (producto == null) {
+            return null;
+        }
+        return new Producto(producto.getId(), producto.getNombre(), producto.getStock(), producto.getSucursalId(),
+                producto.getCreatedAt(), producto.getUpdatedAt(), producto.getVersion());
+    }
+}
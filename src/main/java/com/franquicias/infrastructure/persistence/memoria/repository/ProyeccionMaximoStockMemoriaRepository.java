@@ -0,0 +1,32 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * En memoria el máximo de cada sucursal se calcula recorriendo su índice de productos, así que la
+ * proyección no necesita mantenerse.
+ */
+@Repository
+@Profile("memoria")
+public class ProyeccionMaximoStockMemoriaRepository implements ProyeccionMaximoStockRepository {
+
+    @Override
+    public Mono<Void> registrarStock(Long sucursalId, Integer stock) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> recalcular(Long sucursalId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<DesviacionMaximoStock> reconciliar() {
+        return Flux.empty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * En memoria el resumen se calcula recorriendo el índice de productos de cada sucursal, así que no hay
+ * contadores que mantener ni que reconciliar.
+ */
+@Repository
+@Profile("memoria")
+public class ResumenInventarioMemoriaRepository implements ResumenInventarioRepository {
+
+    private final SucursalMemoriaRepository sucursalRepository;
+    private final ProductoMemoriaRepository productoRepository;
+
+    public ResumenInventarioMemoriaRepository(SucursalMemoriaRepository sucursalRepository,
+                                              ProductoMemoriaRepository productoRepository) {
+        this.sucursalRepository = sucursalRepository;
+        this.productoRepository = productoRepository;
+    }
+
+    @Override
+    public Mono<Void> registrarAlta(Long sucursalId, int stock) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> registrarCambioStock(Long sucursalId, int stockAnterior, int stockNuevo) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> registrarDiferencias(Long sucursalId, long diferenciaStock, int diferenciaSinStock) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> registrarBaja(Long sucursalId, Long productoId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> recalcular(Long sucursalId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<ResumenInventarioSucursal> findByFranquiciaId(Long franquiciaId) {
+        return sucursalRepository.findByFranquiciaId(franquiciaId)
+                .concatMap(sucursal -> productoRepository.findBySucursalId(sucursal.getId())
+                        .reduce(new ResumenInventarioSucursal(sucursal.getId(), sucursal.getNombre(), 0, 0, 0),
+                                (resumen, producto) -> {
+                                    resumen.setProductos(resumen.getProductos() + 1);
+                                    resumen.setStockTotal(resumen.getStockTotal() + producto.getStock());
+                                    if (producto.getStock() == 0) {
+                                        resumen.setProductosSinStock(resumen.getProductosSinStock() + 1);
+                                    }
+                                    return resumen;
+                                }));
+    }
+
+    @Override
+    public Flux<DesviacionResumenInventario> reconciliar() {
+        return Flux.empty();
+    }
+}
@@ -0,0 +1,141 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.persistence.memoria.estructura.IndiceSecundario;
+import com.franquicias.infrastructure.persistence.memoria.estructura.MapaLongConcurrente;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositorio de sucursales en memoria para el perfil {@code memoria}, con índice por franquicia.
+ * Replica la restricción uk_sucursal_franquicia_nombre sin distinguir mayúsculas.
+ */
+@Repository
+@Profile("memoria")
+public class SucursalMemoriaRepository implements SucursalRepository {
+
+    private final MapaLongConcurrente<Sucursal> sucursales = new MapaLongConcurrente<>();
+    private final IndiceSecundario porFranquicia = new IndiceSecundario();
+    private final Map<String, Long> idsPorNombre = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    @Override
+    public Mono<Sucursal> save(Sucursal sucursal) {
+        return Mono.fromCallable(() -> sucursal.getId() == null ? insertar(sucursal) : actualizar(sucursal));
+    }
+
+    @Override
+    public Mono<Sucursal> findById(Long id) {
+        return Mono.fromCallable(() -> copia(sucursales.get(id)));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromCallable(() -> sucursales.containsKey(id));
+    }
+
+    @Override
+    public Flux<Sucursal> findByFranquiciaId(Long franquiciaId) {
+        return Flux.defer(() -> {
+            long[] ids = porFranquicia.hijosOrdenados(franquiciaId);
+            return Flux.range(0, ids.length)
+                    .mapNotNull(i -> copia(sucursales.get(ids[i])));
+        });
+    }
+
+    @Override
+    public Flux<Sucursal> findPaginaByFranquiciaId(Long franquiciaId, Long despuesDeId, int limite) {
+        return Flux.defer(() -> {
+            long[] ids = porFranquicia.hijosOrdenados(franquiciaId);
+            int desde = ProductoMemoriaRepository.primeroMayorQue(ids, despuesDeId == null ? 0L : despuesDeId);
+            return Flux.range(desde, ids.length - desde)
+                    .mapNotNull(i -> copia(sucursales.get(ids[i])))
+                    .take(limite);
+        });
+    }
+
+    @Override
+    public Mono<Sucursal> update(Sucursal sucursal) {
+        return save(sucursal);
+    }
+
+    @Override
+    public Mono<Sucursal> renombrar(Long franquiciaId, Long sucursalId, String nombre, Long versionEsperada) {
+        return Mono.fromCallable(() -> actualizar(
+                new Sucursal(sucursalId, nombre, franquiciaId, null, null, versionEsperada)));
+    }
+
+    /**
+     * Ids de las sucursales de la franquicia en orden ascendente, sin copiar las sucursales.
+     */
+    long[] idsPorFranquicia(long franquiciaId) {
+        return porFranquicia.hijosOrdenados(franquiciaId);
+    }
+
+    /**
+     * Sucursal almacenada, sin copiar; solo para lecturas dentro del paquete.
+     */
+    Sucursal obtener(long id) {
+        return sucursales.get(id);
+    }
+
+    private Sucursal insertar(Sucursal sucursal) {
+        long id = secuencia.incrementAndGet();
+        reservarNombre(sucursal.getFranquiciaId(), sucursal.getNombre(), id);
+        LocalDateTime now = LocalDateTime.now();
+        Sucursal guardada = new Sucursal(id, sucursal.getNombre(), sucursal.getFranquiciaId(), now, now, 0L);
+        sucursales.put(id, guardada);
+        porFranquicia.agregar(sucursal.getFranquiciaId(), id);
+        return copia(guardada);
+    }
+
+    private Sucursal actualizar(Sucursal sucursal) {
+        return copia(sucursales.actualizar(sucursal.getId(), actual -> {
+            // Sin versión la escritura es incondicional; con una versión o franquicia distintas no se modifica nada
+            if (sucursal.getFranquiciaId() != null && !sucursal.getFranquiciaId().equals(actual.getFranquiciaId())) {
+                return null;
+            }
+            if (sucursal.getVersion() != null && !sucursal.getVersion().equals(actual.getVersion())) {
+                throw VersionNoCoincideException.de("La sucursal", actual.getId());
+            }
+            if (!clave(actual.getFranquiciaId(), actual.getNombre())
+                    .equals(clave(actual.getFranquiciaId(), sucursal.getNombre()))) {
+                reservarNombre(actual.getFranquiciaId(), sucursal.getNombre(), actual.getId());
+                idsPorNombre.remove(clave(actual.getFranquiciaId(), actual.getNombre()), actual.getId());
+            }
+            return new Sucursal(actual.getId(), sucursal.getNombre(), actual.getFranquiciaId(),
+                    actual.getCreatedAt(), LocalDateTime.now(), actual.getVersion() + 1);
+        }));
+    }
+
+    private void reservarNombre(Long franquiciaId, String nombre, long id) {
+        Long existente = idsPorNombre.putIfAbsent(clave(franquiciaId, nombre), id);
+        if (existente != null && existente != id) {
+            throw new DuplicateKeyException("Ya existe una sucursal con nombre " + nombre
+                    + " en la franquicia " + franquiciaId);
+        }
+    }
+
+    private static String clave(Long franquiciaId, String nombre) {
+        return franquiciaId + ":" + nombre.toLowerCase(Locale.ROOT);
+    }
+
+    private static Sucursal copia(Sucursal sucursal) {
+        if (sucursal == null) {
+            return null;
+        }
+        return new Sucursal(sucursal.getId(), sucursal.getNombre(), sucursal.getFranquiciaId(),
+                sucursal.getCreatedAt(), sucursal.getUpdatedAt(), sucursal.getVersion());
+    }
+}
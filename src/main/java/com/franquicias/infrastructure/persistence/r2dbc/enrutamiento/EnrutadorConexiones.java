@@ -0,0 +1,219 @@
+package com.franquicias.infrastructure.persistence.r2dbc.enrutamiento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte las conexiones entre la primaria y las réplicas de lectura según las marcas de
+ * {@link RutaConexion}. Las réplicas se eligen por turnos entre las disponibles; una réplica queda
+ * fuera del reparto en cuanto falla al entregar una conexión (la consulta sigue en la primaria) y
+ * vuelve cuando la verificación periódica la encuentra sana. Con retraso máximo configurado, la
+ * verificación también descarta las réplicas cuyo Seconds_Behind_Source lo supera o no lo informan.
+ * Desenvuelve a la primaria para que Actuator siga publicando las métricas de su pool.
+ */
+public class EnrutadorConexiones implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrutadorConexiones.class);
+
+    private final ConnectionFactory primaria;
+    private final List<Replica> replicas;
+    private final Duration intervaloVerificacion;
+    private final Duration maximoRetraso;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final Map<Motivo, Counter> conexiones = new EnumMap<>(Motivo.class);
+
+    private Disposable verificacion;
+
+    public EnrutadorConexiones(ConnectionFactory primaria, Map<String, ConnectionFactory> replicas,
+                               Duration intervaloVerificacion, Duration maximoRetraso, MeterRegistry meterRegistry) {
+        this.primaria = primaria;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((nombre, fabrica) -> this.replicas.add(new Replica(nombre, fabrica)));
+        this.intervaloVerificacion = intervaloVerificacion;
+        this.maximoRetraso = maximoRetraso;
+        for (Motivo motivo : Motivo.values()) {
+            conexiones.put(motivo, Counter.builder("franquicias.r2dbc.enrutamiento")
+                    .description("Conexiones entregadas por destino y motivo de la elección")
+                    .tag("destino", motivo.destino)
+                    .tag("motivo", motivo.etiqueta)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("franquicias.r2dbc.replicas.disponibles", this, EnrutadorConexiones::replicasDisponibles)
+                .description("Réplicas de lectura que participan en el reparto")
+                .register(meterRegistry);
+    }
+
+    public void iniciarVerificacion() {
+        verificacion = Flux.interval(intervaloVerificacion)
+                .onBackpressureDrop()
+                .concatMap(tick -> verificar(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(contexto -> {
+            RutaConexion.Sesion sesion = RutaConexion.sesion(contexto);
+            if (!RutaConexion.esLectura(contexto)) {
+                if (sesion != null) {
+                    sesion.fijarEnPrimaria();
+                }
+                return primaria(Motivo.ESCRITURA);
+            }
+            if (sesion != null && sesion.fijadaEnPrimaria()) {
+                return primaria(Motivo.SESION);
+            }
+            Replica replica = siguienteReplica();
+            if (replica == null) {
+                return primaria(Motivo.SIN_REPLICAS);
+            }
+            return Mono.<Connection>from(replica.fabrica.create())
+                    .doOnSuccess(conexion -> conexiones.get(Motivo.LECTURA).increment())
+                    .onErrorResume(error -> {
+                        expulsar(replica, error.getMessage());
+                        return primaria(Motivo.FALLO_REPLICA);
+                    });
+        });
+    }
+
+    /**
+     * Verifica todas las réplicas una vez: ping del protocolo y, si hay retraso máximo, el estado de
+     * la replicación.
+     */
+    Mono<Void> verificar() {
+        return Flux.fromIterable(replicas)
+                .flatMap(replica -> Mono.usingWhen(replica.fabrica.create(), this::sana, Connection::close)
+                        .timeout(intervaloVerificacion)
+                        .onErrorResume(error -> Mono.just(false))
+                        .doOnNext(sana -> {
+                            if (sana) {
+                                readmitir(replica);
+                            } else {
+                                expulsar(replica, "verificación fallida");
+                            }
+                        }))
+                .then();
+    }
+
+    private Mono<Boolean> sana(Connection conexion) {
+        Mono<Boolean> ping = Mono.from(conexion.validate(ValidationDepth.REMOTE));
+        if (maximoRetraso.isZero()) {
+            return ping;
+        }
+        return ping.filter(Boolean::booleanValue)
+                .flatMap(valida -> Flux.from(conexion.createStatement("SHOW REPLICA STATUS").execute())
+                        .flatMap(resultado -> resultado.map((fila, metadata) ->
+                                Optional.ofNullable(fila.get("Seconds_Behind_Source", Long.class))))
+                        .next()
+                        // Sin fila no es una réplica y sin valor la replicación está detenida
+                        .map(retraso -> retraso.isPresent() && retraso.get() <= maximoRetraso.toSeconds())
+                        .defaultIfEmpty(false))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Connection> primaria(Motivo motivo) {
+        conexiones.get(motivo).increment();
+        return Mono.from(primaria.create());
+    }
+
+    private Replica siguienteReplica() {
+        int total = replicas.size();
+        int inicio = Math.floorMod(turno.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.disponible) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void expulsar(Replica replica, String causa) {
+        if (replica.disponible) {
+            replica.disponible = false;
+            log.warn("Réplica {} fuera del reparto de lecturas: {}", replica.nombre, causa);
+        }
+    }
+
+    private void readmitir(Replica replica) {
+        if (!replica.disponible) {
+            replica.disponible = true;
+            log.info("Réplica {} de vuelta en el reparto de lecturas", replica.nombre);
+        }
+    }
+
+    private double replicasDisponibles() {
+        return replicas.stream().filter(replica -> replica.disponible).count();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primaria.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primaria;
+    }
+
+    public void dispose() {
+        if (verificacion != null) {
+            verificacion.dispose();
+        }
+        replicas.forEach(replica -> liberar(replica.fabrica));
+        liberar(primaria);
+    }
+
+    private static void liberar(ConnectionFactory fabrica) {
+        if (fabrica instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String nombre;
+        private final ConnectionFactory fabrica;
+        private volatile boolean disponible = true;
+
+        private Replica(String nombre, ConnectionFactory fabrica) {
+            this.nombre = nombre;
+            this.fabrica = fabrica;
+        }
+    }
+
+    private enum Motivo {
+        ESCRITURA("primaria", "escritura"),
+        SESION("primaria", "sesion"),
+        SIN_REPLICAS("primaria", "sin-replicas"),
+        FALLO_REPLICA("primaria", "fallo-replica"),
+        LECTURA("replica", "lectura");
+
+        private final String destino;
+        private final String etiqueta;
+
+        Motivo(String destino, String etiqueta) {
+            this.destino = destino;
+            this.etiqueta = etiqueta;
+        }
+    }
+}
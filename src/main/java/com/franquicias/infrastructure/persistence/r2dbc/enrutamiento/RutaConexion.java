@@ -0,0 +1,70 @@
+package com.franquicias.infrastructure.persistence.r2dbc.enrutamiento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Marcas en el contexto de Reactor que {@link EnrutadorConexiones} consulta al pedir una conexión.
+ * Una consulta marcada con {@link #lectura} puede ir a una réplica; todo lo demás va a la primaria.
+ * La {@link Sesion} agrupa las consultas de una misma petición: en cuanto una de ellas pide una
+ * conexión de escritura, las lecturas siguientes de la petición también van a la primaria.
+ */
+public final class RutaConexion {
+
+    private static final String CLAVE_LECTURA = RutaConexion.class.getName() + ".lectura";
+    private static final String CLAVE_SESION = RutaConexion.class.getName() + ".sesion";
+
+    private RutaConexion() {
+    }
+
+    public static <T> Mono<T> lectura(Mono<T> consulta) {
+        return consulta.contextWrite(RutaConexion::marcarLectura);
+    }
+
+    public static <T> Flux<T> lectura(Flux<T> consulta) {
+        return consulta.contextWrite(RutaConexion::marcarLectura);
+    }
+
+    public static Context conSesion(Context contexto, Sesion sesion) {
+        return contexto.put(CLAVE_SESION, sesion);
+    }
+
+    static boolean esLectura(ContextView contexto) {
+        return contexto.hasKey(CLAVE_LECTURA);
+    }
+
+    static Sesion sesion(ContextView contexto) {
+        return contexto.getOrDefault(CLAVE_SESION, null);
+    }
+
+    private static Context marcarLectura(Context contexto) {
+        return contexto.put(CLAVE_LECTURA, Boolean.TRUE);
+    }
+
+    public static final class Sesion {
+
+        private volatile boolean fijadaEnPrimaria;
+
+        private Sesion(boolean fijadaEnPrimaria) {
+            this.fijadaEnPrimaria = fijadaEnPrimaria;
+        }
+
+        public static Sesion deLectura() {
+            return new Sesion(false);
+        }
+
+        public static Sesion deEscritura() {
+            return new Sesion(true);
+        }
+
+        void fijarEnPrimaria() {
+            fijadaEnPrimaria = true;
+        }
+
+        boolean fijadaEnPrimaria() {
+            return fijadaEnPrimaria;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.franquicias.infrastructure.persistence.r2dbc.enrutamiento;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Abre una {@link RutaConexion.Sesion} por petición. Las peticiones que modifican datos quedan fijadas
+ * en la primaria desde el inicio: sus lecturas previas a la escritura (la fila con su versión, el
+ * stock actual para decidir si disminuye) no pueden venir de una réplica con retraso.
+ */
+@Component
+@Profile("!memoria")
+public class SesionRutaConexionWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpMethod metodo = exchange.getRequest().getMethod();
+        RutaConexion.Sesion sesion = HttpMethod.GET.equals(metodo) || HttpMethod.HEAD.equals(metodo)
+                ? RutaConexion.Sesion.deLectura()
+                : RutaConexion.Sesion.deEscritura();
+        return chain.filter(exchange)
+                .contextWrite(contexto -> RutaConexion.conSesion(contexto, sesion));
+    }
+}
@@ -20,6 +20,9 @@ public class FranquiciaEntity {
     @Column("updated_at")
     private LocalDateTime updatedAt;
 
+    @Column("version")
+    private Long version;
+
     public FranquiciaEntity() {
     }
 
@@ -61,5 +64,12 @@ public class FranquiciaEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
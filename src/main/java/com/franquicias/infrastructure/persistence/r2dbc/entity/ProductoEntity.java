@@ -26,6 +26,9 @@ public class ProductoEntity {
     @Column("updated_at")
     private LocalDateTime updatedAt;
 
+    @Column("version")
+    private Long version;
+
     public ProductoEntity() {
     }
 
@@ -86,5 +89,12 @@ public class ProductoEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -23,6 +23,9 @@ public class SucursalEntity {
     @Column("updated_at")
     private LocalDateTime updatedAt;
 
+    @Column("version")
+    private Long version;
+
     public SucursalEntity() {
     }
 
@@ -73,5 +76,12 @@ public class SucursalEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -13,7 +13,8 @@ public class FranquiciaMapper {
             entity.getId(),
             entity.getNombre(),
             entity.getCreatedAt(),
-            entity.getUpdatedAt()
+            entity.getUpdatedAt(),
+            entity.getVersion()
         );
     }
     
@@ -21,12 +22,14 @@ public class FranquiciaMapper {
         if (domain == null) {
             return null;
         }
-        return new FranquiciaEntity(
+        FranquiciaEntity entity = new FranquiciaEntity(
             domain.getId(),
             domain.getNombre(),
             domain.getCreatedAt(),
             domain.getUpdatedAt()
         );
+        entity.setVersion(domain.getVersion());
+        return entity;
     }
 }
 
@@ -15,7 +15,8 @@ public class ProductoMapper {
             entity.getStock(),
             entity.getSucursalId(),
             entity.getCreatedAt(),
-            entity.getUpdatedAt()
+            entity.getUpdatedAt(),
+            entity.getVersion()
         );
     }
     
@@ -23,7 +24,7 @@ public class ProductoMapper {
         if (domain == null) {
             return null;
         }
-        return new ProductoEntity(
+        ProductoEntity entity = new ProductoEntity(
             domain.getId(),
             domain.getNombre(),
             domain.getStock(),
@@ -31,6 +32,8 @@ public class ProductoMapper {
             domain.getCreatedAt(),
             domain.getUpdatedAt()
         );
+        entity.setVersion(domain.getVersion());
+        return entity;
     }
 }
 
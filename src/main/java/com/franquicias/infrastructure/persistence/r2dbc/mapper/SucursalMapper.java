@@ -14,7 +14,8 @@ public class SucursalMapper {
             entity.getNombre(),
             entity.getFranquiciaId(),
             entity.getCreatedAt(),
-            entity.getUpdatedAt()
+            entity.getUpdatedAt(),
+            entity.getVersion()
         );
     }
     
@@ -22,13 +23,15 @@ public class SucursalMapper {
         if (domain == null) {
             return null;
         }
-        return new SucursalEntity(
+        SucursalEntity entity = new SucursalEntity(
             domain.getId(),
             domain.getNombre(),
             domain.getFranquiciaId(),
             domain.getCreatedAt(),
             domain.getUpdatedAt()
         );
+        entity.setVersion(domain.getVersion());
+        return entity;
     }
 }
 
@@ -0,0 +1,68 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una escritura que deja en LAST_INSERT_ID(expr) el valor que necesita devolver, de modo que
+ * el paquete OK lo trae junto con las filas afectadas y no hace falta un SELECT posterior. Si no se
+ * afectan filas el resultado es vacío. MySQL solo informa ese valor en los UPDATE.
+ */
+final class ActualizacionConValor {
+
+    /**
+     * Condición de versión para el final del WHERE. Si la fila existe con otra versión, la segunda rama
+     * deja en LAST_INSERT_ID un valor distinto de cero y es falsa, así que no se afectan filas; si la fila
+     * no existe (o no cumple las condiciones anteriores) la rama no se evalúa y el valor informado es cero.
+     */
+    static final String CONDICION_VERSION = " AND (version = ? OR LAST_INSERT_ID(version + 1) = 0)";
+
+    private ActualizacionConValor() {
+    }
+
+    static Mono<Long> ejecutar(DatabaseClient databaseClient, String sql, Object... parametros) {
+        return ejecutar(databaseClient, null, sql, parametros);
+    }
+
+    /**
+     * Como {@link #ejecutar(DatabaseClient, String, Object...)} para una sentencia con
+     * {@link #CONDICION_VERSION}: sin filas afectadas y con un valor informado, la fila existe en otra
+     * versión y el resultado es el error de {@code versionNoCoincide}, sin una segunda consulta.
+     */
+    static Mono<Long> ejecutar(DatabaseClient databaseClient, Supplier<VersionNoCoincideException> versionNoCoincide,
+                               String sql, Object... parametros) {
+        return databaseClient.inConnection(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int i = 0; i < parametros.length; i++) {
+                statement.bind(i, parametros[i]);
+            }
+            return Flux.from(statement.returnGeneratedValues("valor").execute())
+                    .flatMap(result -> result.flatMap(segment -> {
+                        if (segment instanceof Result.UpdateCount updateCount && updateCount.value() == 0) {
+                            return versionNoCoincide != null && valor(segment) != 0
+                                    ? Mono.<Long>error(versionNoCoincide.get())
+                                    : Mono.<Long>empty();
+                        }
+                        if (segment instanceof Result.RowSegment rowSegment) {
+                            return Mono.justOrEmpty(rowSegment.row().get("valor", Long.class));
+                        }
+                        return Mono.<Long>empty();
+                    }))
+                    .next();
+        });
+    }
+
+    private static long valor(Result.Segment segment) {
+        if (segment instanceof Result.RowSegment rowSegment) {
+            Long valor = rowSegment.row().get("valor", Long.class);
+            return valor != null ? valor : 0;
+        }
+        return 0;
+    }
+}
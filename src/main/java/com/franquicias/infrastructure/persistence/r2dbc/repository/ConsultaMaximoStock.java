@@ -0,0 +1,71 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+/**
+ * Variantes SQL de la consulta de productos con máximo stock por franquicia. Todas devuelven las
+ * mismas filas (incluidos empates) con el mismo orden; se elige con
+ * {@code franquicias.consulta.maximo-stock.estrategia}.
+ */
+public enum ConsultaMaximoStock {
+
+    /**
+     * Lee el máximo de cada sucursal de la proyección {@code sucursal_maximo_stock} y solo visita
+     * los productos que lo alcanzan.
+     */
+    PROYECCION("""
+            SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock,
+                   s.id AS sucursal_id, s.nombre AS sucursal_nombre
+            FROM sucursal s
+            INNER JOIN sucursal_maximo_stock m ON m.sucursal_id = s.id
+            INNER JOIN producto p ON p.sucursal_id = s.id AND p.stock = m.max_stock
+            WHERE s.franquicia_id = :franquiciaId
+            ORDER BY s.id, p.stock DESC
+            """),
+
+    /**
+     * Función de ventana de MySQL 8: recorre el índice cubriente idx_producto_sucursal_stock
+     * (sucursal_id, stock, id, nombre) de cada sucursal sin tocar la tabla y conserva los empates gracias
+     * a {@code RANK()}.
+     */
+    VENTANA("""
+            SELECT producto_id, producto_nombre, stock, sucursal_id, sucursal_nombre
+            FROM (
+                SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock,
+                       s.id AS sucursal_id, s.nombre AS sucursal_nombre,
+                       RANK() OVER (PARTITION BY p.sucursal_id ORDER BY p.stock DESC) AS posicion
+                FROM sucursal s
+                INNER JOIN producto p ON p.sucursal_id = s.id
+                WHERE s.franquicia_id = :franquiciaId
+            ) ranking
+            WHERE posicion = 1
+            ORDER BY sucursal_id, stock DESC
+            """),
+
+    /**
+     * Consulta original con {@code MAX} agrupado sobre la subconsulta {@code IN}; se conserva como
+     * referencia para comparar planes y tiempos.
+     */
+    SUBCONSULTA("""
+            SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock,
+                   s.id AS sucursal_id, s.nombre AS sucursal_nombre
+            FROM producto p
+            INNER JOIN sucursal s ON p.sucursal_id = s.id
+            INNER JOIN (
+                SELECT sucursal_id, MAX(stock) AS max_stock
+                FROM producto
+                WHERE sucursal_id IN (SELECT id FROM sucursal WHERE franquicia_id = :franquiciaId)
+                GROUP BY sucursal_id
+            ) AS max_stocks ON p.sucursal_id = max_stocks.sucursal_id AND p.stock = max_stocks.max_stock
+            WHERE s.franquicia_id = :franquiciaId
+            ORDER BY s.id, p.stock DESC
+            """);
+
+    private final String sql;
+
+    ConsultaMaximoStock(String sql) {
+        this.sql = sql;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+}
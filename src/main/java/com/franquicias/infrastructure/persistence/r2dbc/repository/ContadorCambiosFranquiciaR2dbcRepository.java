@@ -0,0 +1,54 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Guarda el contador en la columna franquicia.cambios, de modo que todas las instancias de la API
+ * entregan la misma ETag. El incremento por sucursal resuelve la franquicia en el mismo UPDATE.
+ */
+@Repository
+@Profile("!memoria")
+public class ContadorCambiosFranquiciaR2dbcRepository implements ContadorCambiosFranquiciaRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ContadorCambiosFranquiciaR2dbcRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Long> obtener(Long franquiciaId) {
+        // Siempre en la primaria: desde una réplica atrasada, una petición posterior a una escritura
+        // recibiría la ETag anterior y el cliente conservaría como vigente el cuerpo sin el cambio
+        return databaseClient.sql("SELECT cambios FROM franquicia WHERE id = :franquiciaId")
+                .bind("franquiciaId", franquiciaId)
+                .map(row -> row.get("cambios", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> incrementar(Long franquiciaId) {
+        return databaseClient.sql("UPDATE franquicia SET cambios = cambios + 1 WHERE id = :franquiciaId")
+                .bind("franquiciaId", franquiciaId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> incrementarPorSucursal(Long sucursalId) {
+        return databaseClient.sql("""
+                UPDATE franquicia f JOIN sucursal s ON s.franquicia_id = f.id
+                SET f.cambios = f.cambios + 1
+                WHERE s.id = :sucursalId
+                """)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+}
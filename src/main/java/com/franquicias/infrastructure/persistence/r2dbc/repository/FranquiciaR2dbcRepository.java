@@ -1,9 +1,14 @@
 package com.franquicias.infrastructure.persistence.r2dbc.repository;
 
+import com.franquicias.common.exception.VersionNoCoincideException;
 import com.franquicias.domain.model.Franquicia;
 import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.infrastructure.cache.VerificadorExistenciaPorLotes;
 import com.franquicias.infrastructure.persistence.r2dbc.entity.FranquiciaEntity;
 import com.franquicias.infrastructure.persistence.r2dbc.mapper.FranquiciaMapper;
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.RutaConexion;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
@@ -15,15 +20,19 @@ interface FranquiciaSpringDataRepository extends R2dbcRepository<FranquiciaEntit
 }
 
 @Repository
+@Profile("!memoria")
 public class FranquiciaR2dbcRepository implements FranquiciaRepository {
     
     private final FranquiciaSpringDataRepository springDataRepository;
     private final DatabaseClient databaseClient;
+    private final VerificadorExistenciaPorLotes verificadorExistencia;
 
     public FranquiciaR2dbcRepository(FranquiciaSpringDataRepository springDataRepository,
-                                     DatabaseClient databaseClient) {
+                                     DatabaseClient databaseClient,
+                                     @Qualifier("verificadorExistenciaFranquicia") VerificadorExistenciaPorLotes verificadorExistencia) {
         this.springDataRepository = springDataRepository;
         this.databaseClient = databaseClient;
+        this.verificadorExistencia = verificadorExistencia;
     }
 
     @Override
@@ -34,34 +43,61 @@ public class FranquiciaR2dbcRepository implements FranquiciaRepository {
         if (entity.getId() == null) {
             entity.setCreatedAt(now);
             entity.setUpdatedAt(now);
+            entity.setVersion(0L);
             return springDataRepository.save(entity)
                     .map(FranquiciaMapper::toDomain);
         } else {
             entity.setUpdatedAt(now);
-            return databaseClient.sql("UPDATE franquicia SET nombre = :nombre, updated_at = :updatedAt WHERE id = :id")
-                    .bind("nombre", entity.getNombre())
-                    .bind("updatedAt", entity.getUpdatedAt())
-                    .bind("id", entity.getId())
-                    .fetch()
-                    .rowsUpdated()
-                    .then(findById(entity.getId()));
+            return actualizar(entity);
         }
     }
 
+    /**
+     * Un solo UPDATE que devuelve la versión siguiente en el paquete OK: la franquicia resultante se arma con
+     * lo escrito y solo se lee la fecha de creación, que no cambia, por clave primaria. Con versión el UPDATE
+     * es condicional: si no coincide el resultado es {@link VersionNoCoincideException}, y si la fila ya no
+     * existe es vacío.
+     */
+    private Mono<Franquicia> actualizar(FranquiciaEntity entity) {
+        Long version = entity.getVersion();
+        String sql = "UPDATE franquicia SET nombre = ?, updated_at = ?, version = LAST_INSERT_ID(version + 1) "
+                + "WHERE id = ?" + (version != null ? ActualizacionConValor.CONDICION_VERSION : "");
+        Object[] parametros = version != null
+                ? new Object[] {entity.getNombre(), entity.getUpdatedAt(), entity.getId(), version}
+                : new Object[] {entity.getNombre(), entity.getUpdatedAt(), entity.getId()};
+        return ActualizacionConValor.ejecutar(databaseClient,
+                        () -> VersionNoCoincideException.de("La franquicia", entity.getId()), sql, parametros)
+                .flatMap(nuevaVersion -> {
+                    entity.setVersion(nuevaVersion);
+                    return databaseClient.sql("SELECT created_at FROM franquicia WHERE id = :id")
+                            .bind("id", entity.getId())
+                            .map(row -> row.get("created_at", LocalDateTime.class))
+                            .one()
+                            .doOnNext(entity::setCreatedAt)
+                            .then(Mono.fromSupplier(() -> FranquiciaMapper.toDomain(entity)));
+                });
+    }
+
     @Override
     public Mono<Franquicia> findById(Long id) {
-        return springDataRepository.findById(id)
-                .map(FranquiciaMapper::toDomain);
+        return RutaConexion.lectura(springDataRepository.findById(id)
+                .map(FranquiciaMapper::toDomain));
     }
 
     @Override
     public Mono<Boolean> existsById(Long id) {
-        return springDataRepository.existsById(id);
+        return verificadorExistencia.existe(id);
     }
 
     @Override
     public Mono<Franquicia> update(Franquicia franquicia) {
         return save(franquicia);
     }
+
+    @Override
+    public Mono<Franquicia> renombrar(Long id, String nombre, Long versionEsperada) {
+        return actualizar(FranquiciaMapper.toEntity(
+                new Franquicia(id, nombre, null, LocalDateTime.now(), versionEsperada)));
+    }
 }
 
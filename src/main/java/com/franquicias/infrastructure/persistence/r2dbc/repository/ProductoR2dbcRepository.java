@@ -1,32 +1,75 @@
 package com.franquicias.infrastructure.persistence.r2dbc.repository;
 
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ModificacionStock;
 import com.franquicias.domain.model.Producto;
 import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
 import com.franquicias.domain.repository.ProductoRepository;
 import com.franquicias.infrastructure.persistence.r2dbc.entity.ProductoEntity;
 import com.franquicias.infrastructure.persistence.r2dbc.mapper.ProductoMapper;
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.RutaConexion;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 interface ProductoSpringDataRepository extends R2dbcRepository<ProductoEntity, Long> {
     Flux<ProductoEntity> findBySucursalId(Long sucursalId);
+
+    // Las dos búsquedas por clave recorren un índice cuyo orden coincide con el ORDER BY, así que el
+    // LIMIT corta la lectura: idx_producto_sucursal_id (sucursal_id + id implícito) e
+    // idx_producto_sucursal_stock (sucursal_id, stock, id, ...)
+    @Query("SELECT * FROM producto WHERE sucursal_id = :sucursalId AND id > :despuesDeId ORDER BY id LIMIT :limite")
+    Flux<ProductoEntity> findPaginaBySucursalId(Long sucursalId, Long despuesDeId, int limite);
+
+    @Query("""
+            SELECT * FROM producto
+            WHERE sucursal_id = :sucursalId
+              AND (stock > :despuesDeStock OR (stock = :despuesDeStock AND id > :despuesDeId))
+            ORDER BY stock, id
+            LIMIT :limite
+            """)
+    Flux<ProductoEntity> findPaginaBySucursalIdOrdenadaPorStock(Long sucursalId, int despuesDeStock,
+                                                                Long despuesDeId, int limite);
 }
 
 @Repository
+@Profile("!memoria")
 public class ProductoR2dbcRepository implements ProductoRepository {
+
+    private static final int TAMANO_LOTE_STOCK = 500;
     
     private final ProductoSpringDataRepository springDataRepository;
     private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ConsultaMaximoStock consultaMaximoStock;
+    private final int fetchSizeStreaming;
 
     public ProductoR2dbcRepository(ProductoSpringDataRepository springDataRepository,
-                                   DatabaseClient databaseClient) {
+                                   DatabaseClient databaseClient,
+                                   TransactionalOperator transactionalOperator,
+                                   @Value("${franquicias.consulta.maximo-stock.estrategia:proyeccion}")
+                                   ConsultaMaximoStock consultaMaximoStock,
+                                   @Value("${franquicias.streaming.fetch-size:256}") int fetchSizeStreaming) {
         this.springDataRepository = springDataRepository;
         this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.consultaMaximoStock = consultaMaximoStock;
+        this.fetchSizeStreaming = fetchSizeStreaming;
     }
 
     @Override
@@ -37,36 +80,67 @@ public class ProductoR2dbcRepository implements ProductoRepository {
         if (entity.getId() == null) {
             entity.setCreatedAt(now);
             entity.setUpdatedAt(now);
+            entity.setVersion(0L);
             return springDataRepository.save(entity)
                     .map(ProductoMapper::toDomain);
         } else {
             entity.setUpdatedAt(now);
-            return databaseClient.sql("UPDATE producto SET nombre = :nombre, stock = :stock, updated_at = :updatedAt WHERE id = :id")
-                    .bind("nombre", entity.getNombre())
-                    .bind("stock", entity.getStock())
-                    .bind("updatedAt", entity.getUpdatedAt())
-                    .bind("id", entity.getId())
-                    .fetch()
-                    .rowsUpdated()
-                    .then(findById(entity.getId()));
+            return actualizar(entity);
         }
     }
 
+    /**
+     * Un solo UPDATE que devuelve la versión siguiente en el paquete OK: el producto resultante se arma
+     * con lo escrito, sin volver a leerlo. Con versión el UPDATE es condicional: si no coincide el
+     * resultado es {@link VersionNoCoincideException}, y si la fila ya no existe es vacío.
+     */
+    private Mono<Producto> actualizar(ProductoEntity entity) {
+        Long version = entity.getVersion();
+        String sql = "UPDATE producto SET nombre = ?, stock = ?, updated_at = ?, version = LAST_INSERT_ID(version + 1) "
+                + "WHERE id = ?" + (version != null ? ActualizacionConValor.CONDICION_VERSION : "");
+        Object[] parametros = version != null
+                ? new Object[] {entity.getNombre(), entity.getStock(), entity.getUpdatedAt(), entity.getId(), version}
+                : new Object[] {entity.getNombre(), entity.getStock(), entity.getUpdatedAt(), entity.getId()};
+        return ActualizacionConValor.ejecutar(databaseClient, () -> versionNoCoincide(entity.getId()), sql, parametros)
+                .map(nuevaVersion -> {
+                    entity.setVersion(nuevaVersion);
+                    return ProductoMapper.toDomain(entity);
+                });
+    }
+
     @Override
     public Mono<Producto> findById(Long id) {
-        return springDataRepository.findById(id)
-                .map(ProductoMapper::toDomain);
+        return RutaConexion.lectura(springDataRepository.findById(id)
+                .map(ProductoMapper::toDomain));
     }
 
     @Override
     public Mono<Boolean> existsById(Long id) {
-        return springDataRepository.existsById(id);
+        return RutaConexion.lectura(springDataRepository.existsById(id));
     }
 
     @Override
     public Flux<Producto> findBySucursalId(Long sucursalId) {
-        return springDataRepository.findBySucursalId(sucursalId)
-                .map(ProductoMapper::toDomain);
+        return RutaConexion.lectura(springDataRepository.findBySucursalId(sucursalId)
+                .map(ProductoMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Producto> findPaginaBySucursalId(Long sucursalId, Long despuesDeId, int limite) {
+        return RutaConexion.lectura(springDataRepository.findPaginaBySucursalId(sucursalId,
+                        despuesDeId == null ? 0L : despuesDeId, limite)
+                .map(ProductoMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Producto> findPaginaBySucursalIdOrdenadaPorStock(Long sucursalId, Integer despuesDeStock,
+                                                                 Long despuesDeId, int limite) {
+        // Sin cursor se parte de antes de cualquier stock posible
+        Flux<ProductoEntity> pagina = despuesDeStock == null
+                ? springDataRepository.findPaginaBySucursalIdOrdenadaPorStock(sucursalId, Integer.MIN_VALUE, 0L, limite)
+                : springDataRepository.findPaginaBySucursalIdOrdenadaPorStock(sucursalId, despuesDeStock,
+                        despuesDeId == null ? 0L : despuesDeId, limite);
+        return RutaConexion.lectura(pagina.map(ProductoMapper::toDomain));
     }
 
     @Override
@@ -81,34 +155,270 @@ public class ProductoR2dbcRepository implements ProductoRepository {
     }
 
     @Override
-    public Flux<ProductoMaximoStock> findProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+    public Mono<Integer> ajustarStock(Long sucursalId, Long productoId, int delta) {
+        // LAST_INSERT_ID(expr) hace que el paquete OK del UPDATE traiga el stock resultante,
+        // evitando un SELECT posterior. Si no se afectan filas el resultado es vacío.
         String sql = """
-            SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock, 
-                   s.id AS sucursal_id, s.nombre AS sucursal_nombre
-            FROM producto p
-            INNER JOIN sucursal s ON p.sucursal_id = s.id
-            INNER JOIN (
-                SELECT sucursal_id, MAX(stock) AS max_stock
-                FROM producto
-                WHERE sucursal_id IN (SELECT id FROM sucursal WHERE franquicia_id = :franquiciaId)
-                GROUP BY sucursal_id
-            ) AS max_stocks ON p.sucursal_id = max_stocks.sucursal_id AND p.stock = max_stocks.max_stock
-            WHERE s.franquicia_id = :franquiciaId
-            ORDER BY s.id, p.stock DESC
+            UPDATE producto
+            SET stock = LAST_INSERT_ID(stock + ?), updated_at = ?, version = version + 1
+            WHERE id = ? AND sucursal_id = ? AND stock + ? >= 0
             """;
-        
-        return databaseClient.sql(sql)
-                .bind("franquiciaId", franquiciaId)
-                .map((row, metadata) -> {
-                    ProductoMaximoStock productoMaximoStock = new ProductoMaximoStock();
-                    productoMaximoStock.setProductoId(row.get("producto_id", Long.class));
-                    productoMaximoStock.setProductoNombre(row.get("producto_nombre", String.class));
-                    productoMaximoStock.setStock(row.get("stock", Integer.class));
-                    productoMaximoStock.setSucursalId(row.get("sucursal_id", Long.class));
-                    productoMaximoStock.setSucursalNombre(row.get("sucursal_nombre", String.class));
-                    return productoMaximoStock;
+        return ActualizacionConValor.ejecutar(databaseClient, sql, delta, LocalDateTime.now(), productoId, sucursalId, delta)
+                .map(Long::intValue);
+    }
+
+    /**
+     * El UPDATE solo toca el nombre; la condición final se evalúa sobre la fila antes de escribirla y
+     * devuelve en un único valor la versión siguiente (32 bits altos) y el stock (32 bits bajos), los
+     * dos datos que faltan para armar el producto. El stock nunca es negativo y la versión no llega a 2^31.
+     * La condición de versión va antes y, si no coincide, resuelve el 412 con la misma sentencia. La fecha
+     * de creación, que no cambia, se lee después por clave primaria.
+     */
+    @Override
+    public Mono<Producto> renombrar(Long sucursalId, Long productoId, String nombre, Long versionEsperada) {
+        LocalDateTime ahora = LocalDateTime.now();
+        String sql = "UPDATE producto SET nombre = ?, updated_at = ?, version = version + 1 "
+                + "WHERE id = ? AND sucursal_id = ?" + (versionEsperada != null ? ActualizacionConValor.CONDICION_VERSION : "")
+                + " AND LAST_INSERT_ID(((version + 1) << 32) | stock) > 0";
+        Object[] parametros = versionEsperada != null
+                ? new Object[] {nombre, ahora, productoId, sucursalId, versionEsperada}
+                : new Object[] {nombre, ahora, productoId, sucursalId};
+        return ActualizacionConValor.ejecutar(databaseClient, () -> versionNoCoincide(productoId), sql, parametros)
+                .flatMap(valor -> completar(new Producto(productoId, nombre, (int) (valor & 0xFFFFFFFFL), sucursalId,
+                        null, ahora, valor >>> 32), false));
+    }
+
+    /**
+     * Igual que {@link #renombrar}, la condición final se evalúa antes de escribir y devuelve la versión
+     * siguiente y el stock anterior. El nombre y la fecha de creación se leen después por clave primaria;
+     * el caso de uso ejecuta los dos pasos en una transacción, así que el nombre es el de la fila escrita.
+     */
+    @Override
+    public Mono<ModificacionStock> modificarStock(Long sucursalId, Long productoId, int stock, Long versionEsperada) {
+        LocalDateTime ahora = LocalDateTime.now();
+        String sql = "UPDATE producto SET stock = ?, updated_at = ?, version = version + 1 "
+                + "WHERE id = ? AND sucursal_id = ?" + (versionEsperada != null ? ActualizacionConValor.CONDICION_VERSION : "")
+                + " AND LAST_INSERT_ID(((version + 1) << 32) | stock) > 0";
+        Object[] parametros = versionEsperada != null
+                ? new Object[] {stock, ahora, productoId, sucursalId, versionEsperada}
+                : new Object[] {stock, ahora, productoId, sucursalId};
+        return ActualizacionConValor.ejecutar(databaseClient, () -> versionNoCoincide(productoId), sql, parametros)
+                .flatMap(valor -> {
+                    Producto producto = new Producto(productoId, null, stock, sucursalId, null, ahora, valor >>> 32);
+                    return completar(producto, true)
+                            .map(completo -> new ModificacionStock(completo, (int) (valor & 0xFFFFFFFFL)));
+                });
+    }
+
+    // Lee de la primaria: la fila se acaba de escribir y la réplica puede no tenerla aún
+    private Mono<Producto> completar(Producto producto, boolean conNombre) {
+        return databaseClient.sql("SELECT nombre, created_at FROM producto WHERE id = :id")
+                .bind("id", producto.getId())
+                .map(row -> {
+                    if (conNombre) {
+                        producto.setNombre(row.get("nombre", String.class));
+                    }
+                    producto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+                    return producto;
                 })
+                .one()
+                .defaultIfEmpty(producto);
+    }
+
+    @Override
+    public Mono<Boolean> eliminar(Long sucursalId, Long productoId) {
+        return databaseClient.sql("DELETE FROM producto WHERE id = :id AND sucursal_id = :sucursalId")
+                .bind("id", productoId)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .map(filas -> filas > 0);
+    }
+
+    @Override
+    public Mono<Long> insertarIgnorandoDuplicados(List<Producto> productos) {
+        if (productos.isEmpty()) {
+            return Mono.just(0L);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // INSERT IGNORE descarta las filas que chocan con uk_producto_sucursal_nombre;
+        // rowsUpdated devuelve solo las realmente insertadas
+        StringBuilder sql = new StringBuilder(
+                "INSERT IGNORE INTO producto (nombre, stock, sucursal_id, created_at, updated_at) VALUES ");
+        for (int i = 0; i < productos.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:nombre").append(i)
+                    .append(", :stock").append(i)
+                    .append(", :sucursalId").append(i)
+                    .append(", :now, :now)");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("now", now);
+        for (int i = 0; i < productos.size(); i++) {
+            Producto producto = productos.get(i);
+            spec = spec.bind("nombre" + i, producto.getNombre())
+                    .bind("stock" + i, producto.getStock())
+                    .bind("sucursalId" + i, producto.getSucursalId());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    @Override
+    public Flux<ResultadoActualizacionStock> actualizarStockMasivo(Long sucursalId,
+                                                                   List<ActualizacionStock> actualizaciones) {
+        LocalDateTime now = LocalDateTime.now();
+        // Cada lote cuesta dos sentencias (bloqueo de filas existentes + UPDATE con CASE),
+        // todo dentro de una única transacción
+        return Flux.fromIterable(actualizaciones)
+                .buffer(TAMANO_LOTE_STOCK)
+                .concatMap(lote -> actualizarLoteStock(sucursalId, lote, now))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<ResultadoActualizacionStock> actualizarLoteStock(Long sucursalId,
+                                                                  List<ActualizacionStock> lote,
+                                                                  LocalDateTime now) {
+        List<Long> ids = lote.stream().map(ActualizacionStock::getProductoId).toList();
+
+        // El bloqueo devuelve también el stock anterior, que el resultado lleva para aplicar diferencias
+        return databaseClient.sql("SELECT id, stock FROM producto WHERE sucursal_id = :sucursalId AND id IN (:ids) FOR UPDATE")
+                .bind("sucursalId", sucursalId)
+                .bind("ids", ids)
+                .map((row, metadata) -> Map.entry(row.get("id", Long.class), row.get("stock", Integer.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapMany(existentes -> {
+                    List<ActualizacionStock> aplicables = lote.stream()
+                            .filter(actualizacion -> existentes.containsKey(actualizacion.getProductoId()))
+                            .toList();
+                    return ejecutarUpdateStock(sucursalId, aplicables, now)
+                            .thenMany(Flux.fromIterable(lote)
+                                    .map(actualizacion -> toResultado(actualizacion, existentes)));
+                });
+    }
+
+    private Mono<Long> ejecutarUpdateStock(Long sucursalId, List<ActualizacionStock> aplicables, LocalDateTime now) {
+        if (aplicables.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE producto SET stock = CASE id");
+        for (int i = 0; i < aplicables.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN :stock").append(i);
+        }
+        sql.append(" END, updated_at = :updatedAt, version = version + 1 WHERE sucursal_id = :sucursalId AND id IN (:ids)");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("updatedAt", now)
+                .bind("sucursalId", sucursalId)
+                .bind("ids", aplicables.stream().map(ActualizacionStock::getProductoId).toList());
+        for (int i = 0; i < aplicables.size(); i++) {
+            spec = spec.bind("id" + i, aplicables.get(i).getProductoId())
+                    .bind("stock" + i, aplicables.get(i).getStock());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static ResultadoActualizacionStock toResultado(ActualizacionStock actualizacion,
+                                                           Map<Long, Integer> existentes) {
+        Integer stockAnterior = existentes.get(actualizacion.getProductoId());
+        return stockAnterior != null
+                ? ResultadoActualizacionStock.actualizado(actualizacion.getProductoId(), stockAnterior,
+                        actualizacion.getStock())
+                : ResultadoActualizacionStock.noEncontrado(actualizacion.getProductoId(), actualizacion.getStock());
+    }
+
+    /**
+     * Se lee de la primaria, igual que el contador de cambios que da la ETag: el resultado se guarda en
+     * la caché hasta su TTL, y leído de una réplica atrasada justo después de la invalidación que sigue
+     * a una escritura quedaría guardado como vigente sin ese cambio, y con una ETag más nueva que él.
+     */
+    @Override
+    public Flux<ProductoMaximoStock> findProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        return databaseClient.sql(consultaMaximoStock.getSql())
+                .bind("franquiciaId", franquiciaId)
+                .map(ProductoR2dbcRepository::toProductoMaximoStock)
                 .all();
     }
-}
 
+    @Override
+    public Flux<ProductoMaximoStock> streamProductosMaximoStockByFranquiciaId(Long franquiciaId) {
+        // Con fetchSize el driver abre un cursor en el servidor y pide las filas por tandas a medida
+        // que el suscriptor las solicita, en lugar de recibir el resultado completo de una vez. Va a la
+        // primaria por el mismo motivo que la variante sin cursor: la ETag se lee de ella
+        return databaseClient.sql(consultaMaximoStock.getSql())
+                .bind("franquiciaId", franquiciaId)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSizeStreaming)))
+                .map(ProductoR2dbcRepository::toProductoMaximoStock)
+                .all();
+    }
+
+    /**
+     * ROW_NUMBER() numera los productos de cada sucursal en el orden del índice (sucursal_id, stock, id),
+     * recorrido hacia delante o hacia atrás según el extremo, y se quedan los {@code k} primeros. Las
+     * filas se leen con cursor para que el consumidor pueda ir combinando sucursales según llegan.
+     */
+    @Override
+    public Flux<ProductoMaximoStock> findRankingStockBySucursal(Long franquiciaId, ExtremoStock extremo, int k) {
+        String orden = extremo == ExtremoStock.MAYOR ? "p.stock DESC, p.id DESC" : "p.stock, p.id";
+        return RutaConexion.lectura(databaseClient.sql("""
+                        SELECT producto_id, producto_nombre, stock, sucursal_id, sucursal_nombre
+                        FROM (
+                            SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock,
+                                   s.id AS sucursal_id, s.nombre AS sucursal_nombre,
+                                   ROW_NUMBER() OVER (PARTITION BY p.sucursal_id ORDER BY %s) AS posicion
+                            FROM sucursal s
+                            INNER JOIN producto p ON p.sucursal_id = s.id
+                            WHERE s.franquicia_id = :franquiciaId
+                        ) ranking
+                        WHERE posicion <= :k
+                        ORDER BY sucursal_id, posicion
+                        """.formatted(orden))
+                .bind("franquiciaId", franquiciaId)
+                .bind("k", k)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSizeStreaming)))
+                .map(ProductoR2dbcRepository::toProductoMaximoStock)
+                .all());
+    }
+
+    /**
+     * Por cada sucursal de la franquicia recorre el rango {@code stock < umbral} de
+     * idx_producto_sucursal_stock (sucursal_id, stock, id, nombre), que además cubre las columnas del
+     * producto, y lo devuelve ya en el orden del índice sin ordenar el resultado.
+     */
+    @Override
+    public Flux<ProductoMaximoStock> findStockBajoByFranquiciaId(Long franquiciaId, int umbral) {
+        return RutaConexion.lectura(databaseClient.sql("""
+                        SELECT p.id AS producto_id, p.nombre AS producto_nombre, p.stock,
+                               s.id AS sucursal_id, s.nombre AS sucursal_nombre
+                        FROM sucursal s
+                        INNER JOIN producto p
+                            ON p.sucursal_id = s.id AND p.stock < :umbral
+                        WHERE s.franquicia_id = :franquiciaId
+                        ORDER BY s.id, p.stock, p.id
+                        """)
+                .bind("franquiciaId", franquiciaId)
+                .bind("umbral", umbral)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSizeStreaming)))
+                .map(ProductoR2dbcRepository::toProductoMaximoStock)
+                .all());
+    }
+
+    private static ProductoMaximoStock toProductoMaximoStock(Row row, RowMetadata metadata) {
+        ProductoMaximoStock productoMaximoStock = new ProductoMaximoStock();
+        productoMaximoStock.setProductoId(row.get("producto_id", Long.class));
+        productoMaximoStock.setProductoNombre(row.get("producto_nombre", String.class));
+        productoMaximoStock.setStock(row.get("stock", Integer.class));
+        productoMaximoStock.setSucursalId(row.get("sucursal_id", Long.class));
+        productoMaximoStock.setSucursalNombre(row.get("sucursal_nombre", String.class));
+        return productoMaximoStock;
+    }
+
+    private static VersionNoCoincideException versionNoCoincide(Long productoId) {
+        return VersionNoCoincideException.de("El producto", productoId);
+    }
+}
@@ -0,0 +1,109 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Mantiene la tabla sucursal_maximo_stock, que guarda el stock máximo vigente de cada sucursal.
+ * Los incrementos se resuelven con GREATEST sin leer producto; solo las bajas de stock y las
+ * eliminaciones recalculan el máximo de la sucursal afectada. La reconciliación periódica corrige
+ * las sucursales que una escritura por lotes interrumpida haya dejado sin recalcular.
+ */
+@Repository
+@Profile("!memoria")
+public class ProyeccionMaximoStockR2dbcRepository implements ProyeccionMaximoStockRepository {
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int fetchSizeStreaming;
+
+    public ProyeccionMaximoStockR2dbcRepository(DatabaseClient databaseClient,
+                                                TransactionalOperator transactionalOperator,
+                                                @Value("${franquicias.streaming.fetch-size:256}") int fetchSizeStreaming) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.fetchSizeStreaming = fetchSizeStreaming;
+    }
+
+    @Override
+    public Mono<Void> registrarStock(Long sucursalId, Integer stock) {
+        return databaseClient.sql("""
+                INSERT INTO sucursal_maximo_stock (sucursal_id, max_stock) VALUES (:sucursalId, :stock)
+                ON DUPLICATE KEY UPDATE max_stock = GREATEST(COALESCE(max_stock, VALUES(max_stock)), VALUES(max_stock))
+                """)
+                .bind("sucursalId", sucursalId)
+                .bind("stock", stock)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Bloquea la fila de la proyección y después lee el máximo con una lectura consistente, que no
+     * bloquea productos. Dentro de la transacción de una escritura, una subconsulta con bloqueos
+     * compartidos sobre los productos de la sucursal se cruzaría con otra escritura de la misma
+     * sucursal que espera a los contadores de inventario, y una de las dos acabaría en deadlock. Un
+     * registrarStock concurrente espera a la fila bloqueada y se aplica después, así que no se pierde.
+     */
+    @Override
+    public Mono<Void> recalcular(Long sucursalId) {
+        return databaseClient.sql("""
+                        INSERT INTO sucursal_maximo_stock (sucursal_id, max_stock) VALUES (:sucursalId, NULL)
+                        ON DUPLICATE KEY UPDATE max_stock = max_stock
+                        """)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql("SELECT MAX(stock) AS max_stock FROM producto WHERE sucursal_id = :sucursalId")
+                        .bind("sucursalId", sucursalId)
+                        .map(row -> Optional.ofNullable(row.get("max_stock", Integer.class)))
+                        .one())
+                .flatMap(maximo -> {
+                    DatabaseClient.GenericExecuteSpec actualizacion = databaseClient
+                            .sql("UPDATE sucursal_maximo_stock SET max_stock = :maximo WHERE sucursal_id = :sucursalId")
+                            .bind("sucursalId", sucursalId);
+                    return (maximo.isPresent()
+                            ? actualizacion.bind("maximo", maximo.get())
+                            : actualizacion.bindNull("maximo", Integer.class))
+                            .fetch()
+                            .rowsUpdated();
+                })
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Detecta las desviaciones con una sola consulta sin bloqueos y recalcula cada una con
+     * {@link #recalcular}, que vuelve a leer el máximo con la fila bloqueada: una escritura que estaba
+     * en curso al comparar no deja un valor antiguo.
+     */
+    @Override
+    public Flux<DesviacionMaximoStock> reconciliar() {
+        return databaseClient.sql("""
+                        SELECT s.id AS sucursal_id, m.max_stock AS registrado,
+                               (SELECT MAX(p.stock) FROM producto p WHERE p.sucursal_id = s.id) AS maximo_real
+                        FROM sucursal s
+                        LEFT JOIN sucursal_maximo_stock m ON m.sucursal_id = s.id
+                        """)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSizeStreaming)))
+                .map((row, metadata) -> new DesviacionMaximoStock(
+                        row.get("sucursal_id", Long.class),
+                        row.get("registrado", Integer.class),
+                        row.get("maximo_real", Integer.class)))
+                .all()
+                .filter(desviacion -> !Objects.equals(desviacion.getRegistrado(), desviacion.getReal()))
+                .collectList()
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(desviacion -> recalcular(desviacion.getSucursalId()).thenReturn(desviacion));
+    }
+}
@@ -0,0 +1,203 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.RutaConexion;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mantiene la tabla sucursal_inventario con deltas: cada escritura de producto suma o resta su parte
+ * sin recorrer la sucursal. Las escrituras por lotes, que no conocen el stock anterior de cada fila,
+ * recuentan la sucursal completa.
+ */
+@Repository
+@Profile("!memoria")
+public class ResumenInventarioR2dbcRepository implements ResumenInventarioRepository {
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int fetchSizeStreaming;
+
+    public ResumenInventarioR2dbcRepository(DatabaseClient databaseClient,
+                                            TransactionalOperator transactionalOperator,
+                                            @Value("${franquicias.streaming.fetch-size:256}") int fetchSizeStreaming) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.fetchSizeStreaming = fetchSizeStreaming;
+    }
+
+    @Override
+    public Mono<Void> registrarAlta(Long sucursalId, int stock) {
+        return databaseClient.sql("""
+                INSERT INTO sucursal_inventario (sucursal_id, productos, stock_total, productos_sin_stock)
+                VALUES (:sucursalId, 1, :stock, :sinStock)
+                ON DUPLICATE KEY UPDATE productos = productos + 1,
+                    stock_total = stock_total + VALUES(stock_total),
+                    productos_sin_stock = productos_sin_stock + VALUES(productos_sin_stock)
+                """)
+                .bind("sucursalId", sucursalId)
+                .bind("stock", stock)
+                .bind("sinStock", stock == 0 ? 1 : 0)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> registrarCambioStock(Long sucursalId, int stockAnterior, int stockNuevo) {
+        if (stockAnterior == stockNuevo) {
+            return Mono.empty();
+        }
+        return registrarDiferencias(sucursalId, (long) stockNuevo - stockAnterior,
+                (stockNuevo == 0 ? 1 : 0) - (stockAnterior == 0 ? 1 : 0));
+    }
+
+    @Override
+    public Mono<Void> registrarDiferencias(Long sucursalId, long diferenciaStock, int diferenciaSinStock) {
+        if (diferenciaStock == 0 && diferenciaSinStock == 0) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("""
+                UPDATE sucursal_inventario
+                SET stock_total = stock_total + :delta, productos_sin_stock = productos_sin_stock + :sinStock
+                WHERE sucursal_id = :sucursalId
+                """)
+                .bind("delta", diferenciaStock)
+                .bind("sinStock", diferenciaSinStock)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> registrarBaja(Long sucursalId, Long productoId) {
+        // El JOIN lee el stock del producto y bloquea su fila, de modo que el DELETE que sigue en la
+        // transacción borra exactamente lo que se descontó
+        return databaseClient.sql("""
+                UPDATE sucursal_inventario i JOIN producto p ON p.sucursal_id = i.sucursal_id
+                SET i.productos = i.productos - 1,
+                    i.stock_total = i.stock_total - p.stock,
+                    i.productos_sin_stock = i.productos_sin_stock - (p.stock = 0)
+                WHERE p.id = :productoId AND p.sucursal_id = :sucursalId
+                """)
+                .bind("productoId", productoId)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> recalcular(Long sucursalId) {
+        // INSERT ... SELECT lee los productos con bloqueo, así que el recuento no se mezcla con un delta
+        // que aún no se confirmó
+        return databaseClient.sql("""
+                INSERT INTO sucursal_inventario (sucursal_id, productos, stock_total, productos_sin_stock)
+                SELECT :sucursalId, COUNT(*), COALESCE(SUM(stock), 0), COALESCE(SUM(stock = 0), 0)
+                FROM producto WHERE sucursal_id = :sucursalId
+                ON DUPLICATE KEY UPDATE productos = VALUES(productos),
+                    stock_total = VALUES(stock_total),
+                    productos_sin_stock = VALUES(productos_sin_stock)
+                """)
+                .bind("sucursalId", sucursalId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Flux<ResumenInventarioSucursal> findByFranquiciaId(Long franquiciaId) {
+        return RutaConexion.lectura(databaseClient.sql("""
+                SELECT s.id AS sucursal_id, s.nombre AS sucursal_nombre,
+                       COALESCE(i.productos, 0) AS productos,
+                       COALESCE(i.stock_total, 0) AS stock_total,
+                       COALESCE(i.productos_sin_stock, 0) AS productos_sin_stock
+                FROM sucursal s
+                LEFT JOIN sucursal_inventario i ON i.sucursal_id = s.id
+                WHERE s.franquicia_id = :franquiciaId
+                ORDER BY s.id
+                """)
+                .bind("franquiciaId", franquiciaId)
+                .map(ResumenInventarioR2dbcRepository::toResumen)
+                .all());
+    }
+
+    /**
+     * Lee los contadores y recorre todos los productos dentro de una misma transacción, de modo que
+     * ambos ven la misma instantánea y una escritura concurrente no aparece como desviación. Los
+     * productos llegan por tandas con un cursor y solo se acumula un total por sucursal. Cada sucursal
+     * desviada se corrige después con {@link #recalcular}, que recuenta sobre los datos vigentes.
+     */
+    @Override
+    public Flux<DesviacionResumenInventario> reconciliar() {
+        Mono<List<DesviacionResumenInventario>> comparacion = databaseClient.sql("""
+                        SELECT sucursal_id, NULL AS sucursal_nombre, productos, stock_total, productos_sin_stock
+                        FROM sucursal_inventario
+                        """)
+                .map(ResumenInventarioR2dbcRepository::toResumen)
+                .all()
+                .collectMap(ResumenInventarioSucursal::getSucursalId)
+                .flatMap(registrados -> databaseClient.sql("SELECT sucursal_id, stock FROM producto")
+                        .filter((statement, next) -> next.execute(statement.fetchSize(fetchSizeStreaming)))
+                        .map((row, metadata) -> new long[] {row.get("sucursal_id", Long.class),
+                                row.get("stock", Integer.class)})
+                        .all()
+                        .collect(HashMap<Long, ResumenInventarioSucursal>::new, (reales, fila) -> {
+                            ResumenInventarioSucursal real = reales.computeIfAbsent(fila[0],
+                                    sucursalId -> new ResumenInventarioSucursal(sucursalId, null, 0, 0, 0));
+                            real.setProductos(real.getProductos() + 1);
+                            real.setStockTotal(real.getStockTotal() + fila[1]);
+                            if (fila[1] == 0) {
+                                real.setProductosSinStock(real.getProductosSinStock() + 1);
+                            }
+                        })
+                        .map(reales -> desviaciones(registrados, reales)))
+                .as(transactionalOperator::transactional);
+
+        return comparacion.flatMapMany(Flux::fromIterable)
+                .concatMap(desviacion -> recalcular(desviacion.getSucursalId()).thenReturn(desviacion));
+    }
+
+    private static List<DesviacionResumenInventario> desviaciones(Map<Long, ResumenInventarioSucursal> registrados,
+                                                                  Map<Long, ResumenInventarioSucursal> reales) {
+        Set<Long> sucursales = new HashSet<>(registrados.keySet());
+        sucursales.addAll(reales.keySet());
+        List<DesviacionResumenInventario> desviaciones = new ArrayList<>();
+        for (Long sucursalId : sucursales) {
+            ResumenInventarioSucursal registrado = registrados.getOrDefault(sucursalId,
+                    new ResumenInventarioSucursal(sucursalId, null, 0, 0, 0));
+            ResumenInventarioSucursal real = reales.getOrDefault(sucursalId,
+                    new ResumenInventarioSucursal(sucursalId, null, 0, 0, 0));
+            if (!registrado.mismosContadores(real)) {
+                desviaciones.add(new DesviacionResumenInventario(registrado, real));
+            }
+        }
+        return desviaciones;
+    }
+
+    private static ResumenInventarioSucursal toResumen(Row row, RowMetadata metadata) {
+        return new ResumenInventarioSucursal(
+                row.get("sucursal_id", Long.class),
+                row.get("sucursal_nombre", String.class),
+                row.get("productos", Long.class),
+                row.get("stock_total", Long.class),
+                row.get("productos_sin_stock", Long.class));
+    }
+}
@@ -1,9 +1,14 @@
 package com.franquicias.infrastructure.persistence.r2dbc.repository;
 
+import com.franquicias.common.exception.VersionNoCoincideException;
 import com.franquicias.domain.model.Sucursal;
 import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.infrastructure.cache.VerificadorExistenciaPorLotes;
 import com.franquicias.infrastructure.persistence.r2dbc.entity.SucursalEntity;
 import com.franquicias.infrastructure.persistence.r2dbc.mapper.SucursalMapper;
+import com.franquicias.infrastructure.persistence.r2dbc.enrutamiento.RutaConexion;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -12,21 +17,32 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 interface SucursalSpringDataRepository extends R2dbcRepository<SucursalEntity, Long> {
     Flux<SucursalEntity> findByFranquiciaId(Long franquiciaId);
+
+    // Búsqueda por clave sobre idx_sucursal_franquicia_id (franquicia_id + id implícito): cada página
+    // cuesta lo mismo sin importar cuántas haya antes
+    @Query("SELECT * FROM sucursal WHERE franquicia_id = :franquiciaId AND id > :despuesDeId ORDER BY id LIMIT :limite")
+    Flux<SucursalEntity> findPaginaByFranquiciaId(Long franquiciaId, Long despuesDeId, int limite);
 }
 
 @Repository
+@Profile("!memoria")
 public class SucursalR2dbcRepository implements SucursalRepository {
     
     private final SucursalSpringDataRepository springDataRepository;
     private final DatabaseClient databaseClient;
+    private final VerificadorExistenciaPorLotes verificadorExistencia;
 
     public SucursalR2dbcRepository(SucursalSpringDataRepository springDataRepository,
-                                    DatabaseClient databaseClient) {
+                                   DatabaseClient databaseClient,
+                                   @Qualifier("verificadorExistenciaSucursal") VerificadorExistenciaPorLotes verificadorExistencia) {
         this.springDataRepository = springDataRepository;
         this.databaseClient = databaseClient;
+        this.verificadorExistencia = verificadorExistencia;
     }
 
     @Override
@@ -37,40 +53,79 @@ public class SucursalR2dbcRepository implements SucursalRepository {
         if (entity.getId() == null) {
             entity.setCreatedAt(now);
             entity.setUpdatedAt(now);
+            entity.setVersion(0L);
             return springDataRepository.save(entity)
                     .map(SucursalMapper::toDomain);
         } else {
             entity.setUpdatedAt(now);
-            return databaseClient.sql("UPDATE sucursal SET nombre = :nombre, updated_at = :updatedAt WHERE id = :id")
-                    .bind("nombre", entity.getNombre())
-                    .bind("updatedAt", entity.getUpdatedAt())
-                    .bind("id", entity.getId())
-                    .fetch()
-                    .rowsUpdated()
-                    .then(findById(entity.getId()));
+            return actualizar(entity);
+        }
+    }
+
+    /**
+     * Un solo UPDATE que devuelve la versión siguiente en el paquete OK: la sucursal resultante se arma con
+     * lo escrito y solo se lee la fecha de creación, que no cambia, por clave primaria. Con franquicia solo
+     * se modifica si la sucursal le pertenece, y si no (o si ya no existe) el resultado es vacío. Con versión
+     * solo se modifica si coincide; si no, el resultado es {@link VersionNoCoincideException}.
+     */
+    private Mono<Sucursal> actualizar(SucursalEntity entity) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE sucursal SET nombre = ?, updated_at = ?, version = LAST_INSERT_ID(version + 1) WHERE id = ?");
+        List<Object> parametros = new ArrayList<>(List.of(entity.getNombre(), entity.getUpdatedAt(), entity.getId()));
+        if (entity.getFranquiciaId() != null) {
+            sql.append(" AND franquicia_id = ?");
+            parametros.add(entity.getFranquiciaId());
+        }
+        if (entity.getVersion() != null) {
+            sql.append(ActualizacionConValor.CONDICION_VERSION);
+            parametros.add(entity.getVersion());
         }
+        return ActualizacionConValor.ejecutar(databaseClient,
+                        () -> VersionNoCoincideException.de("La sucursal", entity.getId()), sql.toString(), parametros.toArray())
+                .flatMap(nuevaVersion -> {
+                    entity.setVersion(nuevaVersion);
+                    return databaseClient.sql("SELECT created_at FROM sucursal WHERE id = :id")
+                            .bind("id", entity.getId())
+                            .map(row -> row.get("created_at", LocalDateTime.class))
+                            .one()
+                            .doOnNext(entity::setCreatedAt)
+                            .then(Mono.fromSupplier(() -> SucursalMapper.toDomain(entity)));
+                });
     }
 
     @Override
     public Mono<Sucursal> findById(Long id) {
-        return springDataRepository.findById(id)
-                .map(SucursalMapper::toDomain);
+        return RutaConexion.lectura(springDataRepository.findById(id)
+                .map(SucursalMapper::toDomain));
     }
 
     @Override
     public Mono<Boolean> existsById(Long id) {
-        return springDataRepository.existsById(id);
+        return verificadorExistencia.existe(id);
     }
 
     @Override
     public Flux<Sucursal> findByFranquiciaId(Long franquiciaId) {
-        return springDataRepository.findByFranquiciaId(franquiciaId)
-                .map(SucursalMapper::toDomain);
+        return RutaConexion.lectura(springDataRepository.findByFranquiciaId(franquiciaId)
+                .map(SucursalMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Sucursal> findPaginaByFranquiciaId(Long franquiciaId, Long despuesDeId, int limite) {
+        return RutaConexion.lectura(springDataRepository.findPaginaByFranquiciaId(franquiciaId,
+                        despuesDeId == null ? 0L : despuesDeId, limite)
+                .map(SucursalMapper::toDomain));
     }
 
     @Override
     public Mono<Sucursal> update(Sucursal sucursal) {
         return save(sucursal);
     }
+
+    @Override
+    public Mono<Sucursal> renombrar(Long franquiciaId, Long sucursalId, String nombre, Long versionEsperada) {
+        return actualizar(SucursalMapper.toEntity(
+                new Sucursal(sucursalId, nombre, franquiciaId, null, LocalDateTime.now(), versionEsperada)));
+    }
 }
 
@@ -0,0 +1,27 @@
+package com.franquicias.infrastructure.persistence.r2dbc.transaccion;
+
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Abre una transacción R2DBC por operación: las sentencias de la operación comparten conexión y se
+ * confirman al completar, o se deshacen si termina con error.
+ */
+@Component
+@Profile("!memoria")
+public class EjecutorTransaccionalR2dbc implements EjecutorTransaccional {
+
+    private final TransactionalOperator transactionalOperator;
+
+    public EjecutorTransaccionalR2dbc(TransactionalOperator transactionalOperator) {
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public <T> Mono<T> ejecutar(Mono<T> operacion) {
+        return operacion.as(transactionalOperator::transactional);
+    }
+}
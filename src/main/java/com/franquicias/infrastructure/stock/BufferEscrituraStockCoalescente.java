@@ -0,0 +1,346 @@
+package com.franquicias.infrastructure.stock;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guarda solo el último stock recibido por producto y lo escribe cada {@code ventana} con el UPDATE
+ * por lotes de {@link ProductoRepository#actualizarStockMasivo}, una sentencia por sucursal. Los
+ * vaciados (periódicos, por tamaño o solicitados) se procesan de uno en uno, así que un valor nunca
+ * se escribe después de otro más reciente del mismo producto. La proyección de máximo stock y los
+ * eventos se actualizan cuando el valor ya está guardado, así que hasta entonces las consultas agregadas
+ * devuelven el stock anterior. Los contadores de inventario y la proyección se actualizan con las diferencias
+ * entre el stock anterior y el escrito, en la misma transacción que el UPDATE por lotes, junto con el
+ * contador de cambios de la franquicia; el recuento completo queda para la reconciliación periódica.
+ */
+public class BufferEscrituraStockCoalescente implements BufferEscrituraStock {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferEscrituraStockCoalescente.class);
+
+    private static final Duration ESPERA_EMISION = Duration.ofMillis(100);
+    private static final Duration MAXIMO_ESPERADO = Duration.ofSeconds(10);
+
+    private final ProductoRepository productoRepository;
+    private final ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+    private final ResumenInventarioRepository resumenInventarioRepository;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+    private final CambioInventarioPublisher cambioInventarioPublisher;
+    private final int maximoPendientes;
+    private final Duration esperaCierre;
+
+    private final Map<Long, Pendiente> pendientes = new ConcurrentHashMap<>();
+    private final Map<Long, Pendiente> enEscritura = new ConcurrentHashMap<>();
+    private final AtomicBoolean vaciadoPorTamanoSolicitado = new AtomicBoolean();
+    private final Sinks.Many<Vaciado> solicitudes = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable procesamiento;
+    private volatile boolean cerrado;
+
+    private final Counter recibidas;
+    private final Counter escritas;
+    private final Counter fallidas;
+    private final Timer retraso;
+    private final Timer duracionVaciado;
+
+    public BufferEscrituraStockCoalescente(ProductoRepository productoRepository,
+                                           ProyeccionMaximoStockRepository proyeccionMaximoStockRepository,
+                                           ResumenInventarioRepository resumenInventarioRepository,
+                                           EjecutorTransaccional ejecutorTransaccional,
+                                           ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository,
+                                           CambioInventarioPublisher cambioInventarioPublisher,
+                                           Duration ventana, int maximoPendientes, Duration esperaCierre,
+                                           MeterRegistry meterRegistry) {
+        this.productoRepository = productoRepository;
+        this.proyeccionMaximoStockRepository = proyeccionMaximoStockRepository;
+        this.resumenInventarioRepository = resumenInventarioRepository;
+        this.ejecutorTransaccional = ejecutorTransaccional;
+        this.contadorCambiosFranquiciaRepository = contadorCambiosFranquiciaRepository;
+        this.cambioInventarioPublisher = cambioInventarioPublisher;
+        this.maximoPendientes = maximoPendientes;
+        this.esperaCierre = esperaCierre;
+
+        this.recibidas = Counter.builder("franquicias.stock.diferido.recibidas")
+                .description("Modificaciones de stock aceptadas por el buffer de escritura diferida")
+                .register(meterRegistry);
+        this.escritas = Counter.builder("franquicias.stock.diferido.escritas")
+                .description("Filas de producto escritas al vaciar el buffer")
+                .register(meterRegistry);
+        this.fallidas = Counter.builder("franquicias.stock.diferido.fallidas")
+                .description("Filas devueltas al buffer porque su escritura falló")
+                .register(meterRegistry);
+        this.retraso = Timer.builder("franquicias.stock.diferido.retraso")
+                .description("Tiempo desde que un producto entra al buffer hasta que su stock queda guardado")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAXIMO_ESPERADO)
+                .register(meterRegistry);
+        this.duracionVaciado = Timer.builder("franquicias.stock.diferido.vaciado")
+                .description("Duración de cada vaciado del buffer")
+                .register(meterRegistry);
+        Gauge.builder("franquicias.stock.diferido.pendientes", pendientes, Map::size)
+                .description("Productos con stock pendiente de escribir")
+                .register(meterRegistry);
+        Gauge.builder("franquicias.stock.diferido.coalescencia", this,
+                        buffer -> buffer.escritas.count() == 0 ? 0 : buffer.recibidas.count() / buffer.escritas.count())
+                .description("Modificaciones recibidas por cada fila escrita desde el arranque")
+                .register(meterRegistry);
+
+        this.procesamiento = Flux.merge(
+                        Flux.interval(ventana).onBackpressureDrop().map(tick -> Vaciado.todo()),
+                        solicitudes.asFlux())
+                .concatMap(this::procesar)
+                .subscribe();
+    }
+
+    @Override
+    public boolean habilitado() {
+        return true;
+    }
+
+    @Override
+    public Mono<Producto> pendiente(Long productoId) {
+        return Mono.fromSupplier(() -> {
+            Pendiente pendiente = pendientes.get(productoId);
+            if (pendiente == null) {
+                pendiente = enEscritura.get(productoId);
+            }
+            return pendiente == null ? null : copia(pendiente.producto);
+        });
+    }
+
+    @Override
+    public Mono<Void> encolar(Producto producto) {
+        return Mono.fromRunnable(() -> {
+            if (cerrado) {
+                throw new IllegalStateException("El buffer de escritura de stock está cerrado");
+            }
+            Pendiente nuevo = new Pendiente(copia(producto), System.nanoTime());
+            // Al sustituir un valor pendiente se conserva el instante del primero para medir el retraso real
+            pendientes.merge(nuevo.producto.getId(), nuevo,
+                    (anterior, actual) -> new Pendiente(actual.producto, anterior.encolado));
+            recibidas.increment();
+            if (pendientes.size() >= maximoPendientes && vaciadoPorTamanoSolicitado.compareAndSet(false, true)) {
+                solicitar(Vaciado.todo());
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> vaciar(Long productoId) {
+        return Mono.defer(() -> pendientes.containsKey(productoId) || enEscritura.containsKey(productoId)
+                ? solicitar(Vaciado.de(productoId))
+                : Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> vaciar() {
+        return Mono.defer(() -> pendientes.isEmpty() && enEscritura.isEmpty()
+                ? Mono.empty()
+                : solicitar(Vaciado.todo()));
+    }
+
+    /**
+     * Escribe todo lo pendiente antes de detener el procesamiento; se invoca al cerrar el contexto,
+     * antes de que se cierre el pool de conexiones.
+     */
+    public void cerrar() {
+        cerrado = true;
+        try {
+            solicitar(Vaciado.todo()).block(esperaCierre);
+        } catch (RuntimeException e) {
+            log.error("No fue posible escribir {} modificaciones de stock pendientes al cerrar",
+                    pendientes.size() + enEscritura.size(), e);
+        } finally {
+            procesamiento.dispose();
+        }
+    }
+
+    private Mono<Void> solicitar(Vaciado vaciado) {
+        if (procesamiento != null && procesamiento.isDisposed()) {
+            return Mono.empty();
+        }
+        solicitudes.emitNext(vaciado, Sinks.EmitFailureHandler.busyLooping(ESPERA_EMISION));
+        return vaciado.fin.asMono();
+    }
+
+    private Mono<Void> procesar(Vaciado vaciado) {
+        List<Pendiente> lote = new ArrayList<>();
+        if (vaciado.productoId == null) {
+            vaciadoPorTamanoSolicitado.set(false);
+            pendientes.keySet().forEach(productoId -> tomar(productoId, lote));
+        } else {
+            tomar(vaciado.productoId, lote);
+        }
+        if (lote.isEmpty()) {
+            vaciado.fin.tryEmitEmpty();
+            return Mono.empty();
+        }
+
+        Map<Long, List<Pendiente>> porSucursal = new LinkedHashMap<>();
+        for (Pendiente pendiente : lote) {
+            porSucursal.computeIfAbsent(pendiente.producto.getSucursalId(), id -> new ArrayList<>()).add(pendiente);
+        }
+        List<Throwable> errores = new CopyOnWriteArrayList<>();
+        long inicio = System.nanoTime();
+        return Flux.fromIterable(porSucursal.entrySet())
+                .concatMap(entrada -> escribirSucursal(entrada.getKey(), entrada.getValue())
+                        .then(Mono.fromRunnable(() -> confirmar(entrada.getValue())))
+                        .onErrorResume(error -> {
+                            devolver(entrada.getValue());
+                            errores.add(error);
+                            return Mono.empty();
+                        }))
+                .then(Mono.fromRunnable(() -> {
+                    duracionVaciado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    if (errores.isEmpty()) {
+                        vaciado.fin.tryEmitEmpty();
+                    } else {
+                        log.warn("Falló la escritura diferida de stock en {} sucursales; se reintentará: {}",
+                                errores.size(), errores.get(0).getMessage());
+                        vaciado.fin.tryEmitError(errores.get(0));
+                    }
+                }));
+    }
+
+    private void tomar(Long productoId, List<Pendiente> lote) {
+        Pendiente pendiente = pendientes.get(productoId);
+        if (pendiente != null) {
+            // Se publica como en escritura antes de quitarlo para que las lecturas no dejen de verlo
+            enEscritura.put(productoId, pendiente);
+            pendientes.remove(productoId, pendiente);
+            lote.add(pendiente);
+        }
+    }
+
+    private Mono<Void> escribirSucursal(Long sucursalId, List<Pendiente> lote) {
+        Map<Long, Producto> productos = new LinkedHashMap<>();
+        List<ActualizacionStock> actualizaciones = new ArrayList<>(lote.size());
+        for (Pendiente pendiente : lote) {
+            productos.put(pendiente.producto.getId(), pendiente.producto);
+            actualizaciones.add(new ActualizacionStock(pendiente.producto.getId(), pendiente.producto.getStock()));
+        }
+        // Los productos eliminados mientras estaban pendientes vuelven como NO_ENCONTRADO y se descartan
+        return ejecutorTransaccional.ejecutar(productoRepository.actualizarStockMasivo(sucursalId, actualizaciones)
+                        .filter(resultado -> resultado.getEstado() == ResultadoActualizacionStock.Estado.ACTUALIZADO)
+                        .collectList()
+                        .flatMap(actualizados -> registrarDiferencias(sucursalId, actualizados).thenReturn(actualizados)))
+                .flatMapIterable(actualizados -> actualizados)
+                .map(resultado -> productos.get(resultado.getProductoId()))
+                .concatMap(producto -> cambioInventarioPublisher.publicar(CambioInventario.deProducto(
+                        CambioInventario.Tipo.STOCK_MODIFICADO, sucursalId, producto.getId(),
+                        producto.getNombre(), producto.getStock())))
+                .then();
+    }
+
+    private Mono<Void> registrarDiferencias(Long sucursalId, List<ResultadoActualizacionStock> actualizados) {
+        long diferenciaStock = 0;
+        int diferenciaSinStock = 0;
+        boolean disminuye = false;
+        Integer maximoAumentado = null;
+        for (ResultadoActualizacionStock resultado : actualizados) {
+            int anterior = resultado.getStockAnterior();
+            int nuevo = resultado.getStock();
+            diferenciaStock += nuevo - anterior;
+            diferenciaSinStock += (nuevo == 0 ? 1 : 0) - (anterior == 0 ? 1 : 0);
+            if (nuevo < anterior) {
+                disminuye = true;
+            } else if (nuevo > anterior && (maximoAumentado == null || nuevo > maximoAumentado)) {
+                maximoAumentado = nuevo;
+            }
+        }
+        // Una subida basta con compararla con el máximo vigente; una bajada pudo afectar al propio
+        // máximo, y solo entonces se vuelve a leer por el índice de la sucursal, como en la escritura directa
+        Mono<Void> proyeccion = disminuye
+                ? proyeccionMaximoStockRepository.recalcular(sucursalId)
+                : maximoAumentado != null
+                        ? proyeccionMaximoStockRepository.registrarStock(sucursalId, maximoAumentado)
+                        : Mono.empty();
+        // El contador de cambios de la franquicia (la ETag) avanza en la misma transacción que el lote
+        Mono<Void> contador = actualizados.isEmpty()
+                ? Mono.empty()
+                : contadorCambiosFranquiciaRepository.incrementarPorSucursal(sucursalId);
+        return resumenInventarioRepository.registrarDiferencias(sucursalId, diferenciaStock, diferenciaSinStock)
+                .then(proyeccion)
+                .then(contador);
+    }
+
+    private void confirmar(List<Pendiente> lote) {
+        long ahora = System.nanoTime();
+        for (Pendiente pendiente : lote) {
+            retraso.record(ahora - pendiente.encolado, TimeUnit.NANOSECONDS);
+            enEscritura.remove(pendiente.producto.getId(), pendiente);
+        }
+        escritas.increment(lote.size());
+    }
+
+    private void devolver(List<Pendiente> lote) {
+        for (Pendiente pendiente : lote) {
+            // Si llegó un valor más reciente mientras se escribía, ese es el que se conserva
+            pendientes.putIfAbsent(pendiente.producto.getId(), pendiente);
+            enEscritura.remove(pendiente.producto.getId(), pendiente);
+        }
+        fallidas.increment(lote.size());
+    }
+
+    private static Producto copia(Producto producto) {
+        return new Producto(producto.getId(), producto.getNombre(), producto.getStock(), producto.getSucursalId(),
+                producto.getCreatedAt(), producto.getUpdatedAt());
+    }
+
+    private static final class Pendiente {
+
+        private final Producto producto;
+        private final long encolado;
+
+        private Pendiente(Producto producto, long encolado) {
+            this.producto = producto;
+            this.encolado = encolado;
+        }
+    }
+
+    private static final class Vaciado {
+
+        private final Long productoId;
+        private final Sinks.Empty<Void> fin = Sinks.empty();
+
+        private Vaciado(Long productoId) {
+            this.productoId = productoId;
+        }
+
+        private static Vaciado todo() {
+            return new Vaciado(null);
+        }
+
+        private static Vaciado de(Long productoId) {
+            return new Vaciado(productoId);
+        }
+    }
+}
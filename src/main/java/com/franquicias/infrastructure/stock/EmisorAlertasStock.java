@@ -0,0 +1,125 @@
+package com.franquicias.infrastructure.stock;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.model.AlertaStock;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.domain.stock.FuenteAlertasStock;
+import com.franquicias.infrastructure.event.CambioInventarioListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Detecta en cada modificación de stock si el producto cruzó el umbral y lo reparte a los suscriptores
+ * de su franquicia. Solo se evalúan los cambios que traen el stock anterior, así que no hay que leer el
+ * producto; la franquicia de la sucursal se consulta únicamente cuando hay un cruce y alguien escucha.
+ * Cada suscriptor tiene su propio buffer: uno lento pierde sus alertas más antiguas sin frenar la
+ * escritura ni al resto.
+ */
+public class EmisorAlertasStock implements CambioInventarioListener, FuenteAlertasStock {
+
+    private static final Logger log = LoggerFactory.getLogger(EmisorAlertasStock.class);
+    private static final Duration ESPERA_EMISION = Duration.ofMillis(100);
+
+    private final SucursalRepository sucursalRepository;
+    private final int umbral;
+    private final int bufferPorSuscriptor;
+    private final Sinks.Many<AlertaStock> alertas = Sinks.many().multicast().directBestEffort();
+    // La franquicia de una sucursal no cambia nunca, por lo que este mapa solo se acota por tamaño
+    private final Cache<Long, Long> franquiciaPorSucursal = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .build();
+    private final Counter bajoUmbral;
+    private final Counter repuestos;
+    private final Counter descartadas;
+
+    public EmisorAlertasStock(SucursalRepository sucursalRepository, int umbral, int bufferPorSuscriptor,
+                              MeterRegistry meterRegistry) {
+        if (umbral < 1) {
+            throw new IllegalArgumentException("El umbral de las alertas de stock debe ser mayor que cero");
+        }
+        this.sucursalRepository = sucursalRepository;
+        this.umbral = umbral;
+        this.bufferPorSuscriptor = bufferPorSuscriptor;
+        this.bajoUmbral = Counter.builder("franquicias.stock.alertas")
+                .description("Alertas de stock emitidas")
+                .tag("tipo", "bajo_umbral")
+                .register(meterRegistry);
+        this.repuestos = Counter.builder("franquicias.stock.alertas")
+                .description("Alertas de stock emitidas")
+                .tag("tipo", "repuesto")
+                .register(meterRegistry);
+        this.descartadas = Counter.builder("franquicias.stock.alertas.descartadas")
+                .description("Alertas descartadas porque un suscriptor no las consumía a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("franquicias.stock.alertas.suscriptores", alertas, Sinks.Many::currentSubscriberCount)
+                .description("Suscripciones abiertas a las alertas de stock")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<AlertaStock> suscribir(Long franquiciaId) {
+        return alertas.asFlux()
+                .filter(alerta -> franquiciaId.equals(alerta.getFranquiciaId()))
+                .onBackpressureBuffer(bufferPorSuscriptor, descartada -> descartadas.increment(),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    @Override
+    public Mono<Void> onCambio(CambioInventario cambio) {
+        if (cambio.getTipo() != CambioInventario.Tipo.STOCK_MODIFICADO
+                || cambio.getStockAnterior() == null || cambio.getStock() == null) {
+            return Mono.empty();
+        }
+        AlertaStock.Tipo tipo = cruce(cambio.getStockAnterior(), cambio.getStock());
+        if (tipo == null || alertas.currentSubscriberCount() == 0) {
+            return Mono.empty();
+        }
+        // Un fallo al resolver la franquicia solo pierde la alerta: la escritura ya está hecha
+        return franquiciaDe(cambio.getSucursalId())
+                .doOnNext(franquiciaId -> emitir(new AlertaStock(tipo, franquiciaId, cambio.getSucursalId(),
+                        cambio.getProductoId(), cambio.getNombre(), cambio.getStockAnterior(), cambio.getStock(),
+                        umbral)))
+                .onErrorResume(e -> {
+                    log.warn("No se pudo emitir la alerta de stock del producto {}: {}",
+                            cambio.getProductoId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private AlertaStock.Tipo cruce(int stockAnterior, int stock) {
+        if (stockAnterior >= umbral && stock < umbral) {
+            return AlertaStock.Tipo.BAJO_UMBRAL;
+        }
+        if (stockAnterior < umbral && stock >= umbral) {
+            return AlertaStock.Tipo.REPUESTO;
+        }
+        return null;
+    }
+
+    private Mono<Long> franquiciaDe(Long sucursalId) {
+        Long franquiciaId = franquiciaPorSucursal.getIfPresent(sucursalId);
+        if (franquiciaId != null) {
+            return Mono.just(franquiciaId);
+        }
+        return sucursalRepository.findById(sucursalId)
+                .doOnNext(sucursal -> franquiciaPorSucursal.put(sucursal.getId(), sucursal.getFranquiciaId()))
+                .map(sucursal -> sucursal.getFranquiciaId());
+    }
+
+    private void emitir(AlertaStock alerta) {
+        alertas.emitNext(alerta, Sinks.EmitFailureHandler.busyLooping(ESPERA_EMISION));
+        (alerta.getTipo() == AlertaStock.Tipo.BAJO_UMBRAL ? bajoUmbral : repuestos).increment();
+    }
+}
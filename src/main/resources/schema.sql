@@ -6,6 +6,8 @@ CREATE TABLE IF NOT EXISTS franquicia (
     nombre VARCHAR(255) NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    cambios BIGINT NOT NULL DEFAULT 0,
     UNIQUE KEY uk_franquicia_nombre (nombre)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -18,6 +20,7 @@ CREATE TABLE IF NOT EXISTS sucursal (
     franquicia_id BIGINT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_sucursal_franquicia
       FOREIGN KEY (franquicia_id)
       REFERENCES franquicia(id)
@@ -35,6 +38,7 @@ CREATE TABLE IF NOT EXISTS producto (
     sucursal_id BIGINT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_producto_sucursal
       FOREIGN KEY (sucursal_id)
       REFERENCES sucursal(id)
@@ -42,9 +46,56 @@ CREATE TABLE IF NOT EXISTS producto (
     UNIQUE KEY uk_producto_sucursal_nombre (sucursal_id, nombre)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ============================
+-- Proyección: stock máximo por sucursal
+-- ============================
+CREATE TABLE IF NOT EXISTS sucursal_maximo_stock (
+    sucursal_id BIGINT PRIMARY KEY,
+    max_stock INT NULL,
+    CONSTRAINT fk_sucursal_maximo_stock_sucursal
+      FOREIGN KEY (sucursal_id)
+      REFERENCES sucursal(id)
+      ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================
+-- Resumen de inventario por sucursal
+-- ============================
+CREATE TABLE IF NOT EXISTS sucursal_inventario (
+    sucursal_id BIGINT PRIMARY KEY,
+    productos BIGINT NOT NULL DEFAULT 0,
+    stock_total BIGINT NOT NULL DEFAULT 0,
+    productos_sin_stock BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_sucursal_inventario_sucursal
+      FOREIGN KEY (sucursal_id)
+      REFERENCES sucursal(id)
+      ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- ============================
 -- Índices
 -- ============================
+-- Con el id implícito de InnoDB, (franquicia_id, id) también sirve al listado paginado de sucursales.
 CREATE INDEX idx_sucursal_franquicia_id ON sucursal(franquicia_id);
+-- Índice cubriente para las consultas de máximo stock: (sucursal_id, stock) resuelve el ranking y el
+-- join con la proyección, y con id y nombre no hace falta leer la tabla. El id va antes que el nombre
+-- para que el listado paginado por (stock, id) recorra el índice en el orden del ORDER BY.
+-- También sirve a la FK de sucursal.
+CREATE INDEX idx_producto_sucursal_stock ON producto(sucursal_id, stock, id, nombre);
+-- Listado paginado de productos por id: (sucursal_id, id implícito).
 CREATE INDEX idx_producto_sucursal_id ON producto(sucursal_id);
+-- Consultas por stock sin filtrar por sucursal. El listado de stock bajo no lo usa porque no
+-- acota la búsqueda a una franquicia; recorre idx_producto_sucursal_stock por cada sucursal.
 CREATE INDEX idx_producto_stock ON producto(stock);
+
+-- ============================
+-- Carga inicial de la proyección y del resumen para datos existentes
+-- ============================
+INSERT IGNORE INTO sucursal_maximo_stock (sucursal_id, max_stock)
+SELECT s.id, (SELECT MAX(p.stock) FROM producto p WHERE p.sucursal_id = s.id)
+FROM sucursal s;
+
+INSERT IGNORE INTO sucursal_inventario (sucursal_id, productos, stock_total, productos_sin_stock)
+SELECT s.id, COUNT(p.id), COALESCE(SUM(p.stock), 0), COALESCE(SUM(p.stock = 0), 0)
+FROM sucursal s LEFT JOIN producto p ON p.sucursal_id = s.id
+GROUP BY s.id;
@@ -0,0 +1,75 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.CambioProductoResponse;
+import com.franquicias.application.usecase.SuscribirCambiosProductoUseCase;
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioProducto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(CambiosProductoController.class)
+class CambiosProductoControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private SuscribirCambiosProductoUseCase suscribirCambiosProductoUseCase;
+
+    @Test
+    void suscribirCambios_WhenLastEventId_ShouldReanudarYUsarLaSecuenciaComoId() {
+        // Given
+        when(suscribirCambiosProductoUseCase.execute(eq(1L), eq(41L))).thenReturn(Flux.just(
+                new CambioProducto(42L, CambioInventario.Tipo.STOCK_MODIFICADO, 1L, 10L, "Leche", 3)));
+
+        // When
+        Flux<ServerSentEvent<CambioProductoResponse>> eventos = webTestClient.get()
+                .uri("/api/sucursales/1/productos/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "41")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<CambioProductoResponse>>() {
+                })
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(eventos)
+                .assertNext(evento -> {
+                    assertThat(evento.id()).isEqualTo("42");
+                    assertThat(evento.event()).isEqualTo("STOCK_MODIFICADO");
+                    assertThat(evento.data().getProductoId()).isEqualTo(10L);
+                    assertThat(evento.data().getStock()).isEqualTo(3);
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void suscribirCambios_WhenSucursalDoesNotExist_ShouldReturnBadRequest() {
+        // Given
+        when(suscribirCambiosProductoUseCase.execute(eq(99L), isNull()))
+                .thenReturn(Flux.error(new RecursoNoEncontradoException("La sucursal con id 99 no existe")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/sucursales/99/productos/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -3,19 +3,30 @@ package com.franquicias.adapters.presentation.controller;
 import com.franquicias.adapters.presentation.dto.FranquiciaRequest;
 import com.franquicias.application.usecase.ActualizarNombreFranquiciaUseCase;
 import com.franquicias.application.usecase.CrearFranquiciaUseCase;
+import com.franquicias.application.usecase.ObtenerResumenInventarioFranquiciaUseCase;
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.VersionNoCoincideException;
 import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.model.ResumenInventarioFranquicia;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(FranquiciaController.class)
@@ -30,6 +41,9 @@ class FranquiciaControllerTest {
     @MockBean
     private ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase;
 
+    @MockBean
+    private ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase;
+
     @Test
     void crearFranquicia_WhenRequestIsValid_ShouldReturnCreated() {
         // Given
@@ -73,7 +87,7 @@ class FranquiciaControllerTest {
         Franquicia franquicia = new Franquicia(franquiciaId, "Nuevo Nombre", 
                 LocalDateTime.now(), LocalDateTime.now());
         
-        when(actualizarNombreFranquiciaUseCase.execute(eq(franquiciaId), any(String.class)))
+        when(actualizarNombreFranquiciaUseCase.execute(eq(franquiciaId), any(String.class), isNull()))
                 .thenReturn(Mono.just(franquicia));
 
         // When & Then
@@ -86,5 +100,88 @@ class FranquiciaControllerTest {
                 .expectBody()
                 .jsonPath("$.nombre").isEqualTo("Nuevo Nombre");
     }
-}
 
+    @Test
+    void actualizarNombreFranquicia_WhenIfMatch_ShouldPasarVersionYDevolverNuevaEtag() {
+        // Given
+        Franquicia franquicia = new Franquicia(1L, "Nuevo Nombre",
+                LocalDateTime.now(), LocalDateTime.now(), 4L);
+
+        when(actualizarNombreFranquiciaUseCase.execute(eq(1L), any(String.class), eq(3L)))
+                .thenReturn(Mono.just(franquicia));
+
+        // When & Then
+        webTestClient.put()
+                .uri("/api/franquicias/{id}/nombre", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\": \"Nuevo Nombre\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+    }
+
+    @Test
+    void actualizarNombreFranquicia_WhenVersionNoCoincide_ShouldReturnPreconditionFailed() {
+        // Given
+        when(actualizarNombreFranquiciaUseCase.execute(eq(1L), any(String.class), eq(3L)))
+                .thenReturn(Mono.error(new VersionNoCoincideException("La franquicia con id 1 cambió por otra operación")));
+
+        // When & Then
+        webTestClient.put()
+                .uri("/api/franquicias/{id}/nombre", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\": \"Nuevo Nombre\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void actualizarNombreFranquicia_WhenIfMatchDebil_ShouldReturnPreconditionFailedSinEscribir() {
+        // When & Then
+        webTestClient.put()
+                .uri("/api/franquicias/{id}/nombre", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\": \"Nuevo Nombre\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(actualizarNombreFranquiciaUseCase, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void obtenerResumenInventario_WhenFranquiciaExists_ShouldReturnTotalesYDesglose() {
+        // Given
+        ResumenInventarioFranquicia resumen = new ResumenInventarioFranquicia(1L, List.of(
+                new ResumenInventarioSucursal(10L, "Centro", 3, 120, 1),
+                new ResumenInventarioSucursal(11L, "Norte", 2, 30, 0)));
+        when(obtenerResumenInventarioFranquiciaUseCase.execute(eq(1L))).thenReturn(Mono.just(resumen));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/{id}/inventario/resumen", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.franquiciaId").isEqualTo(1)
+                .jsonPath("$.productos").isEqualTo(5)
+                .jsonPath("$.stockTotal").isEqualTo(150)
+                .jsonPath("$.productosSinStock").isEqualTo(1)
+                .jsonPath("$.sucursales[0].sucursalNombre").isEqualTo("Centro")
+                .jsonPath("$.sucursales[1].stockTotal").isEqualTo(30);
+    }
+
+    @Test
+    void obtenerResumenInventario_WhenFranquiciaDoesNotExist_ShouldReturnBadRequest() {
+        // Given
+        when(obtenerResumenInventarioFranquiciaUseCase.execute(eq(99L)))
+                .thenReturn(Mono.error(new RecursoNoEncontradoException("La franquicia con id 99 no existe")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/{id}/inventario/resumen", 99L)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,200 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.application.usecase.*;
+import com.franquicias.common.exception.StockInsuficienteException;
+import com.franquicias.domain.model.Pagina;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoImportacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ProductoController.class)
+class ProductoControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private AgregarProductoUseCase agregarProductoUseCase;
+
+    @MockBean
+    private EliminarProductoUseCase eliminarProductoUseCase;
+
+    @MockBean
+    private ModificarStockProductoUseCase modificarStockProductoUseCase;
+
+    @MockBean
+    private ActualizarNombreProductoUseCase actualizarNombreProductoUseCase;
+
+    @MockBean
+    private AjustarStockProductoUseCase ajustarStockProductoUseCase;
+
+    @MockBean
+    private ActualizarStockMasivoUseCase actualizarStockMasivoUseCase;
+
+    @MockBean
+    private ImportarProductosUseCase importarProductosUseCase;
+
+    @MockBean
+    private ListarProductosUseCase listarProductosUseCase;
+
+    @Test
+    void ajustarStockProducto_WhenAjusteIsValid_ShouldReturnNuevoStock() {
+        // Given
+        when(ajustarStockProductoUseCase.execute(eq(1L), eq(10L), eq(-3)))
+                .thenReturn(Mono.just(47));
+
+        // When & Then
+        webTestClient.patch()
+                .uri("/api/sucursales/{sucursalId}/productos/{productoId}/stock", 1L, 10L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"delta\": -3}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(47)
+                .jsonPath("$.productoId").isEqualTo(10);
+    }
+
+    @Test
+    void ajustarStockProducto_WhenStockWouldBeNegative_ShouldReturnConflict() {
+        // Given
+        when(ajustarStockProductoUseCase.execute(eq(1L), eq(10L), eq(-100)))
+                .thenReturn(Mono.error(new StockInsuficienteException("Stock insuficiente")));
+
+        // When & Then
+        webTestClient.patch()
+                .uri("/api/sucursales/{sucursalId}/productos/{productoId}/stock", 1L, 10L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"delta\": -100}")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarProductos_WhenBodyIsNdjson_ShouldParseEachLine() {
+        // Given
+        List<Producto> recibidos = new ArrayList<>();
+        when(importarProductosUseCase.execute(eq(1L), any())).thenAnswer(invocation -> {
+            Flux<Producto> productos = invocation.getArgument(1);
+            return productos.doOnNext(recibidos::add)
+                    .then(Mono.just(new ResultadoImportacion(1, 0, 1)));
+        });
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/sucursales/{sucursalId}/productos/importacion", 1L)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"nombre\": \"Producto A\", \"stock\": 5}\nno es json\n\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.insertados").isEqualTo(1)
+                .jsonPath("$.rechazados").isEqualTo(1);
+        assertThat(recibidos).hasSize(2);
+        assertThat(recibidos.get(0).getNombre()).isEqualTo("Producto A");
+        assertThat(recibidos.get(1).getNombre()).isNull();
+    }
+
+    @Test
+    void importarProductos_WhenUnaLineaEsNullOUnLiteral_ShouldContarlaComoRechazada() {
+        // Given
+        List<Producto> recibidos = new ArrayList<>();
+        when(importarProductosUseCase.execute(eq(1L), any())).thenAnswer(invocation -> {
+            Flux<Producto> productos = invocation.getArgument(1);
+            return productos.doOnNext(recibidos::add)
+                    .then(Mono.just(new ResultadoImportacion(2, 0, 2)));
+        });
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/sucursales/{sucursalId}/productos/importacion", 1L)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"nombre\": \"Producto A\", \"stock\": 5}\nnull\n42\n{\"nombre\": \"Producto B\", \"stock\": 1}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rechazados").isEqualTo(2);
+        assertThat(recibidos).extracting(Producto::getNombre)
+                .containsExactly("Producto A", null, null, "Producto B");
+    }
+
+    @Test
+    void modificarStockProducto_WhenIfMatch_ShouldPasarVersionYDevolverNuevaEtag() {
+        // Given
+        when(modificarStockProductoUseCase.execute(eq(1L), eq(10L), eq(25), eq(7L)))
+                .thenReturn(Mono.just(new Producto(10L, "Producto", 25, 1L, null, null, 8L)));
+
+        // When & Then
+        webTestClient.put()
+                .uri("/api/sucursales/1/productos/10/stock")
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"stock\": 25}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"8\"")
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(25);
+    }
+
+    @Test
+    void modificarStockProducto_WhenEscrituraDiferidaSinVersion_ShouldOmitirEtag() {
+        // Given
+        when(modificarStockProductoUseCase.execute(eq(1L), eq(10L), eq(25), isNull()))
+                .thenReturn(Mono.just(new Producto(10L, "Producto", 25, 1L)));
+
+        // When & Then
+        webTestClient.put()
+                .uri("/api/sucursales/1/productos/10/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"stock\": 25}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void listarProductos_WhenOrdenStock_ShouldDevolverPaginaConCursor() {
+        // Given
+        when(listarProductosUseCase.execute(eq(1L), eq(ListarProductosUseCase.Orden.STOCK), isNull(), eq(2)))
+                .thenReturn(Mono.just(new Pagina<>(List.of(new Producto(10L, "A", 1, 1L),
+                        new Producto(11L, "B", 3, 1L)), "c2lndWllbnRl")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/sucursales/1/productos?orden=stock&limite=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.elementos.length()").isEqualTo(2)
+                .jsonPath("$.elementos[1].id").isEqualTo(11)
+                .jsonPath("$.siguienteCursor").isEqualTo("c2lndWllbnRl");
+    }
+
+    @Test
+    void listarProductos_WhenOrdenDesconocido_ShouldReturnBadRequest() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/sucursales/1/productos?orden=nombre")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
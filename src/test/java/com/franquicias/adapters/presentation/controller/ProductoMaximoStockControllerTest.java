@@ -0,0 +1,186 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.ProductoMaximoStockResponse;
+import com.franquicias.application.usecase.ObtenerProductosMaximoStockPorFranquiciaUseCase;
+import com.franquicias.application.usecase.ObtenerVersionInventarioFranquiciaUseCase;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ProductoMaximoStockController.class)
+class ProductoMaximoStockControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ObtenerProductosMaximoStockPorFranquiciaUseCase obtenerProductosMaximoStockPorFranquiciaUseCase;
+
+    @MockBean
+    private ObtenerVersionInventarioFranquiciaUseCase obtenerVersionInventarioFranquiciaUseCase;
+
+    @BeforeEach
+    void setUp() {
+        when(obtenerVersionInventarioFranquiciaUseCase.execute(eq(1L))).thenReturn(Mono.just(12L));
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenAcceptJson_ShouldReturnArrayDesdeCache() {
+        // Given
+        when(obtenerProductosMaximoStockPorFranquiciaUseCase.execute(eq(1L)))
+                .thenReturn(Flux.just(productoMaximoStock(10L, 1L), productoMaximoStock(20L, 2L)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].productoId").isEqualTo(10);
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .exchange()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"12\"");
+        verify(obtenerProductosMaximoStockPorFranquiciaUseCase, never()).executeEnStreaming(eq(1L));
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenSinAccept_ShouldReturnArrayJson() {
+        // Given
+        when(obtenerProductosMaximoStockPorFranquiciaUseCase.execute(eq(1L)))
+                .thenReturn(Flux.just(productoMaximoStock(10L, 1L)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenAcceptNdjson_ShouldEmitirUnaLineaPorFila() {
+        // Given
+        when(obtenerProductosMaximoStockPorFranquiciaUseCase.executeEnStreaming(eq(1L)))
+                .thenReturn(Flux.just(productoMaximoStock(10L, 1L), productoMaximoStock(20L, 2L)));
+
+        // When
+        Flux<ProductoMaximoStockResponse> result = webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductoMaximoStockResponse.class)
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getProductoId().equals(10L))
+                .expectNextMatches(response -> response.getProductoId().equals(20L))
+                .verifyComplete();
+        verify(obtenerProductosMaximoStockPorFranquiciaUseCase, never()).execute(eq(1L));
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenAcceptEventStream_ShouldEmitirEventos() {
+        // Given
+        when(obtenerProductosMaximoStockPorFranquiciaUseCase.executeEnStreaming(eq(1L)))
+                .thenReturn(Flux.just(productoMaximoStock(10L, 1L)));
+
+        // When
+        Flux<ProductoMaximoStockResponse> result = webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(ProductoMaximoStockResponse.class)
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getSucursalId().equals(1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenStreamingYFranquiciaNoExiste_ShouldReturnBadRequest() {
+        // Given
+        when(obtenerVersionInventarioFranquiciaUseCase.execute(eq(99L)))
+                .thenReturn(Mono.error(new IllegalArgumentException("La franquicia con id 99 no existe")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/99/productos-maximo-stock")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenIfNoneMatchCoincide_ShouldReturnNotModifiedSinConsultar() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"12\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"12\"")
+                .expectBody().isEmpty();
+        verify(obtenerProductosMaximoStockPorFranquiciaUseCase, never()).execute(eq(1L));
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenStreamingEIfNoneMatchCoincide_ShouldReturnNotModifiedSinConsultar() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        verify(obtenerProductosMaximoStockPorFranquiciaUseCase, never()).executeEnStreaming(eq(1L));
+    }
+
+    @Test
+    void obtenerProductosMaximoStock_WhenIfNoneMatchAnterior_ShouldReturnResultadoConNuevaEtag() {
+        // Given
+        when(obtenerProductosMaximoStockPorFranquiciaUseCase.execute(eq(1L)))
+                .thenReturn(Flux.just(productoMaximoStock(10L, 1L)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos-maximo-stock")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"11\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"12\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    private ProductoMaximoStock productoMaximoStock(Long productoId, Long sucursalId) {
+        return new ProductoMaximoStock(productoId, "Producto " + productoId, 100,
+                sucursalId, "Sucursal " + sucursalId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.application.usecase.ObtenerRankingStockPorFranquiciaUseCase;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.RankingStockFranquicia;
+import com.franquicias.domain.model.RankingStockSucursal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(RankingStockController.class)
+class RankingStockControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ObtenerRankingStockPorFranquiciaUseCase obtenerRankingStockPorFranquiciaUseCase;
+
+    @Test
+    void obtenerRankingStock_WhenExtremoMenor_ShouldReturnRankingDeFranquiciaYSucursales() {
+        // Given
+        ProductoMaximoStock producto = new ProductoMaximoStock(10L, "Producto A", 0, 1L, "Centro");
+        RankingStockFranquicia ranking = new RankingStockFranquicia(1L, ExtremoStock.MENOR, 5, List.of(producto),
+                List.of(new RankingStockSucursal(1L, "Centro", List.of(producto))));
+        when(obtenerRankingStockPorFranquiciaUseCase.execute(eq(1L), eq(ExtremoStock.MENOR), eq(5)))
+                .thenReturn(Mono.just(ranking));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/ranking-stock?extremo=menor&k=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.extremo").isEqualTo("menor")
+                .jsonPath("$.k").isEqualTo(5)
+                .jsonPath("$.franquicia[0].productoId").isEqualTo(10)
+                .jsonPath("$.sucursales[0].sucursalNombre").isEqualTo("Centro")
+                .jsonPath("$.sucursales[0].productos[0].stock").isEqualTo(0);
+    }
+
+    @Test
+    void obtenerRankingStock_WhenExtremoInvalido_ShouldReturnBadRequest() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/ranking-stock?extremo=medio")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(obtenerRankingStockPorFranquiciaUseCase, never()).execute(any(), any(), any());
+    }
+}
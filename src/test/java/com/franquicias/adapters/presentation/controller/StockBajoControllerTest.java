@@ -0,0 +1,91 @@
+package com.franquicias.adapters.presentation.controller;
+
+import com.franquicias.adapters.presentation.dto.AlertaStockResponse;
+import com.franquicias.application.usecase.ListarProductosStockBajoUseCase;
+import com.franquicias.application.usecase.SuscribirAlertasStockUseCase;
+import com.franquicias.domain.model.AlertaStock;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(StockBajoController.class)
+class StockBajoControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ListarProductosStockBajoUseCase listarProductosStockBajoUseCase;
+
+    @MockBean
+    private SuscribirAlertasStockUseCase suscribirAlertasStockUseCase;
+
+    @Test
+    void listarProductosStockBajo_ShouldReturnProductosBajoElUmbral() {
+        // Given
+        when(listarProductosStockBajoUseCase.execute(eq(1L), eq(5))).thenReturn(Flux.just(
+                new ProductoMaximoStock(10L, "Producto A", 2, 1L, "Centro")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos?stockMenorQue=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].productoId").isEqualTo(10)
+                .jsonPath("$[0].stock").isEqualTo(2)
+                .jsonPath("$[0].sucursalNombre").isEqualTo("Centro");
+    }
+
+    @Test
+    void listarProductosStockBajo_WhenUmbralInvalido_ShouldReturnBadRequest() {
+        // Given
+        when(listarProductosStockBajoUseCase.execute(eq(1L), eq(0)))
+                .thenReturn(Flux.error(new IllegalArgumentException("El umbral de stock debe ser mayor que cero")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franquicias/1/productos?stockMenorQue=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void suscribirAlertasStock_ShouldEmitirCadaAlertaConSuTipoComoEvento() {
+        // Given
+        when(suscribirAlertasStockUseCase.execute(eq(1L))).thenReturn(Flux.just(
+                new AlertaStock(AlertaStock.Tipo.BAJO_UMBRAL, 1L, 5L, 50L, "Producto A", 12, 3, 10)));
+
+        // When
+        Flux<ServerSentEvent<AlertaStockResponse>> eventos = webTestClient.get()
+                .uri("/api/franquicias/1/alertas-stock")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<AlertaStockResponse>>() {
+                })
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(eventos)
+                .assertNext(evento -> {
+                    assertThat(evento.event()).isEqualTo("BAJO_UMBRAL");
+                    assertThat(evento.data().getProductoId()).isEqualTo(50L);
+                    assertThat(evento.data().getStock()).isEqualTo(3);
+                })
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,88 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActualizarNombreFranquiciaUseCaseTest {
+
+    @Mock
+    private FranquiciaRepository franquiciaRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase;
+
+    @Test
+    void execute_WhenFranquiciaExiste_ShouldRenombrarConUnaSolaSentencia() {
+        // Given
+        Franquicia renombrada = new Franquicia(1L, "Nueva", null, null, 4L);
+        when(franquiciaRepository.renombrar(eq(1L), eq("Nueva"), isNull()))
+                .thenReturn(Mono.just(renombrada));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Franquicia> result = actualizarNombreFranquiciaUseCase.execute(1L, "  Nueva ");
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(renombrada)
+                .verifyComplete();
+        verify(franquiciaRepository).renombrar(1L, "Nueva", null);
+        verifyNoMoreInteractions(franquiciaRepository);
+    }
+
+    @Test
+    void execute_WhenSinFilasYSinVersion_ShouldReturnNotFoundSinConsultarDeNuevo() {
+        // Given
+        when(franquiciaRepository.renombrar(eq(9L), eq("Nueva"), isNull()))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Franquicia> result = actualizarNombreFranquiciaUseCase.execute(9L, "Nueva");
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verify(franquiciaRepository).renombrar(9L, "Nueva", null);
+        verifyNoMoreInteractions(franquiciaRepository);
+    }
+
+    @Test
+    void execute_WhenVersionNoCoincide_ShouldReturnPreconditionErrorSinOtraConsulta() {
+        // Given
+        when(franquiciaRepository.renombrar(eq(1L), eq("Nueva"), eq(3L)))
+                .thenReturn(Mono.error(VersionNoCoincideException.de("La franquicia", 1L)));
+
+        // When
+        Mono<Franquicia> result = actualizarNombreFranquiciaUseCase.execute(1L, "Nueva", 3L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(VersionNoCoincideException.class)
+                .verify();
+        verifyNoMoreInteractions(franquiciaRepository);
+    }
+}
@@ -0,0 +1,69 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActualizarNombreProductoUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private ActualizarNombreProductoUseCase actualizarNombreProductoUseCase;
+
+    @Test
+    void execute_WhenProductoExiste_ShouldRenombrarConUnaSolaSentencia() {
+        // Given
+        Producto renombrado = new Producto(3L, "Cafe", 12, 1L, null, null, 2L);
+        when(productoRepository.renombrar(eq(1L), eq(3L), eq("Cafe"), isNull()))
+                .thenReturn(Mono.just(renombrado));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = actualizarNombreProductoUseCase.execute(1L, 3L, "Cafe");
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(producto -> producto.getStock().equals(12) && producto.getVersion().equals(2L))
+                .verifyComplete();
+        verify(productoRepository).renombrar(1L, 3L, "Cafe", null);
+        verifyNoMoreInteractions(productoRepository);
+    }
+
+    @Test
+    void execute_WhenSinFilasConVersionYProductoDeOtraSucursal_ShouldReturnNotFound() {
+        // Given
+        when(productoRepository.renombrar(eq(1L), eq(3L), eq("Cafe"), eq(2L)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = actualizarNombreProductoUseCase.execute(1L, 3L, "Cafe", 2L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+    }
+}
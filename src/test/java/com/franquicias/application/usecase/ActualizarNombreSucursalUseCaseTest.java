@@ -0,0 +1,90 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.SucursalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActualizarNombreSucursalUseCaseTest {
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private ActualizarNombreSucursalUseCase actualizarNombreSucursalUseCase;
+
+    @Test
+    void execute_WhenSucursalExiste_ShouldRenombrarConUnaSolaSentencia() {
+        // Given
+        Sucursal renombrada = new Sucursal(2L, "Centro", 1L, null, null, 6L);
+        when(sucursalRepository.renombrar(eq(1L), eq(2L), eq("Centro"), eq(5L)))
+                .thenReturn(Mono.just(renombrada));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Sucursal> result = actualizarNombreSucursalUseCase.execute(1L, 2L, "Centro", 5L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(renombrada)
+                .verifyComplete();
+        verify(sucursalRepository).renombrar(1L, 2L, "Centro", 5L);
+        verifyNoMoreInteractions(sucursalRepository);
+        verify(cambioInventarioPublisher).publicar(argThat(cambio ->
+                cambio.getTipo() == CambioInventario.Tipo.SUCURSAL_RENOMBRADA && cambio.getFranquiciaId().equals(1L)));
+    }
+
+    @Test
+    void execute_WhenSucursalDeOtraFranquicia_ShouldReturnNotFound() {
+        // Given
+        when(sucursalRepository.renombrar(eq(1L), eq(2L), eq("Centro"), isNull()))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Sucursal> result = actualizarNombreSucursalUseCase.execute(1L, 2L, "Centro");
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verifyNoMoreInteractions(cambioInventarioPublisher);
+    }
+
+    @Test
+    void execute_WhenVersionNoCoincide_ShouldReturnPreconditionErrorSinOtraConsulta() {
+        // Given
+        when(sucursalRepository.renombrar(eq(1L), eq(2L), eq("Centro"), eq(5L)))
+                .thenReturn(Mono.error(VersionNoCoincideException.de("La sucursal", 2L)));
+
+        // When
+        Mono<Sucursal> result = actualizarNombreSucursalUseCase.execute(1L, 2L, "Centro", 5L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(VersionNoCoincideException.class)
+                .verify();
+        verifyNoMoreInteractions(sucursalRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActualizarStockMasivoUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private ActualizarStockMasivoUseCase actualizarStockMasivoUseCase;
+
+    @Test
+    void execute_WhenListHasInvalidAndDuplicatedItems_ShouldSendOnlyValidOnesOnce() {
+        // Given
+        Long sucursalId = 1L;
+        List<ActualizacionStock> actualizaciones = List.of(
+                new ActualizacionStock(10L, 5),
+                new ActualizacionStock(11L, -1),
+                new ActualizacionStock(10L, 8)
+        );
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ActualizacionStock>> captor = ArgumentCaptor.forClass(List.class);
+        when(productoRepository.actualizarStockMasivo(eq(sucursalId), captor.capture()))
+                .thenReturn(Flux.just(ResultadoActualizacionStock.actualizado(10L, 5, 8)));
+        when(proyeccionMaximoStockRepository.recalcular(eq(sucursalId)))
+                .thenReturn(Mono.empty());
+        when(resumenInventarioRepository.recalcular(eq(sucursalId)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Flux<ResultadoActualizacionStock> result = actualizarStockMasivoUseCase.execute(sucursalId, actualizaciones);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(resultado -> resultado.getEstado() == ResultadoActualizacionStock.Estado.ACTUALIZADO)
+                .expectNextMatches(resultado -> resultado.getEstado() == ResultadoActualizacionStock.Estado.RECHAZADO
+                        && resultado.getProductoId().equals(11L))
+                .verifyComplete();
+        assertThat(captor.getValue()).singleElement()
+                .satisfies(actualizacion -> assertThat(actualizacion.getStock()).isEqualTo(8));
+    }
+
+    @Test
+    void execute_WhenSeAplicanLotes_ShouldRecalcularDerivadosYContadorDentroDeLaTransaccion() {
+        // Given
+        AtomicBoolean enTransaccion = new AtomicBoolean();
+        AtomicBoolean resumenEnTransaccion = new AtomicBoolean();
+        AtomicBoolean recalculoEnTransaccion = new AtomicBoolean();
+        AtomicBoolean publicacionEnTransaccion = new AtomicBoolean(true);
+        EjecutorTransaccional ejecutorTransaccional = new EjecutorTransaccional() {
+            @Override
+            public <T> Mono<T> ejecutar(Mono<T> operacion) {
+                // Como TransactionalOperator, confirma antes de entregar el resultado
+                return operacion.doOnSubscribe(suscripcion -> enTransaccion.set(true))
+                        .doOnSuccess(resultado -> enTransaccion.set(false));
+            }
+        };
+        ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository =
+                mock(ContadorCambiosFranquiciaRepository.class);
+        AtomicBoolean contadorEnTransaccion = new AtomicBoolean();
+        ActualizarStockMasivoUseCase useCase = new ActualizarStockMasivoUseCase(productoRepository,
+                proyeccionMaximoStockRepository, resumenInventarioRepository, cambioInventarioPublisher,
+                BufferEscrituraStock.ninguno(), ejecutorTransaccional, contadorCambiosFranquiciaRepository);
+        when(productoRepository.actualizarStockMasivo(eq(1L), any()))
+                .thenReturn(Flux.just(ResultadoActualizacionStock.actualizado(10L, 5, 8)));
+        when(resumenInventarioRepository.recalcular(eq(1L)))
+                .thenReturn(Mono.fromRunnable(() -> resumenEnTransaccion.set(enTransaccion.get())));
+        when(proyeccionMaximoStockRepository.recalcular(eq(1L)))
+                .thenReturn(Mono.fromRunnable(() -> recalculoEnTransaccion.set(enTransaccion.get())));
+        when(contadorCambiosFranquiciaRepository.incrementarPorSucursal(eq(1L)))
+                .thenReturn(Mono.fromRunnable(() -> contadorEnTransaccion.set(enTransaccion.get())));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.fromRunnable(() -> publicacionEnTransaccion.set(enTransaccion.get())));
+
+        // When
+        StepVerifier.create(useCase.execute(1L, List.of(new ActualizacionStock(10L, 8))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertThat(resumenEnTransaccion).isTrue();
+        assertThat(recalculoEnTransaccion).isTrue();
+        assertThat(contadorEnTransaccion).isTrue();
+        assertThat(publicacionEnTransaccion).isFalse();
+    }
+
+    @Test
+    void execute_WhenListIsEmpty_ShouldReturnError() {
+        // When
+        Flux<ResultadoActualizacionStock> result = actualizarStockMasivoUseCase.execute(1L, List.of());
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
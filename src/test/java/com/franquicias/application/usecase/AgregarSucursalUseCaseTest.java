@@ -1,5 +1,7 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
 import com.franquicias.domain.model.Sucursal;
 import com.franquicias.domain.repository.FranquiciaRepository;
 import com.franquicias.domain.repository.SucursalRepository;
@@ -12,7 +14,9 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +28,9 @@ class AgregarSucursalUseCaseTest {
     @Mock
     private FranquiciaRepository franquiciaRepository;
 
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
     @InjectMocks
     private AgregarSucursalUseCase agregarSucursalUseCase;
 
@@ -38,6 +45,8 @@ class AgregarSucursalUseCaseTest {
                 .thenReturn(Mono.just(true));
         when(sucursalRepository.save(any(Sucursal.class)))
                 .thenReturn(Mono.just(sucursalEsperada));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
 
         // When
         Mono<Sucursal> result = agregarSucursalUseCase.execute(franquiciaId, nombre);
@@ -46,6 +55,8 @@ class AgregarSucursalUseCaseTest {
         StepVerifier.create(result)
                 .expectNext(sucursalEsperada)
                 .verifyComplete();
+        verify(cambioInventarioPublisher).publicar(argThat(cambio ->
+                cambio.getTipo() == CambioInventario.Tipo.SUCURSAL_CREADA && cambio.getFranquiciaId().equals(franquiciaId)));
     }
 
     @Test
@@ -0,0 +1,99 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.StockInsuficienteException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AjustarStockProductoUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private AjustarStockProductoUseCase ajustarStockProductoUseCase;
+
+    @Test
+    void execute_WhenAjusteIsValid_ShouldReturnNuevoStockWithoutReadingProducto() {
+        // Given
+        when(productoRepository.ajustarStock(eq(1L), eq(10L), eq(-5)))
+                .thenReturn(Mono.just(45));
+        when(resumenInventarioRepository.registrarCambioStock(eq(1L), eq(50), eq(45)))
+                .thenReturn(Mono.empty());
+        when(proyeccionMaximoStockRepository.recalcular(eq(1L)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Integer> result = ajustarStockProductoUseCase.execute(1L, 10L, -5);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(45)
+                .verifyComplete();
+        verify(productoRepository, never()).findById(anyLong());
+        verify(resumenInventarioRepository).registrarCambioStock(1L, 50, 45);
+    }
+
+    @Test
+    void execute_WhenStockWouldBeNegative_ShouldReturnConflict() {
+        // Given
+        when(productoRepository.ajustarStock(eq(1L), eq(10L), eq(-100)))
+                .thenReturn(Mono.empty());
+        when(productoRepository.findById(eq(10L)))
+                .thenReturn(Mono.just(new Producto(10L, "Producto Test", 50, 1L)));
+
+        // When
+        Mono<Integer> result = ajustarStockProductoUseCase.execute(1L, 10L, -100);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(StockInsuficienteException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_WhenProductoDoesNotBelongToSucursal_ShouldReturnError() {
+        // Given
+        when(productoRepository.ajustarStock(eq(2L), eq(10L), eq(5)))
+                .thenReturn(Mono.empty());
+        when(productoRepository.findById(eq(10L)))
+                .thenReturn(Mono.just(new Producto(10L, "Producto Test", 50, 1L)));
+
+        // When
+        Mono<Integer> result = ajustarStockProductoUseCase.execute(2L, 10L, 5);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
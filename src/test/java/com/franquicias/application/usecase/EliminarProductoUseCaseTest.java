@@ -0,0 +1,81 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EliminarProductoUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private EliminarProductoUseCase eliminarProductoUseCase;
+
+    @Test
+    void execute_WhenProductoExiste_ShouldEliminarConUnaSolaSentencia() {
+        // Given
+        when(resumenInventarioRepository.registrarBaja(eq(1L), eq(3L))).thenReturn(Mono.empty());
+        when(productoRepository.eliminar(eq(1L), eq(3L))).thenReturn(Mono.just(true));
+        when(proyeccionMaximoStockRepository.recalcular(eq(1L))).thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class))).thenReturn(Mono.empty());
+
+        // When
+        Mono<Void> result = eliminarProductoUseCase.execute(1L, 3L);
+
+        // Then
+        StepVerifier.create(result).verifyComplete();
+        InOrder orden = inOrder(resumenInventarioRepository, productoRepository);
+        orden.verify(resumenInventarioRepository).registrarBaja(1L, 3L);
+        orden.verify(productoRepository).eliminar(1L, 3L);
+        verifyNoMoreInteractions(productoRepository);
+        verify(cambioInventarioPublisher).publicar(argThat(cambio ->
+                cambio.getTipo() == CambioInventario.Tipo.PRODUCTO_ELIMINADO && cambio.getProductoId().equals(3L)));
+    }
+
+    @Test
+    void execute_WhenProductoNoExisteEnLaSucursal_ShouldReturnErrorSinRecalcular() {
+        // Given
+        when(resumenInventarioRepository.registrarBaja(eq(1L), eq(3L))).thenReturn(Mono.empty());
+        when(productoRepository.eliminar(eq(1L), eq(3L))).thenReturn(Mono.just(false));
+
+        // When
+        Mono<Void> result = eliminarProductoUseCase.execute(1L, 3L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verifyNoInteractions(proyeccionMaximoStockRepository, cambioInventarioPublisher);
+    }
+}
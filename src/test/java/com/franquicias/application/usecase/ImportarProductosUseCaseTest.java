@@ -0,0 +1,169 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoImportacion;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportarProductosUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    @InjectMocks
+    private ImportarProductosUseCase importarProductosUseCase;
+
+    @Test
+    void execute_WhenRowsAreMixed_ShouldCountInsertedDuplicatedAndRejected() {
+        // Given
+        Long sucursalId = 1L;
+        Flux<Producto> productos = Flux.just(
+                new Producto(null, "Producto A", 10, null),
+                new Producto(null, "  ", 5, null),
+                new Producto(null, "Producto B", -1, null),
+                new Producto(null, "Producto A", 3, null)
+        );
+        when(sucursalRepository.existsById(eq(sucursalId))).thenReturn(Mono.just(true));
+        when(productoRepository.insertarIgnorandoDuplicados(anyList())).thenAnswer(invocation -> {
+            List<Producto> lote = invocation.getArgument(0);
+            return Mono.just((long) lote.size() - 1);
+        });
+        when(proyeccionMaximoStockRepository.recalcular(eq(sucursalId)))
+                .thenReturn(Mono.empty());
+        when(resumenInventarioRepository.recalcular(eq(sucursalId)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<ResultadoImportacion> result = importarProductosUseCase.execute(sucursalId, productos);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(resultado -> resultado.getInsertados() == 1
+                        && resultado.getDuplicados() == 1
+                        && resultado.getRechazados() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenSucursalDoesNotExist_ShouldReturnErrorWithoutInserting() {
+        // Given
+        when(sucursalRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When
+        Mono<ResultadoImportacion> result = importarProductosUseCase.execute(99L,
+                Flux.just(new Producto(null, "Producto A", 10, null)));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(productoRepository, never()).insertarIgnorandoDuplicados(anyList());
+    }
+
+    @Test
+    void execute_WhenFallaDespuesDelPrimerLote_ShouldRecalcularYPublicarAntesDeFallar() {
+        // Given
+        Long sucursalId = 1L;
+        Flux<Producto> productos = Flux.range(0, 500)
+                .map(i -> new Producto(null, "Producto " + i, i, null))
+                .concatWith(Flux.error(new IllegalStateException("Conexión cerrada por el cliente")));
+        when(sucursalRepository.existsById(eq(sucursalId))).thenReturn(Mono.just(true));
+        when(productoRepository.insertarIgnorandoDuplicados(anyList())).thenReturn(Mono.just(500L));
+        when(proyeccionMaximoStockRepository.recalcular(eq(sucursalId))).thenReturn(Mono.empty());
+        when(resumenInventarioRepository.recalcular(eq(sucursalId))).thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class))).thenReturn(Mono.empty());
+
+        // When
+        Mono<ResultadoImportacion> result = importarProductosUseCase.execute(sucursalId, productos);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalStateException.class)
+                .verify();
+        verify(proyeccionMaximoStockRepository).recalcular(sucursalId);
+        verify(resumenInventarioRepository).recalcular(sucursalId);
+        verify(cambioInventarioPublisher).publicar(argThat(cambio ->
+                cambio.getTipo() == CambioInventario.Tipo.PRODUCTOS_IMPORTADOS));
+    }
+
+    @Test
+    void execute_WhenSeCancelaDespuesDelPrimerLote_ShouldRecalcularYPublicar() {
+        // Given
+        Long sucursalId = 1L;
+        Flux<Producto> productos = Flux.range(0, 500)
+                .map(i -> new Producto(null, "Producto " + i, i, null))
+                .concatWith(Flux.never());
+        when(sucursalRepository.existsById(eq(sucursalId))).thenReturn(Mono.just(true));
+        when(productoRepository.insertarIgnorandoDuplicados(anyList())).thenReturn(Mono.just(500L));
+        when(proyeccionMaximoStockRepository.recalcular(eq(sucursalId))).thenReturn(Mono.empty());
+        when(resumenInventarioRepository.recalcular(eq(sucursalId))).thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class))).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(importarProductosUseCase.execute(sucursalId, productos))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        // Then
+        verify(proyeccionMaximoStockRepository).recalcular(sucursalId);
+        verify(resumenInventarioRepository).recalcular(sucursalId);
+        verify(cambioInventarioPublisher).publicar(any(CambioInventario.class));
+    }
+
+    @Test
+    void execute_WhenFallaAntesDeEnviarLotes_ShouldNoRecalcular() {
+        // Given
+        when(sucursalRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+
+        // When
+        Mono<ResultadoImportacion> result = importarProductosUseCase.execute(1L,
+                Flux.error(new IllegalStateException("Cuerpo ilegible")));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalStateException.class)
+                .verify();
+        verify(proyeccionMaximoStockRepository, never()).recalcular(any());
+        verify(cambioInventarioPublisher, never()).publicar(any());
+    }
+}
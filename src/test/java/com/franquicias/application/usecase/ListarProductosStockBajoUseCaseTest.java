@@ -0,0 +1,74 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListarProductosStockBajoUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private FranquiciaRepository franquiciaRepository;
+
+    @InjectMocks
+    private ListarProductosStockBajoUseCase listarProductosStockBajoUseCase;
+
+    @Test
+    void execute_WhenFranquiciaExiste_ShouldDevolverProductosBajoElUmbral() {
+        // Given
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findStockBajoByFranquiciaId(eq(1L), eq(5))).thenReturn(Flux.just(
+                new ProductoMaximoStock(10L, "Producto A", 0, 1L, "Centro"),
+                new ProductoMaximoStock(11L, "Producto B", 4, 2L, "Norte")));
+
+        // When & Then
+        StepVerifier.create(listarProductosStockBajoUseCase.execute(1L, 5))
+                .expectNextMatches(producto -> producto.getProductoId().equals(10L))
+                .expectNextMatches(producto -> producto.getProductoId().equals(11L))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenFranquiciaDoesNotExist_ShouldReturnError() {
+        // Given
+        when(franquiciaRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(listarProductosStockBajoUseCase.execute(99L, 5))
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verify(productoRepository, never()).findStockBajoByFranquiciaId(anyLong(), anyInt());
+    }
+
+    @Test
+    void execute_WhenUmbralNoEsPositivo_ShouldReturnErrorSinConsultar() {
+        // When & Then
+        StepVerifier.create(listarProductosStockBajoUseCase.execute(1L, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(listarProductosStockBajoUseCase.execute(1L, null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(franquiciaRepository, productoRepository);
+    }
+}
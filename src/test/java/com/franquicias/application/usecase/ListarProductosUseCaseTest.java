@@ -0,0 +1,122 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.domain.model.Pagina;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.SucursalRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListarProductosUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    @InjectMocks
+    private ListarProductosUseCase listarProductosUseCase;
+
+    @Test
+    void execute_WhenHayMasFilasQueElLimite_ShouldDevolverCursorQueContinuaTrasLaUltima() {
+        // Given
+        when(sucursalRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findPaginaBySucursalIdOrdenadaPorStock(eq(1L), isNull(), isNull(), eq(3)))
+                .thenReturn(Flux.just(producto(4L, 5), producto(2L, 7), producto(9L, 7)));
+        when(productoRepository.findPaginaBySucursalIdOrdenadaPorStock(eq(1L), eq(7), eq(2L), eq(3)))
+                .thenReturn(Flux.just(producto(9L, 7)));
+
+        // When
+        Pagina<Producto> primera = listarProductosUseCase.execute(1L, ListarProductosUseCase.Orden.STOCK, null, 2).block();
+
+        // Then
+        StepVerifier.create(listarProductosUseCase.execute(1L, ListarProductosUseCase.Orden.STOCK,
+                        primera.getSiguienteCursor(), 2))
+                .expectNextMatches(pagina -> pagina.getElementos().size() == 1
+                        && pagina.getElementos().get(0).getId().equals(9L)
+                        && pagina.getSiguienteCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenLimiteSuperaElMaximo_ShouldAcotarlo() {
+        // Given
+        when(sucursalRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findPaginaBySucursalId(eq(1L), isNull(), eq(CursorPaginacion.LIMITE_MAXIMO + 1)))
+                .thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(listarProductosUseCase.execute(1L, ListarProductosUseCase.Orden.ID, null, 100_000))
+                .expectNextMatches(pagina -> pagina.getElementos().isEmpty() && pagina.getSiguienteCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenCursorDeOtroOrden_ShouldReturnErrorSinConsultar() {
+        // Given
+        String cursorPorId = CursorPaginacion.codificar("id", 10L);
+
+        // When & Then
+        StepVerifier.create(listarProductosUseCase.execute(1L, ListarProductosUseCase.Orden.STOCK, cursorPorId, 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(productoRepository, never())
+                .findPaginaBySucursalIdOrdenadaPorStock(anyLong(), anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    void execute_WhenCursorAlterado_ShouldReturnError() {
+        // When & Then
+        StepVerifier.create(listarProductosUseCase.execute(1L, ListarProductosUseCase.Orden.ID, "no-es-un-cursor", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_WhenHayStockPendienteDeEscribir_ShouldMostrarloSinMoverElCursor() {
+        // Given
+        BufferEscrituraStock bufferEscrituraStock = mock(BufferEscrituraStock.class);
+        ListarProductosUseCase conBuffer = new ListarProductosUseCase(productoRepository, sucursalRepository,
+                bufferEscrituraStock);
+        when(bufferEscrituraStock.habilitado()).thenReturn(true);
+        when(bufferEscrituraStock.pendiente(anyLong())).thenReturn(Mono.empty());
+        when(bufferEscrituraStock.pendiente(2L)).thenReturn(Mono.just(producto(2L, 40)));
+        when(sucursalRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findPaginaBySucursalIdOrdenadaPorStock(eq(1L), isNull(), isNull(), eq(3)))
+                .thenReturn(Flux.just(producto(4L, 5), producto(2L, 7), producto(9L, 7)));
+
+        // When
+        Mono<Pagina<Producto>> result = conBuffer.execute(1L, ListarProductosUseCase.Orden.STOCK, null, 2);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(pagina -> {
+                    assertThat(pagina.getElementos()).extracting(Producto::getStock).containsExactly(5, 40);
+                    assertThat(pagina.getSiguienteCursor()).isEqualTo(CursorPaginacion.codificar("stock", 7, 2L));
+                })
+                .verifyComplete();
+    }
+
+    private static Producto producto(Long id, int stock) {
+        return new Producto(id, "Producto " + id, stock, 1L);
+    }
+}
@@ -1,7 +1,17 @@
 package com.franquicias.application.usecase;
 
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.ModificacionStock;
 import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
 import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,8 +20,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +41,15 @@ class ModificarStockProductoUseCaseTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
     @InjectMocks
     private ModificarStockProductoUseCase modificarStockProductoUseCase;
 
@@ -28,50 +58,202 @@ class ModificarStockProductoUseCaseTest {
         // Given
         Long productoId = 1L;
         Integer nuevoStock = 100;
-        Producto productoExistente = new Producto(productoId, "Producto Test", 50, 1L);
-        Producto productoActualizado = new Producto(productoId, "Producto Test", nuevoStock, 1L);
+        Producto productoActualizado = new Producto(productoId, null, nuevoStock, 1L, null, null, 5L);
         
-        when(productoRepository.findById(eq(productoId)))
-                .thenReturn(Mono.just(productoExistente));
-        when(productoRepository.update(any(Producto.class)))
-                .thenReturn(Mono.just(productoActualizado));
+        when(productoRepository.modificarStock(eq(1L), eq(productoId), eq(nuevoStock), isNull()))
+                .thenReturn(Mono.just(new ModificacionStock(productoActualizado, 50)));
+        when(resumenInventarioRepository.registrarCambioStock(eq(1L), eq(50), eq(nuevoStock)))
+                .thenReturn(Mono.empty());
+        when(proyeccionMaximoStockRepository.registrarStock(eq(1L), eq(nuevoStock)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
 
         // When
-        Mono<Producto> result = modificarStockProductoUseCase.execute(productoId, nuevoStock);
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, productoId, nuevoStock);
 
         // Then
         StepVerifier.create(result)
-                .expectNextMatches(producto -> producto.getStock().equals(nuevoStock))
+                .expectNextMatches(producto -> producto.getStock().equals(nuevoStock)
+                        && producto.getVersion().equals(5L))
                 .verifyComplete();
+        verify(cambioInventarioPublisher).publicar(argThat(cambio ->
+                cambio.getStockAnterior() == 50 && cambio.getStock().equals(nuevoStock)));
     }
 
     @Test
-    void execute_WhenProductoDoesNotExist_ShouldReturnError() {
+    void execute_WhenStockDecreases_ShouldRecalcularMaximoStockOfSucursal() {
+        // Given
+        Long productoId = 1L;
+        Producto productoActualizado = new Producto(productoId, null, 10, 1L, null, null, 5L);
+
+        when(productoRepository.modificarStock(eq(1L), eq(productoId), eq(10), isNull()))
+                .thenReturn(Mono.just(new ModificacionStock(productoActualizado, 50)));
+        when(resumenInventarioRepository.registrarCambioStock(eq(1L), eq(50), eq(10)))
+                .thenReturn(Mono.empty());
+        when(proyeccionMaximoStockRepository.recalcular(eq(1L)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, productoId, 10);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(productoActualizado)
+                .verifyComplete();
+        verify(proyeccionMaximoStockRepository).recalcular(1L);
+        verify(resumenInventarioRepository).registrarCambioStock(1L, 50, 10);
+    }
+
+    @Test
+    void execute_WhenStockDecreases_ShouldRecalcularMaximoDentroDeLaTransaccion() {
+        // Given
+        AtomicBoolean enTransaccion = new AtomicBoolean();
+        AtomicBoolean recalculoEnTransaccion = new AtomicBoolean();
+        AtomicBoolean publicacionEnTransaccion = new AtomicBoolean(true);
+        EjecutorTransaccional ejecutorTransaccional = new EjecutorTransaccional() {
+            @Override
+            public <T> Mono<T> ejecutar(Mono<T> operacion) {
+                // Como TransactionalOperator, confirma antes de entregar el resultado
+                return operacion.doOnSubscribe(suscripcion -> enTransaccion.set(true))
+                        .doOnSuccess(resultado -> enTransaccion.set(false));
+            }
+        };
+        ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository =
+                mock(ContadorCambiosFranquiciaRepository.class);
+        AtomicBoolean contadorEnTransaccion = new AtomicBoolean();
+        ModificarStockProductoUseCase useCase = new ModificarStockProductoUseCase(productoRepository,
+                proyeccionMaximoStockRepository, resumenInventarioRepository, cambioInventarioPublisher,
+                BufferEscrituraStock.ninguno(), ejecutorTransaccional, contadorCambiosFranquiciaRepository);
+        when(productoRepository.modificarStock(eq(1L), eq(1L), eq(10), isNull()))
+                .thenReturn(Mono.just(new ModificacionStock(new Producto(1L, null, 10, 1L, null, null, 5L), 50)));
+        when(resumenInventarioRepository.registrarCambioStock(eq(1L), eq(50), eq(10)))
+                .thenReturn(Mono.empty());
+        when(proyeccionMaximoStockRepository.recalcular(eq(1L)))
+                .thenReturn(Mono.fromRunnable(() -> recalculoEnTransaccion.set(enTransaccion.get())));
+        when(contadorCambiosFranquiciaRepository.incrementarPorSucursal(eq(1L)))
+                .thenReturn(Mono.fromRunnable(() -> contadorEnTransaccion.set(enTransaccion.get())));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.fromRunnable(() -> publicacionEnTransaccion.set(enTransaccion.get())));
+
+        // When
+        StepVerifier.create(useCase.execute(1L, 1L, 10))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertThat(recalculoEnTransaccion).isTrue();
+        assertThat(contadorEnTransaccion).isTrue();
+        assertThat(publicacionEnTransaccion).isFalse();
+    }
+
+    @Test
+    void execute_WhenProductoExiste_ShouldEscribirConUnaSolaSentencia() {
+        // Given
+        when(productoRepository.modificarStock(eq(1L), eq(1L), eq(70), eq(4L)))
+                .thenReturn(Mono.just(new ModificacionStock(new Producto(1L, null, 70, 1L, null, null, 5L), 50)));
+        when(resumenInventarioRepository.registrarCambioStock(eq(1L), eq(50), eq(70)))
+                .thenReturn(Mono.empty());
+        when(proyeccionMaximoStockRepository.registrarStock(eq(1L), eq(70)))
+                .thenReturn(Mono.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, 1L, 70, 4L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(productoRepository, times(1)).modificarStock(1L, 1L, 70, 4L);
+        verifyNoMoreInteractions(productoRepository);
+    }
+
+    @Test
+    void execute_WhenProductoDoesNotExist_ShouldReturnErrorSinConsultarDeNuevo() {
         // Given
         Long productoId = 999L;
         Integer nuevoStock = 100;
         
-        when(productoRepository.findById(eq(productoId)))
+        when(productoRepository.modificarStock(eq(1L), eq(productoId), eq(nuevoStock), isNull()))
                 .thenReturn(Mono.empty());
 
         // When
-        Mono<Producto> result = modificarStockProductoUseCase.execute(productoId, nuevoStock);
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, productoId, nuevoStock);
 
         // Then
         StepVerifier.create(result)
-                .expectError(IllegalArgumentException.class)
+                .expectError(RecursoNoEncontradoException.class)
                 .verify();
+        verify(productoRepository, never()).findById(any());
     }
 
     @Test
     void execute_WhenStockIsNegative_ShouldReturnError() {
         // When
-        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, -1);
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, 1L, -1);
 
         // Then
         StepVerifier.create(result)
                 .expectError(IllegalArgumentException.class)
                 .verify();
     }
-}
 
+    @Test
+    void execute_WhenEscrituraDiferidaYProductoPendiente_ShouldEncolarSinConsultarNiEscribir() {
+        // Given
+        BufferEscrituraStock bufferEscrituraStock = mock(BufferEscrituraStock.class);
+        ModificarStockProductoUseCase useCase = new ModificarStockProductoUseCase(productoRepository,
+                proyeccionMaximoStockRepository, resumenInventarioRepository, cambioInventarioPublisher,
+                bufferEscrituraStock, EjecutorTransaccional.ninguno(), ContadorCambiosFranquiciaRepository.ninguno());
+        when(bufferEscrituraStock.habilitado()).thenReturn(true);
+        when(bufferEscrituraStock.pendiente(eq(1L)))
+                .thenReturn(Mono.just(new Producto(1L, "Producto Test", 40, 1L)));
+        when(bufferEscrituraStock.encolar(any(Producto.class))).thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = useCase.execute(1L, 1L, 70);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(producto -> producto.getStock().equals(70))
+                .verifyComplete();
+        verifyNoInteractions(productoRepository, resumenInventarioRepository);
+        verify(cambioInventarioPublisher, never()).publicar(any(CambioInventario.class));
+    }
+
+    @Test
+    void execute_WhenVersionEsperadaNoCoincide_ShouldReturnPreconditionError() {
+        // Given
+        when(productoRepository.modificarStock(eq(1L), eq(1L), eq(70), eq(3L)))
+                .thenReturn(Mono.error(VersionNoCoincideException.de("El producto", 1L)));
+
+        // When
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, 1L, 70, 3L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(VersionNoCoincideException.class)
+                .verify();
+        verify(productoRepository, never()).findById(any());
+        verify(cambioInventarioPublisher, never()).publicar(any(CambioInventario.class));
+    }
+
+    @Test
+    void execute_WhenVersionEsperadaYProductoDeOtraSucursal_ShouldReturnNotFound() {
+        // Given
+        when(productoRepository.modificarStock(eq(1L), eq(1L), eq(70), eq(4L)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Producto> result = modificarStockProductoUseCase.execute(1L, 1L, 70, 4L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,109 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ObtenerRankingStockPorFranquiciaUseCaseTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private FranquiciaRepository franquiciaRepository;
+
+    @InjectMocks
+    private ObtenerRankingStockPorFranquiciaUseCase obtenerRankingStockPorFranquiciaUseCase;
+
+    @Test
+    void execute_WhenMayorStock_ShouldAgruparPorSucursalYMezclarLosMejoresDeLaFranquicia() {
+        // Given
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findRankingStockBySucursal(eq(1L), eq(ExtremoStock.MAYOR), eq(2)))
+                .thenReturn(Flux.just(
+                        producto(10L, 90, 1L), producto(11L, 40, 1L),
+                        producto(20L, 70, 2L), producto(21L, 60, 2L),
+                        producto(30L, 95, 3L), producto(31L, 10, 3L)));
+
+        // When & Then
+        StepVerifier.create(obtenerRankingStockPorFranquiciaUseCase.execute(1L, ExtremoStock.MAYOR, 2))
+                .assertNext(ranking -> {
+                    assertThat(ranking.getSucursales()).hasSize(3);
+                    assertThat(ranking.getSucursales().get(1).getSucursalId()).isEqualTo(2L);
+                    assertThat(ranking.getSucursales().get(1).getProductos()).hasSize(2);
+                    assertThat(ranking.getFranquicia())
+                            .extracting(ProductoMaximoStock::getProductoId)
+                            .containsExactly(30L, 10L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenMenorStockYEmpates_ShouldDesempatarPorId() {
+        // Given
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findRankingStockBySucursal(eq(1L), eq(ExtremoStock.MENOR), eq(3)))
+                .thenReturn(Flux.just(
+                        producto(12L, 0, 1L), producto(15L, 4, 1L), producto(16L, 8, 1L),
+                        producto(7L, 0, 2L), producto(8L, 9, 2L)));
+
+        // When & Then
+        StepVerifier.create(obtenerRankingStockPorFranquiciaUseCase.execute(1L, ExtremoStock.MENOR, 3))
+                .assertNext(ranking -> assertThat(ranking.getFranquicia())
+                        .extracting(ProductoMaximoStock::getProductoId)
+                        .containsExactly(7L, 12L, 15L))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenKSuperaElMaximo_ShouldAcotarlo() {
+        // Given
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(productoRepository.findRankingStockBySucursal(eq(1L), eq(ExtremoStock.MAYOR),
+                eq(ObtenerRankingStockPorFranquiciaUseCase.K_MAXIMO))).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(obtenerRankingStockPorFranquiciaUseCase.execute(1L, null, 5000))
+                .assertNext(ranking -> {
+                    assertThat(ranking.getK()).isEqualTo(ObtenerRankingStockPorFranquiciaUseCase.K_MAXIMO);
+                    assertThat(ranking.getFranquicia()).isEmpty();
+                    assertThat(ranking.getSucursales()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenFranquiciaDoesNotExist_ShouldReturnErrorSinConsultarProductos() {
+        // Given
+        when(franquiciaRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(obtenerRankingStockPorFranquiciaUseCase.execute(99L, ExtremoStock.MAYOR, 5))
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verify(productoRepository, never()).findRankingStockBySucursal(any(), any(), anyInt());
+    }
+
+    private static ProductoMaximoStock producto(Long productoId, int stock, Long sucursalId) {
+        return new ProductoMaximoStock(productoId, "Producto " + productoId, stock, sucursalId, "Sucursal " + sucursalId);
+    }
+}
@@ -0,0 +1,74 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ObtenerResumenInventarioFranquiciaUseCaseTest {
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private FranquiciaRepository franquiciaRepository;
+
+    @InjectMocks
+    private ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase;
+
+    @Test
+    void execute_WhenFranquiciaTieneSucursales_ShouldSumarContadoresSinComprobarExistencia() {
+        // Given
+        when(resumenInventarioRepository.findByFranquiciaId(eq(1L))).thenReturn(Flux.just(
+                new ResumenInventarioSucursal(10L, "Centro", 3, 120, 1),
+                new ResumenInventarioSucursal(11L, "Norte", 2, 30, 2)));
+
+        // When & Then
+        StepVerifier.create(obtenerResumenInventarioFranquiciaUseCase.execute(1L))
+                .expectNextMatches(resumen -> resumen.getProductos() == 5
+                        && resumen.getStockTotal() == 150
+                        && resumen.getProductosSinStock() == 3
+                        && resumen.getSucursales().size() == 2)
+                .verifyComplete();
+        verify(franquiciaRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void execute_WhenFranquiciaSinSucursales_ShouldReturnResumenVacio() {
+        // Given
+        when(resumenInventarioRepository.findByFranquiciaId(eq(1L))).thenReturn(Flux.empty());
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(obtenerResumenInventarioFranquiciaUseCase.execute(1L))
+                .expectNextMatches(resumen -> resumen.getProductos() == 0 && resumen.getSucursales().isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenFranquiciaDoesNotExist_ShouldReturnError() {
+        // Given
+        when(resumenInventarioRepository.findByFranquiciaId(eq(99L))).thenReturn(Flux.empty());
+        when(franquiciaRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(obtenerResumenInventarioFranquiciaUseCase.execute(99L))
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+    }
+}
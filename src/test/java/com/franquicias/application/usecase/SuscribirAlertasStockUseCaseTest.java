@@ -0,0 +1,58 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.model.AlertaStock;
+import com.franquicias.domain.repository.FranquiciaRepository;
+import com.franquicias.domain.stock.FuenteAlertasStock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuscribirAlertasStockUseCaseTest {
+
+    @Mock
+    private FuenteAlertasStock fuenteAlertasStock;
+
+    @Mock
+    private FranquiciaRepository franquiciaRepository;
+
+    @InjectMocks
+    private SuscribirAlertasStockUseCase suscribirAlertasStockUseCase;
+
+    @Test
+    void execute_WhenFranquiciaExiste_ShouldSuscribirseASusAlertas() {
+        // Given
+        AlertaStock alerta = new AlertaStock(AlertaStock.Tipo.BAJO_UMBRAL, 1L, 5L, 50L, "Producto A", 12, 3, 10);
+        when(franquiciaRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(fuenteAlertasStock.suscribir(eq(1L))).thenReturn(Flux.just(alerta));
+
+        // When & Then
+        StepVerifier.create(suscribirAlertasStockUseCase.execute(1L))
+                .expectNext(alerta)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenFranquiciaDoesNotExist_ShouldReturnError() {
+        // Given
+        when(franquiciaRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(suscribirAlertasStockUseCase.execute(99L))
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verify(fuenteAlertasStock, never()).suscribir(anyLong());
+    }
+}
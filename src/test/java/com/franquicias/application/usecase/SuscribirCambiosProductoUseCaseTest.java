@@ -0,0 +1,59 @@
+package com.franquicias.application.usecase;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioProducto;
+import com.franquicias.domain.event.FuenteCambiosProducto;
+import com.franquicias.domain.repository.SucursalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuscribirCambiosProductoUseCaseTest {
+
+    @Mock
+    private FuenteCambiosProducto fuenteCambiosProducto;
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    @InjectMocks
+    private SuscribirCambiosProductoUseCase suscribirCambiosProductoUseCase;
+
+    @Test
+    void execute_WhenSucursalExiste_ShouldSuscribirseDesdeLaSecuenciaIndicada() {
+        // Given
+        CambioProducto cambio = new CambioProducto(8L, CambioInventario.Tipo.STOCK_MODIFICADO, 1L, 10L, "Leche", 3);
+        when(sucursalRepository.existsById(eq(1L))).thenReturn(Mono.just(true));
+        when(fuenteCambiosProducto.suscribir(eq(1L), eq(7L))).thenReturn(Flux.just(cambio));
+
+        // When & Then
+        StepVerifier.create(suscribirCambiosProductoUseCase.execute(1L, 7L))
+                .expectNext(cambio)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenSucursalDoesNotExist_ShouldReturnError() {
+        // Given
+        when(sucursalRepository.existsById(eq(99L))).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(suscribirCambiosProductoUseCase.execute(99L, null))
+                .expectError(RecursoNoEncontradoException.class)
+                .verify();
+        verify(fuenteCambiosProducto, never()).suscribir(any(), any());
+    }
+}
@@ -0,0 +1,243 @@
+package com.franquicias.infrastructure.cache;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.model.ProductoMaximoStock;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.SucursalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.concurrent.Queues;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineProductosMaximoStockCacheTest {
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineProductosMaximoStockCache cache;
+    private AtomicInteger consultas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CaffeineProductosMaximoStockCache(sucursalRepository, meterRegistry,
+                100, Duration.ofMinutes(1));
+        consultas = new AtomicInteger();
+    }
+
+    @Test
+    void obtener_WhenSeConsultaDosVeces_ShouldEjecutarConsultaUnaSolaVez() {
+        // When
+        StepVerifier.create(cache.obtener(1L, this::consulta)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.obtener(1L, this::consulta)).expectNextCount(1).verifyComplete();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(1);
+    }
+
+    @Test
+    void onCambio_WhenSucursalEstaCacheada_ShouldInvalidarSinConsultarSucursal() {
+        // Given
+        cache.obtener(1L, this::consulta).blockLast();
+
+        // When
+        StepVerifier.create(cache.onCambio(CambioInventario.deProducto(
+                        CambioInventario.Tipo.STOCK_MODIFICADO, 10L, 100L, null, 5)))
+                .verifyComplete();
+        cache.obtener(1L, this::consulta).blockLast();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(2);
+        verify(sucursalRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void onCambio_WhenSucursalNoEstaMapeada_ShouldResolverFranquiciaEInvalidar() {
+        // Given
+        cache.obtener(2L, this::consulta).blockLast();
+        when(sucursalRepository.findById(20L)).thenReturn(Mono.just(new Sucursal(20L, "Sucursal Sur", 2L)));
+
+        // When
+        StepVerifier.create(cache.onCambio(CambioInventario.deProducto(
+                        CambioInventario.Tipo.PRODUCTO_CREADO, 20L, 200L, "Producto", 1)))
+                .verifyComplete();
+        cache.obtener(2L, this::consulta).blockLast();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(2);
+    }
+
+    @Test
+    void obtener_WhenPeticionesSimultaneas_ShouldCompartirLaConsultaEnCurso() {
+        // When
+        Flux<ProductoMaximoStock> primera = cache.obtener(1L, this::consultaLenta);
+        Flux<ProductoMaximoStock> segunda = cache.obtener(1L, this::consultaLenta);
+        StepVerifier.create(Flux.merge(primera, segunda)).expectNextCount(2).verifyComplete();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(1);
+        assertThat(contadorConsultas("cache", "ejecutada")).isEqualTo(1.0);
+        assertThat(contadorConsultas("cache", "compartida")).isEqualTo(1.0);
+    }
+
+    @Test
+    void compartir_WhenPeticionesSimultaneas_ShouldEjecutarUnaConsultaSinGuardarElResultado() {
+        // When
+        StepVerifier.create(Flux.merge(cache.compartir(1L, this::consultaLenta), cache.compartir(1L, this::consultaLenta)))
+                .expectNextCount(2)
+                .verifyComplete();
+        StepVerifier.create(cache.compartir(1L, this::consultaLenta)).expectNextCount(1).verifyComplete();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(2);
+        assertThat(contadorConsultas("streaming", "ejecutada")).isEqualTo(2.0);
+        assertThat(contadorConsultas("streaming", "compartida")).isEqualTo(1.0);
+    }
+
+    @Test
+    void compartir_WhenSeInvalidaDuranteLaConsulta_ShouldEjecutarOtraParaLasPeticionesSiguientes() {
+        // Given
+        Flux<ProductoMaximoStock> anterior = cache.compartir(1L, this::consultaLenta);
+
+        // When
+        StepVerifier.create(anterior.mergeWith(Flux.defer(() -> {
+                    cache.invalidar(1L);
+                    return cache.compartir(1L, this::consultaLenta);
+                })))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(2);
+    }
+
+    @Test
+    void compartir_WhenLlegaConLaConsultaEmitiendo_ShouldEjecutarLaSuyaYRecibirTodasLasFilas() {
+        // Given
+        Flux<ProductoMaximoStock> primera = cache.compartir(1L, this::consultaPorFilas);
+        Flux<ProductoMaximoStock> tardia = Flux.defer(() -> cache.compartir(1L, this::consultaPorFilas))
+                .delaySubscription(Duration.ofMillis(150));
+
+        // When & Then
+        StepVerifier.create(Flux.merge(primera, tardia)).expectNextCount(6).verifyComplete();
+        assertThat(consultas.get()).isEqualTo(2);
+        assertThat(contadorConsultas("streaming", "ejecutada")).isEqualTo(2.0);
+    }
+
+    @Test
+    void compartir_WhenVariosSuscriptoresRecorrenUnaFranquiciaGrande_ShouldNoRetenerLasFilasEntregadas() throws InterruptedException {
+        // Given
+        int filas = 200_000;
+        AtomicInteger producidas = new AtomicInteger();
+        List<WeakReference<ProductoMaximoStock>> primeras = new CopyOnWriteArrayList<>();
+        Supplier<Flux<ProductoMaximoStock>> consulta = () -> Flux.range(0, filas)
+                .map(i -> {
+                    producidas.incrementAndGet();
+                    ProductoMaximoStock fila = new ProductoMaximoStock((long) i, "Producto " + i, i, 10L, "Sucursal Centro");
+                    if (i < 1_000) {
+                        primeras.add(new WeakReference<>(fila));
+                    }
+                    return fila;
+                })
+                .delaySubscription(Duration.ofMillis(50));
+        List<SuscriptorContador> suscriptores = List.of(
+                new SuscriptorContador(), new SuscriptorContador(), new SuscriptorContador());
+        suscriptores.forEach(suscriptor -> cache.compartir(1L, consulta).subscribe(suscriptor));
+
+        // When
+        suscriptores.forEach(suscriptor -> suscriptor.request(10_000));
+        esperar(() -> suscriptores.stream().allMatch(suscriptor -> suscriptor.recibidas.get() == 10_000));
+
+        // Then
+        assertThat(consultas.get()).isZero();
+        assertThat(contadorConsultas("streaming", "ejecutada")).isEqualTo(1.0);
+        assertThat(contadorConsultas("streaming", "compartida")).isEqualTo(2.0);
+        // Sin historial, la consulta solo va por delante de los suscriptores lo que admite el prefetch
+        assertThat(producidas.get()).isLessThanOrEqualTo(10_000 + Queues.SMALL_BUFFER_SIZE);
+        esperar(() -> {
+            System.gc();
+            return primeras.stream().allMatch(referencia -> referencia.get() == null);
+        });
+
+        suscriptores.forEach(suscriptor -> suscriptor.request(Long.MAX_VALUE));
+        esperar(() -> suscriptores.stream().allMatch(suscriptor -> suscriptor.completado));
+        assertThat(suscriptores).allMatch(suscriptor -> suscriptor.recibidas.get() == filas);
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+    /** Cuenta las filas sin guardarlas y solo pide las que se le indican. */
+    private static final class SuscriptorContador extends BaseSubscriber<ProductoMaximoStock> {
+
+        private final AtomicInteger recibidas = new AtomicInteger();
+        private volatile boolean completado;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(ProductoMaximoStock fila) {
+            recibidas.incrementAndGet();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completado = true;
+        }
+    }
+
+    private double contadorConsultas(String ruta, String resultado) {
+        return meterRegistry.get("franquicias.maximo.stock.consultas")
+                .tag("ruta", ruta)
+                .tag("resultado", resultado)
+                .counter()
+                .count();
+    }
+
+    private Flux<ProductoMaximoStock> consultaPorFilas() {
+        consultas.incrementAndGet();
+        return Flux.range(0, 3)
+                .map(i -> new ProductoMaximoStock((long) i, "Producto " + i, i, 10L, "Sucursal Centro"))
+                .delayElements(Duration.ofMillis(100));
+    }
+
+    private Flux<ProductoMaximoStock> consultaLenta() {
+        return consulta().delaySubscription(Duration.ofMillis(50));
+    }
+
+    private Flux<ProductoMaximoStock> consulta() {
+        consultas.incrementAndGet();
+        return Flux.just(new ProductoMaximoStock(100L, "Producto", 50, 10L, "Sucursal Centro"));
+    }
+}
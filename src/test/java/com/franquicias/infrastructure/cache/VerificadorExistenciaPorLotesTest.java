@@ -0,0 +1,150 @@
+package com.franquicias.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificadorExistenciaPorLotesTest {
+
+    private static final Function<Set<Long>, Flux<Long>> PARES =
+            ids -> Flux.fromIterable(ids).filter(id -> id % 2 == 0);
+
+    private final List<Set<Long>> consultas = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Function<Set<Long>, Flux<Long>>> proximaConsulta = new AtomicReference<>();
+    private VerificadorExistenciaPorLotes verificador;
+
+    @BeforeEach
+    void setUp() {
+        verificador = new VerificadorExistenciaPorLotes("existenciaTest",
+                ids -> {
+                    consultas.add(Set.copyOf(ids));
+                    Function<Set<Long>, Flux<Long>> consulta = proximaConsulta.getAndSet(null);
+                    return (consulta != null ? consulta : PARES).apply(ids);
+                },
+                Duration.ofMillis(50), 100, Duration.ofMillis(300), 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        verificador.dispose();
+    }
+
+    @Test
+    void existe_WhenConsultasConcurrentes_ShouldAgruparlasEnUnaSolaConsulta() {
+        // When
+        Mono<List<Boolean>> result = Flux.merge(verificador.existe(2L), verificador.existe(3L), verificador.existe(2L))
+                .collectList();
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(respuestas -> assertThat(respuestas).containsExactlyInAnyOrder(true, true, false))
+                .verifyComplete();
+        assertThat(consultas).containsExactly(Set.of(2L, 3L));
+    }
+
+    @Test
+    void existe_WhenIdYaConfirmado_ShouldResponderDesdeCache() {
+        // Given
+        verificador.existe(4L).block();
+
+        // When & Then
+        StepVerifier.create(verificador.existe(4L))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(consultas).hasSize(1);
+    }
+
+    @Test
+    void existe_WhenIdInvalidado_ShouldConsultarDeNuevo() {
+        // Given
+        verificador.existe(6L).block();
+        verificador.invalidar(6L);
+
+        // When
+        verificador.existe(6L).block();
+
+        // Then
+        assertThat(consultas).hasSize(2);
+    }
+
+    @Test
+    void existe_WhenSeInvalidaAntesDeSuscribirse_ShouldConsultarDeNuevo() {
+        // Given
+        verificador.existe(8L).block();
+        Mono<Boolean> armado = verificador.existe(8L);
+        verificador.invalidar(8L);
+
+        // When
+        armado.block();
+
+        // Then
+        assertThat(consultas).hasSize(2);
+    }
+
+    @Test
+    void existe_WhenIdNoExiste_ShouldNoCachearlo() {
+        // Given
+        verificador.existe(5L).block();
+
+        // When
+        verificador.existe(5L).block();
+
+        // Then
+        assertThat(consultas).hasSize(2);
+    }
+
+    @Test
+    void existe_WhenUnLoteFalla_ShouldFallarSoloEseLoteYResolverLosSiguientes() {
+        // Given
+        proximaConsulta.set(ids -> {
+            throw new IllegalStateException("Conexión perdida");
+        });
+        StepVerifier.create(verificador.existe(2L))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // When & Then
+        StepVerifier.create(verificador.existe(2L))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(consultas).hasSize(2);
+    }
+
+    @Test
+    void existe_WhenElLoteNoRespondeATiempo_ShouldConsultarElIdDirectamente() {
+        // Given
+        proximaConsulta.set(ids -> Flux.never());
+
+        // When & Then
+        StepVerifier.create(verificador.existe(10L))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(consultas).containsExactly(Set.of(10L), Set.of(10L));
+    }
+
+    @Test
+    void existe_WhenElAgrupamientoTermino_ShouldConsultarElIdDirectamente() {
+        // Given
+        verificador.dispose();
+
+        // When & Then
+        StepVerifier.create(verificador.existe(12L))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(consultas).containsExactly(Set.of(12L));
+    }
+}
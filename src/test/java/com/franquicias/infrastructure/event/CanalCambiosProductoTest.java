@@ -0,0 +1,115 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioProducto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanalCambiosProductoTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CanalCambiosProducto canal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        canal = new CanalCambiosProducto(10, Duration.ofMinutes(1), 4, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        canal.cerrar();
+    }
+
+    @Test
+    void onCambio_ShouldLlegarSoloALosSuscriptoresDeLaSucursal() {
+        // When & Then
+        StepVerifier.create(canal.suscribir(1L, null))
+                .then(() -> {
+                    publicar(CambioInventario.deProducto(CambioInventario.Tipo.PRODUCTO_CREADO, 2L, 20L, "Otro", 1));
+                    publicar(CambioInventario.deProducto(CambioInventario.Tipo.PRODUCTO_CREADO, 1L, 10L, "Leche", 5));
+                    publicar(CambioInventario.deSucursal(CambioInventario.Tipo.SUCURSAL_RENOMBRADA, 7L, 1L));
+                    publicar(CambioInventario.deSucursal(CambioInventario.Tipo.PRODUCTOS_IMPORTADOS, null, 1L));
+                })
+                .assertNext(cambio -> {
+                    assertThat(cambio.getTipo()).isEqualTo(CambioInventario.Tipo.PRODUCTO_CREADO);
+                    assertThat(cambio.getProductoId()).isEqualTo(10L);
+                    assertThat(cambio.getStock()).isEqualTo(5);
+                })
+                .assertNext(cambio -> assertThat(cambio.getTipo()).isEqualTo(CambioInventario.Tipo.PRODUCTOS_IMPORTADOS))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void suscribir_WhenSeReconectaConSecuencia_ShouldReenviarSoloLosCambiosPosteriores() {
+        // Given
+        AtomicReference<CambioProducto> primero = new AtomicReference<>();
+        StepVerifier.create(canal.suscribir(1L, null))
+                .then(() -> {
+                    publicar(CambioInventario.deStock(1L, 10L, "Leche", 5, 4));
+                    publicar(CambioInventario.deStock(1L, 10L, "Leche", 4, 3));
+                })
+                .consumeNextWith(primero::set)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        // When & Then
+        StepVerifier.create(canal.suscribir(1L, primero.get().getSecuencia()))
+                .assertNext(cambio -> assertThat(cambio.getStock()).isEqualTo(3))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void suscribir_WhenElClienteNoConsume_ShouldCortarSoloSuConexion() {
+        // When & Then
+        StepVerifier.create(canal.suscribir(1L, null), 0)
+                .then(() -> {
+                    for (int i = 0; i < 6; i++) {
+                        publicar(CambioInventario.deStock(1L, 10L, "Leche", i, i + 1));
+                    }
+                })
+                .thenRequest(10)
+                .expectNextCount(4)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+        assertThat(meterRegistry.get("franquicias.productos.cambios.desbordes").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cerrarInactivos_WhenPasaLaVentanaSinSuscriptores_ShouldDescartarLosCambiosRetenidos() {
+        // Given
+        StepVerifier.create(canal.suscribir(1L, null))
+                .then(() -> publicar(CambioInventario.deStock(1L, 10L, "Leche", 5, 4)))
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        // When
+        canal.cerrarInactivos(System.nanoTime() + Duration.ofMinutes(2).toNanos());
+
+        // Then
+        assertThat(meterRegistry.get("franquicias.productos.cambios.canales").gauge().value()).isZero();
+        StepVerifier.create(canal.suscribir(1L, null))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    private void publicar(CambioInventario cambio) {
+        canal.onCambio(cambio).block();
+    }
+}
@@ -0,0 +1,59 @@
+package com.franquicias.infrastructure.event;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContadorCambiosFranquiciaListenerTest {
+
+    @Mock
+    private ContadorCambiosFranquiciaRepository contadorCambiosFranquiciaRepository;
+
+    @InjectMocks
+    private ContadorCambiosFranquiciaListener listener;
+
+    @Test
+    void onCambio_WhenElIncrementoFallaUnaVez_ShouldReintentarlo() {
+        // Given
+        AtomicInteger intentos = new AtomicInteger();
+        when(contadorCambiosFranquiciaRepository.incrementarPorSucursal(1L))
+                .thenReturn(Mono.defer(() -> intentos.incrementAndGet() == 1
+                        ? Mono.error(new IllegalStateException("Conexión perdida"))
+                        : Mono.empty()));
+
+        // When & Then
+        StepVerifier.create(listener.onCambio(CambioInventario.deSucursal(
+                        CambioInventario.Tipo.STOCK_MASIVO_MODIFICADO, null, 1L)))
+                .verifyComplete();
+        assertThat(intentos).hasValue(2);
+    }
+
+    @Test
+    void onCambio_WhenElIncrementoSigueFallando_ShouldCompletarSinHacerFallarLaEscritura() {
+        // Given
+        AtomicInteger intentos = new AtomicInteger();
+        when(contadorCambiosFranquiciaRepository.incrementar(1L))
+                .thenReturn(Mono.defer(() -> {
+                    intentos.incrementAndGet();
+                    return Mono.error(new IllegalStateException("Conexión perdida"));
+                }));
+
+        // When & Then
+        StepVerifier.create(listener.onCambio(CambioInventario.deFranquicia(
+                        CambioInventario.Tipo.FRANQUICIA_RENOMBRADA, 1L)))
+                .verifyComplete();
+        assertThat(intentos).hasValue(4);
+    }
+}
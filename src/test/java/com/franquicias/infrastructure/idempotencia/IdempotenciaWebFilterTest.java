@@ -0,0 +1,117 @@
+package com.franquicias.infrastructure.idempotencia;
+
+import com.franquicias.adapters.presentation.controller.FranquiciaController;
+import com.franquicias.application.usecase.ActualizarNombreFranquiciaUseCase;
+import com.franquicias.application.usecase.CrearFranquiciaUseCase;
+import com.franquicias.application.usecase.ObtenerResumenInventarioFranquiciaUseCase;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.infrastructure.config.IdempotenciaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(FranquiciaController.class)
+@Import(IdempotenciaConfig.class)
+class IdempotenciaWebFilterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private CrearFranquiciaUseCase crearFranquiciaUseCase;
+
+    @MockBean
+    private ActualizarNombreFranquiciaUseCase actualizarNombreFranquiciaUseCase;
+
+    @MockBean
+    private ObtenerResumenInventarioFranquiciaUseCase obtenerResumenInventarioFranquiciaUseCase;
+
+    @TestConfiguration
+    static class MetricasConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void crearFranquicia_WhenSeReintentaConLaMismaClave_ShouldRepetirLaRespuestaSinEjecutar() {
+        // Given
+        Franquicia franquicia = new Franquicia(1L, "Franquicia Test",
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+        when(crearFranquiciaUseCase.execute("Franquicia Test")).thenReturn(Mono.just(franquicia));
+
+        // When
+        crear("clave-1", "Franquicia Test")
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotenciaWebFilter.CABECERA_REPETIDA);
+
+        // Then
+        crear("clave-1", "Franquicia Test")
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectHeader().valueEquals(IdempotenciaWebFilter.CABECERA_REPETIDA, "true")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.nombre").isEqualTo("Franquicia Test");
+        verify(crearFranquiciaUseCase, times(1)).execute("Franquicia Test");
+    }
+
+    @Test
+    void crearFranquicia_WhenLaClaveSeReutilizaConOtroCuerpo_ShouldReturnUnprocessableEntity() {
+        // Given
+        when(crearFranquiciaUseCase.execute("Franquicia Test"))
+                .thenReturn(Mono.just(new Franquicia(1L, "Franquicia Test")));
+        crear("clave-2", "Franquicia Test").expectStatus().isCreated();
+
+        // When & Then
+        crear("clave-2", "Otra Franquicia")
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(422);
+    }
+
+    @Test
+    void crearFranquicia_WhenElNombreYaExiste_ShouldReturnConflictYNoGuardarLaRespuesta() {
+        // Given
+        when(crearFranquiciaUseCase.execute("Franquicia Test"))
+                .thenReturn(Mono.error(new DuplicateKeyException("Ya existe una franquicia con nombre Franquicia Test")));
+
+        // When
+        crear("clave-3", "Franquicia Test")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Ya existe una franquicia con nombre Franquicia Test");
+
+        // Then
+        crear("clave-3", "Franquicia Test").expectStatus().isEqualTo(409);
+        verify(crearFranquiciaUseCase, times(2)).execute("Franquicia Test");
+    }
+
+    private WebTestClient.ResponseSpec crear(String clave, String nombre) {
+        return webTestClient.post()
+                .uri("/api/franquicias")
+                .header(IdempotenciaWebFilter.CABECERA, clave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nombre\": \"" + nombre + "\"}")
+                .exchange();
+    }
+}
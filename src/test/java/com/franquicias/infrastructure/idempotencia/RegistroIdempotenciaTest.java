@@ -0,0 +1,92 @@
+package com.franquicias.infrastructure.idempotencia;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistroIdempotenciaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegistroIdempotencia registro;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registro = new RegistroIdempotencia(meterRegistry, 100, Duration.ofMinutes(1));
+        ejecuciones = new AtomicInteger();
+    }
+
+    @Test
+    void resolver_WhenLaPrimeraSigueEnCurso_ShouldEsperarlaYRepetirSuRespuesta() {
+        // Given
+        Sinks.One<RespuestaIdempotente> primera = Sinks.one();
+        RespuestaIdempotente respuesta = respuesta("huella");
+
+        // When
+        StepVerifier.create(registro.resolver("clave", "huella", contar(primera.asMono())))
+                .then(() -> StepVerifier.create(registro.resolver("clave", "huella", contar(Mono.just(respuesta))))
+                        .then(() -> primera.tryEmitValue(respuesta))
+                        .expectNext(respuesta)
+                        .verifyComplete())
+                .verifyComplete();
+
+        // Then
+        assertThat(ejecuciones.get()).isEqualTo(1);
+        assertThat(contador("ejecutada")).isEqualTo(1.0);
+        assertThat(contador("repetida")).isEqualTo(1.0);
+    }
+
+    @Test
+    void resolver_WhenLaHuellaEsDistinta_ShouldRechazarSinEjecutar() {
+        // Given
+        StepVerifier.create(registro.resolver("clave", "huella", contar(Mono.just(respuesta("huella")))))
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(registro.resolver("clave", "otra", contar(Mono.just(respuesta("otra")))))
+                .expectError(ClaveIdempotenciaReutilizadaException.class)
+                .verify();
+        assertThat(ejecuciones.get()).isEqualTo(1);
+        assertThat(contador("rechazada")).isEqualTo(1.0);
+    }
+
+    @Test
+    void resolver_WhenLaEjecucionNoDejaRespuesta_ShouldLiberarLaClave() {
+        // Given
+        StepVerifier.create(registro.resolver("clave", "huella", contar(Mono.error(new IllegalStateException("falló")))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // When
+        StepVerifier.create(registro.resolver("clave", "huella", contar(Mono.just(respuesta("huella")))))
+                .verifyComplete();
+
+        // Then
+        assertThat(ejecuciones.get()).isEqualTo(2);
+        assertThat(contador("ejecutada")).isEqualTo(2.0);
+    }
+
+    private Mono<RespuestaIdempotente> contar(Mono<RespuestaIdempotente> ejecucion) {
+        return Mono.defer(() -> {
+            ejecuciones.incrementAndGet();
+            return ejecucion;
+        });
+    }
+
+    private static RespuestaIdempotente respuesta(String huella) {
+        return new RespuestaIdempotente(huella, 201, "application/json", "\"0\"", "{}".getBytes());
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("franquicias.idempotencia.peticiones").tag("resultado", resultado).counter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.franquicias.infrastructure.inventario;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliadorResumenInventarioTest {
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReconciliadorResumenInventario reconciliador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciliador = new ReconciliadorResumenInventario(resumenInventarioRepository,
+                proyeccionMaximoStockRepository, cambioInventarioPublisher, Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    void reconciliar_WhenHaySucursalesDesviadas_ShouldPublicarUnCambioPorSucursalCorregida() {
+        // Given
+        when(resumenInventarioRepository.reconciliar()).thenReturn(Flux.just(
+                desviacionResumen(1L), desviacionResumen(2L)));
+        when(proyeccionMaximoStockRepository.reconciliar()).thenReturn(Flux.just(
+                new DesviacionMaximoStock(2L, 40, 35), new DesviacionMaximoStock(3L, null, 12)));
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class))).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(reconciliador.reconciliar())
+                .expectNext(4L)
+                .verifyComplete();
+
+        // Then
+        ArgumentCaptor<CambioInventario> captor = ArgumentCaptor.forClass(CambioInventario.class);
+        verify(cambioInventarioPublisher, times(3)).publicar(captor.capture());
+        assertThat(captor.getAllValues())
+                .allSatisfy(cambio -> assertThat(cambio.getTipo())
+                        .isEqualTo(CambioInventario.Tipo.INVENTARIO_RECONCILIADO))
+                .extracting(CambioInventario::getSucursalId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.get("franquicias.inventario.desviaciones").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("franquicias.maximo.stock.desviaciones").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reconciliar_WhenFallaUnaPublicacion_ShouldPublicarLasDemasSucursales() {
+        // Given
+        when(resumenInventarioRepository.reconciliar()).thenReturn(Flux.just(
+                desviacionResumen(1L), desviacionResumen(2L)));
+        when(proyeccionMaximoStockRepository.reconciliar()).thenReturn(Flux.empty());
+        when(cambioInventarioPublisher.publicar(any(CambioInventario.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Conexión perdida")))
+                .thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(reconciliador.reconciliar())
+                .expectNext(2L)
+                .verifyComplete();
+        verify(cambioInventarioPublisher, times(2)).publicar(any(CambioInventario.class));
+    }
+
+    @Test
+    void reconciliar_WhenNoHayDesviaciones_ShouldNoPublicar() {
+        // Given
+        when(resumenInventarioRepository.reconciliar()).thenReturn(Flux.empty());
+        when(proyeccionMaximoStockRepository.reconciliar()).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(reconciliador.reconciliar())
+                .expectNext(0L)
+                .verifyComplete();
+        verifyNoInteractions(cambioInventarioPublisher);
+    }
+
+    private static DesviacionResumenInventario desviacionResumen(Long sucursalId) {
+        return new DesviacionResumenInventario(new ResumenInventarioSucursal(sucursalId, null, 3, 30, 0),
+                new ResumenInventarioSucursal(sucursalId, null, 3, 25, 1));
+    }
+}
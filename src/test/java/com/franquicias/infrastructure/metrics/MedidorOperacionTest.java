@@ -0,0 +1,94 @@
+package com.franquicias.infrastructure.metrics;
+
+import com.franquicias.common.exception.RecursoNoEncontradoException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MedidorOperacionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricasOperaciones metricas = new MetricasOperaciones(registry);
+
+    @Test
+    void medir_ShouldEtiquetarCadaResultado() {
+        // Given
+        MedidorOperacion medidor = metricas.casoDeUso("crearFranquicia", "execute");
+
+        // When
+        StepVerifier.create(medidor.medir(Mono.just(1))).expectNext(1).verifyComplete();
+        StepVerifier.create(medidor.medir(Mono.error(new IllegalArgumentException("vacío")))).verifyError();
+        StepVerifier.create(medidor.medir(Mono.error(new RecursoNoEncontradoException("no existe")))).verifyError();
+        StepVerifier.create(medidor.medir(Mono.error(new DataAccessResourceFailureException("caída")))).verifyError();
+        StepVerifier.create(medidor.medir(Mono.error(new IllegalStateException()))).verifyError();
+
+        // Then
+        assertThat(conteo("franquicias.usecase", "SUCCESS")).isEqualTo(1);
+        assertThat(conteo("franquicias.usecase", "VALIDATION_ERROR")).isEqualTo(1);
+        assertThat(conteo("franquicias.usecase", "NOT_FOUND")).isEqualTo(1);
+        assertThat(conteo("franquicias.usecase", "DB_ERROR")).isEqualTo(1);
+        assertThat(conteo("franquicias.usecase", "ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    void medir_WhenBusquedaVacia_ShouldRegistrarNotFound() {
+        // Given
+        MedidorOperacion busqueda = metricas.repositorioBusqueda("producto", "findById");
+        MedidorOperacion eliminacion = metricas.repositorio("producto", "deleteById");
+
+        // When
+        StepVerifier.create(busqueda.medir(Mono.empty())).verifyComplete();
+        StepVerifier.create(eliminacion.medir(Mono.empty())).verifyComplete();
+
+        // Then
+        assertThat(registry.get("franquicias.repository").tag("method", "findById").tag("outcome", "NOT_FOUND")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("franquicias.repository").tag("method", "deleteById").tag("outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void medir_WhenCancelado_ShouldRegistrarCancelledUnaSolaVez() {
+        // Given
+        MedidorOperacion medidor = metricas.casoDeUso("obtener", "execute");
+
+        // When
+        StepVerifier.create(medidor.medir(Flux.range(1, 100)), 0)
+                .thenRequest(2)
+                .expectNext(1, 2)
+                .thenCancel()
+                .verify();
+
+        // Then
+        assertThat(conteo("franquicias.usecase", "CANCELLED")).isEqualTo(1);
+        assertThat(conteo("franquicias.usecase", "SUCCESS")).isZero();
+    }
+
+    @Test
+    void medir_WhenMaximoStock_ShouldAgruparPorSucursalesEmitidas() {
+        // Given
+        MedidorOperacion medidor = metricas.casoDeUsoMaximoStock("obtenerProductosMaximoStock", "execute");
+
+        // When
+        StepVerifier.create(medidor.medir(Flux.range(1, 30))).expectNextCount(30).verifyComplete();
+        StepVerifier.create(medidor.medir(Flux.range(1, 500))).expectNextCount(500).verifyComplete();
+
+        // Then
+        assertThat(conteo("franquicias.usecase", "SUCCESS")).isEqualTo(2);
+        assertThat(registry.get("franquicias.maximo.stock").tag("layer", "usecase").tag("sucursales", "11-50")
+                .tag("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+        assertThat(registry.get("franquicias.maximo.stock").tag("sucursales", "201+")
+                .tag("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+    }
+
+    private long conteo(String nombre, String outcome) {
+        Timer timer = registry.get(nombre).tag("outcome", outcome).timer();
+        return timer.count();
+    }
+}
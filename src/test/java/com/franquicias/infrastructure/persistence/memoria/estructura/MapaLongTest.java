@@ -0,0 +1,77 @@
+package com.franquicias.infrastructure.persistence.memoria.estructura;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MapaLongTest {
+
+    @Test
+    void operaciones_WhenAleatorias_ShouldComportarseComoHashMap() {
+        // Given
+        MapaLong<Long> mapa = new MapaLong<>();
+        Map<Long, Long> referencia = new HashMap<>();
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            long clave = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(mapa.remove(clave)).isEqualTo(referencia.remove(clave));
+            } else {
+                assertThat(mapa.put(clave, (long) i)).isEqualTo(referencia.put(clave, (long) i));
+            }
+        }
+
+        // Then
+        assertThat(mapa.size()).isEqualTo(referencia.size());
+        referencia.forEach((clave, valor) -> assertThat(mapa.get(clave)).isEqualTo(valor));
+        assertThat(mapa.clavesOrdenadas())
+                .containsExactly(referencia.keySet().stream().mapToLong(Long::longValue).sorted().toArray());
+    }
+
+    @Test
+    void put_WhenClaveCero_ShouldRechazarla() {
+        // Given
+        MapaLong<String> mapa = new MapaLong<>();
+
+        // When & Then
+        assertThatThrownBy(() -> mapa.put(0L, "cero")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mapa.get(0L)).isNull();
+    }
+
+    @Test
+    void actualizar_WhenHilosConcurrentes_ShouldNoPerderIncrementos() throws InterruptedException {
+        // Given
+        MapaLongConcurrente<Integer> mapa = new MapaLongConcurrente<>();
+        for (long clave = 1; clave <= 100; clave++) {
+            mapa.put(clave, 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int hilo = 0; hilo < 8; hilo++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    mapa.actualizar(1 + i % 100, valor -> valor + 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(mapa.valores()).hasSize(100).allMatch(valor -> valor == 800);
+        assertThat(mapa.actualizar(1, valor -> null)).isNull();
+        assertThat(mapa.get(1)).isEqualTo(800);
+        assertThat(mapa.actualizar(101, valor -> valor + 1)).isNull();
+    }
+}
@@ -0,0 +1,43 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.model.Franquicia;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.infrastructure.event.ContadorCambiosFranquiciaListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class ContadorCambiosFranquiciaMemoriaRepositoryTest {
+
+    private ContadorCambiosFranquiciaMemoriaRepository contadorRepository;
+    private ContadorCambiosFranquiciaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        FranquiciaMemoriaRepository franquiciaRepository = new FranquiciaMemoriaRepository();
+        SucursalMemoriaRepository sucursalRepository = new SucursalMemoriaRepository();
+        contadorRepository = new ContadorCambiosFranquiciaMemoriaRepository(franquiciaRepository, sucursalRepository);
+        listener = new ContadorCambiosFranquiciaListener(contadorRepository);
+        franquiciaRepository.save(new Franquicia(null, "Uno")).block();
+        franquiciaRepository.save(new Franquicia(null, "Dos")).block();
+        sucursalRepository.save(new Sucursal(null, "Centro", 1L)).block();
+    }
+
+    @Test
+    void onCambio_WhenCambiosDeProductoYDeFranquicia_ShouldIncrementarSoloLaFranquiciaAfectada() {
+        // When
+        listener.onCambio(CambioInventario.deProducto(CambioInventario.Tipo.STOCK_MODIFICADO, 1L, 7L, "P", 3)).block();
+        listener.onCambio(CambioInventario.deFranquicia(CambioInventario.Tipo.FRANQUICIA_RENOMBRADA, 1L)).block();
+
+        // Then
+        StepVerifier.create(contadorRepository.obtener(1L)).expectNext(2L).verifyComplete();
+        StepVerifier.create(contadorRepository.obtener(2L)).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    void obtener_WhenFranquiciaNoExiste_ShouldDevolverVacio() {
+        // When & Then
+        StepVerifier.create(contadorRepository.obtener(99L)).verifyComplete();
+    }
+}
@@ -0,0 +1,228 @@
+package com.franquicias.infrastructure.persistence.memoria.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.ExtremoStock;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.model.Sucursal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductoMemoriaRepositoryTest {
+
+    private SucursalMemoriaRepository sucursalRepository;
+    private ProductoMemoriaRepository productoRepository;
+
+    @BeforeEach
+    void setUp() {
+        sucursalRepository = new SucursalMemoriaRepository();
+        productoRepository = new ProductoMemoriaRepository(sucursalRepository);
+        sucursalRepository.save(new Sucursal(null, "Centro", 1L)).block();
+        sucursalRepository.save(new Sucursal(null, "Norte", 1L)).block();
+        sucursalRepository.save(new Sucursal(null, "Otra franquicia", 2L)).block();
+    }
+
+    @Test
+    void findProductosMaximoStock_ShouldDevolverEmpatesPorSucursalDeLaFranquicia() {
+        // Given
+        guardar("A", 10, 1L);
+        guardar("B", 30, 1L);
+        guardar("C", 30, 1L);
+        guardar("D", 5, 2L);
+        guardar("E", 99, 3L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.findProductosMaximoStockByFranquiciaId(1L))
+                .expectNextMatches(p -> p.getProductoNombre().equals("B") && p.getSucursalNombre().equals("Centro"))
+                .expectNextMatches(p -> p.getProductoNombre().equals("C") && p.getStock() == 30)
+                .expectNextMatches(p -> p.getProductoNombre().equals("D") && p.getSucursalId() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductosMaximoStock_WhenProductoEliminado_ShouldRecalcularMaximo() {
+        // Given
+        Producto maximo = guardar("A", 50, 1L);
+        guardar("B", 20, 1L);
+
+        // When
+        productoRepository.deleteById(maximo.getId()).block();
+
+        // Then
+        StepVerifier.create(productoRepository.findProductosMaximoStockByFranquiciaId(1L))
+                .expectNextMatches(p -> p.getProductoNombre().equals("B"))
+                .verifyComplete();
+        StepVerifier.create(productoRepository.findBySucursalId(1L).map(Producto::getNombre))
+                .expectNext("B")
+                .verifyComplete();
+    }
+
+    @Test
+    void findRankingStock_ShouldDevolverLosKDeCadaSucursalEnOrden() {
+        // Given
+        guardar("A", 10, 1L);
+        guardar("B", 30, 1L);
+        guardar("C", 20, 1L);
+        guardar("D", 5, 2L);
+        guardar("E", 99, 3L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.findRankingStockBySucursal(1L, ExtremoStock.MAYOR, 2))
+                .expectNextMatches(p -> p.getProductoNombre().equals("B"))
+                .expectNextMatches(p -> p.getProductoNombre().equals("C"))
+                .expectNextMatches(p -> p.getProductoNombre().equals("D") && p.getSucursalNombre().equals("Norte"))
+                .verifyComplete();
+        StepVerifier.create(productoRepository.findRankingStockBySucursal(1L, ExtremoStock.MENOR, 1))
+                .expectNextMatches(p -> p.getProductoNombre().equals("A"))
+                .expectNextMatches(p -> p.getProductoNombre().equals("D"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findStockBajo_ShouldDevolverSoloLosDeLaFranquiciaBajoElUmbralPorSucursalYStock() {
+        // Given
+        guardar("A", 8, 1L);
+        guardar("B", 30, 1L);
+        guardar("C", 0, 1L);
+        guardar("D", 10, 2L);
+        guardar("E", 1, 3L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.findStockBajoByFranquiciaId(1L, 10))
+                .expectNextMatches(p -> p.getProductoNombre().equals("C"))
+                .expectNextMatches(p -> p.getProductoNombre().equals("A"))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_WhenNombreDuplicadoEnLaSucursal_ShouldFallarSinDistinguirMayusculas() {
+        // Given
+        guardar("Leche", 1, 1L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.save(new Producto(null, "LECHE", 2, 1L)))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+        StepVerifier.create(productoRepository.save(new Producto(null, "Leche", 2, 2L)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_WhenIdNoExiste_ShouldReturnEmpty() {
+        // When & Then
+        StepVerifier.create(productoRepository.save(new Producto(99L, "Fantasma", 1, 1L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void ajustarStock_WhenConcurrente_ShouldAplicarTodosLosDeltas() {
+        // Given
+        Producto producto = guardar("A", 0, 1L);
+
+        // When
+        Flux.range(0, 1_000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> productoRepository.ajustarStock(1L, producto.getId(), 1))
+                .sequential()
+                .blockLast();
+
+        // Then
+        assertThat(productoRepository.findById(producto.getId()).block().getStock()).isEqualTo(1_000);
+    }
+
+    @Test
+    void ajustarStock_WhenQuedariaNegativoOSucursalDistinta_ShouldReturnEmpty() {
+        // Given
+        Producto producto = guardar("A", 3, 1L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.ajustarStock(1L, producto.getId(), -4)).verifyComplete();
+        StepVerifier.create(productoRepository.ajustarStock(2L, producto.getId(), 1)).verifyComplete();
+        StepVerifier.create(productoRepository.ajustarStock(1L, producto.getId(), -3))
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void insertarIgnorandoDuplicados_ShouldContarSoloLosInsertados() {
+        // Given
+        guardar("A", 1, 1L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.insertarIgnorandoDuplicados(List.of(
+                        new Producto(null, "A", 5, 1L),
+                        new Producto(null, "B", 5, 1L),
+                        new Producto(null, "b", 5, 1L))))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void actualizarStockMasivo_ShouldMarcarNoEncontradosLosDeOtraSucursal() {
+        // Given
+        Producto propio = guardar("A", 1, 1L);
+        Producto ajeno = guardar("B", 1, 2L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.actualizarStockMasivo(1L, List.of(
+                        new ActualizacionStock(propio.getId(), 7),
+                        new ActualizacionStock(ajeno.getId(), 7))))
+                .expectNextMatches(r -> r.getEstado() == ResultadoActualizacionStock.Estado.ACTUALIZADO)
+                .expectNextMatches(r -> r.getEstado() == ResultadoActualizacionStock.Estado.NO_ENCONTRADO)
+                .verifyComplete();
+        assertThat(productoRepository.findById(propio.getId()).block().getStock()).isEqualTo(7);
+        assertThat(productoRepository.findById(ajeno.getId()).block().getStock()).isEqualTo(1);
+    }
+
+    @Test
+    void modificarStock_WhenVersionDistintaUOtraSucursal_ShouldDistinguirConflictoDeInexistente() {
+        // Given
+        Producto producto = guardar("A", 1, 1L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.modificarStock(1L, producto.getId(), 5, producto.getVersion() + 1))
+                .expectError(VersionNoCoincideException.class)
+                .verify();
+        StepVerifier.create(productoRepository.modificarStock(2L, producto.getId(), 5, producto.getVersion()))
+                .verifyComplete();
+        assertThat(productoRepository.findById(producto.getId()).block().getStock()).isEqualTo(1);
+    }
+
+    @Test
+    void findPagina_ShouldContinuarDesdeLaClaveDelCursor() {
+        // Given
+        Producto a = guardar("A", 5, 1L);
+        Producto b = guardar("B", 2, 1L);
+        Producto c = guardar("C", 5, 1L);
+        guardar("D", 1, 2L);
+
+        // When & Then
+        StepVerifier.create(productoRepository.findPaginaBySucursalId(1L, a.getId(), 10).map(Producto::getNombre))
+                .expectNext("B", "C")
+                .verifyComplete();
+        StepVerifier.create(productoRepository.findPaginaBySucursalIdOrdenadaPorStock(1L, null, null, 2)
+                        .map(Producto::getNombre))
+                .expectNext("B", "A")
+                .verifyComplete();
+        StepVerifier.create(productoRepository.findPaginaBySucursalIdOrdenadaPorStock(1L, a.getStock(), a.getId(), 2)
+                        .map(Producto::getId))
+                .expectNext(c.getId())
+                .verifyComplete();
+        assertThat(b.getId()).isLessThan(c.getId());
+    }
+
+    private Producto guardar(String nombre, int stock, Long sucursalId) {
+        return productoRepository.save(new Producto(null, nombre, stock, sucursalId)).block();
+    }
+}
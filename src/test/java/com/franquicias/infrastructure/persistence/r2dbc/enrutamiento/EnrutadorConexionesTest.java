@@ -0,0 +1,160 @@
+package com.franquicias.infrastructure.persistence.r2dbc.enrutamiento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnrutadorConexionesTest {
+
+    @Mock
+    private ConnectionFactory primaria;
+
+    @Mock
+    private ConnectionFactory replica1;
+
+    @Mock
+    private ConnectionFactory replica2;
+
+    @Mock
+    private Connection conexionPrimaria;
+
+    @Mock
+    private Connection conexionReplica1;
+
+    @Mock
+    private Connection conexionReplica2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EnrutadorConexiones enrutador;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(primaria.create()).thenAnswer(invocacion -> Mono.just(conexionPrimaria));
+        lenient().when(replica1.create()).thenAnswer(invocacion -> Mono.just(conexionReplica1));
+        lenient().when(replica2.create()).thenAnswer(invocacion -> Mono.just(conexionReplica2));
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        enrutador = new EnrutadorConexiones(primaria, replicas, Duration.ofSeconds(1), Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    void create_WhenLecturaSinSesion_ShouldRepartirEntreReplicas() {
+        // When & Then
+        StepVerifier.create(lectura()).expectNext(conexionReplica1).verifyComplete();
+        StepVerifier.create(lectura()).expectNext(conexionReplica2).verifyComplete();
+        StepVerifier.create(lectura()).expectNext(conexionReplica1).verifyComplete();
+        assertThat(contador("replica", "lectura")).isEqualTo(3.0);
+    }
+
+    @Test
+    void create_WhenSinMarcaDeLectura_ShouldUsarPrimaria() {
+        // When & Then
+        StepVerifier.create(enrutador.create()).expectNext(conexionPrimaria).verifyComplete();
+        assertThat(contador("primaria", "escritura")).isEqualTo(1.0);
+    }
+
+    @Test
+    void create_WhenLecturaDespuesDeEscribirEnLaMismaSesion_ShouldUsarPrimaria() {
+        // Given
+        RutaConexion.Sesion sesion = RutaConexion.Sesion.deLectura();
+        StepVerifier.create(enSesion(lectura(), sesion)).expectNext(conexionReplica1).verifyComplete();
+
+        // When
+        StepVerifier.create(enSesion(enrutador.create(), sesion)).expectNext(conexionPrimaria).verifyComplete();
+
+        // Then
+        StepVerifier.create(enSesion(lectura(), sesion)).expectNext(conexionPrimaria).verifyComplete();
+        assertThat(contador("primaria", "sesion")).isEqualTo(1.0);
+    }
+
+    @Test
+    void create_WhenSesionDeEscritura_ShouldLeerDeLaPrimaria() {
+        // When & Then
+        StepVerifier.create(enSesion(lectura(), RutaConexion.Sesion.deEscritura()))
+                .expectNext(conexionPrimaria)
+                .verifyComplete();
+    }
+
+    @Test
+    void create_WhenReplicaFalla_ShouldUsarPrimariaYExpulsarla() {
+        // Given
+        when(replica1.create()).thenAnswer(invocacion -> Mono.error(new IllegalStateException("sin conexión")));
+
+        // When & Then
+        StepVerifier.create(lectura()).expectNext(conexionPrimaria).verifyComplete();
+        StepVerifier.create(lectura()).expectNext(conexionReplica2).verifyComplete();
+        StepVerifier.create(lectura()).expectNext(conexionReplica2).verifyComplete();
+        assertThat(contador("primaria", "fallo-replica")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("franquicias.r2dbc.replicas.disponibles").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void verificar_WhenReplicaExpulsadaVuelveASerSana_ShouldReadmitirla() {
+        // Given
+        when(replica1.create())
+                .thenAnswer(invocacion -> Mono.error(new IllegalStateException("sin conexión")))
+                .thenAnswer(invocacion -> Mono.just(conexionReplica1));
+        when(conexionReplica1.validate(ValidationDepth.REMOTE)).thenAnswer(invocacion -> Mono.just(true));
+        when(conexionReplica2.validate(ValidationDepth.REMOTE)).thenAnswer(invocacion -> Mono.just(true));
+        when(conexionReplica1.close()).thenAnswer(invocacion -> Mono.empty());
+        when(conexionReplica2.close()).thenAnswer(invocacion -> Mono.empty());
+        StepVerifier.create(lectura()).expectNext(conexionPrimaria).verifyComplete();
+
+        // When
+        StepVerifier.create(enrutador.verificar()).verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("franquicias.r2dbc.replicas.disponibles").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void verificar_WhenNingunaReplicaSana_ShouldLeerDeLaPrimaria() {
+        // Given
+        when(conexionReplica1.validate(any())).thenAnswer(invocacion -> Mono.just(false));
+        when(conexionReplica2.validate(any())).thenAnswer(invocacion -> Mono.just(false));
+        when(conexionReplica1.close()).thenAnswer(invocacion -> Mono.empty());
+        when(conexionReplica2.close()).thenAnswer(invocacion -> Mono.empty());
+
+        // When
+        StepVerifier.create(enrutador.verificar()).verifyComplete();
+
+        // Then
+        StepVerifier.create(lectura()).expectNext(conexionPrimaria).verifyComplete();
+        assertThat(contador("primaria", "sin-replicas")).isEqualTo(1.0);
+    }
+
+    private Mono<Connection> lectura() {
+        return RutaConexion.lectura(enrutador.create());
+    }
+
+    private static Mono<Connection> enSesion(Mono<Connection> conexion, RutaConexion.Sesion sesion) {
+        return conexion.contextWrite(contexto -> RutaConexion.conSesion(contexto, sesion));
+    }
+
+    private double contador(String destino, String motivo) {
+        return meterRegistry.get("franquicias.r2dbc.enrutamiento")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .counter()
+                .count();
+    }
+}
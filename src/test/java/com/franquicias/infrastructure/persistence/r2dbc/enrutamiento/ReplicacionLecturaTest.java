@@ -0,0 +1,164 @@
+package com.franquicias.infrastructure.persistence.r2dbc.enrutamiento;
+
+import com.franquicias.infrastructure.persistence.r2dbc.repository.ContadorCambiosFranquiciaR2dbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Levanta una primaria y una réplica MySQL con replicación por GTID y comprueba el reparto de
+ * {@link EnrutadorConexiones}: con la réplica detenida, las lecturas marcadas ven el valor anterior
+ * salvo dentro de una sesión que ya escribió o cuando la verificación la ha expulsado por retraso, y
+ * el contador de cambios de la ETag se lee siempre de la primaria. Se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicacionLecturaTest {
+
+    private static final Network red = Network.newNetwork();
+
+    @Container
+    private static final MySQLContainer<?> primaria = new MySQLContainer<>("mysql:8.0")
+            .withNetwork(red)
+            .withNetworkAliases("primaria")
+            .withCommand("--server-id=1", "--log-bin=mysql-bin", "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+
+    @Container
+    private static final MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0")
+            .withNetwork(red)
+            .withCommand("--server-id=2", "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+
+    private static ConnectionFactory conexionesPrimaria;
+    private static ConnectionFactory conexionesReplica;
+    private static DatabaseClient primariaDirecta;
+    private static DatabaseClient replicaDirecta;
+
+    @BeforeAll
+    static void setUp() {
+        conexionesPrimaria = ConnectionFactories.get(comoRoot(primaria));
+        conexionesReplica = ConnectionFactories.get(comoRoot(replica));
+        primariaDirecta = DatabaseClient.create(conexionesPrimaria);
+        replicaDirecta = DatabaseClient.create(conexionesReplica);
+
+        // La réplica ya creó por su cuenta la base y el usuario de prueba: se replica desde aquí
+        primariaDirecta.sql("RESET MASTER").then().block();
+        replicaDirecta.sql("""
+                CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primaria', SOURCE_PORT = 3306,
+                SOURCE_USER = 'root', SOURCE_PASSWORD = '%s', SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1
+                """.formatted(primaria.getPassword())).then().block();
+        replicaDirecta.sql("START REPLICA").then().block();
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(conexionesPrimaria).block();
+    }
+
+    @AfterEach
+    void reanudarReplicacion() {
+        replicaDirecta.sql("START REPLICA SQL_THREAD").then().block();
+    }
+
+    @Test
+    void lectura_WhenReplicaConRetraso_ShouldVerValorAnteriorSalvoTrasEscribirEnLaSesion() {
+        // Given
+        DatabaseClient databaseClient = DatabaseClient.create(enrutador(Duration.ZERO));
+        databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (1, 'Original')").then().block();
+        esperarReplicacion(1L);
+        replicaDirecta.sql("STOP REPLICA SQL_THREAD").then().block();
+
+        // When
+        databaseClient.sql("UPDATE franquicia SET nombre = 'Renombrada' WHERE id = 1").then().block();
+        RutaConexion.Sesion sesion = RutaConexion.Sesion.deLectura();
+        String antesDeEscribir = enSesion(nombre(databaseClient, 1L), sesion).block();
+        enSesion(databaseClient.sql("UPDATE franquicia SET updated_at = NOW() WHERE id = 1").then(), sesion).block();
+        String despuesDeEscribir = enSesion(nombre(databaseClient, 1L), sesion).block();
+
+        // Then
+        assertThat(antesDeEscribir).isEqualTo("Original");
+        assertThat(despuesDeEscribir).isEqualTo("Renombrada");
+        assertThat(databaseClient.sql("SELECT nombre FROM franquicia WHERE id = 1")
+                .map(row -> row.get("nombre", String.class))
+                .one()
+                .block()).isEqualTo("Renombrada");
+    }
+
+    @Test
+    void verificar_WhenReplicacionDetenida_ShouldExpulsarReplicaYLeerDeLaPrimaria() {
+        // Given
+        EnrutadorConexiones enrutador = enrutador(Duration.ofSeconds(5));
+        DatabaseClient databaseClient = DatabaseClient.create(enrutador);
+        databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (2, 'Original')").then().block();
+        esperarReplicacion(2L);
+        replicaDirecta.sql("STOP REPLICA SQL_THREAD").then().block();
+        databaseClient.sql("UPDATE franquicia SET nombre = 'Renombrada' WHERE id = 2").then().block();
+
+        // When
+        enrutador.verificar().block();
+
+        // Then
+        assertThat(nombre(databaseClient, 2L).block()).isEqualTo("Renombrada");
+    }
+
+    @Test
+    void obtenerCambios_WhenReplicaConRetraso_ShouldLeerElContadorDeLaPrimaria() {
+        // Given
+        DatabaseClient databaseClient = DatabaseClient.create(enrutador(Duration.ZERO));
+        ContadorCambiosFranquiciaR2dbcRepository contador = new ContadorCambiosFranquiciaR2dbcRepository(databaseClient);
+        databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (3, 'Original')").then().block();
+        esperarReplicacion(3L);
+        replicaDirecta.sql("STOP REPLICA SQL_THREAD").then().block();
+
+        // When
+        contador.incrementar(3L).block();
+
+        // Then
+        assertThat(contador.obtener(3L).block()).isEqualTo(1L);
+    }
+
+    private static EnrutadorConexiones enrutador(Duration maximoRetraso) {
+        return new EnrutadorConexiones(conexionesPrimaria, Map.of("replica-1", conexionesReplica),
+                Duration.ofSeconds(5), maximoRetraso, new SimpleMeterRegistry());
+    }
+
+    private static Mono<String> nombre(DatabaseClient databaseClient, Long id) {
+        return RutaConexion.lectura(databaseClient.sql("SELECT nombre FROM franquicia WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("nombre", String.class))
+                .one());
+    }
+
+    private static <T> Mono<T> enSesion(Mono<T> operacion, RutaConexion.Sesion sesion) {
+        return operacion.contextWrite(contexto -> RutaConexion.conSesion(contexto, sesion));
+    }
+
+    private static void esperarReplicacion(Long id) {
+        replicaDirecta.sql("SELECT COUNT(*) AS filas FROM franquicia WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("filas", Long.class))
+                .one()
+                .filter(filas -> filas > 0)
+                .repeatWhenEmpty(100, intentos -> intentos.delayElements(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(15));
+    }
+
+    private static ConnectionFactoryOptions comoRoot(MySQLContainer<?> mysql) {
+        return MySQLR2DBCDatabaseContainer.getOptions(mysql).mutate()
+                .option(ConnectionFactoryOptions.USER, "root")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.common.exception.VersionNoCoincideException;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Verifica contra un MySQL real que la sentencia con {@link ActualizacionConValor#CONDICION_VERSION}
+ * distingue por sí sola la versión que no coincide de la fila que no existe. Se omite si no hay Docker
+ * disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ActualizacionConValorTest {
+
+    private static final String RENOMBRAR = "UPDATE franquicia SET nombre = ?, version = LAST_INSERT_ID(version + 1) "
+            + "WHERE id = ?" + ActualizacionConValor.CONDICION_VERSION;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static DatabaseClient databaseClient;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("INSERT INTO franquicia (id, nombre, version) VALUES (1, 'Original', 4)").then().block();
+    }
+
+    @Test
+    void ejecutar_WhenVersionCoincide_ShouldDevolverLaVersionNueva() {
+        StepVerifier.create(renombrar("Primera", 1L, 4L))
+                .expectNext(5L)
+                .verifyComplete();
+    }
+
+    @Test
+    void ejecutar_WhenVersionNoCoincide_ShouldFallarSinModificarLaFila() {
+        StepVerifier.create(renombrar("Segunda", 1L, 0L))
+                .expectError(VersionNoCoincideException.class)
+                .verify();
+        StepVerifier.create(databaseClient.sql("SELECT nombre FROM franquicia WHERE id = 1")
+                        .map(row -> row.get("nombre", String.class))
+                        .one())
+                .expectNextMatches(nombre -> !nombre.equals("Segunda"))
+                .verifyComplete();
+    }
+
+    @Test
+    void ejecutar_WhenFilaNoExiste_ShouldDevolverVacio() {
+        StepVerifier.create(renombrar("Tercera", 99L, 0L))
+                .verifyComplete();
+    }
+
+    private static Mono<Long> renombrar(String nombre, Long id, Long version) {
+        return ActualizacionConValor.ejecutar(databaseClient, () -> VersionNoCoincideException.de("La franquicia", id),
+                RENOMBRAR, nombre, id, version);
+    }
+}
@@ -0,0 +1,169 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un MySQL real que las variantes de la consulta de máximo stock usan el índice
+ * compuesto de producto, y compara sus tiempos. Se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ConsultaMaximoStockPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaMaximoStockPlanTest.class);
+
+    private static final int FRANQUICIAS = 4;
+    private static final int SUCURSALES_POR_FRANQUICIA = 25;
+    private static final int PRODUCTOS_POR_SUCURSAL = 200;
+    private static final long FRANQUICIA_ID = 2L;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static DatabaseClient databaseClient;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        cargarDatos();
+    }
+
+    @Test
+    void ventana_ShouldRecorrerProductosSoloPorElIndiceCompuesto() {
+        // When
+        List<Map<String, Object>> plan = explain(ConsultaMaximoStock.VENTANA);
+
+        // Then
+        Map<String, Object> producto = filaDeTabla(plan, "p");
+        assertThat(producto.get("key")).isEqualTo("idx_producto_sucursal_stock");
+        assertThat(String.valueOf(producto.get("Extra"))).contains("Using index");
+        assertSinRecorridosCompletos(plan, "s", "p");
+    }
+
+    @Test
+    void proyeccion_ShouldBuscarProductosPorElIndiceCompuesto() {
+        // When
+        List<Map<String, Object>> plan = explain(ConsultaMaximoStock.PROYECCION);
+
+        // Then
+        Map<String, Object> producto = filaDeTabla(plan, "p");
+        assertThat(producto.get("key")).isEqualTo("idx_producto_sucursal_stock");
+        assertThat(producto.get("type")).isEqualTo("ref");
+        assertSinRecorridosCompletos(plan, "s", "m", "p");
+    }
+
+    @Test
+    void estrategias_ShouldDevolverLasMismasFilas() {
+        // Given
+        List<String> esperado = ejecutar(ConsultaMaximoStock.SUBCONSULTA);
+
+        // When & Then
+        assertThat(esperado).hasSizeGreaterThanOrEqualTo(SUCURSALES_POR_FRANQUICIA);
+        assertThat(ejecutar(ConsultaMaximoStock.PROYECCION)).isEqualTo(esperado);
+        assertThat(ejecutar(ConsultaMaximoStock.VENTANA)).isEqualTo(esperado);
+    }
+
+    @Test
+    void estrategias_ShouldCompararTiempos() {
+        for (ConsultaMaximoStock consulta : ConsultaMaximoStock.values()) {
+            for (int i = 0; i < 20; i++) {
+                ejecutar(consulta);
+            }
+            long[] tiempos = new long[100];
+            for (int i = 0; i < tiempos.length; i++) {
+                long inicio = System.nanoTime();
+                ejecutar(consulta);
+                tiempos[i] = System.nanoTime() - inicio;
+            }
+            Arrays.sort(tiempos);
+            log.info("{}: p50={} µs, p99={} µs", consulta,
+                    tiempos[tiempos.length / 2] / 1_000, tiempos[tiempos.length * 99 / 100] / 1_000);
+        }
+    }
+
+    private static void cargarDatos() {
+        Random random = new Random(42);
+        long productoId = 1;
+        for (long f = 1; f <= FRANQUICIAS; f++) {
+            databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (" + f + ", 'Franquicia " + f + "')")
+                    .then().block();
+            for (int s = 0; s < SUCURSALES_POR_FRANQUICIA; s++) {
+                long sucursalId = (f - 1) * SUCURSALES_POR_FRANQUICIA + s + 1;
+                databaseClient.sql("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES ("
+                        + sucursalId + ", 'Sucursal " + sucursalId + "', " + f + ")").then().block();
+                StringJoiner valores = new StringJoiner(", ");
+                for (int p = 0; p < PRODUCTOS_POR_SUCURSAL; p++, productoId++) {
+                    // Rango pequeño para que haya empates en el máximo
+                    valores.add("(" + productoId + ", 'Producto " + productoId + "', "
+                            + random.nextInt(500) + ", " + sucursalId + ")");
+                }
+                databaseClient.sql("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES " + valores)
+                        .then().block();
+            }
+        }
+        databaseClient.sql("""
+                INSERT INTO sucursal_maximo_stock (sucursal_id, max_stock)
+                SELECT sucursal_id, MAX(stock) FROM producto GROUP BY sucursal_id
+                """).then().block();
+        databaseClient.sql("ANALYZE TABLE franquicia, sucursal, producto, sucursal_maximo_stock").then().block();
+    }
+
+    private List<Map<String, Object>> explain(ConsultaMaximoStock consulta) {
+        List<Map<String, Object>> plan = databaseClient.sql("EXPLAIN " + consulta.getSql())
+                .bind("franquiciaId", FRANQUICIA_ID)
+                .fetch()
+                .all()
+                .collectList()
+                .block();
+        log.info("EXPLAIN {}: {}", consulta, plan);
+        return plan;
+    }
+
+    private List<String> ejecutar(ConsultaMaximoStock consulta) {
+        return databaseClient.sql(consulta.getSql())
+                .bind("franquiciaId", FRANQUICIA_ID)
+                .map((row, metadata) -> row.get("sucursal_id", Long.class) + ":" + row.get("producto_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private static Map<String, Object> filaDeTabla(List<Map<String, Object>> plan, String tabla) {
+        return plan.stream()
+                .filter(fila -> tabla.equals(fila.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("El plan no incluye la tabla " + tabla + ": " + plan));
+    }
+
+    private static void assertSinRecorridosCompletos(List<Map<String, Object>> plan, String... tablas) {
+        List<String> recorridosCompletos = new ArrayList<>();
+        for (String tabla : tablas) {
+            if ("ALL".equals(filaDeTabla(plan, tabla).get("type"))) {
+                recorridosCompletos.add(tabla);
+            }
+        }
+        assertThat(recorridosCompletos).as("tablas recorridas completas").isEmpty();
+    }
+}
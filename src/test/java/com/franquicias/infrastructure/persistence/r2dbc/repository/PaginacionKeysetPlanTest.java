@@ -0,0 +1,143 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un MySQL real que los listados paginados, y el de productos con stock bajo, buscan por
+ * rango en un índice cuyo orden coincide con el ORDER BY, sin ordenar en memoria. Se omite si no hay
+ * Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PaginacionKeysetPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaginacionKeysetPlanTest.class);
+
+    private static final int SUCURSALES = 20;
+    private static final int PRODUCTOS_POR_SUCURSAL = 500;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static DatabaseClient databaseClient;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        cargarDatos();
+    }
+
+    @Test
+    void productosPorId_ShouldBuscarPorRangoSinOrdenar() {
+        // When
+        Map<String, Object> plan = explain("""
+                SELECT * FROM producto WHERE sucursal_id = 3 AND id > 1200 ORDER BY id LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan.get("type")).isEqualTo("range");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    @Test
+    void productosPorStock_ShouldBuscarPorRangoSinOrdenar() {
+        // When
+        Map<String, Object> plan = explain("""
+                SELECT * FROM producto
+                WHERE sucursal_id = 3 AND (stock > 250 OR (stock = 250 AND id > 1200))
+                ORDER BY stock, id
+                LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan.get("key")).isEqualTo("idx_producto_sucursal_stock");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    @Test
+    void sucursalesPorId_ShouldBuscarPorRangoSinOrdenar() {
+        // When
+        Map<String, Object> plan = explain("""
+                SELECT * FROM sucursal WHERE franquicia_id = 1 AND id > 5 ORDER BY id LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan.get("key")).isEqualTo("idx_sucursal_franquicia_id");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    @Test
+    void productosStockBajo_ShouldBuscarPorRangoDeStockEnCadaSucursal() {
+        // When
+        List<Map<String, Object>> plan = databaseClient.sql("""
+                        EXPLAIN SELECT p.id, p.nombre, p.stock, s.id, s.nombre
+                        FROM sucursal s
+                        INNER JOIN producto p ON p.sucursal_id = s.id AND p.stock < 10
+                        WHERE s.franquicia_id = 1
+                        ORDER BY s.id, p.stock, p.id
+                        """)
+                .fetch()
+                .all()
+                .collectList()
+                .block();
+        log.info("EXPLAIN stock bajo: {}", plan);
+
+        // Then
+        Map<String, Object> producto = plan.stream()
+                .filter(fila -> "p".equals(fila.get("table")))
+                .findFirst()
+                .orElseThrow();
+        assertThat(producto.get("key")).isEqualTo("idx_producto_sucursal_stock");
+        assertThat(producto.get("type")).isEqualTo("range");
+        assertThat(plan).allSatisfy(fila -> assertThat(String.valueOf(fila.get("Extra"))).doesNotContain("filesort"));
+    }
+
+    private static void cargarDatos() {
+        Random random = new Random(42);
+        databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (1, 'Franquicia 1')").then().block();
+        long productoId = 1;
+        for (long sucursalId = 1; sucursalId <= SUCURSALES; sucursalId++) {
+            databaseClient.sql("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES ("
+                    + sucursalId + ", 'Sucursal " + sucursalId + "', 1)").then().block();
+            StringJoiner valores = new StringJoiner(", ");
+            for (int p = 0; p < PRODUCTOS_POR_SUCURSAL; p++, productoId++) {
+                valores.add("(" + productoId + ", 'Producto " + productoId + "', "
+                        + random.nextInt(500) + ", " + sucursalId + ")");
+            }
+            databaseClient.sql("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES " + valores)
+                    .then().block();
+        }
+        databaseClient.sql("ANALYZE TABLE sucursal, producto").then().block();
+    }
+
+    private Map<String, Object> explain(String sql) {
+        List<Map<String, Object>> plan = databaseClient.sql("EXPLAIN " + sql)
+                .fetch()
+                .all()
+                .collectList()
+                .block();
+        log.info("EXPLAIN {}: {}", sql.strip(), plan);
+        assertThat(plan).hasSize(1);
+        return plan.get(0);
+    }
+}
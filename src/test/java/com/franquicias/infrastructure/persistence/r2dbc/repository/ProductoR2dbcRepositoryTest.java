@@ -0,0 +1,71 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un MySQL real que las escrituras resueltas con un solo UPDATE devuelven el producto
+ * completo, con el nombre y la fecha de creación que la sentencia no trae. Se omite si no hay Docker
+ * disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductoR2dbcRepositoryTest {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static ProductoR2dbcRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        ProductoSpringDataRepository springDataRepository = new R2dbcRepositoryFactory(
+                new R2dbcEntityTemplate(connectionFactory)).getRepository(ProductoSpringDataRepository.class);
+        repository = new ProductoR2dbcRepository(springDataRepository, databaseClient,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)),
+                ConsultaMaximoStock.PROYECCION, 16);
+        databaseClient.sql("INSERT INTO franquicia (id, nombre) VALUES (1, 'Franquicia')").then().block();
+        databaseClient.sql("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES (1, 'Centro', 1)").then().block();
+        databaseClient.sql("INSERT INTO producto (id, nombre, stock, sucursal_id, created_at) "
+                + "VALUES (10, 'Producto A', 5, 1, '2024-01-01 10:00:00')").then().block();
+    }
+
+    @Test
+    void modificarStock_WhenExiste_ShouldDevolverElProductoCompleto() {
+        StepVerifier.create(repository.modificarStock(1L, 10L, 40, null))
+                .assertNext(modificacion -> {
+                    assertThat(modificacion.getProducto().getNombre()).isNotNull();
+                    assertThat(modificacion.getProducto().getCreatedAt()).isNotNull();
+                    assertThat(modificacion.getProducto().getStock()).isEqualTo(40);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void renombrar_WhenExiste_ShouldDevolverLaFechaDeCreacion() {
+        StepVerifier.create(repository.renombrar(1L, 10L, "Producto B", null))
+                .assertNext(producto -> {
+                    assertThat(producto.getNombre()).isEqualTo("Producto B");
+                    assertThat(producto.getCreatedAt()).isNotNull();
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,96 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.domain.model.DesviacionMaximoStock;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un MySQL real que el recálculo del máximo ve la escritura de su propia transacción
+ * y que la reconciliación corrige una sucursal cuya proyección quedó desfasada. Se omite si no hay
+ * Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProyeccionMaximoStockR2dbcRepositoryTest {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static DatabaseClient databaseClient;
+    private static TransactionalOperator transactionalOperator;
+    private static ProyeccionMaximoStockR2dbcRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        repository = new ProyeccionMaximoStockR2dbcRepository(databaseClient, transactionalOperator, 16);
+        ejecutar("INSERT INTO franquicia (id, nombre) VALUES (1, 'Franquicia')");
+        ejecutar("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES (1, 'Centro', 1), (2, 'Norte', 1)");
+    }
+
+    @Test
+    void recalcular_WhenDentroDeLaTransaccionDeLaBaja_ShouldVerElStockNuevo() {
+        // Given
+        ejecutar("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES (10, 'A', 50, 1), (11, 'B', 20, 1)");
+        repository.recalcular(1L).block();
+
+        // When
+        databaseClient.sql("UPDATE producto SET stock = 5 WHERE id = 10")
+                .then()
+                .then(repository.recalcular(1L))
+                .as(transactionalOperator::transactional)
+                .block();
+
+        // Then
+        assertThat(maximo(1L)).isEqualTo(20);
+    }
+
+    @Test
+    void reconciliar_WhenProyeccionDesfasada_ShouldInformarYCorregir() {
+        // Given
+        ejecutar("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES (20, 'C', 30, 2)");
+        repository.reconciliar().collectList().block();
+        ejecutar("UPDATE sucursal_maximo_stock SET max_stock = NULL WHERE sucursal_id = 2");
+
+        // When
+        List<DesviacionMaximoStock> desviaciones = repository.reconciliar().collectList().block();
+
+        // Then
+        assertThat(desviaciones).singleElement().satisfies(desviacion -> {
+            assertThat(desviacion.getSucursalId()).isEqualTo(2L);
+            assertThat(desviacion.getRegistrado()).isNull();
+            assertThat(desviacion.getReal()).isEqualTo(30);
+        });
+        assertThat(repository.reconciliar().collectList().block()).isEmpty();
+        assertThat(maximo(2L)).isEqualTo(30);
+    }
+
+    private static Integer maximo(Long sucursalId) {
+        return databaseClient.sql("SELECT max_stock FROM sucursal_maximo_stock WHERE sucursal_id = :sucursalId")
+                .bind("sucursalId", sucursalId)
+                .map(row -> row.get("max_stock", Integer.class))
+                .one()
+                .block();
+    }
+
+    private static void ejecutar(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,99 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.domain.model.DesviacionResumenInventario;
+import com.franquicias.domain.model.ResumenInventarioSucursal;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un MySQL real que los deltas del resumen de inventario coinciden con un recuento
+ * completo y que la reconciliación detecta y corrige una sucursal desviada. Se omite si no hay Docker
+ * disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ResumenInventarioR2dbcRepositoryTest {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static DatabaseClient databaseClient;
+    private static ResumenInventarioR2dbcRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        repository = new ResumenInventarioR2dbcRepository(databaseClient,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)), 16);
+        ejecutar("INSERT INTO franquicia (id, nombre) VALUES (1, 'Franquicia')");
+        ejecutar("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES (1, 'Centro', 1), (2, 'Norte', 1)");
+    }
+
+    @Test
+    void registrar_WhenAltaCambioYBaja_ShouldCoincidirConElRecuento() {
+        // Given
+        ejecutar("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES (10, 'A', 5, 1)");
+        repository.registrarAlta(1L, 5).block();
+        ejecutar("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES (11, 'B', 0, 1)");
+        repository.registrarAlta(1L, 0).block();
+
+        // When
+        repository.registrarCambioStock(1L, 0, 7).block();
+        ejecutar("UPDATE producto SET stock = 7 WHERE id = 11");
+        repository.registrarBaja(1L, 10L).block();
+        ejecutar("DELETE FROM producto WHERE id = 10");
+
+        // Then
+        List<ResumenInventarioSucursal> sucursales = repository.findByFranquiciaId(1L).collectList().block();
+        assertThat(sucursales).hasSize(2);
+        ResumenInventarioSucursal centro = sucursales.get(0);
+        assertThat(centro.getSucursalNombre()).isEqualTo("Centro");
+        assertThat(centro.getProductos()).isEqualTo(1);
+        assertThat(centro.getStockTotal()).isEqualTo(7);
+        assertThat(centro.getProductosSinStock()).isZero();
+        assertThat(sucursales.get(1).getProductos()).isZero();
+    }
+
+    @Test
+    void reconciliar_WhenContadoresDesviados_ShouldInformarYCorregir() {
+        // Given
+        ejecutar("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES (20, 'C', 3, 2), (21, 'D', 0, 2)");
+        repository.recalcular(2L).block();
+        repository.reconciliar().collectList().block();
+        ejecutar("UPDATE sucursal_inventario SET stock_total = stock_total + 40 WHERE sucursal_id = 2");
+
+        // When
+        List<DesviacionResumenInventario> desviaciones = repository.reconciliar().collectList().block();
+
+        // Then
+        assertThat(desviaciones).singleElement().satisfies(desviacion -> {
+            assertThat(desviacion.getSucursalId()).isEqualTo(2L);
+            assertThat(desviacion.getRegistrado().getStockTotal()).isEqualTo(43);
+            assertThat(desviacion.getReal().getStockTotal()).isEqualTo(3);
+        });
+        assertThat(repository.reconciliar().collectList().block()).isEmpty();
+        ResumenInventarioSucursal norte = repository.findByFranquiciaId(1L).collectList().block().get(1);
+        assertThat(norte.getStockTotal()).isEqualTo(3);
+        assertThat(norte.getProductosSinStock()).isEqualTo(1);
+    }
+
+    private static void ejecutar(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,197 @@
+package com.franquicias.infrastructure.persistence.r2dbc.repository;
+
+import com.franquicias.application.usecase.ActualizarNombreFranquiciaUseCase;
+import com.franquicias.application.usecase.ActualizarNombreProductoUseCase;
+import com.franquicias.application.usecase.ActualizarNombreSucursalUseCase;
+import com.franquicias.application.usecase.EliminarProductoUseCase;
+import com.franquicias.application.usecase.ModificarStockProductoUseCase;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.stock.BufferEscrituraStock;
+import com.franquicias.infrastructure.cache.VerificadorExistenciaPorLotes;
+import com.franquicias.infrastructure.event.CompositeCambioInventarioPublisher;
+import com.franquicias.infrastructure.event.ContadorCambiosFranquiciaListener;
+import com.franquicias.infrastructure.persistence.r2dbc.transaccion.EjecutorTransaccionalR2dbc;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.MySQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cuenta, a través de un proxy de R2DBC, las sentencias que cada escritura envía a un MySQL real: la
+ * escritura se resuelve en una sola sentencia sin leer antes la fila, y el resto son los derivados
+ * (resumen, proyección y contador de cambios) y la lectura de las columnas que el UPDATE no devuelve.
+ * El inicio y la confirmación de la transacción no cuentan como sentencias. Se omite si no hay Docker
+ * disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SentenciasPorEscrituraTest {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final List<String> sentencias = new CopyOnWriteArrayList<>();
+
+    private static VerificadorExistenciaPorLotes verificadorSucursal;
+    private static VerificadorExistenciaPorLotes verificadorFranquicia;
+    private static ActualizarNombreProductoUseCase actualizarNombreProducto;
+    private static ModificarStockProductoUseCase modificarStockProducto;
+    private static EliminarProductoUseCase eliminarProducto;
+    private static ActualizarNombreSucursalUseCase actualizarNombreSucursal;
+    private static ActualizarNombreFranquiciaUseCase actualizarNombreFranquicia;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory directa = ConnectionFactories.get(MySQLR2DBCDatabaseContainer.getOptions(mysql));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(directa).block();
+        DatabaseClient datos = DatabaseClient.create(directa);
+        datos.sql("INSERT INTO franquicia (id, nombre) VALUES (1, 'Franquicia')").then().block();
+        datos.sql("INSERT INTO sucursal (id, nombre, franquicia_id) VALUES (1, 'Centro', 1)").then().block();
+        datos.sql("INSERT INTO producto (id, nombre, stock, sucursal_id) VALUES "
+                + "(10, 'Producto A', 5, 1), (11, 'Producto B', 50, 1), (12, 'Producto C', 7, 1)").then().block();
+        datos.sql("INSERT INTO sucursal_inventario (sucursal_id, productos, stock_total, productos_sin_stock) "
+                + "VALUES (1, 3, 62, 0)").then().block();
+        datos.sql("INSERT INTO sucursal_maximo_stock (sucursal_id, max_stock) VALUES (1, 50)").then().block();
+
+        ConnectionFactory connectionFactory = ProxyConnectionFactory.builder(directa)
+                .onBeforeQuery(ejecucion -> ejecucion.getQueries().stream()
+                        .map(QueryInfo::getQuery)
+                        .forEach(sql -> sentencias.add(sql.strip().replaceAll("\\s+", " "))))
+                .build();
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        TransactionalOperator transactionalOperator =
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        R2dbcRepositoryFactory repositoryFactory =
+                new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        verificadorSucursal = new VerificadorExistenciaPorLotes("existenciaSucursal", ids -> Flux.empty(),
+                Duration.ofMillis(5), 100, Duration.ofMillis(500), 100, Duration.ofMinutes(1), meterRegistry);
+        verificadorFranquicia = new VerificadorExistenciaPorLotes("existenciaFranquicia", ids -> Flux.empty(),
+                Duration.ofMillis(5), 100, Duration.ofMillis(500), 100, Duration.ofMinutes(1), meterRegistry);
+
+        ProductoR2dbcRepository productoRepository = new ProductoR2dbcRepository(
+                repositoryFactory.getRepository(ProductoSpringDataRepository.class), databaseClient,
+                transactionalOperator, ConsultaMaximoStock.PROYECCION, 16);
+        SucursalR2dbcRepository sucursalRepository = new SucursalR2dbcRepository(
+                repositoryFactory.getRepository(SucursalSpringDataRepository.class), databaseClient,
+                verificadorSucursal);
+        FranquiciaR2dbcRepository franquiciaRepository = new FranquiciaR2dbcRepository(
+                repositoryFactory.getRepository(FranquiciaSpringDataRepository.class), databaseClient,
+                verificadorFranquicia);
+        ProyeccionMaximoStockR2dbcRepository proyeccionRepository =
+                new ProyeccionMaximoStockR2dbcRepository(databaseClient, transactionalOperator, 16);
+        ResumenInventarioR2dbcRepository resumenRepository =
+                new ResumenInventarioR2dbcRepository(databaseClient, transactionalOperator, 16);
+        ContadorCambiosFranquiciaR2dbcRepository contadorRepository =
+                new ContadorCambiosFranquiciaR2dbcRepository(databaseClient);
+        EjecutorTransaccionalR2dbc ejecutorTransaccional = new EjecutorTransaccionalR2dbc(transactionalOperator);
+        // El contador de cambios es el único listener que escribe en la base de datos en cada cambio
+        CambioInventarioPublisher publisher = new CompositeCambioInventarioPublisher(
+                List.of(new ContadorCambiosFranquiciaListener(contadorRepository)));
+
+        actualizarNombreProducto = new ActualizarNombreProductoUseCase(productoRepository, publisher);
+        modificarStockProducto = new ModificarStockProductoUseCase(productoRepository, proyeccionRepository,
+                resumenRepository, publisher, BufferEscrituraStock.ninguno(), ejecutorTransaccional,
+                contadorRepository);
+        eliminarProducto = new EliminarProductoUseCase(productoRepository, proyeccionRepository,
+                resumenRepository, publisher, BufferEscrituraStock.ninguno(), ejecutorTransaccional,
+                contadorRepository);
+        actualizarNombreSucursal = new ActualizarNombreSucursalUseCase(sucursalRepository, publisher);
+        actualizarNombreFranquicia = new ActualizarNombreFranquiciaUseCase(franquiciaRepository, publisher);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        verificadorSucursal.dispose();
+        verificadorFranquicia.dispose();
+    }
+
+    @BeforeEach
+    void limpiarSentencias() {
+        sentencias.clear();
+    }
+
+    @Test
+    void renombrarProducto_ShouldEscribirSinLeerAntes() {
+        // When
+        actualizarNombreProducto.execute(1L, 10L, "Producto A2").block();
+
+        // Then: UPDATE, fecha de creación y contador de cambios tras confirmar
+        assertThat(sentencias).hasSize(3);
+        assertThat(sentencias.get(0)).startsWith("UPDATE producto SET nombre");
+        assertThat(sentencias.get(1)).startsWith("SELECT nombre, created_at FROM producto");
+    }
+
+    @Test
+    void modificarStock_WhenAumenta_ShouldEscribirSinLeerAntes() {
+        // When
+        modificarStockProducto.execute(1L, 11L, 60).block();
+
+        // Then: UPDATE, nombre y fecha de creación, resumen, proyección y contador en la transacción,
+        // y contador de cambios tras confirmar
+        assertThat(sentencias).hasSize(6);
+        assertThat(sentencias.get(0)).startsWith("UPDATE producto SET stock");
+        assertThat(sentencias.get(1)).startsWith("SELECT nombre, created_at FROM producto");
+        assertThat(sentencias.get(2)).startsWith("UPDATE sucursal_inventario");
+        assertThat(sentencias.get(3)).startsWith("INSERT INTO sucursal_maximo_stock");
+        assertThat(sentencias.get(4)).startsWith("UPDATE franquicia f JOIN sucursal s");
+        assertThat(sentencias.get(5)).startsWith("UPDATE franquicia f JOIN sucursal s");
+    }
+
+    @Test
+    void eliminarProducto_ShouldBorrarSinComprobarAntesQueExiste() {
+        // When
+        eliminarProducto.execute(1L, 12L).block();
+
+        // Then: baja en el resumen, DELETE, recálculo del máximo (bloqueo, lectura y escritura) y
+        // contador en la transacción, y contador de cambios tras confirmar
+        assertThat(sentencias).hasSize(7);
+        assertThat(sentencias.get(0)).startsWith("UPDATE sucursal_inventario i JOIN producto p");
+        assertThat(sentencias.get(1)).startsWith("DELETE FROM producto");
+        assertThat(sentencias.get(5)).startsWith("UPDATE franquicia f JOIN sucursal s");
+    }
+
+    @Test
+    void renombrarSucursal_ShouldEscribirSinLeerAntes() {
+        // When
+        actualizarNombreSucursal.execute(1L, 1L, "Centro Norte").block();
+
+        // Then: UPDATE, fecha de creación y contador de cambios tras confirmar
+        assertThat(sentencias).hasSize(3);
+        assertThat(sentencias.get(0)).startsWith("UPDATE sucursal SET nombre");
+        assertThat(sentencias.get(1)).startsWith("SELECT created_at FROM sucursal");
+    }
+
+    @Test
+    void renombrarFranquicia_ShouldEscribirSinLeerAntes() {
+        // When
+        actualizarNombreFranquicia.execute(1L, "Franquicia Norte").block();
+
+        // Then: UPDATE, fecha de creación y contador de cambios tras confirmar
+        assertThat(sentencias).hasSize(3);
+        assertThat(sentencias.get(0)).startsWith("UPDATE franquicia SET nombre");
+        assertThat(sentencias.get(1)).startsWith("SELECT created_at FROM franquicia");
+    }
+}
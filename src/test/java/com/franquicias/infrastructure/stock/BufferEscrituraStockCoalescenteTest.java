@@ -0,0 +1,184 @@
+package com.franquicias.infrastructure.stock;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.event.CambioInventarioPublisher;
+import com.franquicias.domain.model.ActualizacionStock;
+import com.franquicias.domain.model.Producto;
+import com.franquicias.domain.model.ResultadoActualizacionStock;
+import com.franquicias.domain.repository.ContadorCambiosFranquiciaRepository;
+import com.franquicias.domain.repository.ProductoRepository;
+import com.franquicias.domain.repository.ProyeccionMaximoStockRepository;
+import com.franquicias.domain.repository.ResumenInventarioRepository;
+import com.franquicias.domain.transaccion.EjecutorTransaccional;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BufferEscrituraStockCoalescenteTest {
+
+    private static final int STOCK_ANTERIOR = 15;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ProyeccionMaximoStockRepository proyeccionMaximoStockRepository;
+
+    @Mock
+    private ResumenInventarioRepository resumenInventarioRepository;
+
+    @Mock
+    private CambioInventarioPublisher cambioInventarioPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BufferEscrituraStockCoalescente buffer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(productoRepository.actualizarStockMasivo(anyLong(), anyList()))
+                .thenAnswer(invocacion -> Flux.fromIterable(invocacion.<List<ActualizacionStock>>getArgument(1))
+                        .map(actualizacion -> ResultadoActualizacionStock.actualizado(
+                                actualizacion.getProductoId(), STOCK_ANTERIOR, actualizacion.getStock())));
+        lenient().when(proyeccionMaximoStockRepository.recalcular(anyLong())).thenReturn(Mono.empty());
+        lenient().when(proyeccionMaximoStockRepository.registrarStock(anyLong(), anyInt())).thenReturn(Mono.empty());
+        lenient().when(resumenInventarioRepository.registrarDiferencias(anyLong(), anyLong(), anyInt()))
+                .thenReturn(Mono.empty());
+        lenient().when(cambioInventarioPublisher.publicar(any(CambioInventario.class))).thenReturn(Mono.empty());
+        // Ventana larga para que en las pruebas solo se vacíe a petición
+        buffer = new BufferEscrituraStockCoalescente(productoRepository, proyeccionMaximoStockRepository,
+                resumenInventarioRepository, EjecutorTransaccional.ninguno(),
+                ContadorCambiosFranquiciaRepository.ninguno(), cambioInventarioPublisher, Duration.ofHours(1), 100,
+                Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.cerrar();
+    }
+
+    @Test
+    void vaciar_WhenVariasModificacionesDelMismoProducto_ShouldEscribirSoloLaUltima() {
+        // Given
+        buffer.encolar(new Producto(1L, "Producto", 10, 5L)).block();
+        buffer.encolar(new Producto(1L, "Producto", 20, 5L)).block();
+        buffer.encolar(new Producto(1L, "Producto", 30, 5L)).block();
+
+        // When
+        StepVerifier.create(buffer.vaciar()).verifyComplete();
+
+        // Then
+        ArgumentCaptor<List<ActualizacionStock>> captor = ArgumentCaptor.captor();
+        verify(productoRepository).actualizarStockMasivo(eq(5L), captor.capture());
+        assertThat(captor.getValue()).singleElement()
+                .satisfies(actualizacion -> assertThat(actualizacion.getStock()).isEqualTo(30));
+        verify(resumenInventarioRepository).registrarDiferencias(5L, 15L, 0);
+        verify(proyeccionMaximoStockRepository).registrarStock(5L, 30);
+        verify(proyeccionMaximoStockRepository, never()).recalcular(anyLong());
+        verify(resumenInventarioRepository, never()).recalcular(anyLong());
+        verify(cambioInventarioPublisher).publicar(any(CambioInventario.class));
+        assertThat(meterRegistry.get("franquicias.stock.diferido.coalescencia").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("franquicias.stock.diferido.retraso").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void vaciar_WhenAlgunStockBaja_ShouldAplicarLasDiferenciasYReleerElMaximo() {
+        // Given
+        buffer.encolar(new Producto(1L, "Producto 1", 0, 5L)).block();
+        buffer.encolar(new Producto(2L, "Producto 2", 40, 5L)).block();
+
+        // When
+        StepVerifier.create(buffer.vaciar()).verifyComplete();
+
+        // Then
+        verify(resumenInventarioRepository).registrarDiferencias(5L, 10L, 1);
+        verify(proyeccionMaximoStockRepository).recalcular(5L);
+        verify(proyeccionMaximoStockRepository, never()).registrarStock(anyLong(), anyInt());
+        verify(resumenInventarioRepository, never()).recalcular(anyLong());
+    }
+
+    @Test
+    void pendiente_WhenProductoEncolado_ShouldDevolverElValorNoEscrito() {
+        // Given
+        buffer.encolar(new Producto(1L, "Producto", 10, 5L)).block();
+        buffer.encolar(new Producto(1L, "Producto", 25, 5L)).block();
+
+        // When & Then
+        StepVerifier.create(buffer.pendiente(1L))
+                .expectNextMatches(producto -> producto.getStock() == 25)
+                .verifyComplete();
+        StepVerifier.create(buffer.pendiente(2L)).verifyComplete();
+        verify(productoRepository, never()).actualizarStockMasivo(anyLong(), anyList());
+    }
+
+    @Test
+    void vaciar_WhenProductosDeVariasSucursales_ShouldEscribirUnLotePorSucursal() {
+        // Given
+        buffer.encolar(new Producto(1L, "Producto 1", 10, 5L)).block();
+        buffer.encolar(new Producto(2L, "Producto 2", 20, 5L)).block();
+        buffer.encolar(new Producto(3L, "Producto 3", 30, 6L)).block();
+
+        // When
+        StepVerifier.create(buffer.vaciar()).verifyComplete();
+
+        // Then
+        verify(productoRepository).actualizarStockMasivo(eq(5L), anyList());
+        verify(productoRepository).actualizarStockMasivo(eq(6L), anyList());
+        verify(cambioInventarioPublisher, times(3)).publicar(any(CambioInventario.class));
+        StepVerifier.create(buffer.pendiente(1L)).verifyComplete();
+    }
+
+    @Test
+    void vaciar_WhenEscrituraFalla_ShouldConservarElValorParaReintentar() {
+        // Given
+        when(productoRepository.actualizarStockMasivo(eq(5L), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("sin conexión")))
+                .thenReturn(Flux.just(ResultadoActualizacionStock.actualizado(1L, STOCK_ANTERIOR, 10)));
+        buffer.encolar(new Producto(1L, "Producto", 10, 5L)).block();
+
+        // When & Then
+        StepVerifier.create(buffer.vaciar()).verifyError(IllegalStateException.class);
+        StepVerifier.create(buffer.pendiente(1L))
+                .expectNextMatches(producto -> producto.getStock() == 10)
+                .verifyComplete();
+        StepVerifier.create(buffer.vaciar(1L)).verifyComplete();
+        StepVerifier.create(buffer.pendiente(1L)).verifyComplete();
+    }
+
+    @Test
+    void cerrar_WhenHayPendientes_ShouldEscribirlosAntesDeDetenerse() {
+        // Given
+        buffer.encolar(new Producto(1L, "Producto", 10, 5L)).block();
+
+        // When
+        buffer.cerrar();
+
+        // Then
+        verify(productoRepository).actualizarStockMasivo(eq(5L), anyList());
+        StepVerifier.create(buffer.encolar(new Producto(1L, "Producto", 11, 5L)))
+                .verifyError(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.franquicias.infrastructure.stock;
+
+import com.franquicias.domain.event.CambioInventario;
+import com.franquicias.domain.model.AlertaStock;
+import com.franquicias.domain.model.Sucursal;
+import com.franquicias.domain.repository.SucursalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmisorAlertasStockTest {
+
+    @Mock
+    private SucursalRepository sucursalRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmisorAlertasStock emisor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emisor = new EmisorAlertasStock(sucursalRepository, 10, 16, meterRegistry);
+    }
+
+    @Test
+    void onCambio_WhenStockBajaDelUmbral_ShouldAvisarSoloALaFranquiciaDeLaSucursal() {
+        // Given
+        when(sucursalRepository.findById(5L)).thenReturn(Mono.just(new Sucursal(5L, "Centro", 1L)));
+
+        // When & Then
+        StepVerifier.create(emisor.suscribir(2L).mergeWith(emisor.suscribir(1L)))
+                .then(() -> emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 12, 3)).block())
+                .assertNext(alerta -> {
+                    assertThat(alerta.getTipo()).isEqualTo(AlertaStock.Tipo.BAJO_UMBRAL);
+                    assertThat(alerta.getFranquiciaId()).isEqualTo(1L);
+                    assertThat(alerta.getProductoId()).isEqualTo(50L);
+                    assertThat(alerta.getStockAnterior()).isEqualTo(12);
+                    assertThat(alerta.getStock()).isEqualTo(3);
+                    assertThat(alerta.getUmbral()).isEqualTo(10);
+                })
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+        assertThat(meterRegistry.get("franquicias.stock.alertas").tag("tipo", "bajo_umbral").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void onCambio_WhenStockVuelveAlUmbral_ShouldAvisarReposicionResolviendoLaSucursalUnaVez() {
+        // Given
+        when(sucursalRepository.findById(5L)).thenReturn(Mono.just(new Sucursal(5L, "Centro", 1L)));
+
+        // When & Then
+        StepVerifier.create(emisor.suscribir(1L))
+                .then(() -> emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 12, 3)).block())
+                .assertNext(alerta -> assertThat(alerta.getTipo()).isEqualTo(AlertaStock.Tipo.BAJO_UMBRAL))
+                .then(() -> emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 3, 10)).block())
+                .assertNext(alerta -> assertThat(alerta.getTipo()).isEqualTo(AlertaStock.Tipo.REPUESTO))
+                .thenCancel()
+                .verify();
+        verify(sucursalRepository, times(1)).findById(5L);
+    }
+
+    @Test
+    void onCambio_WhenNoCruzaElUmbralOSinSuscriptores_ShouldNoConsultarLaSucursal() {
+        // When
+        StepVerifier.create(emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 12, 3)))
+                .verifyComplete();
+        StepVerifier.create(emisor.suscribir(1L))
+                .then(() -> {
+                    emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 30, 11)).block();
+                    emisor.onCambio(CambioInventario.deStock(5L, 50L, "Producto A", 3, 2)).block();
+                    emisor.onCambio(CambioInventario.deProducto(
+                            CambioInventario.Tipo.STOCK_MODIFICADO, 5L, 50L, "Producto A", 0)).block();
+                })
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+
+        // Then
+        verifyNoInteractions(sucursalRepository);
+    }
+}